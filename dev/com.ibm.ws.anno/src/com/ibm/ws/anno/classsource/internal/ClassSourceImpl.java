@@ -13,6 +13,7 @@ package com.ibm.ws.anno.classsource.internal;
 
 import java.io.InputStream;
 import java.text.MessageFormat;
+import java.util.Map;
 import java.util.Set;
 
 import com.ibm.websphere.ras.Tr;
@@ -227,6 +228,129 @@ public abstract class ClassSourceImpl implements ClassSource {
     @Override
     public abstract void scanClasses(ClassSource_Streamer streamer, Set<String> i_seedClassNamesSet, ScanPolicy scanPolicy);
 
+    // Class data scans ...
+    //
+    // A class data scan reads all of the classes of the class source, and
+    // records the data of the classes as a separate step.  Reading may be
+    // done in parallel with reading other class sources, or may be replaced
+    // by loading data which was stored by an earlier scan.
+    //
+    // Class sources which do not support class data scans answer null from
+    // 'readClassData', and are scanned using 'scanClasses'.
+
+    /**
+     * Answer the key under which the class data of this class source is stored.
+     *
+     * @return The cache key of this class source. Null if the class data of
+     *         this class source is not to be stored.
+     */
+    @Trivial
+    public String getCacheKey() {
+        return null;
+    }
+
+    /**
+     * Answer a value which changes when the content of this class source changes.
+     *
+     * @return The stamp of this class source. Null if no stamp is available,
+     *         in which case the class data of this class source is not stored.
+     */
+    @Trivial
+    public String getStamp() {
+        return null;
+    }
+
+    /**
+     * <p>Read the data of all classes of this class source. This class source must
+     * be open. The data is not recorded: Recording is done by {@link #recordClassData}.</p>
+     *
+     * <p>This is invoked for several class sources at once. Implementations must not
+     * intern names or update state other than the scan counts of resources which are
+     * not classes.</p>
+     *
+     * @param streamer The streamer which reads the class data.
+     *
+     * @return The class data of this class source, keyed and ordered by class name.
+     *         A class which could not be read is mapped to null. Null if class data
+     *         scans are not supported.
+     */
+    public <D> Map<String, D> readClassData(ClassSourceImpl_ClassDataStreamer<D> streamer) {
+        return null;
+    }
+
+    /**
+     * Read the data of a class using a streamer.
+     *
+     * @return The class data. Null if the class data is not valid.
+     */
+    protected <D> D readClassData(ClassSourceImpl_ClassDataStreamer<D> streamer,
+                                  String className, InputStream inputStream) {
+        return streamer.readClassData(getCanonicalName(), className, inputStream);
+    }
+
+    /**
+     * <p>Record class data which was obtained from {@link #readClassData}, or which
+     * was loaded from storage. This is invoked on the scanning thread.</p>
+     *
+     * <p>As for {@link #scanClasses}, a class which was already added to the seed
+     * class names is masked, and is not recorded.</p>
+     *
+     * @param streamer The streamer which records the class data.
+     * @param classData The class data of this class source.
+     * @param i_seedClassNames The names of the classes which have been processed.
+     * @param scanPolicy The scan policy of this class source.
+     */
+    public <D> void recordClassData(ClassSourceImpl_ClassDataStreamer<D> streamer,
+                                    Map<String, D> classData,
+                                    Set<String> i_seedClassNames,
+                                    ScanPolicy scanPolicy) {
+
+        int initialClasses = i_seedClassNames.size();
+
+        for (Map.Entry<String, D> classEntry : classData.entrySet()) {
+            String className = classEntry.getKey();
+            String i_className = internClassName(className);
+
+            if (!i_maybeAdd(i_className, i_seedClassNames)) {
+                incrementClassExclusionCount();
+
+                markResult(ClassSource_ScanCounts.ResultField.DUPLICATE_CLASS);
+
+            } else {
+                incrementClassInclusionCount();
+
+                D nextClassData = classEntry.getValue();
+
+                boolean didProcess;
+                if (nextClassData == null) {
+                    didProcess = false;
+                } else if (!streamer.doProcess(className, scanPolicy)) {
+                    didProcess = false;
+                } else {
+                    streamer.recordClassData(getCanonicalName(), className, nextClassData, scanPolicy);
+                    didProcess = true;
+                }
+
+                if (didProcess) {
+                    markResult(ClassSource_ScanCounts.ResultField.PROCESSED_CLASS);
+                } else {
+                    markResult(ClassSource_ScanCounts.ResultField.UNPROCESSED_CLASS);
+                }
+            }
+
+            markResult(ClassSource_ScanCounts.ResultField.CLASS);
+            markResult(ClassSource_ScanCounts.ResultField.NON_CONTAINER);
+            markResult(ClassSource_ScanCounts.ResultField.ENTRY);
+        }
+
+        if (tc.isDebugEnabled()) {
+            Tr.debug(tc, MessageFormat.format("[ {0} ] Recorded [ {1} ] of [ {2} ] classes",
+                                              getHashText(),
+                                              Integer.valueOf(i_seedClassNames.size() - initialClasses),
+                                              Integer.valueOf(classData.size())));
+        }
+    }
+
     //
 
     @Override
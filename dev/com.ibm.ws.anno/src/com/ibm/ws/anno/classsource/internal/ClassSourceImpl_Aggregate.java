@@ -21,9 +21,16 @@ import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.ibm.websphere.ras.Tr;
 import com.ibm.websphere.ras.TraceComponent;
+import com.ibm.ws.ffdc.annotation.FFDCIgnore;
 import com.ibm.wsspi.anno.classsource.ClassSource;
 import com.ibm.wsspi.anno.classsource.ClassSource_Aggregate;
 import com.ibm.wsspi.anno.classsource.ClassSource_Exception;
@@ -330,6 +337,11 @@ public class ClassSourceImpl_Aggregate extends ClassSourceImpl implements ClassS
                                           new Object[] { getHashText(), streamer }));
         }
 
+        if (streamer instanceof ClassSourceImpl_ClassDataStreamer) {
+            scanClassData((ClassSourceImpl_ClassDataStreamer<?>) streamer);
+            return;
+        }
+
         Set<String> i_seedClassNames = new HashSet<String>();
 
         int initialSize = 0;
@@ -402,6 +414,190 @@ public class ClassSourceImpl_Aggregate extends ClassSourceImpl implements ClassS
         }
     }
 
+    // Class data scans ...
+    //
+    // The classes of the child class sources are read first, then recorded.
+    //
+    // Reading is the expensive step, as each class must be obtained from its jar
+    // or container and parsed.  The child class sources are read in parallel, and
+    // a child class source which has stored class data for its current stamp is
+    // not read at all.
+    //
+    // Recording is done on the scanning thread in the order of the child class
+    // sources, so that a class is still masked by the first child class source
+    // which has that class.  Child class sources which do not support class data
+    // scans are scanned in their turn using 'scanClasses'.
+
+    protected <D> void scanClassData(final ClassSourceImpl_ClassDataStreamer<D> streamer) {
+        List<ClassSource> childSources = new ArrayList<ClassSource>();
+        for (ClassSource childSource : getSuccessfulOpens()) {
+            if (getScanPolicy(childSource) != ScanPolicy.EXTERNAL) {
+                childSources.add(childSource);
+            }
+        }
+
+        final List<FutureTask<Map<String, D>>> childReads = new ArrayList<FutureTask<Map<String, D>>>(childSources.size());
+        for (final ClassSource childSource : childSources) {
+            childReads.add(new FutureTask<Map<String, D>>(new Callable<Map<String, D>>() {
+                @Override
+                public Map<String, D> call() {
+                    return readChildClassData(childSource, streamer);
+                }
+            }));
+        }
+
+        try {
+            startReaders(childReads);
+
+            Set<String> i_seedClassNames = new HashSet<String>();
+
+            for (int childNo = 0; childNo < childSources.size(); childNo++) {
+                ClassSource childSource = childSources.get(childNo);
+                ScanPolicy scanPolicy = getScanPolicy(childSource);
+
+                Map<String, D> classData = getChildClassData(childSource, childReads.get(childNo));
+                if (classData == null) {
+                    childSource.scanClasses(streamer, i_seedClassNames, scanPolicy);
+                } else {
+                    ((ClassSourceImpl) childSource).recordClassData(streamer, classData, i_seedClassNames, scanPolicy);
+                }
+
+                addResults(childSource.getScanResults());
+            }
+
+            if (tc.isDebugEnabled()) {
+                Tr.debug(tc, MessageFormat.format("[ {0} ] RETURN [ {1} ] Added classes",
+                                                  getHashText(), Integer.valueOf(i_seedClassNames.size())));
+            }
+
+        } finally {
+            // Reads which have not started are not needed if the scan failed.
+            for (FutureTask<Map<String, D>> childRead : childReads) {
+                childRead.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Start reading the child class sources using the executor of the factory.
+     *
+     * At most one reader less than the number of processors is started, as the
+     * scanning thread reads too: Each reader, and the scanning thread when it
+     * needs the class data of a child class source which has not been started,
+     * takes the next child class source which has not been started. The scan
+     * does not depend on the readers being run, so a busy or stopped executor
+     * only means that more of the child class sources are read by the scanning
+     * thread.
+     *
+     * @param childReads The reads of the child class sources.
+     */
+    @FFDCIgnore(RejectedExecutionException.class)
+    protected <D> void startReaders(final List<FutureTask<Map<String, D>>> childReads) {
+        ExecutorService readExecutor = getFactory().getReadExecutor();
+        if (readExecutor == null) {
+            return;
+        }
+
+        int readerCount = Math.min(childReads.size(), Runtime.getRuntime().availableProcessors()) - 1;
+
+        final AtomicInteger nextRead = new AtomicInteger();
+        Runnable reader = new Runnable() {
+            @Override
+            public void run() {
+                int readNo;
+                while ((readNo = nextRead.getAndIncrement()) < childReads.size()) {
+                    // Does nothing if the scanning thread already started this read.
+                    childReads.get(readNo).run();
+                }
+            }
+        };
+
+        for (int readerNo = 0; readerNo < readerCount; readerNo++) {
+            try {
+                readExecutor.execute(reader);
+            } catch (RejectedExecutionException e) {
+                if (tc.isDebugEnabled()) {
+                    Tr.debug(tc, MessageFormat.format("[ {0} ] Started [ {1} ] of [ {2} ] readers",
+                                                      getHashText(), Integer.valueOf(readerNo), Integer.valueOf(readerCount)));
+                }
+                break;
+            }
+        }
+    }
+
+    /**
+     * Obtain the class data of a child class source: Either load the class data
+     * which was stored for the current stamp of the child class source, or read
+     * the class data from the child class source, and store it.
+     *
+     * Class data is not stored if any of the classes of the child class source
+     * could not be read, so that the failure is reported again on the next scan.
+     *
+     * @return The class data of the child class source. Null if the child class
+     *         source does not support class data scans.
+     */
+    protected <D> Map<String, D> readChildClassData(ClassSource childSource, ClassSourceImpl_ClassDataStreamer<D> streamer) {
+        if (!(childSource instanceof ClassSourceImpl)) {
+            return null;
+        }
+        ClassSourceImpl childImpl = (ClassSourceImpl) childSource;
+
+        String cacheKey = childImpl.getCacheKey();
+        String stamp = ((cacheKey == null) ? null : childImpl.getStamp());
+
+        Map<String, D> classData;
+
+        if (stamp != null) {
+            classData = streamer.loadClassData(cacheKey, stamp);
+            if (classData != null) {
+                if (tc.isDebugEnabled()) {
+                    Tr.debug(tc, MessageFormat.format("[ {0} ] Loaded [ {1} ] classes of [ {2} ] stamp [ {3} ]",
+                                                      getHashText(), Integer.valueOf(classData.size()),
+                                                      childImpl.getHashText(), stamp));
+                }
+                return classData;
+            }
+        }
+
+        classData = childImpl.readClassData(streamer);
+
+        if ((classData != null) && (stamp != null) && !classData.containsValue(null)) {
+            streamer.storeClassData(cacheKey, stamp, classData);
+        }
+
+        return classData;
+    }
+
+    @FFDCIgnore(InterruptedException.class)
+    protected <D> Map<String, D> getChildClassData(ClassSource childSource, FutureTask<Map<String, D>> childRead) {
+        // Read on this thread if no reader has started the read yet.
+        childRead.run();
+
+        // Wait for the read to complete, even if interrupted: If the read was
+        // abandoned, it would still be using the child class source.
+
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return childRead.get();
+
+                } catch (InterruptedException e) {
+                    interrupted = true;
+
+                } catch (ExecutionException e) {
+                    // CWWKC0044W: An exception occurred while scanning class and annotation data.
+                    Tr.warning(tc, "ANNO_TARGETS_SCAN_EXCEPTION", e.getCause());
+                    return null;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     // Currently, aggregate class sources are not allowed to be children.
 
     @Override
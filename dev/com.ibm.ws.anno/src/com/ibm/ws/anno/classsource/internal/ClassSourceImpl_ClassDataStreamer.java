@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.ws.anno.classsource.internal;
+
+import java.io.InputStream;
+import java.util.Map;
+
+import com.ibm.wsspi.anno.classsource.ClassSource_Aggregate.ScanPolicy;
+import com.ibm.wsspi.anno.classsource.ClassSource_Streamer;
+
+/**
+ * <p>A streamer which splits the processing of a class into two steps: Reading
+ * the class data from the class bytes, and recording the class data.</p>
+ *
+ * <p>Reading does not change the streamer, and is done for several class sources
+ * at once. Recording is done on the scanning thread, in the order of the class
+ * sources and of the classes within each class source, so that the first class
+ * source which has a class masks that class in later class sources.</p>
+ *
+ * <p>The class data which was read from a class source may be stored, and
+ * loaded when the same class source is scanned again, instead of reading the
+ * classes again. Stored data is kept under the cache key of the class source,
+ * and is only used if the stamp of the class source is unchanged.</p>
+ *
+ * @param <D> The type of the class data.
+ */
+public interface ClassSourceImpl_ClassDataStreamer<D> extends ClassSource_Streamer {
+
+    /**
+     * Read the data of a class. Called for several class sources at once.
+     *
+     * @param classSourceName The name of the class source which provided the class.
+     * @param className The name of the class, as computed from the name of the resource.
+     * @param inputStream The stream of the class bytes.
+     *
+     * @return The data of the class. Null if the class data is not valid.
+     */
+    D readClassData(String classSourceName, String className, InputStream inputStream);
+
+    /**
+     * Record the data of a class. Called on the scanning thread.
+     *
+     * @param classSourceName The name of the class source which provided the class.
+     * @param className The name of the class.
+     * @param classData The data of the class.
+     * @param scanPolicy The scan policy of the class source.
+     *
+     * @return True if the class data was recorded. False if it was rejected.
+     */
+    boolean recordClassData(String classSourceName, String className, D classData, ScanPolicy scanPolicy);
+
+    /**
+     * Load stored class data.
+     *
+     * @param cacheKey The cache key of the class source.
+     * @param stamp The current stamp of the class source.
+     *
+     * @return The class data of the class source, keyed and ordered by class name.
+     *         Null if no data is stored for the class source, or if the data was
+     *         stored for a different stamp.
+     */
+    Map<String, D> loadClassData(String cacheKey, String stamp);
+
+    /**
+     * Store the class data of a class source.
+     *
+     * @param cacheKey The cache key of the class source.
+     * @param stamp The stamp of the class source when its classes were read.
+     * @param classData The class data of the class source, keyed and ordered by class name.
+     */
+    void storeClassData(String cacheKey, String stamp, Map<String, D> classData);
+}
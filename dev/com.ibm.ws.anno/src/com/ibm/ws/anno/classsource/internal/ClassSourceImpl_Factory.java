@@ -12,6 +12,7 @@
 package com.ibm.ws.anno.classsource.internal;
 
 import java.text.MessageFormat;
+import java.util.concurrent.ExecutorService;
 
 import com.ibm.websphere.ras.Tr;
 import com.ibm.websphere.ras.TraceComponent;
@@ -72,6 +73,24 @@ public class ClassSourceImpl_Factory implements ClassSource_Factory {
         return utilFactory;
     }
 
+    // The executor used to read the child class sources of an aggregate
+    // class source in parallel.  Null (read on the scanning thread) unless
+    // an executor is set.
+
+    protected volatile ExecutorService readExecutor;
+
+    public ExecutorService getReadExecutor() {
+        return readExecutor;
+    }
+
+    public void setReadExecutor(ExecutorService readExecutor) {
+        this.readExecutor = readExecutor;
+
+        if (tc.isDebugEnabled()) {
+            Tr.debug(tc, MessageFormat.format("[ {0} ] Read executor [ {1} ]", this.hashText, readExecutor));
+        }
+    }
+
     //
 
     @Override
@@ -11,9 +11,12 @@
 
 package com.ibm.ws.anno.classsource.internal;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.text.MessageFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import com.ibm.websphere.ras.Tr;
@@ -334,6 +337,104 @@ public class ClassSourceImpl_MappedContainer
         }
     }
 
+    //
+
+    // Only containers which are backed by an archive file are stamped.  Directory
+    // containers, and archives nested in other archives, are read on every scan.
+
+    @Override
+    public String getCacheKey() {
+        return getContainer().getPhysicalPath();
+    }
+
+    @Override
+    public String getStamp() {
+        String physicalPath = getContainer().getPhysicalPath();
+        if (physicalPath == null) {
+            return null;
+        }
+        File file = new File(physicalPath);
+        if (!file.isFile()) {
+            return null;
+        }
+        return file.length() + "_" + file.lastModified();
+    }
+
+    @Override
+    public <D> Map<String, D> readClassData(ClassSourceImpl_ClassDataStreamer<D> streamer) {
+        Map<String, D> classData = new LinkedHashMap<String, D>();
+
+        readClassData(getContainer(), EMPTY_PREFIX, streamer, classData);
+
+        return classData;
+    }
+
+    protected <D> void readClassData(Container targetContainer, String prefix,
+                                     ClassSourceImpl_ClassDataStreamer<D> streamer,
+                                     Map<String, D> classData) {
+
+        for (Entry nextEntry : targetContainer) {
+            String nextChildName = nextEntry.getName();
+            String nextPrefix = resourceAppend(prefix, nextChildName);
+
+            Container nextChildContainer;
+            try {
+                nextChildContainer = nextEntry.adapt(Container.class);
+
+            } catch (Throwable th) {
+                nextChildContainer = null;
+
+                Tr.warning(tc, "ANNO_CLASSSOURCE_ADAPT_EXCEPTION",
+                           getHashText(), nextChildName, nextEntry, targetContainer, prefix);
+            }
+
+            if (nextChildContainer != null) {
+                if (nextChildContainer.isRoot()) {
+                    incrementResourceExclusionCount();
+                } else {
+                    readClassData(nextChildContainer, nextPrefix, streamer, classData);
+                }
+
+                markResult(ClassSource_ScanCounts.ResultField.ROOT_CONTAINER);
+                markResult(ClassSource_ScanCounts.ResultField.ENTRY);
+
+            } else if (!isClassResource(nextPrefix)) {
+                incrementResourceExclusionCount();
+
+                markResult(ClassSource_ScanCounts.ResultField.NON_CLASS);
+                markResult(ClassSource_ScanCounts.ResultField.NON_CONTAINER);
+                markResult(ClassSource_ScanCounts.ResultField.ENTRY);
+
+            } else {
+                // Classes are counted when they are recorded.
+
+                String nextClassName = getClassNameFromResourceName(nextPrefix);
+                if (classData.containsKey(nextClassName)) {
+                    continue;
+                }
+
+                D nextClassData;
+
+                try {
+                    InputStream inputStream = openResourceStream(nextClassName, nextPrefix, nextEntry); // throws ClassSource_Exception
+                    try {
+                        nextClassData = readClassData(streamer, nextClassName, inputStream);
+                    } finally {
+                        closeResourceStream(nextClassName, nextPrefix, nextEntry, inputStream);
+                    }
+
+                } catch (ClassSource_Exception e) {
+                    nextClassData = null;
+
+                    // CWWKC0044W: An exception occurred while scanning class and annotation data.
+                    Tr.warning(tc, "ANNO_TARGETS_SCAN_EXCEPTION", e);
+                }
+
+                classData.put(nextClassName, nextClassData);
+            }
+        }
+    }
+
     protected boolean process(ClassSource_Streamer streamer, String className, String resourceName, Entry entry, ScanPolicy scanPolicy)
                     throws ClassSource_Exception {
 
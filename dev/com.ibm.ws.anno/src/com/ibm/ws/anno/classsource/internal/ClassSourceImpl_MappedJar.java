@@ -11,10 +11,13 @@
 
 package com.ibm.ws.anno.classsource.internal;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.text.MessageFormat;
 import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -308,6 +311,80 @@ public class ClassSourceImpl_MappedJar
         }
     }
 
+    //
+
+    @Override
+    @Trivial
+    public String getCacheKey() {
+        return getJarPath();
+    }
+
+    @Override
+    public String getStamp() {
+        File file = new File(getJarPath());
+        if (!file.isFile()) {
+            return null;
+        }
+        return file.length() + "_" + file.lastModified();
+    }
+
+    @Override
+    public <D> Map<String, D> readClassData(ClassSourceImpl_ClassDataStreamer<D> streamer) {
+        Map<String, D> classData = new LinkedHashMap<String, D>();
+
+        JarFile useJarFile = getJarFile();
+
+        Enumeration<JarEntry> jarEntries = useJarFile.entries();
+        while (jarEntries.hasMoreElements()) {
+            JarEntry nextEntry = jarEntries.nextElement();
+            String nextEntryName = nextEntry.getName();
+
+            if (isDirectoryResource(nextEntryName)) {
+                incrementResourceExclusionCount();
+
+                markResult(ClassSource_ScanCounts.ResultField.CONTAINER);
+                markResult(ClassSource_ScanCounts.ResultField.NON_ROOT_CONTAINER);
+                markResult(ClassSource_ScanCounts.ResultField.ENTRY);
+
+            } else if (!isClassResource(nextEntryName)) {
+                incrementResourceExclusionCount();
+
+                markResult(ClassSource_ScanCounts.ResultField.NON_CLASS);
+                markResult(ClassSource_ScanCounts.ResultField.NON_CONTAINER);
+                markResult(ClassSource_ScanCounts.ResultField.ENTRY);
+
+            } else {
+                // Classes are counted when they are recorded.
+
+                String nextClassName = getClassNameFromResourceName(nextEntryName);
+                if (classData.containsKey(nextClassName)) {
+                    continue;
+                }
+
+                D nextClassData;
+
+                try {
+                    InputStream inputStream = openResourceStream(nextClassName, nextEntryName); // throws ClassSource_Exception
+                    try {
+                        nextClassData = readClassData(streamer, nextClassName, inputStream);
+                    } finally {
+                        closeResourceStream(nextClassName, nextEntryName, inputStream);
+                    }
+
+                } catch (ClassSource_Exception e) {
+                    nextClassData = null;
+
+                    // CWWKC0044W: An exception occurred while scanning class and annotation data.
+                    Tr.warning(tc, "ANNO_TARGETS_SCAN_EXCEPTION", e);
+                }
+
+                classData.put(nextClassName, nextClassData);
+            }
+        }
+
+        return classData;
+    }
+
     protected boolean process(ClassSource_Streamer streamer, String className, String resourceName, ScanPolicy scanPolicy)
                     throws ClassSource_Exception {
 
@@ -13,6 +13,7 @@ package com.ibm.ws.anno.service.internal;
 
 import java.text.MessageFormat;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.osgi.framework.BundleContext;
 import org.osgi.service.component.ComponentContext;
@@ -22,6 +23,7 @@ import com.ibm.websphere.ras.TraceComponent;
 import com.ibm.websphere.ras.annotation.Trivial;
 import com.ibm.ws.anno.classsource.internal.ClassSourceImpl_Factory;
 import com.ibm.ws.anno.info.internal.InfoStoreFactoryImpl;
+import com.ibm.ws.anno.targets.internal.AnnotationTargetsImpl_Cache;
 import com.ibm.ws.anno.targets.internal.AnnotationTargetsImpl_Factory;
 import com.ibm.ws.anno.util.internal.UtilImpl_Factory;
 import com.ibm.wsspi.anno.service.AnnotationService_Service;
@@ -42,6 +44,8 @@ public class AnnotationServiceImpl_Service implements AnnotationService_Service
 
     //
 
+    public static final String CACHE_DIRECTORY_NAME = "annoCache";
+
     protected BundleContext bundleContext;
 
     protected void activate(ComponentContext componentContext, Map<String, Object> properties) {
@@ -52,11 +56,30 @@ public class AnnotationServiceImpl_Service implements AnnotationService_Service
         }
         bundleContext = componentContext.getBundleContext();
 
+        // Class data of unchanged class sources is reused across server restarts.
+        getAnnotationTargetsFactory().setCacheDirectory(bundleContext.getDataFile(CACHE_DIRECTORY_NAME));
+        AnnotationTargetsImpl_Cache cache = getAnnotationTargetsFactory().getCache();
+        if (cache != null) {
+            cache.prune(AnnotationTargetsImpl_Cache.UNUSED_EXPIRY_MILLIS);
+        }
+
         if (tc.isEntryEnabled()) {
             Tr.exit(tc, methodName, getHashText());
         }
     }
 
+    // Child class sources are read in parallel using the server executor.
+
+    protected void setExecutorService(ExecutorService executorService) {
+        getClassSourceFactory().setReadExecutor(executorService);
+    }
+
+    protected void unsetExecutorService(ExecutorService executorService) {
+        if (getClassSourceFactory().getReadExecutor() == executorService) {
+            getClassSourceFactory().setReadExecutor(null);
+        }
+    }
+
     //
 
     public AnnotationServiceImpl_Service() {
@@ -0,0 +1,404 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.ws.anno.targets.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.ibm.websphere.ras.Tr;
+import com.ibm.websphere.ras.TraceComponent;
+import com.ibm.ws.anno.service.internal.AnnotationServiceImpl_Logging;
+import com.ibm.ws.ffdc.annotation.FFDCIgnore;
+
+/**
+ * <p>Storage of the class data of class sources, so that a class source which has
+ * not changed need not be read again when the server is restarted.</p>
+ *
+ * <p>The class data of each class source is written to a separate file of the cache
+ * directory, together with the cache key and the stamp of the class source. Stored
+ * class data is used only if the stamp matches the current stamp of the class source.</p>
+ *
+ * <p>The file format is binary: A header, followed by a table of the distinct names
+ * used by the class data, followed by the class data, in which names are written
+ * as variable length indexes into the name table.</p>
+ *
+ * <p>The cache is an optimization only: A failure to read or to write a cache file
+ * causes the class source to be read.</p>
+ *
+ * <p>A cache file is touched each time it is used. Cache files which have not been
+ * used for a while, such as those of removed applications, are deleted by
+ * {@link #prune(long)}.</p>
+ */
+public class AnnotationTargetsImpl_Cache {
+    private static final TraceComponent tc = Tr.register(AnnotationTargetsImpl_Cache.class);
+    public static final String CLASS_NAME = AnnotationTargetsImpl_Cache.class.getName();
+
+    protected static final int MAGIC = 0x414E4E4F; // "ANNO"
+    protected static final int VERSION = 1;
+
+    protected static final int FLAG_PACKAGE = 0x01;
+    protected static final int FLAG_SUPERCLASS = 0x02;
+
+    protected static final String CACHE_FILE_PREFIX = "classes_";
+    protected static final String CACHE_FILE_SUFFIX = ".dat";
+
+    /** How long a cache file is kept after it was last used. */
+    public static final long UNUSED_EXPIRY_MILLIS = TimeUnit.DAYS.toMillis(30);
+
+    protected final String hashText;
+
+    public String getHashText() {
+        return hashText;
+    }
+
+    //
+
+    public AnnotationTargetsImpl_Cache(File cacheDir) {
+        this.hashText = AnnotationServiceImpl_Logging.getBaseHash(this);
+
+        this.cacheDir = cacheDir;
+
+        if (tc.isDebugEnabled()) {
+            Tr.debug(tc, MessageFormat.format("[ {0} ] Cache directory [ {1} ]", this.hashText, cacheDir));
+        }
+    }
+
+    protected final File cacheDir;
+
+    public File getCacheDir() {
+        return cacheDir;
+    }
+
+    protected File getCacheFile(String cacheKey) {
+        return new File(cacheDir, CACHE_FILE_PREFIX + Integer.toHexString(cacheKey.hashCode()) + CACHE_FILE_SUFFIX);
+    }
+
+    //
+
+    /**
+     * Load the class data which was stored for a class source.
+     *
+     * @param cacheKey The cache key of the class source.
+     * @param stamp The current stamp of the class source.
+     *
+     * @return The class data, keyed and ordered by class name. Null if no class data
+     *         is stored for the class source, if the stored class data is for a different
+     *         stamp, or if the stored class data could not be read.
+     */
+    @FFDCIgnore({ FileNotFoundException.class, IOException.class })
+    public Map<String, AnnotationTargetsImpl_ClassData> load(String cacheKey, String stamp) {
+        File cacheFile = getCacheFile(cacheKey);
+
+        Map<String, AnnotationTargetsImpl_ClassData> classData;
+
+        try {
+            DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)));
+            try {
+                classData = read(input, cacheKey, stamp); // throws IOException
+            } finally {
+                input.close();
+            }
+
+        } catch (FileNotFoundException e) {
+            classData = null;
+
+        } catch (IOException e) {
+            classData = null;
+
+            if (tc.isDebugEnabled()) {
+                Tr.debug(tc, MessageFormat.format("[ {0} ] Failed to read [ {1} ] for [ {2} ]",
+                                                  getHashText(), cacheFile, cacheKey), e);
+            }
+        }
+
+        if (classData != null) {
+            // Mark the cache file as used, so that it is not pruned.
+            cacheFile.setLastModified(System.currentTimeMillis());
+        }
+
+        if (tc.isDebugEnabled()) {
+            Tr.debug(tc, MessageFormat.format("[ {0} ] Key [ {1} ] Stamp [ {2} ]: [ {3} ]",
+                                              getHashText(), cacheKey, stamp,
+                                              ((classData == null) ? "Miss" : "Hit")));
+        }
+
+        return classData;
+    }
+
+    /**
+     * Store the class data of a class source. The class data is written to a
+     * temporary file, which then replaces the cache file of the class source,
+     * so that a partially written cache file is never read.
+     *
+     * @param cacheKey The cache key of the class source.
+     * @param stamp The stamp of the class source when its classes were read.
+     * @param classData The class data of the class source.
+     */
+    @FFDCIgnore(IOException.class)
+    public void store(String cacheKey, String stamp, Map<String, AnnotationTargetsImpl_ClassData> classData) {
+        File cacheFile = getCacheFile(cacheKey);
+
+        File tempFile = null;
+
+        try {
+            if (!cacheDir.isDirectory() && !cacheDir.mkdirs() && !cacheDir.isDirectory()) {
+                throw new IOException("Failed to create [ " + cacheDir + " ]");
+            }
+
+            tempFile = File.createTempFile(CACHE_FILE_PREFIX, null, cacheDir); // throws IOException
+
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+            try {
+                write(output, cacheKey, stamp, classData); // throws IOException
+            } finally {
+                output.close();
+            }
+
+            if (!tempFile.renameTo(cacheFile)) {
+                // Some platforms do not rename over an existing file.
+                cacheFile.delete();
+                if (!tempFile.renameTo(cacheFile)) {
+                    throw new IOException("Failed to rename [ " + tempFile + " ] to [ " + cacheFile + " ]");
+                }
+            }
+            tempFile = null;
+
+            if (tc.isDebugEnabled()) {
+                Tr.debug(tc, MessageFormat.format("[ {0} ] Stored [ {1} ] classes of [ {2} ] stamp [ {3} ]",
+                                                  getHashText(), Integer.valueOf(classData.size()), cacheKey, stamp));
+            }
+
+        } catch (IOException e) {
+            if (tc.isDebugEnabled()) {
+                Tr.debug(tc, MessageFormat.format("[ {0} ] Failed to write [ {1} ] for [ {2} ]",
+                                                  getHashText(), cacheFile, cacheKey), e);
+            }
+
+        } finally {
+            if (tempFile != null) {
+                tempFile.delete();
+            }
+        }
+    }
+
+    /**
+     * Delete the cache files which have not been used within an expiry period,
+     * and the temporary files left by stores which did not complete. This must
+     * not be run while class data is being stored.
+     *
+     * @param expiry The time, in milliseconds, after which an unused cache file
+     *            is deleted.
+     *
+     * @return The number of files which were deleted.
+     */
+    public int prune(long expiry) {
+        File[] files = cacheDir.listFiles();
+        if (files == null) {
+            return 0;
+        }
+
+        long oldest = System.currentTimeMillis() - expiry;
+
+        int deleted = 0;
+        for (File file : files) {
+            String fileName = file.getName();
+            if (!fileName.startsWith(CACHE_FILE_PREFIX) || !file.isFile()) {
+                continue;
+            }
+            if (fileName.endsWith(CACHE_FILE_SUFFIX) && (file.lastModified() >= oldest)) {
+                continue;
+            }
+            if (file.delete()) {
+                deleted++;
+            }
+        }
+
+        if (tc.isDebugEnabled()) {
+            Tr.debug(tc, MessageFormat.format("[ {0} ] Pruned [ {1} ] of [ {2} ] files",
+                                              getHashText(), Integer.valueOf(deleted), Integer.valueOf(files.length)));
+        }
+
+        return deleted;
+    }
+
+    // Binary format ...
+
+    protected static void write(DataOutputStream output,
+                                String cacheKey, String stamp,
+                                Map<String, AnnotationTargetsImpl_ClassData> classData) throws IOException {
+
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeUTF(cacheKey);
+        output.writeUTF(stamp);
+
+        // Assign indexes to the distinct names in order of first use.
+
+        Map<String, Integer> nameIndexes = new HashMap<String, Integer>();
+        List<String> names = new ArrayList<String>();
+        for (AnnotationTargetsImpl_ClassData nextData : classData.values()) {
+            addName(nameIndexes, names, nextData.getName());
+            if (nextData.getSuperclassName() != null) {
+                addName(nameIndexes, names, nextData.getSuperclassName());
+            }
+            addNames(nameIndexes, names, nextData.getInterfaceNames());
+            addNames(nameIndexes, names, nextData.getClassAnnotations());
+            addNames(nameIndexes, names, nextData.getFieldAnnotations());
+            addNames(nameIndexes, names, nextData.getMethodAnnotations());
+        }
+
+        writeCount(output, names.size());
+        for (String name : names) {
+            output.writeUTF(name);
+        }
+
+        writeCount(output, classData.size());
+        for (AnnotationTargetsImpl_ClassData nextData : classData.values()) {
+            int flags = 0;
+            if (nextData.isPackage()) {
+                flags |= FLAG_PACKAGE;
+            }
+            if (nextData.getSuperclassName() != null) {
+                flags |= FLAG_SUPERCLASS;
+            }
+            output.writeByte(flags);
+
+            writeCount(output, nameIndexes.get(nextData.getName()).intValue());
+            if (nextData.getSuperclassName() != null) {
+                writeCount(output, nameIndexes.get(nextData.getSuperclassName()).intValue());
+            }
+            writeNames(output, nameIndexes, nextData.getInterfaceNames());
+            writeNames(output, nameIndexes, nextData.getClassAnnotations());
+            writeNames(output, nameIndexes, nextData.getFieldAnnotations());
+            writeNames(output, nameIndexes, nextData.getMethodAnnotations());
+        }
+    }
+
+    protected static Map<String, AnnotationTargetsImpl_ClassData> read(DataInputStream input,
+                                                                       String cacheKey, String stamp) throws IOException {
+
+        if ((input.readInt() != MAGIC) || (input.readInt() != VERSION)) {
+            return null;
+        }
+        if (!cacheKey.equals(input.readUTF()) || !stamp.equals(input.readUTF())) {
+            return null;
+        }
+
+        String[] names = new String[readCount(input)];
+        for (int nameNo = 0; nameNo < names.length; nameNo++) {
+            names[nameNo] = input.readUTF();
+        }
+
+        int classCount = readCount(input);
+        Map<String, AnnotationTargetsImpl_ClassData> classData = new LinkedHashMap<String, AnnotationTargetsImpl_ClassData>(classCount * 2);
+
+        for (int classNo = 0; classNo < classCount; classNo++) {
+            int flags = input.readByte();
+
+            String name = readName(input, names);
+            boolean isPackage = ((flags & FLAG_PACKAGE) != 0);
+            String superclassName = (((flags & FLAG_SUPERCLASS) != 0) ? readName(input, names) : null);
+
+            AnnotationTargetsImpl_ClassData nextData =
+                            new AnnotationTargetsImpl_ClassData(name, isPackage, superclassName,
+                                                                readNames(input, names),
+                                                                readNames(input, names),
+                                                                readNames(input, names),
+                                                                readNames(input, names));
+
+            String className = (isPackage ? (name + '.' + AnnotationTargetsVisitor.PACKAGE_INFO_CLASS_NAME) : name);
+            classData.put(className, nextData);
+        }
+
+        return classData;
+    }
+
+    private static void addName(Map<String, Integer> nameIndexes, List<String> names, String name) {
+        if (!nameIndexes.containsKey(name)) {
+            nameIndexes.put(name, Integer.valueOf(names.size()));
+            names.add(name);
+        }
+    }
+
+    private static void addNames(Map<String, Integer> nameIndexes, List<String> names, String[] addNames) {
+        for (String name : addNames) {
+            addName(nameIndexes, names, name);
+        }
+    }
+
+    private static void writeNames(DataOutputStream output, Map<String, Integer> nameIndexes, String[] names) throws IOException {
+        writeCount(output, names.length);
+        for (String name : names) {
+            writeCount(output, nameIndexes.get(name).intValue());
+        }
+    }
+
+    private static String readName(DataInputStream input, String[] names) throws IOException {
+        int nameNo = readCount(input);
+        if (nameNo >= names.length) {
+            throw new IOException("Name index [ " + nameNo + " ] exceeds [ " + names.length + " ]");
+        }
+        return names[nameNo];
+    }
+
+    private static String[] readNames(DataInputStream input, String[] names) throws IOException {
+        int nameCount = readCount(input);
+        if (nameCount == 0) {
+            return AnnotationTargetsImpl_ClassData.EMPTY_NAMES;
+        }
+        String[] result = new String[nameCount];
+        for (int nameNo = 0; nameNo < nameCount; nameNo++) {
+            result[nameNo] = readName(input, names);
+        }
+        return result;
+    }
+
+    // Counts and indexes are written seven bits per byte, low bits first;
+    // most are written as a single byte.
+
+    protected static void writeCount(DataOutputStream output, int count) throws IOException {
+        while ((count & ~0x7F) != 0) {
+            output.writeByte((count & 0x7F) | 0x80);
+            count >>>= 7;
+        }
+        output.writeByte(count);
+    }
+
+    protected static int readCount(DataInputStream input) throws IOException {
+        int count = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int nextByte = input.readUnsignedByte();
+            count |= (nextByte & 0x7F) << shift;
+            if ((nextByte & 0x80) == 0) {
+                if (count < 0) {
+                    break;
+                }
+                return count;
+            }
+        }
+        throw new IOException("Count is not valid");
+    }
+}
@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.ws.anno.targets.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * <p>The targets data of a single class or package, as read from the class bytes.</p>
+ *
+ * <p>Class data holds everything which {@link AnnotationTargetsVisitor} records for
+ * a class, without regard to the scan policy of the class or to whether detail is
+ * enabled: The class data of a class source may be stored and reused for a scan
+ * with a different policy. The policy is applied when the class data is recorded,
+ * by {@link AnnotationTargetsImpl_Targets#i_recordClassData}.</p>
+ *
+ * <p>Names are not interned. Class data is read for several class sources at once,
+ * and the intern maps of the targets are not thread safe. Names are interned when
+ * the class data is recorded.</p>
+ */
+public class AnnotationTargetsImpl_ClassData {
+
+    public static final String[] EMPTY_NAMES = new String[0];
+
+    protected AnnotationTargetsImpl_ClassData(String name, boolean isPackage,
+                                              String superclassName, String[] interfaceNames,
+                                              String[] classAnnotations,
+                                              String[] fieldAnnotations,
+                                              String[] methodAnnotations) {
+        this.name = name;
+        this.isPackage = isPackage;
+
+        this.superclassName = superclassName;
+        this.interfaceNames = interfaceNames;
+
+        this.classAnnotations = classAnnotations;
+        this.fieldAnnotations = fieldAnnotations;
+        this.methodAnnotations = methodAnnotations;
+    }
+
+    // The class name; the package name for package data.
+
+    protected final String name;
+
+    public String getName() {
+        return name;
+    }
+
+    protected final boolean isPackage;
+
+    public boolean isPackage() {
+        return isPackage;
+    }
+
+    // Null for packages and for java.lang.Object.
+
+    protected final String superclassName;
+
+    public String getSuperclassName() {
+        return superclassName;
+    }
+
+    protected final String[] interfaceNames;
+
+    public String[] getInterfaceNames() {
+        return interfaceNames;
+    }
+
+    // The distinct names of the annotation classes, by category.  The class
+    // annotations of package data are the package annotations.
+
+    protected final String[] classAnnotations;
+
+    public String[] getClassAnnotations() {
+        return classAnnotations;
+    }
+
+    protected final String[] fieldAnnotations;
+
+    public String[] getFieldAnnotations() {
+        return fieldAnnotations;
+    }
+
+    protected final String[] methodAnnotations;
+
+    public String[] getMethodAnnotations() {
+        return methodAnnotations;
+    }
+
+    //
+
+    /**
+     * Read the data of a class from the class bytes.
+     *
+     * @param className The name of the class, as computed from the name of the class resource.
+     * @param inputStream The stream of the class bytes.
+     *
+     * @return The class data. Null if the name of the class within the class bytes does
+     *         not match the name computed from the name of the class resource.
+     *
+     * @throws IOException Thrown if the class bytes could not be read.
+     */
+    public static AnnotationTargetsImpl_ClassData read(String className, InputStream inputStream) throws IOException {
+        ClassReader classReader = new ClassReader(inputStream); // throws IOException
+
+        Reader reader = new Reader(className);
+        classReader.accept(reader, (ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG | ClassReader.SKIP_CODE));
+
+        return reader.getClassData();
+    }
+
+    // Visitor used to collect class data.  The visit rules are described
+    // by AnnotationTargetsVisitor.
+
+    protected static class Reader extends ClassVisitor {
+        protected final String externalName;
+
+        protected String name;
+        protected boolean isPackage;
+        protected boolean isMismatch;
+
+        protected String superclassName;
+        protected String[] interfaceNames = EMPTY_NAMES;
+
+        protected final Set<String> classAnnotations = new LinkedHashSet<String>();
+        protected final Set<String> fieldAnnotations = new LinkedHashSet<String>();
+        protected final Set<String> methodAnnotations = new LinkedHashSet<String>();
+
+        protected Reader(String externalName) {
+            super(Opcodes.ASM5);
+
+            this.externalName = externalName;
+        }
+
+        protected AnnotationTargetsImpl_ClassData getClassData() {
+            if (isMismatch || (name == null)) {
+                return null;
+            }
+
+            return new AnnotationTargetsImpl_ClassData(name, isPackage,
+                                                       superclassName, interfaceNames,
+                                                       toArray(classAnnotations),
+                                                       toArray(fieldAnnotations),
+                                                       toArray(methodAnnotations));
+        }
+
+        private static String[] toArray(Set<String> names) {
+            return (names.isEmpty() ? EMPTY_NAMES : names.toArray(new String[names.size()]));
+        }
+
+        @Override
+        public void visit(int version,
+                          int access,
+                          String classResourceName,
+                          String signature,
+                          String superClassResourceName,
+                          String interfaceResourceNames[]) {
+
+            String className = AnnotationTargetsVisitor.getClassNameFromPartialResourceName(classResourceName);
+
+            if (AnnotationTargetsVisitor.isPackageName(className)) {
+                isPackage = true;
+
+                String packageName = AnnotationTargetsVisitor.stripPackageNameFromClassName(className);
+                if (!AnnotationTargetsVisitor.isPackageName(externalName) ||
+                    !packageName.equals(AnnotationTargetsVisitor.stripPackageNameFromClassName(externalName))) {
+                    isMismatch = true;
+                    return;
+                }
+
+                name = packageName;
+
+            } else {
+                if (!className.equals(externalName)) {
+                    isMismatch = true;
+                    return;
+                }
+
+                name = className;
+
+                if (superClassResourceName != null) {
+                    superclassName = AnnotationTargetsVisitor.getClassNameFromPartialResourceName(superClassResourceName);
+                }
+
+                if ((interfaceResourceNames != null) && (interfaceResourceNames.length > 0)) {
+                    interfaceNames = new String[interfaceResourceNames.length];
+                    for (int nameNo = 0; nameNo < interfaceResourceNames.length; nameNo++) {
+                        interfaceNames[nameNo] = AnnotationTargetsVisitor.getClassNameFromPartialResourceName(interfaceResourceNames[nameNo]);
+                    }
+                }
+            }
+        }
+
+        protected static String getAnnotationClassName(String desc) {
+            String annotationResourceName = AnnotationTargetsVisitor.getClassResourceNameFromAnnotationDescription(desc);
+            return AnnotationTargetsVisitor.getClassNameFromPartialResourceName(annotationResourceName);
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+            if (!isMismatch) {
+                classAnnotations.add(getAnnotationClassName(desc));
+            }
+            return null;
+        }
+
+        protected final FieldVisitor fieldVisitor = new FieldVisitor(Opcodes.ASM5) {
+            @Override
+            public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+                fieldAnnotations.add(getAnnotationClassName(desc));
+                return null;
+            }
+        };
+
+        @Override
+        public FieldVisitor visitField(int access, String fieldName, String desc, String signature, Object defaultValue) {
+            return (isMismatch ? null : fieldVisitor);
+        }
+
+        protected final MethodVisitor methodVisitor = new MethodVisitor(Opcodes.ASM5) {
+            @Override
+            public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+                methodAnnotations.add(getAnnotationClassName(desc));
+                return null;
+            }
+        };
+
+        @Override
+        public MethodVisitor visitMethod(int access, String methodName, String desc, String signature, String exceptions[]) {
+            return (isMismatch ? null : methodVisitor);
+        }
+    }
+}
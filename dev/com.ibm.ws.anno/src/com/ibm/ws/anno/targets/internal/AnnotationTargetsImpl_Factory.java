@@ -11,6 +11,7 @@
 
 package com.ibm.ws.anno.targets.internal;
 
+import java.io.File;
 import java.text.MessageFormat;
 
 import com.ibm.websphere.ras.Tr;
@@ -63,6 +64,23 @@ public class AnnotationTargetsImpl_Factory implements AnnotationTargets_Factory
         return utilFactory;
     }
 
+    // Storage of class data, used to avoid reading unchanged class sources.
+    // Null (no storage) unless a cache directory is set.
+
+    protected volatile AnnotationTargetsImpl_Cache cache;
+
+    public AnnotationTargetsImpl_Cache getCache() {
+        return cache;
+    }
+
+    public void setCacheDirectory(File cacheDir) {
+        this.cache = ((cacheDir == null) ? null : new AnnotationTargetsImpl_Cache(cacheDir));
+
+        if (tc.isDebugEnabled()) {
+            Tr.debug(tc, MessageFormat.format("[ {0} ] Cache directory [ {1} ]", this.hashText, cacheDir));
+        }
+    }
+
     //
 
     @Override
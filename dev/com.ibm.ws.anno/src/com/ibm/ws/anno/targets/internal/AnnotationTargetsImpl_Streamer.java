@@ -13,16 +13,17 @@ package com.ibm.ws.anno.targets.internal;
 
 import java.io.InputStream;
 import java.text.MessageFormat;
+import java.util.Map;
 
 import com.ibm.websphere.ras.Tr;
 import com.ibm.websphere.ras.TraceComponent;
+import com.ibm.ws.anno.classsource.internal.ClassSourceImpl_ClassDataStreamer;
 import com.ibm.ws.anno.service.internal.AnnotationServiceImpl_Logging;
 import com.ibm.wsspi.anno.classsource.ClassSource_Aggregate.ScanPolicy;
 import com.ibm.wsspi.anno.classsource.ClassSource_Exception;
 import com.ibm.wsspi.anno.classsource.ClassSource_Factory;
-import com.ibm.wsspi.anno.classsource.ClassSource_Streamer;
 
-public class AnnotationTargetsImpl_Streamer implements ClassSource_Streamer {
+public class AnnotationTargetsImpl_Streamer implements ClassSourceImpl_ClassDataStreamer<AnnotationTargetsImpl_ClassData> {
     private static final TraceComponent tc = Tr.register(AnnotationTargetsImpl_Streamer.class);
 
     public static final String CLASS_NAME = AnnotationTargetsImpl_Streamer.class.getName();
@@ -87,4 +88,36 @@ public class AnnotationTargetsImpl_Streamer implements ClassSource_Streamer {
     public boolean process(String classSourceName, String className, InputStream inputStream, ScanPolicy scanPolicy) {
         return getTargets().scanClass(classSourceName, className, inputStream, scanPolicy);
     }
+
+    // Entry from aggregate class sources, for example:
+    //   ClassSourceImpl_Aggregate.scanClassData(ClassSourceImpl_ClassDataStreamer)
+
+    @Override
+    public AnnotationTargetsImpl_ClassData readClassData(String classSourceName, String className, InputStream inputStream) {
+        return getTargets().readClassData(classSourceName, className, inputStream);
+    }
+
+    @Override
+    public boolean recordClassData(String classSourceName, String className,
+                                   AnnotationTargetsImpl_ClassData classData, ScanPolicy scanPolicy) {
+        return getTargets().i_recordClassData(classSourceName, classData, scanPolicy);
+    }
+
+    protected AnnotationTargetsImpl_Cache getCache() {
+        return getTargets().getFactory().getCache();
+    }
+
+    @Override
+    public Map<String, AnnotationTargetsImpl_ClassData> loadClassData(String cacheKey, String stamp) {
+        AnnotationTargetsImpl_Cache cache = getCache();
+        return ((cache == null) ? null : cache.load(cacheKey, stamp));
+    }
+
+    @Override
+    public void storeClassData(String cacheKey, String stamp, Map<String, AnnotationTargetsImpl_ClassData> classData) {
+        AnnotationTargetsImpl_Cache cache = getCache();
+        if (cache != null) {
+            cache.store(cacheKey, stamp, classData);
+        }
+    }
 }
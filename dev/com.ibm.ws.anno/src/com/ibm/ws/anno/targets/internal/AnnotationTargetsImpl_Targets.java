@@ -551,6 +551,112 @@ public class AnnotationTargetsImpl_Targets implements AnnotationTargets_Targets
         return visitor;
     }
 
+    // Two step scans: Class data is read for several class sources at once,
+    // then is recorded one class source at a time, in class source order.
+    //
+    // Entry is from:
+    //     AnnotationTargetsImpl_Streamer.readClassData(String, String, InputStream)
+    //     AnnotationTargetsImpl_Streamer.recordClassData(String, String, AnnotationTargetsImpl_ClassData, ScanPolicy)
+    //
+    // Reading class data must not use the visitor or the intern maps,
+    // neither of which is thread safe.
+
+    @FFDCIgnore({ IOException.class, ArrayIndexOutOfBoundsException.class })
+    protected AnnotationTargetsImpl_ClassData readClassData(String classSourceName,
+                                                            String className,
+                                                            InputStream inputStream) {
+        try {
+            AnnotationTargetsImpl_ClassData classData = AnnotationTargetsImpl_ClassData.read(className, inputStream);
+            // throws IOException, Exception
+
+            if ((classData == null) && tc.isDebugEnabled()) {
+                Tr.debug(tc, "Class name mismatch", getHashText(), className);
+            }
+
+            return classData;
+
+        } catch (IOException e) {
+            Tr.warning(tc, "ANNO_TARGETS_FAILED_TO_CREATE_READER", className); // CWWKC0049W
+            return null;
+
+        } catch (ArrayIndexOutOfBoundsException e) {
+            Tr.info(tc, "ANNO_TARGETS_CORRUPT_CLASS", className, classSourceName);
+            return null;
+
+        } catch (Exception e) {
+            // CWWKC0044W: An exception occurred while scanning class and annotation data.
+            Tr.warning(tc, "ANNO_TARGETS_SCAN_EXCEPTION", e);
+            return null;
+        }
+    }
+
+    // Record class data, following the same rules as the visitor:
+    // Packages are not recorded as scanned classes, and field and
+    // method annotations are recorded only when detail is enabled
+    // and the class is not an external class.
+
+    protected boolean i_recordClassData(String classSourceName,
+                                        AnnotationTargetsImpl_ClassData classData,
+                                        ScanPolicy scanPolicy) {
+
+        if (classData.isPackage()) {
+            String i_packageName = internClassName(classData.getName(), Util_InternMap.DO_FORCE);
+
+            for (String annotationClassName : classData.getClassAnnotations()) {
+                i_recordAnnotation(scanPolicy, AnnotationCategory.PACKAGE, i_packageName, internClassName(annotationClassName));
+            }
+
+            return true;
+        }
+
+        String i_className = internClassName(classData.getName());
+
+        if (!i_placeClass(internClassSourceName(classSourceName), i_className) ||
+            !i_addScannedClassName(i_className, scanPolicy)) {
+            Tr.warning(tc, "ANNO_TARGETS_DUPLICATE_CLASS", getHashText(), i_className); // CWWKC0055W
+            return false;
+        }
+
+        i_removeReferencedClassName(i_className);
+
+        String superclassName = classData.getSuperclassName();
+        if (superclassName != null) {
+            String i_superclassName = internClassName(superclassName);
+
+            i_setSuperclassName(i_className, i_superclassName);
+            i_addReferencedClassName(i_superclassName);
+        }
+
+        String[] interfaceNames = classData.getInterfaceNames();
+        if (interfaceNames.length > 0) {
+            String[] i_interfaceNames = new String[interfaceNames.length];
+            for (int nameNo = 0; nameNo < interfaceNames.length; nameNo++) {
+                i_interfaceNames[nameNo] = internClassName(interfaceNames[nameNo]);
+            }
+
+            i_setInterfaceNames(i_className, i_interfaceNames);
+
+            for (String i_interfaceName : i_interfaceNames) {
+                i_addReferencedClassName(i_interfaceName);
+            }
+        }
+
+        for (String annotationClassName : classData.getClassAnnotations()) {
+            i_recordAnnotation(scanPolicy, AnnotationCategory.CLASS, i_className, internClassName(annotationClassName));
+        }
+
+        if ((scanPolicy != ScanPolicy.EXTERNAL) && isDetailEnabled) {
+            for (String annotationClassName : classData.getFieldAnnotations()) {
+                i_recordAnnotation(scanPolicy, AnnotationCategory.FIELD, i_className, internClassName(annotationClassName));
+            }
+            for (String annotationClassName : classData.getMethodAnnotations()) {
+                i_recordAnnotation(scanPolicy, AnnotationCategory.METHOD, i_className, internClassName(annotationClassName));
+            }
+        }
+
+        return true;
+    }
+
     //
 
     // Record a class as being unresolvable.
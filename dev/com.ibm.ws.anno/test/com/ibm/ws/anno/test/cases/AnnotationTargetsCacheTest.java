@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.anno.test.cases;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.Resource;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import com.ibm.ws.anno.targets.internal.AnnotationTargetsImpl_Cache;
+import com.ibm.ws.anno.targets.internal.AnnotationTargetsImpl_ClassData;
+import com.ibm.ws.anno.test.data.BClass;
+import com.ibm.ws.anno.test.data.CIntf;
+import com.ibm.ws.anno.test.data.DerivedBase;
+import com.ibm.ws.anno.test.data.sub.SubBase;
+
+import junit.framework.Assert;
+import test.common.SharedOutputManager;
+
+/**
+ * Verify the reading of class data and the storage of class data
+ * by the annotation scan cache.
+ */
+public class AnnotationTargetsCacheTest {
+    SharedOutputManager outputMgr = SharedOutputManager.getInstance().trace("*=all").logTo(TestConstants.BUILD_LOGS + this.getClass().getSimpleName());
+
+    @Rule
+    public TestRule outputRule = outputMgr;
+
+    static AnnotationTargetsImpl_ClassData readClassData(Class<?> clazz) throws IOException {
+        InputStream inputStream = clazz.getResourceAsStream(clazz.getSimpleName() + ".class");
+        try {
+            return AnnotationTargetsImpl_ClassData.read(clazz.getName(), inputStream);
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    static File createCacheDir() throws IOException {
+        File cacheDir = File.createTempFile("annoCache", null);
+        cacheDir.delete();
+        cacheDir.deleteOnExit();
+        return cacheDir;
+    }
+
+    @Test
+    public void testReadClassData() throws IOException {
+        AnnotationTargetsImpl_ClassData classData = readClassData(BClass.class);
+
+        Assert.assertEquals(BClass.class.getName(), classData.getName());
+        Assert.assertFalse(classData.isPackage());
+        Assert.assertEquals(SubBase.class.getName(), classData.getSuperclassName());
+        Assert.assertEquals(Arrays.asList(CIntf.class.getName()), Arrays.asList(classData.getInterfaceNames()));
+        Assert.assertEquals(Arrays.asList(Resource.class.getName()), Arrays.asList(classData.getClassAnnotations()));
+        Assert.assertTrue(Arrays.asList(classData.getMethodAnnotations()).contains(Resource.class.getName()));
+    }
+
+    @Test
+    public void testReadClassDataMismatch() throws IOException {
+        InputStream inputStream = BClass.class.getResourceAsStream("BClass.class");
+        try {
+            Assert.assertNull(AnnotationTargetsImpl_ClassData.read(DerivedBase.class.getName(), inputStream));
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    @Test
+    public void testStoreAndLoad() throws IOException {
+        Map<String, AnnotationTargetsImpl_ClassData> classData = new LinkedHashMap<String, AnnotationTargetsImpl_ClassData>();
+        for (Class<?> clazz : new Class<?>[] { BClass.class, SubBase.class, DerivedBase.class, CIntf.class }) {
+            classData.put(clazz.getName(), readClassData(clazz));
+        }
+
+        File cacheDir = createCacheDir();
+        AnnotationTargetsImpl_Cache cache = new AnnotationTargetsImpl_Cache(cacheDir);
+
+        Assert.assertNull(cache.load("test.jar", "1_1"));
+
+        cache.store("test.jar", "1_1", classData);
+
+        Map<String, AnnotationTargetsImpl_ClassData> loaded = cache.load("test.jar", "1_1");
+        Assert.assertNotNull(loaded);
+        Assert.assertEquals(classData.keySet().toString(), loaded.keySet().toString());
+
+        for (Map.Entry<String, AnnotationTargetsImpl_ClassData> entry : classData.entrySet()) {
+            AnnotationTargetsImpl_ClassData expected = entry.getValue();
+            AnnotationTargetsImpl_ClassData actual = loaded.get(entry.getKey());
+
+            Assert.assertEquals(expected.getName(), actual.getName());
+            Assert.assertEquals(expected.isPackage(), actual.isPackage());
+            Assert.assertEquals(expected.getSuperclassName(), actual.getSuperclassName());
+            Assert.assertEquals(Arrays.asList(expected.getInterfaceNames()), Arrays.asList(actual.getInterfaceNames()));
+            Assert.assertEquals(Arrays.asList(expected.getClassAnnotations()), Arrays.asList(actual.getClassAnnotations()));
+            Assert.assertEquals(Arrays.asList(expected.getFieldAnnotations()), Arrays.asList(actual.getFieldAnnotations()));
+            Assert.assertEquals(Arrays.asList(expected.getMethodAnnotations()), Arrays.asList(actual.getMethodAnnotations()));
+        }
+
+        // A changed class source must be read again.
+        Assert.assertNull(cache.load("test.jar", "2_1"));
+        Assert.assertNull(cache.load("other.jar", "1_1"));
+
+        for (File cacheFile : cacheDir.listFiles()) {
+            cacheFile.delete();
+        }
+        cacheDir.delete();
+    }
+
+    @Test
+    public void testPrune() throws IOException {
+        Map<String, AnnotationTargetsImpl_ClassData> classData = new LinkedHashMap<String, AnnotationTargetsImpl_ClassData>();
+        classData.put(BClass.class.getName(), readClassData(BClass.class));
+
+        File cacheDir = createCacheDir();
+        AnnotationTargetsImpl_Cache cache = new AnnotationTargetsImpl_Cache(cacheDir);
+
+        Assert.assertEquals(0, cache.prune(AnnotationTargetsImpl_Cache.UNUSED_EXPIRY_MILLIS));
+
+        cache.store("used.jar", "1_1", classData);
+        cache.store("unused.jar", "1_1", classData);
+        File tempFile = File.createTempFile("classes_", null, cacheDir);
+
+        long expired = System.currentTimeMillis() - AnnotationTargetsImpl_Cache.UNUSED_EXPIRY_MILLIS - 60000;
+        for (File cacheFile : cacheDir.listFiles()) {
+            cacheFile.setLastModified(expired);
+        }
+
+        // Loading a cache file marks it as used.
+        Assert.assertNotNull(cache.load("used.jar", "1_1"));
+
+        Assert.assertEquals(2, cache.prune(AnnotationTargetsImpl_Cache.UNUSED_EXPIRY_MILLIS));
+        Assert.assertFalse(tempFile.exists());
+        Assert.assertNotNull(cache.load("used.jar", "1_1"));
+        Assert.assertNull(cache.load("unused.jar", "1_1"));
+
+        for (File cacheFile : cacheDir.listFiles()) {
+            cacheFile.delete();
+        }
+        cacheDir.delete();
+    }
+}
@@ -120,6 +120,9 @@ public class SSLConnectionLink extends OutboundProtocolLink implements Connectio
 
         // Create the read and write interfaces for this connection link.
         super.init(inVC);
+        // data must be encrypted, so the TCP channel may never write file
+        // channel buffers straight to the socket for this connection
+        inVC.attemptToSetFileChannelCapable(VirtualConnection.FILE_CHANNEL_CAPABLE_DISABLED);
         initInterfaces(new SSLConnectionContextImpl(this, !isInbound),
                        new SSLReadServiceContext(this),
                        new SSLWriteServiceContext(this));
@@ -60,6 +60,15 @@ public class PooledWsByteBufferImpl extends WsByteBufferImpl {
     /** allWsByteBuffers is only used if leak detection is on */
     private Hashtable<WsByteBuffer, WsByteBuffer> allWsByteBuffers = null;
 
+    /**
+     * Flag on whether the current allocation of this entry is being tracked
+     * by the leak detection code. Set by the owning pool on each allocation.
+     */
+    transient boolean leakTracked = false;
+
+    /** Flag on whether the wrapped buffer is a slice of a shared slab */
+    transient boolean slabBacked = false;
+
     /**
      * Constructor.
      */
@@ -0,0 +1,357 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.bytebuffer.internal;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.ibm.websphere.ras.Tr;
+import com.ibm.websphere.ras.TraceComponent;
+
+/**
+ * A pool of WsByteBuffers that keeps free entries in per-thread magazines,
+ * exchanging whole magazines with a lock-free global depot when a thread
+ * runs dry or fills up. Direct entries are carved out of larger slabs of
+ * native memory, one slab per magazine refill, so the steady state of the
+ * allocate and release paths is both lock-free and allocation-free.
+ * <p>
+ * Leak detection, when enabled, only tracks a random sample of the
+ * allocations instead of every entry handed out by the pool.
+ */
+public class SlabWsByteBufferPool extends WsByteBufferPool {
+
+    private static final TraceComponent tc = Tr.register(SlabWsByteBufferPool.class,
+                                                         MessageConstants.WSBB_TRACE_NAME,
+                                                         MessageConstants.WSBB_BUNDLE);
+
+    /** Largest amount of native memory carved in one slab */
+    private static final int MAX_SLAB_BYTES = 1024 * 1024;
+
+    /**
+     * Fixed size stack of free entries owned by a single thread, or parked
+     * in one of the depots.
+     */
+    private static final class Magazine {
+        final PooledWsByteBufferImpl[] entries;
+        int count = 0;
+
+        Magazine(int size) {
+            this.entries = new PooledWsByteBufferImpl[size];
+        }
+
+        boolean isFull() {
+            return this.count == this.entries.length;
+        }
+    }
+
+    private final WsByteBufferPoolManagerImpl manager;
+    private final boolean isDirectPool;
+    private final int magazineSize;
+    /** Sample one of every N allocations for leak detection, 0 to disable */
+    private final int leakSampleRate;
+    /** Magazines full of free entries waiting for a thread to claim them */
+    private final AtomicReferenceArray<Magazine> fullDepot;
+    /** Empty magazines kept to avoid allocating new ones on exchange */
+    private final AtomicReferenceArray<Magazine> emptyDepot;
+    /** Number of entries that may still be carved out of new slabs */
+    private final AtomicInteger slabBudget;
+    private final AtomicInteger uniqueCounter = new AtomicInteger(0);
+    private final Map<PooledWsByteBufferImpl, Boolean> sampledInUse;
+
+    private final ThreadLocal<Magazine> magazines = new ThreadLocal<Magazine>() {
+        @Override
+        protected Magazine initialValue() {
+            return new Magazine(magazineSize);
+        }
+    };
+
+    /**
+     * Create the pool.
+     *
+     * @param entrySizeIn
+     * @param _localPoolSize the number of entries cached per thread
+     * @param _globalPoolSize the number of entries cached globally
+     * @param _leakSampleRate sample 1 of this many allocations for leak
+     *            detection, or 0 if leak detection is disabled
+     * @param isDirectPool
+     * @param _manager
+     */
+    public SlabWsByteBufferPool(int entrySizeIn, int _localPoolSize, int _globalPoolSize,
+                                int _leakSampleRate, boolean isDirectPool, WsByteBufferPoolManagerImpl _manager) {
+        super(entrySizeIn);
+        this.manager = _manager;
+        this.isDirectPool = isDirectPool;
+        this.magazineSize = Math.max(1, _localPoolSize);
+        this.leakSampleRate = _leakSampleRate;
+        int depotSize = Math.max(1, (_globalPoolSize + this.magazineSize - 1) / this.magazineSize);
+        this.fullDepot = new AtomicReferenceArray<Magazine>(depotSize);
+        this.emptyDepot = new AtomicReferenceArray<Magazine>(depotSize);
+        // slabs only make sense for native memory, heap buffers are left
+        // to the garbage collector
+        this.slabBudget = new AtomicInteger(isDirectPool ? _globalPoolSize : 0);
+        this.sampledInUse = (0 < _leakSampleRate) ? new ConcurrentHashMap<PooledWsByteBufferImpl, Boolean>() : null;
+
+        if (TraceComponent.isAnyTracingEnabled() && tc.isEventEnabled()) {
+            Tr.event(tc, "Creating : " + this +
+                         " direct=" + isDirectPool +
+                         " magazine size: " + this.magazineSize +
+                         " depot size: " + depotSize +
+                         " leak sample rate: " + _leakSampleRate);
+        }
+    }
+
+    /*
+     * @see com.ibm.ws.bytebuffer.internal.WsByteBufferPool#getEntry()
+     */
+    @Override
+    public PooledWsByteBufferImpl getEntry() {
+        PooledWsByteBufferImpl entry;
+        Magazine mag = this.magazines.get();
+        if (0 == mag.count) {
+            Magazine full = poll(this.fullDepot);
+            if (null != full) {
+                offer(this.emptyDepot, mag);
+                this.magazines.set(full);
+                mag = full;
+            }
+        }
+        if (0 < mag.count) {
+            entry = mag.entries[--mag.count];
+            mag.entries[mag.count] = null;
+        } else {
+            entry = refill(mag);
+        }
+
+        if (null != this.sampledInUse && 0 == ThreadLocalRandom.current().nextInt(this.leakSampleRate)) {
+            entry.leakTracked = true;
+            this.sampledInUse.put(entry, Boolean.TRUE);
+        } else {
+            entry.leakTracked = false;
+        }
+        return entry;
+    }
+
+    /*
+     * @see com.ibm.ws.bytebuffer.internal.WsByteBufferPool#release(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public void release(Object buffer, Object entryID) {
+        PooledWsByteBufferImpl entry = (PooledWsByteBufferImpl) buffer;
+        if (entry.leakTracked) {
+            this.sampledInUse.remove(entry);
+        }
+
+        Magazine mag = this.magazines.get();
+        if (mag.isFull()) {
+            if (offer(this.fullDepot, mag)) {
+                mag = poll(this.emptyDepot);
+                if (null == mag) {
+                    mag = new Magazine(this.magazineSize);
+                }
+                this.magazines.set(mag);
+            } else {
+                // global depot is full as well, drop whatever is not
+                // sitting on a slab to make room
+                trim(mag);
+                if (mag.isFull()) {
+                    destroy(entry);
+                    return;
+                }
+            }
+        }
+        mag.entries[mag.count++] = entry;
+    }
+
+    /**
+     * Create a new entry when both the local magazine and the global depot
+     * are empty. If slab budget remains then a new slab is carved and the
+     * rest of its entries fill the (empty) input magazine.
+     *
+     * @param mag
+     * @return PooledWsByteBufferImpl
+     */
+    private PooledWsByteBufferImpl refill(Magazine mag) {
+        int entrySize = getEntrySize();
+        int perSlab = Math.min(MAX_SLAB_BYTES / entrySize, this.magazineSize + 1);
+        int count = 0;
+        if (1 < perSlab) {
+            int remaining = this.slabBudget.get();
+            while (0 < remaining) {
+                count = Math.min(perSlab, remaining);
+                if (this.slabBudget.compareAndSet(remaining, remaining - count)) {
+                    break;
+                }
+                count = 0;
+                remaining = this.slabBudget.get();
+            }
+        }
+        if (0 == count) {
+            // the allocator will create the backing buffer for this entry
+            // and it will be destroyed if it is ever trimmed from the pool
+            return newEntry();
+        }
+
+        if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
+            Tr.debug(tc, "Carving new slab of " + count + " entries for " + this);
+        }
+        ByteBuffer slab = this.manager.allocateDirectByteBuffer(count * entrySize);
+        PooledWsByteBufferImpl first = null;
+        for (int i = 0; i < count; i++) {
+            slab.limit((i + 1) * entrySize);
+            slab.position(i * entrySize);
+            PooledWsByteBufferImpl entry = newEntry();
+            entry.setByteBufferNonSafe(slab.slice());
+            entry.setIsDirectPool(true);
+            entry.setPoolManagerRef(this.manager);
+            entry.pool = this;
+            entry.slabBacked = true;
+            if (null == first) {
+                first = entry;
+            } else {
+                mag.entries[mag.count++] = entry;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Create a new, empty pool entry with a unique identifier.
+     *
+     * @return PooledWsByteBufferImpl
+     */
+    private PooledWsByteBufferImpl newEntry() {
+        PooledWsByteBufferImpl entry = new PooledWsByteBufferImpl();
+        int id = this.uniqueCounter.getAndIncrement();
+        if (-1 == id) {
+            // -1 is the ID of all WsByteBuffers created with the wrap method
+            id = this.uniqueCounter.getAndIncrement();
+        }
+        entry.setID(Integer.valueOf(id));
+        return entry;
+    }
+
+    /**
+     * Remove every entry that does not live on a slab from the input
+     * magazine, compacting the remaining ones.
+     *
+     * @param mag
+     */
+    private void trim(Magazine mag) {
+        int kept = 0;
+        for (int i = 0; i < mag.count; i++) {
+            PooledWsByteBufferImpl entry = mag.entries[i];
+            mag.entries[i] = null;
+            if (entry.slabBacked) {
+                mag.entries[kept++] = entry;
+            } else {
+                destroy(entry);
+            }
+        }
+        mag.count = kept;
+    }
+
+    /**
+     * Discard an entry that no longer fits in the pool. Slab entries are
+     * simply dropped as their native memory belongs to the whole slab.
+     *
+     * @param entry
+     */
+    private void destroy(PooledWsByteBufferImpl entry) {
+        if (!entry.slabBacked && this.isDirectPool) {
+            this.manager.releasing(entry.oByteBuffer);
+        }
+    }
+
+    /**
+     * Try to place the magazine into an open slot of the depot.
+     *
+     * @param depot
+     * @param mag
+     * @return boolean
+     */
+    private static boolean offer(AtomicReferenceArray<Magazine> depot, Magazine mag) {
+        int len = depot.length();
+        int start = startSlot(len);
+        for (int i = 0; i < len; i++) {
+            int slot = (start + i) % len;
+            if (null == depot.get(slot) && depot.compareAndSet(slot, null, mag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Claim any magazine stored in the depot.
+     *
+     * @param depot
+     * @return Magazine, null if the depot is empty
+     */
+    private static Magazine poll(AtomicReferenceArray<Magazine> depot) {
+        int len = depot.length();
+        int start = startSlot(len);
+        for (int i = 0; i < len; i++) {
+            int slot = (start + i) % len;
+            Magazine mag = depot.get(slot);
+            if (null != mag && depot.compareAndSet(slot, mag, null)) {
+                return mag;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Spread threads across the depot slots to limit CAS collisions.
+     *
+     * @param len
+     * @return int
+     */
+    private static int startSlot(int len) {
+        return (int) (Thread.currentThread().getId() % len);
+    }
+
+    /*
+     * @see com.ibm.ws.bytebuffer.internal.WsByteBufferPool#getInUse()
+     */
+    @Override
+    public Object[] getInUse() {
+        if (null == this.sampledInUse) {
+            return null;
+        }
+        return this.sampledInUse.keySet().toArray();
+    }
+
+    /*
+     * @see com.ibm.ws.bytebuffer.internal.WsByteBufferPool#removeFromInUse(java.lang.Object)
+     */
+    @Override
+    public void removeFromInUse(Object buffer) {
+        if (null != this.sampledInUse) {
+            this.sampledInUse.remove(buffer);
+        }
+    }
+
+    /*
+     * @see com.ibm.ws.bytebuffer.internal.WsByteBufferPool#purgeThreadLocal()
+     */
+    @Override
+    public void purgeThreadLocal() {
+        Magazine mag = this.magazines.get();
+        this.magazines.remove();
+        if (0 < mag.count && !offer(this.fullDepot, mag)) {
+            trim(mag);
+        }
+    }
+}
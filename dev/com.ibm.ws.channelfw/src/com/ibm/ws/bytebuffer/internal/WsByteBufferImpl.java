@@ -1595,7 +1595,7 @@ public class WsByteBufferImpl implements WsByteBuffer, Externalizable {
 
             // passed the check so....
 
-            if (oWsByteBufferPoolManager.getLeakDetectionInterval() > -1) {
+            if (oWsByteBufferPoolManager.getLeakDetectionInterval() > -1 && wsBBRoot.leakTracked) {
                 synchronized (oWsByteBufferPoolManager.getLeakDetectionSyncObject()) {
                     this.booleanReleaseCalled.set(true);
                     this.wsBBRoot.intReferenceCount--;
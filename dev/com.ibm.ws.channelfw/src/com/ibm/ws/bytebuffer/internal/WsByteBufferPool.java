@@ -26,6 +26,7 @@ public class WsByteBufferPool {
     private int localThreadPoolSize;
     private TwoTierObjectPool pool = null;
     private WsByteBufferFactory wsbbFactory = null;
+    private boolean tracking = false;
 
     int intUniqueCounter = 0;
 
@@ -49,6 +50,7 @@ public class WsByteBufferPool {
         this.intEntrySize = entrySizeIn;
         this.globalPoolSize = _globalPoolSize;
         this.localThreadPoolSize = _localPoolSize;
+        this.tracking = tracking;
         if (TraceComponent.isAnyTracingEnabled() && tc.isEventEnabled()) {
             Tr.event(tc, "Creating : " +
                          this.toString() +
@@ -69,6 +71,25 @@ public class WsByteBufferPool {
         }
     }
 
+    /**
+     * Constructor for subclasses that manage their own storage of the
+     * free entries instead of using the two-tier object pool.
+     * 
+     * @param entrySizeIn
+     */
+    protected WsByteBufferPool(int entrySizeIn) {
+        this.intEntrySize = entrySizeIn;
+    }
+
+    /**
+     * Access the size of the entries handed out by this pool.
+     * 
+     * @return int
+     */
+    public int getEntrySize() {
+        return this.intEntrySize;
+    }
+
     /**
      * inner class for creating the object which will be pooled.
      */
@@ -117,7 +138,10 @@ public class WsByteBufferPool {
      * @return PooledWsByteBufferImpl
      */
     public PooledWsByteBufferImpl getEntry() {
-        return (PooledWsByteBufferImpl) this.pool.get();
+        PooledWsByteBufferImpl entry = (PooledWsByteBufferImpl) this.pool.get();
+        // every entry of this pool is tracked when leak detection is on
+        entry.leakTracked = this.tracking;
+        return entry;
     }
 
     /**
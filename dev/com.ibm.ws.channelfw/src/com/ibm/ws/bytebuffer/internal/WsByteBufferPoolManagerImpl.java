@@ -86,6 +86,8 @@ public class WsByteBufferPoolManagerImpl implements WsByteBufferPoolManager {
     private static final String POOL_SIZES = "poolSizes";
     private static final String POOL_DEPTHS = "poolDepths";
     private static final String CLEAN_UP = "cleanUp";
+    private static final String SLAB_POOLS = "slabPools";
+    private static final String LEAK_SAMPLE_RATE = "leakSampleRate";
     private static final String CONFIG_ALIAS = "bytebuffer";
 
     private boolean trustedUsers = false;
@@ -96,6 +98,11 @@ public class WsByteBufferPoolManagerImpl implements WsByteBufferPoolManager {
 
     protected boolean cleanUpOld = false;
 
+    /** Flag on whether the per-thread magazine and slab pools are used */
+    protected boolean slabPools = false;
+    /** With slab pools, sample 1 of this many allocations for leak detection */
+    protected int leakSampleRate = 64;
+
     /**
      * Create the one WsByteBufferPool Manager that is to be used.
      * @param directByteBufferHelper 
@@ -175,6 +182,19 @@ public class WsByteBufferPoolManagerImpl implements WsByteBufferPoolManager {
                     continue;
                 }
 
+                if (key.equalsIgnoreCase(SLAB_POOLS)) {
+                    slabPools = MetatypeUtils.parseBoolean(CONFIG_ALIAS, SLAB_POOLS, value, slabPools);
+                    continue;
+                }
+
+                if (key.equalsIgnoreCase(LEAK_SAMPLE_RATE)) {
+                    leakSampleRate = MetatypeUtils.parseInteger(CONFIG_ALIAS, LEAK_SAMPLE_RATE, value, leakSampleRate);
+                    if (leakSampleRate < 1) {
+                        result = VALIDATE_ERROR;
+                    }
+                    continue;
+                }
+
                 Tr.warning(tc, MessageConstants.UNRECOGNIZED_CUSTOM_PROPERTY, new Object[] { key });
             }
         } catch (NumberFormatException x) {
@@ -307,6 +327,15 @@ public class WsByteBufferPoolManagerImpl implements WsByteBufferPoolManager {
         this.poolsDirect = new WsByteBufferPool[len];
         this.poolSizes = new int[len];
         for (int i = 0; i < len; i++) {
+            if (this.slabPools) {
+                int sampleRate = tracking ? this.leakSampleRate : 0;
+                this.pools[i] = new SlabWsByteBufferPool(
+                                bSizes[i], bDepths[i], bDepths[i] * 10, sampleRate, false, this);
+                this.poolsDirect[i] = new SlabWsByteBufferPool(
+                                bSizes[i], bDepths[i], bDepths[i] * 10, sampleRate, true, this);
+                this.poolSizes[i] = bSizes[i];
+                continue;
+            }
             // make backing pool 10 times larger than local pools
             this.pools[i] = new WsByteBufferPool(
                             bSizes[i], bDepths[i], bDepths[i] * 10, tracking, false, cleanUpOld);
@@ -367,6 +396,20 @@ public class WsByteBufferPoolManagerImpl implements WsByteBufferPoolManager {
         return this.leakDetectionInterval > -1;
     }
 
+    /**
+     * Check whether the leak detection code applies to buffers related to
+     * the input root buffer. Slab pools only track a sample of their buffers.
+     * 
+     * @param root
+     * @return boolean
+     */
+    private boolean trackingBuffers(PooledWsByteBufferImpl root) {
+        if (!this.slabPools) {
+            return trackingBuffers();
+        }
+        return (null != root) && root.leakTracked && trackingBuffers();
+    }
+
     /**
      * Query the interval used for leak detection.
      * 
@@ -423,8 +466,9 @@ public class WsByteBufferPoolManagerImpl implements WsByteBufferPoolManager {
             Tr.entry(tc, "allocateCommon: " + entrySize);
         }
 
-        // see if we should look for leaks
-        if (trackingBuffers()) {
+        // see if we should look for leaks, slab pools only look when
+        // allocating a sampled buffer
+        if (trackingBuffers() && !this.slabPools) {
             lookForLeaks(false);
         }
 
@@ -497,7 +541,7 @@ public class WsByteBufferPoolManagerImpl implements WsByteBufferPoolManager {
                 pooledWSBB.limit(entrySize);
 
                 if ((TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled())
-                        || trackingBuffers()) {
+                        || pooledWSBB.leakTracked) {
 
                     Throwable t = new Throwable();
                     StackTraceElement[] ste = t.getStackTrace();
@@ -509,7 +553,10 @@ public class WsByteBufferPoolManagerImpl implements WsByteBufferPoolManager {
                         Tr.debug(tc, "Buffer allocated: " + pooledWSBB);
                     }
 
-                    if (trackingBuffers()) {
+                    if (pooledWSBB.leakTracked) {
+                        if (this.slabPools) {
+                            lookForLeaks(false);
+                        }
                         String sEntry = fillOutStackTrace(" (Allocate) ", ste);
                         pooledWSBB.setOwnerID(sEntry);
 
@@ -558,15 +605,23 @@ public class WsByteBufferPoolManagerImpl implements WsByteBufferPoolManager {
      */
     protected WsByteBufferImpl allocateBufferDirect(WsByteBufferImpl buffer,
                                                     int size, boolean overrideRefCount) {
+        buffer.setByteBufferNonSafe(allocateDirectByteBuffer(size));
+        return buffer;
+    }
+
+    /**
+     * Allocate a direct ByteBuffer of the input size, using the helper
+     * service if one is available.
+     * 
+     * @param size
+     * @return ByteBuffer
+     */
+    protected ByteBuffer allocateDirectByteBuffer(int size) {
         DirectByteBufferHelper directByteBufferHelper = this.directByteBufferHelper.get();
-        ByteBuffer byteBuffer;
         if (directByteBufferHelper != null) {
-            byteBuffer = directByteBufferHelper.allocateDirectByteBuffer(size);
-        } else {
-            byteBuffer = ByteBuffer.allocateDirect(size);
+            return directByteBufferHelper.allocateDirectByteBuffer(size);
         }
-        buffer.setByteBufferNonSafe(byteBuffer);
-        return buffer;
+        return ByteBuffer.allocateDirect(size);
     }
 
     /*
@@ -654,13 +709,15 @@ public class WsByteBufferPoolManagerImpl implements WsByteBufferPoolManager {
             Tr.entry(tc, "duplicate");
         }
 
+        WsByteBufferImpl srcBuffer = (WsByteBufferImpl) buffer;
+        boolean tracking = trackingBuffers(srcBuffer.getWsBBRoot());
+
         // see if we should look for leaks
-        if (trackingBuffers()) {
+        if (tracking) {
             lookForLeaks(false);
         }
 
         WsByteBufferImpl newBuffer = new WsByteBufferImpl();
-        WsByteBufferImpl srcBuffer = (WsByteBufferImpl) buffer;
 
         // update the new object with pool manager specific data
         newBuffer.setPoolManagerRef(this);
@@ -685,7 +742,7 @@ public class WsByteBufferPoolManagerImpl implements WsByteBufferPoolManager {
         srcBuffer.updateDuplicate(newBuffer);
 
         if ((TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled())
-                || (trackingBuffers())) {
+                || (tracking)) {
 
             Throwable t = new Throwable();
             StackTraceElement[] ste = t.getStackTrace();
@@ -697,13 +754,13 @@ public class WsByteBufferPoolManagerImpl implements WsByteBufferPoolManager {
                 }
             }
 
-            if (trackingBuffers()) {
+            if (tracking) {
                 String sEntry = fillOutStackTrace(" (Duplicate) ", ste);
                 newBuffer.setOwnerID(sEntry);
             }
 
             if ((newBuffer.getWsBBRoot() != null) && (newBuffer.getWsBBRoot().pool != null)) {
-                if (trackingBuffers()) {
+                if (tracking) {
                     newBuffer.getWsBBRoot().addWsByteBuffer(newBuffer);
                     newBuffer.getWsBBRoot().owners.put(newBuffer.getOwnerID(), newBuffer.getOwnerID());
                 }
@@ -735,13 +792,15 @@ public class WsByteBufferPoolManagerImpl implements WsByteBufferPoolManager {
             Tr.entry(tc, "slice");
         }
 
+        WsByteBufferImpl srcBuffer = (WsByteBufferImpl) buffer;
+        boolean tracking = trackingBuffers(srcBuffer.getWsBBRoot());
+
         // see if we should look for leaks
-        if (trackingBuffers()) {
+        if (tracking) {
             lookForLeaks(false);
         }
 
         WsByteBufferImpl newBuffer = new WsByteBufferImpl();
-        WsByteBufferImpl srcBuffer = (WsByteBufferImpl) buffer;
 
         // update the new object with pool manager specific data
         newBuffer.setPoolManagerRef(this);
@@ -766,7 +825,7 @@ public class WsByteBufferPoolManagerImpl implements WsByteBufferPoolManager {
         srcBuffer.updateSlice(newBuffer);
 
         if ((TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled())
-                || (trackingBuffers())) {
+                || (tracking)) {
 
             Throwable t = new Throwable();
             StackTraceElement[] ste = t.getStackTrace();
@@ -778,13 +837,13 @@ public class WsByteBufferPoolManagerImpl implements WsByteBufferPoolManager {
                 }
             }
 
-            if (trackingBuffers()) {
+            if (tracking) {
                 String sEntry = fillOutStackTrace(" (Slice) ", ste);
                 newBuffer.setOwnerID(sEntry);
             }
 
             if ((newBuffer.getWsBBRoot() != null) && (newBuffer.getWsBBRoot().pool != null)) {
-                if (trackingBuffers()) {
+                if (tracking) {
                     newBuffer.getWsBBRoot().addWsByteBuffer(newBuffer);
                     newBuffer.getWsBBRoot().owners.put(newBuffer.getOwnerID(), newBuffer.getOwnerID());
                 }
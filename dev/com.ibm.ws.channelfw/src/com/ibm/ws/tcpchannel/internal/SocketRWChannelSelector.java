@@ -35,6 +35,12 @@ public class SocketRWChannelSelector extends ChannelSelector implements Runnable
     private final int channelType;
     private final int wakeupOption;
     private boolean wakeupNeeded = false;
+    /**
+     * Decaying count of the keys selected by this selector, used to balance
+     * connections across selectors in event-loop mode. Only updated by the
+     * selector thread.
+     */
+    private volatile int load = 0;
 
     /**
      * Create a new SocketRWChannelSelector.
@@ -72,7 +78,8 @@ public class SocketRWChannelSelector extends ChannelSelector implements Runnable
     @Override
     protected void addWork(Object toAdd) {
         addToWorkQueue(toAdd);
-        if (wakeupNeeded || (wakeupOption == ValidateUtils.SELECTOR_WAKEUP_IF_NO_FORCE_QUEUE && ((TCPBaseRequestContext) toAdd).isForceQueue() == false)) {
+        if (wakeupNeeded || (wakeupOption == ValidateUtils.SELECTOR_WAKEUP_IF_NO_FORCE_QUEUE
+                             && (toAdd instanceof ReadMove || ((TCPBaseRequestContext) toAdd).isForceQueue() == false))) {
             if (wakeupPending != true) {
                 wakeupPending = true;
                 wakeup();
@@ -80,6 +87,56 @@ public class SocketRWChannelSelector extends ChannelSelector implements Runnable
         }
     }
 
+    /**
+     * Access the recent activity of this selector. This is a decaying sum of
+     * the number of keys selected on each pass through the selector.
+     * 
+     * @return int
+     */
+    protected int getLoad() {
+        return this.load;
+    }
+
+    /**
+     * Queue the move of a read request to another selector. The key on this
+     * selector is cancelled by this selector's own thread when it processes
+     * the move, and the request is then handed to the target selector.
+     * 
+     * @param req
+     * @param target
+     */
+    protected void moveRead(TCPBaseRequestContext req, SocketRWChannelSelector target) {
+        addWork(new ReadMove(req, target));
+    }
+
+    /**
+     * Cancel the key of a moved read request on this selector and pass the
+     * request on to its new selector. Only called by the selector thread.
+     * 
+     * @param move
+     */
+    private void processMove(ReadMove move) {
+        NioSocketIOChannel ioSocket = (NioSocketIOChannel) move.req.getTCPConnLink().getSocketIOChannel();
+        SelectionKey key = getKey(ioSocket.getChannel());
+        if (null != key) {
+            key.cancel();
+        }
+        ioSocket.setChannelSelectorRead(null);
+        move.target.addWork(move.req);
+    }
+
+    /**
+     * Put a request back on the work queue to retry after the next select,
+     * which removes any cancelled key, and make sure that select does not
+     * block.
+     * 
+     * @param work
+     */
+    private void requeue(TCPBaseRequestContext work) {
+        addToWorkQueue(work);
+        wakeup();
+    }
+
     /*
      * @see com.ibm.ws.tcpchannel.internal.ChannelSelector#performRequest()
      */
@@ -93,9 +150,11 @@ public class SocketRWChannelSelector extends ChannelSelector implements Runnable
         // If we were woken up because we have work to do, do it.
         Set<SelectionKey> keySet = selector.selectedKeys();
         Iterator<SelectionKey> selectedIterator = keySet.iterator();
+        final int selectedCount = keySet.size();
         if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
-            Tr.debug(this, tc, "performRequest - processing " + keySet.size() + " items");
+            Tr.debug(this, tc, "performRequest - processing " + selectedCount + " items");
         }
+        this.load = this.load - (this.load >> 3) + selectedCount;
         while (selectedIterator.hasNext()) {
             selectedKey = selectedIterator.next();
             // safely remove from set while looping
@@ -172,7 +231,12 @@ public class SocketRWChannelSelector extends ChannelSelector implements Runnable
             Tr.debug(this, tc, "updateSelector - processing " + queue.size() + " items");
         }
         while (!queue.isEmpty()) {
-            work = (TCPBaseRequestContext) queue.remove();
+            final Object item = queue.remove();
+            if (item instanceof ReadMove) {
+                processMove((ReadMove) item);
+                continue;
+            }
+            work = (TCPBaseRequestContext) item;
             ioSocket = (NioSocketIOChannel) work.getTCPConnLink().getSocketIOChannel();
             vci = work.getTCPConnLink().getVirtualConnection();
             // if connection is closed from another thread (like during tcpchannel
@@ -195,6 +259,15 @@ public class SocketRWChannelSelector extends ChannelSelector implements Runnable
             // if key is already set, then this channel is already registered
             // so, we can just change the interest ops
             SelectionKey key = getKey(ioSocket.getChannel());
+            if (key != null && !key.isValid()) {
+                // the key was cancelled, likely by a move off this selector, and
+                // is only removed on the next select, so retry after that
+                if (bTrace && tc.isEventEnabled()) {
+                    Tr.event(this, tc, "key " + key + " for channel " + ioSocket.getChannel() + " is cancelled, retrying");
+                }
+                requeue(work);
+                continue;
+            }
             if (key != null) {
                 if (bTrace && tc.isEventEnabled()) {
                     Tr.event(this, tc, "changing interest ops for channel " + ioSocket.getChannel() + " to " + selectorOp + " for key " + key);
@@ -262,6 +335,14 @@ public class SocketRWChannelSelector extends ChannelSelector implements Runnable
                         }
                         updateCount();
                     }
+                } catch (CancelledKeyException cke) {
+                    // the channel's old key on this selector is cancelled but not yet
+                    // removed, retry once the next select has removed it
+                    if (bTrace && tc.isEventEnabled()) {
+                        Tr.event(this, tc, "SocketChannel register for " + ioSocket + " found a cancelled key, retrying");
+                    }
+                    requeue(work);
+                    continue;
                 } catch (ClosedChannelException cce) {
 
                     boolean completeOperation = true;
@@ -426,4 +507,16 @@ public class SocketRWChannelSelector extends ChannelSelector implements Runnable
         }
     }
 
+    /**
+     * Request to move a read from this selector to another one.
+     */
+    private static final class ReadMove {
+        final TCPBaseRequestContext req;
+        final SocketRWChannelSelector target;
+
+        ReadMove(TCPBaseRequestContext req, SocketRWChannelSelector target) {
+            this.req = req;
+            this.target = target;
+        }
+    }
 }
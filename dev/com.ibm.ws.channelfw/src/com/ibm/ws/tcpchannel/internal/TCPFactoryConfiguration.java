@@ -39,6 +39,8 @@ public class TCPFactoryConfiguration implements FFDCSelfIntrospectable {
     protected static final String COMBINE_SELECTORS = "combineSelectors";
     protected static final String COMM_CLASS = "commClass";
     protected static final String EARLY_BINDS = "earlyBinds";
+    protected static final String SELECTOR_EVENT_LOOP = "selectorEventLoop";
+    protected static final String EVENT_LOOP_SELECTORS = "eventLoopSelectors";
 
     private Map<Object, Object> commonProperties = null;
 
@@ -51,6 +53,11 @@ public class TCPFactoryConfiguration implements FFDCSelfIntrospectable {
     private static boolean cancelKeyOnClose = false;
     private static boolean combineSelectors = false;
 
+    // event-loop mode: read selectors are sized to the number of cores and
+    // connections are balanced across them by measured load
+    private static boolean selectorEventLoop = false;
+    private static int eventLoopSelectors = Math.min(Runtime.getRuntime().availableProcessors(), ValidateUtils.EVENT_LOOP_SELECTORS_MAX);
+
     private final static String commClassAio = "com.ibm.ws.tcpchannel.internal.AioTCPChannel";
     private final static String commClassNio = "com.ibm.ws.tcpchannel.internal.NioTCPChannel";
     private static String commClass = commClassNio;
@@ -195,6 +202,24 @@ public class TCPFactoryConfiguration implements FFDCSelfIntrospectable {
                             continue;
                         }
 
+                        if (key.equalsIgnoreCase(SELECTOR_EVENT_LOOP)) {
+                            // convert and check
+                            keyType = ValidateUtils.KEY_TYPE_BOOLEAN;
+                            selectorEventLoop = Boolean.parseBoolean(value);
+                            result = ValidateUtils.VALIDATE_OK;
+                            continue;
+                        }
+
+                        if (key.equalsIgnoreCase(EVENT_LOOP_SELECTORS)) {
+                            // convert and check
+                            keyType = ValidateUtils.KEY_TYPE_INT;
+                            minValue = ValidateUtils.EVENT_LOOP_SELECTORS_MIN;
+                            maxValue = ValidateUtils.EVENT_LOOP_SELECTORS_MAX;
+                            eventLoopSelectors = Integer.parseInt(value);
+                            result = ValidateUtils.testEventLoopSelectors(eventLoopSelectors);
+                            continue;
+                        }
+
                         if (key.equalsIgnoreCase(COMM_CLASS)) {
                             // convert and check
                             keyType = ValidateUtils.KEY_TYPE_STRING;
@@ -285,6 +310,15 @@ public class TCPFactoryConfiguration implements FFDCSelfIntrospectable {
         return combineSelectors;
     }
 
+    protected static boolean getSelectorEventLoop() {
+        return selectorEventLoop;
+    }
+
+    // Number of read selectors to spread connections over in event-loop mode
+    protected static int getEventLoopSelectors() {
+        return eventLoopSelectors;
+    }
+
     /**
      * Access the TCP communication class to use (NIO, AIO, etc)
      *
@@ -313,12 +347,14 @@ public class TCPFactoryConfiguration implements FFDCSelfIntrospectable {
         Tr.debug(tc, SELECTOR_YIELD + ": " + selectorYield);
         Tr.debug(tc, CANCEL_KEY_ON_CLOSE + ": " + cancelKeyOnClose);
         Tr.debug(tc, COMBINE_SELECTORS + ": " + combineSelectors);
+        Tr.debug(tc, SELECTOR_EVENT_LOOP + ": " + selectorEventLoop);
+        Tr.debug(tc, EVENT_LOOP_SELECTORS + ": " + eventLoopSelectors);
         Tr.debug(tc, COMM_CLASS + ": " + commClass);
     }
 
     @Override
     public String[] introspectSelf() {
-        String[] rc = new String[7];
+        String[] rc = new String[9];
         rc[0] = KEYS_PER_SELECTOR + maxKeysPerSelector;
         rc[1] = SELECTOR_IDLE_TIMEOUT + channelSelectorIdleTimeout;
         rc[2] = SELECTOR_TERM_TIMEOUT + channelSelectorWaitToTerminate;
@@ -326,6 +362,8 @@ public class TCPFactoryConfiguration implements FFDCSelfIntrospectable {
         rc[4] = CANCEL_KEY_ON_CLOSE + cancelKeyOnClose;
         rc[5] = COMBINE_SELECTORS + combineSelectors;
         rc[6] = COMM_CLASS + commClass;
+        rc[7] = SELECTOR_EVENT_LOOP + selectorEventLoop;
+        rc[8] = EVENT_LOOP_SELECTORS + eventLoopSelectors;
         return rc;
     }
 
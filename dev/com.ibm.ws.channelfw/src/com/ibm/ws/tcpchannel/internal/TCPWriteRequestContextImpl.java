@@ -153,6 +153,11 @@ public abstract class TCPWriteRequestContextImpl extends TCPBaseRequestContext i
 
         try {
             size = fc.size();
+            // only write up to the buffer limit, so that a region of the file
+            // can be sent instead of everything after the current position
+            if (size <= Integer.MAX_VALUE && fcb.limit() < size) {
+                size = fcb.limit();
+            }
             startPosition = fc.position();
 
             if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
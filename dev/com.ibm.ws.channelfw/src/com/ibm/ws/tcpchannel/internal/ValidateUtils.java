@@ -54,6 +54,8 @@ public class ValidateUtils implements TCPConfigConstants {
     protected static final int INACTIVITY_TIMEOUT_NO_TIMEOUT = 0;
     protected static final int MIN_INBOUND_READ_SELECTORS_TO_START = 1;
     protected static final int MAX_INBOUND_READ_SELECTORS_TO_START = 1000;
+    protected static final int EVENT_LOOP_SELECTORS_MIN = 1;
+    protected static final int EVENT_LOOP_SELECTORS_MAX = 200;
 
     protected static final int KEY_TYPE_INT = 0;
     protected static final int KEY_TYPE_STRING = 1;
@@ -306,6 +308,17 @@ public class ValidateUtils implements TCPConfigConstants {
         return testStringAsInt(value, KEYS_PER_SELECTOR_MIN, KEYS_PER_SELECTOR_MAX);
     }
 
+    /**
+     * Test the configuration used for the number of read selectors in the
+     * event-loop mode.
+     * 
+     * @param value
+     * @return int
+     */
+    public static int testEventLoopSelectors(int value) {
+        return testInt(value, EVENT_LOOP_SELECTORS_MIN, EVENT_LOOP_SELECTORS_MAX);
+    }
+
     /**
      * Test the default timeout used during the selector.select() calls.
      * 
@@ -16,6 +16,7 @@ import java.security.PrivilegedAction;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 
 import com.ibm.websphere.channelfw.osgi.CHFWBundle;
 import com.ibm.websphere.ras.Tr;
@@ -65,6 +66,11 @@ public class WorkQueueManager implements ChannelTermination, FFDCSelfIntrospecta
     protected static final int CS_NULL = -1;
     protected static final int CS_DELETE_IN_PROGRESS = -2;
 
+    /** In event-loop mode, check 1 of this many re-armed reads for a rebalance */
+    private static final int REBALANCE_SAMPLE_RATE = 64;
+    /** Minimum load difference before a connection moves to another selector */
+    private static final int REBALANCE_LOAD_THRESHOLD = 64;
+
     protected final Object findOpenIndexSync = new Object() {};
     protected final Object shutdownSync = new Object() {};
 
@@ -75,6 +81,8 @@ public class WorkQueueManager implements ChannelTermination, FFDCSelfIntrospecta
     // "private" to allow extended classes to access them.
     protected boolean checkCancel;
     private final boolean combineSelectors;
+    private final boolean eventLoop;
+    private final int eventLoopSelectors;
     protected int wakeupOption;
     private final ThreadGroup tGroup;
 
@@ -90,6 +98,8 @@ public class WorkQueueManager implements ChannelTermination, FFDCSelfIntrospecta
         this.checkCancel = TCPFactoryConfiguration.getCancelKeyOnClose();
         this.wakeupOption = TCPFactoryConfiguration.getSelectorWakeup();
         this.combineSelectors = TCPFactoryConfiguration.getCombineSelectors();
+        this.eventLoop = TCPFactoryConfiguration.getSelectorEventLoop();
+        this.eventLoopSelectors = Math.min(TCPFactoryConfiguration.getEventLoopSelectors(), this.maxChannelSelectorsPerFlow);
         this.tGroup = new PrivGroupCreation("TCP WQM").run();
 
         if (TraceComponent.isAnyTracingEnabled() && tc.isEntryEnabled()) {
@@ -374,6 +384,14 @@ public class WorkQueueManager implements ChannelTermination, FFDCSelfIntrospecta
             channelSelector = ((NioSocketIOChannel) conn.getSocketIOChannel()).getChannelSelectorWrite();
         }
         if (channelSelector != null) {
+            if (eventLoop && !checkCancel && req.isRequestTypeRead()
+                && ThreadLocalRandom.current().nextInt(REBALANCE_SAMPLE_RATE) == 0
+                && rebalanceRead(req, channelSelector)) {
+                if (TraceComponent.isAnyTracingEnabled() && tc.isEntryEnabled()) {
+                    Tr.exit(tc, "queueIO");
+                }
+                return;
+            }
             if (TraceComponent.isAnyTracingEnabled() && tc.isEventEnabled()) {
                 Tr.event(tc, "Adding work to selector");
             }
@@ -406,17 +424,105 @@ public class WorkQueueManager implements ChannelTermination, FFDCSelfIntrospecta
         }
     }
 
-    protected void moveIntoPosition(int[] channelCounts, ChannelSelector[] CS, Object req, int channelType) throws IOException {
+    /**
+     * Move a read that is being re-armed on a busy event-loop selector to the
+     * least loaded selector of its flow. The move is queued to the current
+     * selector so that the old key is only cancelled by its own thread, which
+     * then hands the request to the new selector to register the channel.
+     * 
+     * @param req
+     * @param current the selector the connection is registered with
+     * @return boolean, true if the request was queued to another selector
+     */
+    private boolean rebalanceRead(TCPBaseRequestContext req, ChannelSelector current) {
+        if (!(current instanceof SocketRWChannelSelector)) {
+            return false;
+        }
+        final boolean inbound = req.getTCPConnLink().getConfig().isInbound() || combineSelectors;
+        final int[] channelCounts = inbound ? readInboundCount : readOutboundCount;
+        final ChannelSelector[] CS = inbound ? readInbound : readOutbound;
+        SocketRWChannelSelector target = findEventLoopSelector(channelCounts, CS, current);
+        if (null == target) {
+            return false;
+        }
+        final int currentLoad = ((SocketRWChannelSelector) current).getLoad();
+        if (currentLoad <= (2 * target.getLoad()) + REBALANCE_LOAD_THRESHOLD) {
+            return false;
+        }
+        if (TraceComponent.isAnyTracingEnabled() && tc.isEventEnabled()) {
+            Tr.event(tc, "Moving connection from selector " + current + " (load " + currentLoad + ") to " + target + " (load " + target.getLoad() + ")");
+        }
+        ((SocketRWChannelSelector) current).moveRead(req, target);
+        return true;
+    }
+
+    /**
+     * Find the least loaded selector in event-loop mode, breaking ties on the
+     * number of registered keys.
+     * 
+     * @param channelCounts
+     * @param CS
+     * @param exclude selector that must not be chosen, may be null
+     * @return SocketRWChannelSelector, null if a new selector should be
+     *         started or no selector has room
+     */
+    private SocketRWChannelSelector findEventLoopSelector(int[] channelCounts, ChannelSelector[] CS, ChannelSelector exclude) {
+        SocketRWChannelSelector best = null;
+        int bestLoad = Integer.MAX_VALUE;
+        int bestCount = Integer.MAX_VALUE;
+        int active = 0;
         for (int i = 0; i < maxChannelSelectorsPerFlow; i++) {
-            // Look for a CS that has room for another channel
-            if ((channelCounts[i] >= CS_OK) && (channelCounts[i] < maxKeysPerSelector)) {
-                CS[i].addWork(req);
+            final int count = channelCounts[i];
+            if (count < CS_OK) {
+                continue;
+            }
+            active++;
+            final SocketRWChannelSelector selector = (SocketRWChannelSelector) CS[i];
+            if (count >= maxKeysPerSelector || selector == exclude || null == selector) {
+                continue;
+            }
+            final int load = selector.getLoad();
+            if (load < bestLoad || (load == bestLoad && count < bestCount)) {
+                best = selector;
+                bestLoad = load;
+                bestCount = count;
+            }
+        }
+        if (null == exclude && active < eventLoopSelectors) {
+            // scale out to the configured number of selectors first
+            return null;
+        }
+        return best;
+    }
+
+    protected void moveIntoPosition(int[] channelCounts, ChannelSelector[] CS, Object req, int channelType) throws IOException {
+        final boolean balanced = eventLoop && channelType != CS_CONNECTOR;
+        if (balanced) {
+            ChannelSelector target = findEventLoopSelector(channelCounts, CS, null);
+            if (null != target) {
+                target.addWork(req);
                 return;
             }
+        } else {
+            for (int i = 0; i < maxChannelSelectorsPerFlow; i++) {
+                // Look for a CS that has room for another channel
+                if ((channelCounts[i] >= CS_OK) && (channelCounts[i] < maxKeysPerSelector)) {
+                    CS[i].addWork(req);
+                    return;
+                }
+            }
         }
 
         // All active selectors are full or busy, so create a new CS
         synchronized (findOpenIndexSync) {
+            if (balanced) {
+                // another thread may have started a selector in the meantime
+                ChannelSelector target = findEventLoopSelector(channelCounts, CS, null);
+                if (null != target) {
+                    target.addWork(req);
+                    return;
+                }
+            }
             int nextOpen = 0;
             for (; nextOpen < maxChannelSelectorsPerFlow; nextOpen++) {
                 if (channelCounts[nextOpen] == CS_NULL) {
@@ -26,8 +26,11 @@ import java.nio.ByteOrder;
 import java.nio.InvalidMarkException;
 import java.nio.ReadOnlyBufferException;
 import java.nio.channels.FileChannel;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.After;
 import org.junit.AfterClass;
@@ -38,6 +41,7 @@ import test.common.SharedOutputManager;
 
 import com.ibm.ws.bytebuffer.internal.WsByteBufferPoolManagerImpl;
 import com.ibm.wsspi.bytebuffer.WsByteBuffer;
+import com.ibm.wsspi.bytebuffer.WsByteBufferPoolManager.DirectByteBufferHelper;
 import com.ibm.wsspi.bytebuffer.WsByteBufferPoolManager;
 import com.ibm.wsspi.channelfw.ChannelFrameworkFactory;
 
@@ -99,6 +103,46 @@ public class ByteBufferTest {
         }
     }
 
+    /**
+     * Test the buffers handed out by the magazine/slab pools.
+     */
+    @Test
+    public void testSlabPooledBuffers() {
+        try {
+            Map<String, Object> config = new HashMap<String, Object>();
+            config.put("slabPools", "true");
+            WsByteBufferPoolManagerImpl mgr = new WsByteBufferPoolManagerImpl(new AtomicReference<DirectByteBufferHelper>(), config);
+
+            WsByteBuffer buffer = mgr.allocate(1024);
+            runTests(buffer, false, 1024);
+            buffer.release();
+            buffer = mgr.allocateDirect(1024);
+            runTests(buffer, true, 1024);
+            buffer.release();
+
+            // slab entries must not overlap each other
+            List<WsByteBuffer> list = new LinkedList<WsByteBuffer>();
+            for (int i = 0; i < 100; i++) {
+                WsByteBuffer next = mgr.allocateDirect(1000);
+                assertEquals(1024, next.capacity());
+                next.putInt(0, i);
+                list.add(next);
+            }
+            int i = 0;
+            for (WsByteBuffer next : list) {
+                assertEquals(i++, next.getInt(0));
+                next.release();
+            }
+
+            // a released entry is handed back out on the same thread
+            buffer = mgr.allocateDirect(1024);
+            buffer.release();
+            assertTrue(buffer == mgr.allocateDirect(1024));
+        } catch (Throwable t) {
+            outputMgr.failWithThrowable("testSlabPooledBuffers", t);
+        }
+    }
+
     /**
      * Test a non-pooled buffer.
      */
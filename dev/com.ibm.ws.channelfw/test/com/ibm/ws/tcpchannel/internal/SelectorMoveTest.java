@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.tcpchannel.internal;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.objenesis.Objenesis;
+import org.objenesis.ObjenesisStd;
+
+import com.ibm.wsspi.channelfw.VirtualConnection;
+
+/**
+ * Test moving a read request between event-loop selectors.
+ */
+public class SelectorMoveTest {
+    private final Objenesis objenesis = new ObjenesisStd();
+
+    private SocketChannel channel;
+    private NioSocketIOChannel ioSocket;
+    private TCPBaseRequestContext req;
+    private SocketRWChannelSelector selectorA;
+    private SocketRWChannelSelector selectorB;
+
+    /**
+     * Build a read request on an unconnected, non-blocking channel and two
+     * read selectors that are driven directly by the test.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        channel = SocketChannel.open();
+        channel.configureBlocking(false);
+
+        ioSocket = (NioSocketIOChannel) objenesis.newInstance(NioSocketIOChannel.class);
+        ioSocket.channel = channel;
+
+        TestConnLink link = (TestConnLink) objenesis.newInstance(TestConnLink.class);
+        link.ioSocket = ioSocket;
+        link.testVC = (VirtualConnection) Proxy.newProxyInstance(VirtualConnection.class.getClassLoader(),
+                                                                 new Class<?>[] { VirtualConnection.class }, new NoStateTracking());
+
+        req = (TCPBaseRequestContext) objenesis.newInstance(NioTCPReadRequestContextImpl.class);
+        req.oTCPConnLink = link;
+        req.setRequestTypeRead(true);
+
+        WorkQueueManager wqm = (WorkQueueManager) objenesis.newInstance(TestWorkQueueManager.class);
+        selectorA = new SocketRWChannelSelector(ValidateUtils.SELECTOR_WAKEUP_WHEN_NEEDED, wqm, 0, WorkQueueManager.CS_READ_INBOUND, false);
+        selectorB = new SocketRWChannelSelector(ValidateUtils.SELECTOR_WAKEUP_WHEN_NEEDED, wqm, 1, WorkQueueManager.CS_READ_INBOUND, false);
+    }
+
+    /**
+     * Close the channel and the selectors.
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        channel.close();
+        selectorA.selector.close();
+        selectorB.selector.close();
+    }
+
+    /**
+     * A move only cancels the old key once the old selector processes it, and
+     * the new selector then registers the channel.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testMoveCancelsOnOwningSelector() throws Exception {
+        selectorA.addWork(req);
+        selectorA.updateSelector();
+        SelectionKey keyA = selectorA.getKey(channel);
+        assertNotNull(keyA);
+        assertTrue(keyA.isValid());
+        assertSame(selectorA, ioSocket.getChannelSelectorRead());
+
+        selectorA.moveRead(req, selectorB);
+        // nothing changes until the owning selector runs its queue
+        assertTrue(keyA.isValid());
+        assertSame(selectorA, ioSocket.getChannelSelectorRead());
+
+        selectorA.updateSelector();
+        assertFalse(keyA.isValid());
+
+        selectorB.updateSelector();
+        SelectionKey keyB = selectorB.getKey(channel);
+        assertNotNull(keyB);
+        assertTrue(keyB.isValid());
+        assertSame(selectorB, ioSocket.getChannelSelectorRead());
+    }
+
+    /**
+     * Moving a connection back to a selector before that selector has removed
+     * the cancelled key retries the request instead of failing it.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testMoveBackBeforeCancelledKeyRemoved() throws Exception {
+        selectorA.addWork(req);
+        selectorA.updateSelector();
+        selectorA.moveRead(req, selectorB);
+        selectorA.updateSelector();
+        selectorB.updateSelector();
+
+        // move back while A still holds the cancelled key
+        selectorB.moveRead(req, selectorA);
+        selectorB.updateSelector();
+        selectorA.updateSelector();
+        SelectionKey key = selectorA.getKey(channel);
+        assertNotNull(key);
+        assertFalse(key.isValid());
+        assertSame(null, ioSocket.getChannelSelectorRead());
+
+        // the next select removes the cancelled key and the retry registers
+        selectorA.selector.selectNow();
+        selectorA.updateSelector();
+        key = selectorA.getKey(channel);
+        assertNotNull(key);
+        assertTrue(key.isValid());
+        assertSame(selectorA, ioSocket.getChannelSelectorRead());
+    }
+
+    /**
+     * Connection link that supplies the socket and virtual connection without
+     * a channel behind it.
+     */
+    public static class TestConnLink extends TCPConnLink {
+        SocketIOChannel ioSocket;
+        VirtualConnection testVC;
+
+        public TestConnLink() {
+            super(null, null, null, 0);
+        }
+
+        @Override
+        public SocketIOChannel getSocketIOChannel() {
+            return ioSocket;
+        }
+
+        @Override
+        public VirtualConnection getVirtualConnection() {
+            return testVC;
+        }
+    }
+
+    /**
+     * Virtual connection behaviour with input state tracking switched off.
+     */
+    private static class NoStateTracking implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            if (boolean.class.equals(method.getReturnType())) {
+                return Boolean.FALSE;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Work queue manager that ignores the selector key counts.
+     */
+    public static class TestWorkQueueManager extends WorkQueueManager {
+        @Override
+        protected void updateCount(int index, int value, int channelType) {
+            // no selector pool to maintain
+        }
+    }
+}
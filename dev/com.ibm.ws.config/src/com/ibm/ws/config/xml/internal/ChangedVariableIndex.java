@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.ws.config.xml.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+
+import com.ibm.ws.config.xml.internal.ConfigComparator.DeltaType;
+import com.ibm.ws.config.xml.internal.ConfigElement.Reference;
+import com.ibm.ws.config.xml.internal.MetaTypeRegistry.RegistryEntry;
+import com.ibm.ws.config.xml.internal.metatype.ExtendedAttributeDefinition;
+
+/**
+ * Answers whether configuration elements depend on any of the variables changed
+ * between two configurations.
+ *
+ * One instance is shared by a comparator and all of its nested comparators so
+ * that the dependencies of a metatype definition on the changed variables are
+ * computed once per definition rather than once per element, and so that
+ * repeated attribute values are only scanned once.
+ */
+class ChangedVariableIndex {
+
+    private final Map<String, DeltaType> variableDelta;
+
+    /** Attribute values already scanned for variables */
+    private final Map<String, Boolean> values = new HashMap<String, Boolean>();
+
+    /** Metatype attributes whose ibm:variable or default values use a changed variable */
+    private final Map<RegistryEntry, List<String>> defaults = new HashMap<RegistryEntry, List<String>>();
+
+    ChangedVariableIndex(Map<String, DeltaType> variableDelta) {
+        this.variableDelta = variableDelta;
+    }
+
+    /**
+     * @return true if no variables changed, in which case no element depends on a changed variable
+     */
+    boolean isEmpty() {
+        return variableDelta == null || variableDelta.isEmpty();
+    }
+
+    /**
+     * Checks whether the element uses a changed variable either in its own attributes
+     * or in the metatype defaults of attributes it does not specify.
+     */
+    boolean hasChangedVariables(ConfigElement configElement, RegistryEntry registryEntry) {
+        if (isEmpty()) {
+            return false;
+        }
+        // step 1: examine all attributes first
+        for (Map.Entry<String, Object> attributeEntry : configElement.getAttributes().entrySet()) {
+            Object attributeValue = attributeEntry.getValue();
+            if (attributeValue instanceof String) {
+                if (hasVariable((String) attributeValue)) {
+                    return true;
+                }
+            } else if (attributeValue instanceof List<?>) {
+                List<?> values = (List<?>) attributeValue;
+                for (Object value : values) {
+                    if (value instanceof String) {
+                        if (hasVariable((String) value)) {
+                            return true;
+                        }
+                    } else if (value instanceof Reference) {
+                        if (hasVariable(((Reference) value).getId())) {
+                            return true;
+                        }
+                    } else if (value instanceof ConfigElement) {
+                        if (hasVariable(((ConfigElement) value).getId())) {
+                            return true;
+                        }
+                    } else {
+                        throw new IllegalStateException("Unexpected attribute type: " + value.getClass());
+                    }
+                }
+            }
+        }
+        // step 2: examine metatype info, skipping attributes we already processed before
+        if (registryEntry != null) {
+            for (String attributeName : getChangedDefaults(registryEntry)) {
+                if (!configElement.containsAttribute(attributeName)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private List<String> getChangedDefaults(RegistryEntry registryEntry) {
+        List<String> changed = defaults.get(registryEntry);
+        if (changed == null) {
+            changed = Collections.emptyList();
+            Map<String, ExtendedAttributeDefinition> metaTypeAttributes = registryEntry.getObjectClassDefinition().getAttributeMap();
+            for (Map.Entry<String, ExtendedAttributeDefinition> attributeEntry : metaTypeAttributes.entrySet()) {
+                if (usesChangedVariable(attributeEntry.getValue())) {
+                    if (changed.isEmpty()) {
+                        changed = new ArrayList<String>();
+                    }
+                    changed.add(attributeEntry.getKey());
+                }
+            }
+            defaults.put(registryEntry, changed);
+        }
+        return changed;
+    }
+
+    private boolean usesChangedVariable(ExtendedAttributeDefinition attribute) {
+        // check ibm:variable first
+        String variable = attribute.getVariable();
+        if (variable != null && variableDelta.containsKey(variable)) {
+            return true;
+        }
+        // check for variables in default values
+        String[] defaultValue = attribute.getDefaultValue();
+        if (defaultValue != null) {
+            for (String value : defaultValue) {
+                if (hasVariable(value)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    boolean hasVariable(String value) {
+        if (value == null || value.indexOf(XMLConfigConstants.VAR_OPEN) < 0) {
+            return false;
+        }
+        Boolean result = values.get(value);
+        if (result == null) {
+            result = Boolean.FALSE;
+            Matcher matcher = XMLConfigConstants.VAR_PATTERN.matcher(value);
+            while (matcher.find()) {
+                if (variableDelta.containsKey(matcher.group(1))) {
+                    result = Boolean.TRUE;
+                    break;
+                }
+            }
+            values.put(value, result);
+        }
+        return result.booleanValue();
+    }
+}
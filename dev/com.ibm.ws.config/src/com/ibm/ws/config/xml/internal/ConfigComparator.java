@@ -24,7 +24,6 @@ import com.ibm.websphere.config.ConfigUpdateException;
 import com.ibm.websphere.metatype.MetaTypeFactory;
 import com.ibm.ws.config.admin.ConfigID;
 import com.ibm.ws.config.xml.internal.ConfigDelta.REASON;
-import com.ibm.ws.config.xml.internal.ConfigElement.Reference;
 import com.ibm.ws.config.xml.internal.MetaTypeRegistry.RegistryEntry;
 import com.ibm.ws.config.xml.internal.metatype.ExtendedAttributeDefinition;
 
@@ -38,6 +37,9 @@ class ConfigComparator {
     private final MetaTypeRegistry metatypeRegistry;
     private RegistryEntry parentRegistryEntry;
 
+    /** Variables already compared, mapped to their delta or null if unchanged */
+    private final Map<String, DeltaType> comparedVariables = new HashMap<String, DeltaType>();
+
     public ConfigComparator(BaseConfiguration oldConfiguration, BaseConfiguration newConfiguration, MetaTypeRegistry registry) {
         this.oldConfiguration = oldConfiguration;
         this.newConfiguration = newConfiguration;
@@ -58,11 +60,11 @@ class ConfigComparator {
 
     public ComparatorResult computeDelta() throws ConfigUpdateException {
         Map<String, DeltaType> variableDelta = computeVariableDelta();
-        List<ConfigDelta> configDelta = computeConfigDelta(variableDelta);
+        List<ConfigDelta> configDelta = computeConfigDelta(new ChangedVariableIndex(variableDelta));
         return new ComparatorResult(configDelta, variableDelta);
     }
 
-    private List<ConfigDelta> computeConfigDelta(Map<String, DeltaType> variableDelta) throws ConfigMergeException {
+    private List<ConfigDelta> computeConfigDelta(ChangedVariableIndex changedVariables) throws ConfigMergeException {
         List<ConfigDelta> delta = new ArrayList<ConfigDelta>();
 
         Set<String> ignorePids = new HashSet<String>();
@@ -78,16 +80,16 @@ class ConfigComparator {
                 boolean oldIsFactory = oldConfiguration.hasId(pid);
 
                 if (oldIsFactory) {
-                    computeFactoryDelta(pid, null, null, delta, variableDelta);
+                    computeFactoryDelta(pid, null, null, delta, changedVariables);
                 } else {
-                    computeSingletonDelta(pid, null, null, delta, variableDelta);
+                    computeSingletonDelta(pid, null, null, delta, changedVariables);
                 }
 
             } else {
                 if (registry.isSingleton()) {
-                    computeSingletonDelta(registry.getPid(), registry.getAlias(), registry, delta, variableDelta);
+                    computeSingletonDelta(registry.getPid(), registry.getAlias(), registry, delta, changedVariables);
                 } else {
-                    computeFactoryDelta(registry.getPid(), registry.getAlias(), registry, delta, variableDelta);
+                    computeFactoryDelta(registry.getPid(), registry.getAlias(), registry, delta, changedVariables);
                 }
                 // add pid & alias to ignore list so that we don't generate
                 // multiple delta for the same config element
@@ -131,20 +133,20 @@ class ConfigComparator {
     }
 
     private void computeSingletonDelta(String pid, String alias, RegistryEntry registryEntry, List<ConfigDelta> delta,
-                                       Map<String, DeltaType> variableDelta) throws ConfigMergeException {
+                                       ChangedVariableIndex changedVariables) throws ConfigMergeException {
         if (registryEntry != null && registryEntry.getChildAlias() != null)
             alias = registryEntry.getChildAlias();
 
         SingletonElement oldConfig = oldConfiguration.getSingleton(pid, alias);
         SingletonElement newConfig = newConfiguration.getSingleton(pid, alias);
-        ConfigDelta configDelta = computeDelta(oldConfig, newConfig, registryEntry, variableDelta);
+        ConfigDelta configDelta = computeDelta(oldConfig, newConfig, registryEntry, changedVariables);
         if (configDelta != null) {
             delta.add(configDelta);
         }
     }
 
     private void computeFactoryDelta(String pid, String alias, RegistryEntry registryEntry, List<ConfigDelta> delta,
-                                     Map<String, DeltaType> variableDelta) throws ConfigMergeException {
+                                     ChangedVariableIndex changedVariables) throws ConfigMergeException {
         String defaultId = null;
         if (registryEntry != null) {
             if (registryEntry.getChildAlias() != null) {
@@ -163,7 +165,7 @@ class ConfigComparator {
             FactoryElement oldConfig = oldEntry.getValue();
             FactoryElement newConfig = newInstances.get(oldEntry.getKey());
 
-            ConfigDelta configDelta = computeDelta(oldConfig, newConfig, registryEntry, variableDelta);
+            ConfigDelta configDelta = computeDelta(oldConfig, newConfig, registryEntry, changedVariables);
             if (configDelta != null) {
                 delta.add(configDelta);
             }
@@ -174,7 +176,7 @@ class ConfigComparator {
         remainingInstanceIds.removeAll(oldInstances.keySet());
         for (ConfigID id : remainingInstanceIds) {
             ConfigElement newConfig = newInstances.get(id);
-            ConfigDelta configDelta = computeDelta(null, newConfig, registryEntry, variableDelta);
+            ConfigDelta configDelta = computeDelta(null, newConfig, registryEntry, changedVariables);
             if (configDelta != null) {
                 delta.add(configDelta);
             }
@@ -210,7 +212,7 @@ class ConfigComparator {
     }
 
     private ConfigDelta computeDelta(ConfigElement oldConfig, ConfigElement newConfig, RegistryEntry registryEntry,
-                                     Map<String, DeltaType> variableDelta) throws ConfigMergeException {
+                                     ChangedVariableIndex changedVariables) throws ConfigMergeException {
         ConfigElement oldElement = (oldConfig == null || !oldConfig.isEnabled()) ? null : oldConfig;
         ConfigElement newElement = (newConfig == null || !newConfig.isEnabled()) ? null : newConfig;
 
@@ -220,7 +222,7 @@ class ConfigComparator {
             BaseConfiguration newNestedConfiguration = buildConfiguration(newElement, registryEntry);
             ConfigComparator nestedComparator = new ConfigComparator(oldNestedConfiguration, newNestedConfiguration, metatypeRegistry);
             nestedComparator.setParent(registryEntry);
-            nestedDelta = nestedComparator.computeConfigDelta(variableDelta);
+            nestedDelta = nestedComparator.computeConfigDelta(changedVariables);
         }
 
         if (oldElement == null) {
@@ -237,7 +239,7 @@ class ConfigComparator {
         }
 
         if (!compare(oldElement, newElement) ||
-            hasChangedVariables(newElement, registryEntry, variableDelta)) {
+            (changedVariables != null && changedVariables.hasChangedVariables(newElement, registryEntry))) {
             // If either properties or variables have changed, process an update
             return new ConfigDelta(newElement, DeltaType.MODIFIED, nestedDelta, registryEntry, REASON.PROPERTIES_UPDATE);
         } else if (nestedDelta != null && !nestedDelta.isEmpty()) {
@@ -354,78 +356,6 @@ class ConfigComparator {
         return true;
     }
 
-    private boolean hasChangedVariables(ConfigElement configElement, RegistryEntry registryEntry, Map<String, DeltaType> variableDelta) {
-        if (variableDelta == null || variableDelta.isEmpty()) {
-            return false;
-        }
-        // step 1: examine all attributes first
-        for (Map.Entry<String, Object> attributeEntry : configElement.getAttributes().entrySet()) {
-            Object attributeValue = attributeEntry.getValue();
-            if (attributeValue instanceof String) {
-                if (hasVariable((String) attributeValue, variableDelta)) {
-                    return true;
-                }
-            } else if (attributeValue instanceof List<?>) {
-                List<?> values = (List<?>) attributeValue;
-                for (Object value : values) {
-                    if (value instanceof String) {
-                        if (hasVariable((String) value, variableDelta)) {
-                            return true;
-                        }
-                    } else if (value instanceof Reference) {
-                        if (hasVariable(((Reference) value).getId(), variableDelta)) {
-                            return true;
-                        }
-                    } else if (value instanceof ConfigElement) {
-                        if (hasVariable(((ConfigElement) value).getId(), variableDelta)) {
-                            return true;
-                        }
-                    } else {
-                        throw new IllegalStateException("Unexpected attribute type: " + value.getClass());
-                    }
-                }
-            }
-        }
-        // step 2: examine metatype info
-        if (registryEntry != null) {
-            Map<String, ExtendedAttributeDefinition> metaTypeAttributes = registryEntry.getObjectClassDefinition().getAttributeMap();
-            for (Map.Entry<String, ExtendedAttributeDefinition> attributeEntry : metaTypeAttributes.entrySet()) {
-                String attributeName = attributeEntry.getKey();
-                // skip attributes we already processed before
-                if (configElement.containsAttribute(attributeName)) {
-                    continue;
-                }
-                // check ibm:variable first
-                ExtendedAttributeDefinition attribute = attributeEntry.getValue();
-                String variable = attribute.getVariable();
-                if (variable != null && variableDelta.containsKey(variable)) {
-                    return true;
-                }
-                // check for variables in default values
-                String[] defaultValue = attribute.getDefaultValue();
-                if (defaultValue != null && defaultValue.length > 0) {
-                    for (String value : defaultValue) {
-                        if (hasVariable(value, variableDelta)) {
-                            return true;
-                        }
-                    }
-                }
-            }
-        }
-        return false;
-    }
-
-    private boolean hasVariable(String value, Map<String, DeltaType> variableDelta) {
-        Matcher matcher = XMLConfigConstants.VAR_PATTERN.matcher(value);
-        while (matcher.find()) {
-            String variable = matcher.group(1);
-            if (variableDelta.containsKey(variable)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private ExtendedAttributeDefinition getAttributeDefinition(String attribute, Map<String, ExtendedAttributeDefinition> attributes) {
         ExtendedAttributeDefinition attrDef = null;
         if (attributes != null) {
@@ -584,6 +514,11 @@ class ConfigComparator {
                                       Map<String, ConfigVariable> newVariables,
                                       String variableName,
                                       LinkedList<String> stack) throws ConfigUpdateException {
+        // variables referenced by many other variables are only compared once
+        if (comparedVariables.containsKey(variableName)) {
+            return comparedVariables.get(variableName);
+        }
+
         if (stack.contains(variableName)) {
             throw new ConfigUpdateException("Variable loop detected: " + stack.subList(stack.indexOf(variableName), stack.size()));
         } else {
@@ -606,6 +541,7 @@ class ConfigComparator {
         }
 
         stack.removeLast();
+        comparedVariables.put(variableName, delta);
 
         return delta;
     }
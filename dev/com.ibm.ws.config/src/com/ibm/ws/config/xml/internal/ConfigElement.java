@@ -175,6 +175,10 @@ abstract class ConfigElement {
         return operations.get(name);
     }
 
+    Map<String, MERGE_OP> getMergeOperations() {
+        return operations;
+    }
+
     public boolean containsAttribute(String name) {
         return attributes.containsKey(name);
     }
@@ -525,6 +529,10 @@ abstract class ConfigElement {
 
     }
 
+    LinkedList<MergeBehavior> getBehaviorStack() {
+        return behaviorStack;
+    }
+
     /**
      * @param clone
      */
@@ -533,6 +541,10 @@ abstract class ConfigElement {
 
     }
 
+    LinkedList<String> getDocLocationStack() {
+        return docLocationStack;
+    }
+
     /*
      * (non-Javadoc)
      * 
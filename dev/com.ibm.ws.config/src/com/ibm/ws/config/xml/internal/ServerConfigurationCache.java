@@ -0,0 +1,608 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.config.xml.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import com.ibm.websphere.ras.Tr;
+import com.ibm.websphere.ras.TraceComponent;
+import com.ibm.ws.config.xml.internal.ConfigElement.MERGE_OP;
+import com.ibm.ws.config.xml.internal.ConfigElement.Reference;
+import com.ibm.ws.config.xml.internal.XMLConfigParser.MergeBehavior;
+import com.ibm.ws.ffdc.FFDCFilter;
+import com.ibm.ws.ffdc.annotation.FFDCIgnore;
+import com.ibm.wsspi.kernel.service.location.WsLocationAdmin;
+import com.ibm.wsspi.kernel.service.location.WsResource;
+
+/**
+ * Binary copy of the parsed server configuration, kept in the bundle data area so that server.xml,
+ * its includes and the configDropins files do not have to be parsed again when none of them changed.
+ * <p>
+ * Together with the configuration the cache records every document it was parsed from, with a digest
+ * of the document content, and how every include was resolved. The cached configuration is only used
+ * if all documents still have the same content and all includes still resolve to the same files.
+ */
+class ServerConfigurationCache {
+
+    private static final TraceComponent tc = Tr.register(ServerConfigurationCache.class, XMLConfigConstants.TR_GROUP, XMLConfigConstants.NLS_PROPS);
+
+    private static final int MAGIC = 0x57434643;
+    private static final int VERSION = 1;
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /** Types of the documents a configuration is parsed from */
+    private static final byte ROOT = 0;
+    private static final byte DROPIN = 1;
+    private static final byte INCLUDE = 2;
+
+    /** Types of the attribute values */
+    private static final byte VALUE_STRING = 0;
+    private static final byte VALUE_LIST = 1;
+    private static final byte VALUE_REFERENCE = 2;
+    private static final byte VALUE_CHILD = 3;
+
+    private final File cacheFile;
+    private final WsLocationAdmin locationService;
+
+    ServerConfigurationCache(File cacheFile, WsLocationAdmin locationService) {
+        this.cacheFile = cacheFile;
+        this.locationService = locationService;
+    }
+
+    /**
+     * A document the configuration was parsed from.
+     */
+    private static class Source {
+        final byte type;
+        /** absolute path of the document */
+        final String path;
+        /** location attribute and the including document of an include */
+        final String location;
+        final String docLocation;
+        /** digest of the content, null if the document did not exist */
+        final byte[] digest;
+        WsResource resource;
+
+        Source(byte type, String path, String location, String docLocation, byte[] digest) {
+            this.type = type;
+            this.path = path;
+            this.location = location;
+            this.docLocation = docLocation;
+            this.digest = digest;
+        }
+    }
+
+    /**
+     * Records the documents read while a server configuration is parsed.
+     */
+    class Recorder implements XMLConfigParser.DocumentListener {
+        private final List<Source> sources = new ArrayList<Source>();
+        private boolean cacheable = true;
+
+        /**
+         * Called before server.xml or a configDropins file is parsed.
+         */
+        void documentParsed(WsResource resource, boolean dropin) {
+            add(dropin ? DROPIN : ROOT, resource, null, null);
+        }
+
+        @Override
+        public void includeResolved(String location, String docLocation, WsResource resource) {
+            add(INCLUDE, resource, location, docLocation);
+        }
+
+        @Override
+        public void warningIssued() {
+            // Warnings would not be issued again if the configuration was read from the cache.
+            cacheable = false;
+        }
+
+        @FFDCIgnore(IOException.class)
+        private void add(byte type, WsResource resource, String location, String docLocation) {
+            File file = resource.asFile();
+            if (!cacheable || file == null || resource.isType(WsResource.Type.REMOTE)) {
+                cacheable = false;
+                return;
+            }
+            try {
+                sources.add(new Source(type, file.getAbsolutePath(), location, docLocation, digest(resource)));
+            } catch (IOException e) {
+                cacheable = false;
+            }
+        }
+    }
+
+    Recorder startRecording() {
+        return new Recorder();
+    }
+
+    /**
+     * Reads the cached configuration.
+     *
+     * @param documents server.xml and the configDropins files in the order they would be parsed
+     * @param parser the parser to reserve sequence ids of the cached elements in
+     * @return the configuration or null if there is no cached configuration for the current documents
+     */
+    @FFDCIgnore(Exception.class)
+    ServerConfiguration load(List<WsResource> documents, XMLConfigParser parser) {
+        if (!cacheFile.isFile()) {
+            return null;
+        }
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)));
+            Input input = new Input(in);
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !getProcessType().equals(input.readString())) {
+                if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
+                    Tr.debug(tc, "load(): cache was written by a different version or process type");
+                }
+                return null;
+            }
+            int nextSequenceId = in.readInt();
+            List<Source> sources = readSources(input);
+            if (!isCurrent(sources, documents)) {
+                return null;
+            }
+
+            ServerConfiguration configuration = new ServerConfiguration();
+            readConfiguration(input, configuration);
+            for (Source source : sources) {
+                if (source.type == INCLUDE) {
+                    configuration.getIncludes().add(source.resource);
+                }
+                if (source.digest != null) {
+                    configuration.updateLastModified(source.resource.getLastModified());
+                    if (source.type == DROPIN) {
+                        Tr.audit(tc, "audit.dropin.being.processed", source.resource.asFile());
+                    } else if (source.type == INCLUDE) {
+                        Tr.audit(tc, "audit.include.being.processed", source.resource.asFile());
+                    }
+                }
+            }
+            parser.reserveSequenceIds(nextSequenceId);
+
+            if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
+                Tr.debug(tc, "load(): using configuration cached in " + cacheFile);
+            }
+            return configuration;
+        } catch (Exception e) {
+            if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
+                Tr.debug(tc, "load():  Exception = " + e.getMessage());
+            }
+            return null;
+        } finally {
+            ConfigUtil.closeIO(in);
+        }
+    }
+
+    /**
+     * Writes the configuration into the cache, or removes the cache if the recorded documents
+     * can't be verified on the next load.
+     *
+     * @param recorder documents the configuration was parsed from
+     * @param configuration the parsed configuration, not yet modified by anything but the parser
+     * @param nextSequenceId the sequence id the parser gives to the next element
+     */
+    @FFDCIgnore(IOException.class)
+    void save(Recorder recorder, ServerConfiguration configuration, int nextSequenceId) {
+        if (!recorder.cacheable) {
+            if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
+                Tr.debug(tc, "save(): configuration can't be cached");
+            }
+            ConfigUtil.delete(cacheFile);
+            return;
+        }
+        File tmpFile = new File(cacheFile.getPath() + ".tmp");
+        DataOutputStream out = null;
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile, false)));
+            Output output = new Output(out);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            output.writeString(getProcessType());
+            out.writeInt(nextSequenceId);
+            writeSources(output, recorder.sources);
+            writeConfiguration(output, configuration);
+            out.close();
+            out = null;
+            ConfigUtil.delete(cacheFile);
+            if (!tmpFile.renameTo(cacheFile)) {
+                throw new IOException("Unable to rename " + tmpFile + " to " + cacheFile);
+            }
+        } catch (IOException e) {
+            if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
+                Tr.debug(tc, "save():  Exception = " + e.getMessage());
+            }
+            FFDCFilter.processException(e, ServerConfigurationCache.class.getName(), "save(): Exception = " + e.getMessage());
+            ConfigUtil.closeIO(out);
+            ConfigUtil.delete(tmpFile);
+            ConfigUtil.delete(cacheFile);
+        }
+    }
+
+    private String getProcessType() {
+        return locationService.resolveString("${wlp.process.type}");
+    }
+
+    /*
+     * Checks that the recorded documents are the current ones and still have the same content.
+     */
+    private boolean isCurrent(List<Source> sources, List<WsResource> documents) throws IOException {
+        Iterator<WsResource> current = documents.iterator();
+        for (Source source : sources) {
+            WsResource resource;
+            if (source.type == INCLUDE) {
+                resource = XMLConfigParser.resolveInclude(source.location, source.docLocation, locationService);
+            } else {
+                resource = current.hasNext() ? current.next() : null;
+            }
+            File file = resource == null ? null : resource.asFile();
+            if (file == null || !file.getAbsolutePath().equals(source.path)) {
+                if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
+                    Tr.debug(tc, "isCurrent(): documents changed, " + source.path + " resolved to " + file);
+                }
+                return false;
+            }
+            byte[] digest = digest(resource);
+            if (digest == null ? source.digest != null : !MessageDigest.isEqual(digest, source.digest)) {
+                if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
+                    Tr.debug(tc, "isCurrent(): content of " + source.path + " changed");
+                }
+                return false;
+            }
+            source.resource = resource;
+        }
+        if (current.hasNext()) {
+            if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
+                Tr.debug(tc, "isCurrent(): new document " + current.next().asFile());
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /*
+     * Returns the digest of the resource content or null if the resource does not exist.
+     */
+    private static byte[] digest(WsResource resource) throws IOException {
+        if (!resource.exists()) {
+            return null;
+        }
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        InputStream in = resource.get();
+        try {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        } finally {
+            ConfigUtil.closeIO(in);
+        }
+        return digest.digest();
+    }
+
+    private static void writeSources(Output output, List<Source> sources) throws IOException {
+        output.out.writeInt(sources.size());
+        for (Source source : sources) {
+            output.out.writeByte(source.type);
+            output.writeString(source.path);
+            output.writeString(source.location);
+            output.writeString(source.docLocation);
+            output.writeBytes(source.digest);
+        }
+    }
+
+    private static List<Source> readSources(Input input) throws IOException {
+        int count = input.in.readInt();
+        List<Source> sources = new ArrayList<Source>(count);
+        for (int i = 0; i < count; i++) {
+            byte type = input.in.readByte();
+            sources.add(new Source(type, input.readString(), input.readString(), input.readString(), input.readBytes()));
+        }
+        return sources;
+    }
+
+    private static void writeConfiguration(Output output, ServerConfiguration configuration) throws IOException {
+        output.writeString(configuration.getDescription());
+
+        output.out.writeInt(configuration.variables.size());
+        for (Map.Entry<String, List<ConfigVariable>> entry : configuration.variables.entrySet()) {
+            output.writeString(entry.getKey());
+            output.out.writeInt(entry.getValue().size());
+            for (ConfigVariable variable : entry.getValue()) {
+                output.writeString(variable.getValue());
+                output.writeString(variable.getMergeBehavior().name());
+                output.writeString(variable.getDocumentLocation());
+            }
+        }
+
+        output.out.writeInt(configuration.configurationMap.size());
+        for (Map.Entry<String, ConfigurationList<SimpleElement>> entry : configuration.configurationMap.entrySet()) {
+            List<SimpleElement> elements = entry.getValue().collectElements(null);
+            output.writeString(entry.getKey());
+            output.out.writeInt(elements.size());
+            for (SimpleElement element : elements) {
+                writeElement(output, element);
+            }
+        }
+    }
+
+    private static void readConfiguration(Input input, ServerConfiguration configuration) throws IOException {
+        String description = input.readString();
+        if (description != null) {
+            configuration.setDescription(description);
+        }
+
+        int count = input.in.readInt();
+        for (int i = 0; i < count; i++) {
+            String name = input.readString();
+            int variables = input.in.readInt();
+            for (int j = 0; j < variables; j++) {
+                configuration.addVariable(new ConfigVariable(name, input.readString(), MergeBehavior.valueOf(input.readString()), input.readString()));
+            }
+        }
+
+        count = input.in.readInt();
+        for (int i = 0; i < count; i++) {
+            String name = input.readString();
+            int elements = input.in.readInt();
+            for (int j = 0; j < elements; j++) {
+                SimpleElement element = readElement(input);
+                if (!name.equals(element.getNodeName())) {
+                    throw new IOException("Element " + element.getNodeName() + " found in the list of " + name);
+                }
+                configuration.addConfigElement(element);
+            }
+        }
+    }
+
+    private static void writeElement(Output output, SimpleElement element) throws IOException {
+        DataOutputStream out = output.out;
+        output.writeString(element.getNodeName());
+        output.writeString(element.getId());
+        out.writeBoolean(element.usingDefaultId);
+        output.writeString(element.getDocumentLocation());
+        output.writeString(element.mergeBehavior == null ? null : element.mergeBehavior.name());
+        out.writeInt(element.getSequenceId());
+        out.writeBoolean(element.isTextOnly());
+        output.writeString(element.getElementValue());
+
+        List<String> docLocationStack = element.getDocLocationStack();
+        out.writeInt(docLocationStack == null ? -1 : docLocationStack.size());
+        if (docLocationStack != null) {
+            for (String docLocation : docLocationStack) {
+                output.writeString(docLocation);
+            }
+        }
+        List<MergeBehavior> behaviorStack = element.getBehaviorStack();
+        out.writeInt(behaviorStack == null ? -1 : behaviorStack.size());
+        if (behaviorStack != null) {
+            for (MergeBehavior behavior : behaviorStack) {
+                output.writeString(behavior.name());
+            }
+        }
+
+        out.writeInt(element.getMergeOperations().size());
+        for (Map.Entry<String, MERGE_OP> entry : element.getMergeOperations().entrySet()) {
+            output.writeString(entry.getKey());
+            output.writeString(entry.getValue().name());
+        }
+
+        List<ConfigElement> children = element.getChildren();
+        out.writeInt(children.size());
+        for (ConfigElement child : children) {
+            if (!(child instanceof SimpleElement)) {
+                throw new IOException("Unexpected nested element " + child);
+            }
+            writeElement(output, (SimpleElement) child);
+        }
+
+        out.writeInt(element.attributes.size());
+        for (Map.Entry<String, Object> entry : element.attributes.entrySet()) {
+            output.writeString(entry.getKey());
+            Object value = entry.getValue();
+            if (value instanceof String) {
+                out.writeByte(VALUE_STRING);
+                output.writeString((String) value);
+            } else if (value instanceof List) {
+                List<?> values = (List<?>) value;
+                out.writeByte(VALUE_LIST);
+                out.writeInt(values.size());
+                for (Object item : values) {
+                    if (item instanceof String) {
+                        out.writeByte(VALUE_STRING);
+                        output.writeString((String) item);
+                    } else if (item instanceof Reference) {
+                        out.writeByte(VALUE_REFERENCE);
+                        output.writeString(((Reference) item).getPid());
+                        output.writeString(((Reference) item).getId());
+                    } else if (item instanceof ConfigElement && children.contains(item)) {
+                        out.writeByte(VALUE_CHILD);
+                        out.writeInt(children.indexOf(item));
+                    } else {
+                        throw new IOException("Unexpected value of attribute " + entry.getKey() + " in " + element);
+                    }
+                }
+            } else {
+                throw new IOException("Unexpected value of attribute " + entry.getKey() + " in " + element);
+            }
+        }
+    }
+
+    private static SimpleElement readElement(Input input) throws IOException {
+        DataInputStream in = input.in;
+        SimpleElement element = new SimpleElement(input.readString());
+        element.setId(input.readString());
+        element.usingDefaultId = in.readBoolean();
+        element.setDocumentLocation(input.readString());
+        String mergeBehavior = input.readString();
+        if (mergeBehavior != null) {
+            element.setMergeBehavior(MergeBehavior.valueOf(mergeBehavior));
+        }
+        element.setSequenceId(in.readInt());
+        element.setTextOnly(in.readBoolean());
+        element.setElementValue(input.readString());
+
+        int count = in.readInt();
+        if (count >= 0) {
+            LinkedList<String> docLocationStack = new LinkedList<String>();
+            for (int i = 0; i < count; i++) {
+                docLocationStack.add(input.readString());
+            }
+            element.setDocLocationStack(docLocationStack);
+        }
+        count = in.readInt();
+        if (count >= 0) {
+            LinkedList<MergeBehavior> behaviorStack = new LinkedList<MergeBehavior>();
+            for (int i = 0; i < count; i++) {
+                behaviorStack.add(MergeBehavior.valueOf(input.readString()));
+            }
+            element.setBehaviorStack(behaviorStack);
+        }
+
+        count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            element.setMergeOperation(input.readString(), MERGE_OP.valueOf(input.readString()));
+        }
+
+        SimpleElement[] children = new SimpleElement[in.readInt()];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = readElement(input);
+        }
+
+        count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String name = input.readString();
+            byte type = in.readByte();
+            if (type == VALUE_STRING) {
+                element.addAttribute(name, input.readString());
+            } else if (type == VALUE_LIST) {
+                int values = in.readInt();
+                for (int j = 0; j < values; j++) {
+                    type = in.readByte();
+                    if (type == VALUE_STRING) {
+                        element.addCollectionAttribute(name, input.readString());
+                    } else if (type == VALUE_REFERENCE) {
+                        element.addCollectionAttribute(name, new Reference(input.readString(), input.readString()));
+                    } else if (type == VALUE_CHILD) {
+                        element.addChildConfigElement(name, children[in.readInt()]);
+                    } else {
+                        throw new IOException("Unknown value type " + type);
+                    }
+                }
+            } else {
+                throw new IOException("Unknown value type " + type);
+            }
+        }
+        // Keep the children in the document order rather than in the order of the attributes.
+        List<ConfigElement> elementChildren = element.getChildren();
+        elementChildren.clear();
+        elementChildren.addAll(Arrays.asList(children));
+        return element;
+    }
+
+    /**
+     * Output writing each distinct string only once.
+     */
+    private static class Output {
+        final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<String, Integer>();
+
+        Output(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index != null) {
+                out.writeInt(index);
+            } else {
+                strings.put(value, strings.size());
+                out.writeInt(-2);
+                writeBytes(value.getBytes("UTF-8"));
+            }
+        }
+
+        void writeBytes(byte[] value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+            } else {
+                out.writeInt(value.length);
+                out.write(value);
+            }
+        }
+    }
+
+    private static class Input {
+        final DataInputStream in;
+        private final List<String> strings = new ArrayList<String>();
+
+        Input(DataInputStream in) {
+            this.in = in;
+        }
+
+        String readString() throws IOException {
+            int index = in.readInt();
+            if (index == -1) {
+                return null;
+            } else if (index == -2) {
+                String value = new String(readBytes(), "UTF-8");
+                strings.add(value);
+                return value;
+            } else if (index >= 0 && index < strings.size()) {
+                return strings.get(index);
+            } else {
+                throw new IOException("Invalid string reference " + index);
+            }
+        }
+
+        byte[] readBytes() throws IOException {
+            int length = in.readInt();
+            if (length == -1) {
+                return null;
+            }
+            if (length < 0) {
+                throw new IOException("Invalid length " + length);
+            }
+            byte[] value = new byte[length];
+            in.readFully(value);
+            return value;
+        }
+    }
+}
@@ -12,11 +12,14 @@ package com.ibm.ws.config.xml.internal;
 
 import java.io.File;
 import java.io.FilenameFilter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.osgi.framework.BundleContext;
@@ -25,6 +28,7 @@ import com.ibm.websphere.config.ConfigParserException;
 import com.ibm.websphere.config.ConfigValidationException;
 import com.ibm.websphere.ras.Tr;
 import com.ibm.websphere.ras.TraceComponent;
+import com.ibm.ws.config.xml.internal.validator.DefaultXMLConfigValidator;
 import com.ibm.ws.config.xml.internal.validator.XMLConfigValidator;
 import com.ibm.ws.ffdc.annotation.FFDCIgnore;
 import com.ibm.wsspi.kernel.service.location.WsLocationAdmin;
@@ -59,6 +63,9 @@ class ServerXMLConfiguration {
 
     private final XMLConfigParser parser;
 
+    /** Parsed configuration from the last run, null if it can't be used */
+    private final ServerConfigurationCache configCache;
+
     ServerXMLConfiguration(BundleContext bundleContext,
                            WsLocationAdmin locationService,
                            XMLConfigParser parser) {
@@ -77,6 +84,16 @@ class ServerXMLConfiguration {
         // been updated since the last run.
         this.configReadTime = getInitialConfigReadTime(bundleContext);
 
+        this.configCache = createConfigCache(bundleContext, locationService, parser);
+    }
+
+    private static ServerConfigurationCache createConfigCache(BundleContext bundleContext, WsLocationAdmin locationService, XMLConfigParser parser) {
+        // Cached configuration would skip the validation of signed documents.
+        if (bundleContext == null || !(parser.getConfigValidator() instanceof DefaultXMLConfigValidator)) {
+            return null;
+        }
+        File cacheFile = bundleContext.getDataFile("configCache");
+        return cacheFile == null ? null : new ServerConfigurationCache(cacheFile, locationService);
     }
 
     boolean hasConfigRoot() {
@@ -113,7 +130,10 @@ class ServerXMLConfiguration {
         if (configRoot != null && configRoot.exists()) {
 
             try {
-                serverConfiguration = loadServerConfiguration();
+                serverConfiguration = loadCachedConfiguration();
+                if (serverConfiguration == null) {
+                    serverConfiguration = loadServerConfiguration();
+                }
                 if (serverConfiguration == null) {
                     // This only happens if there is a parser error and onError has been set to IGNORE or WARN.
                     // We're just avoiding an NPE here. The user will see the server start up with a warning
@@ -248,28 +268,51 @@ class ServerXMLConfiguration {
 
     }
 
+    /**
+     * Returns the configuration cached by the last run if none of the documents it was parsed from changed.
+     */
+    private ServerConfiguration loadCachedConfiguration() {
+        if (configCache == null) {
+            return null;
+        }
+        List<WsResource> documents = new ArrayList<WsResource>();
+        documents.addAll(listDirectoryFiles(configDropinDefaults));
+        documents.add(configRoot);
+        documents.addAll(listDirectoryFiles(configDropinOverrides));
+        return configCache.load(documents, parser);
+    }
+
     @FFDCIgnore({ ConfigParserException.class, ConfigParserTolerableException.class })
     private ServerConfiguration loadServerConfiguration() throws ConfigValidationException, ConfigParserException {
         ServerConfiguration configuration = null;
         XMLConfigValidator configValidator = parser.getConfigValidator();
         try {
+            ServerConfigurationCache.Recorder recorder = configCache == null ? null : configCache.startRecording();
+            parser.setDocumentListener(recorder);
             try {
                 // Initialize the configuration object here, so that as the parser progresses
                 // we maintain the information if an exception is thrown.
                 configuration = new ServerConfiguration();
 
                 // Load files from configDropins/defaults first
-                parseDirectoryFiles(configDropinDefaults, configuration);
+                parseDirectoryFiles(configDropinDefaults, configuration, recorder);
 
                 // Parse server.xml and its includes
+                if (recorder != null) {
+                    recorder.documentParsed(configRoot, false);
+                }
                 parser.parseServerConfiguration(configRoot, configuration);
 
                 // Parse files from configDropins/overrides
-                parseDirectoryFiles(configDropinOverrides, configuration);
+                parseDirectoryFiles(configDropinOverrides, configuration, recorder);
 
                 configuration.updateLastModified(configRoot.getLastModified());
 
                 configValidator.validateConfig(configuration);
+
+                if (recorder != null) {
+                    configCache.save(recorder, configuration, parser.peekNextSequenceId());
+                }
             } catch (ConfigParserTolerableException ex) {
                 // We know what this is, so no need to retry
                 throw ex;
@@ -306,6 +349,8 @@ class ServerXMLConfiguration {
                 configuration = null;
             }
 
+        } finally {
+            parser.setDocumentListener(null);
         }
 
         return configuration;
@@ -314,11 +359,37 @@ class ServerXMLConfiguration {
     /**
      * Parse all of the config files in a directory in platform insensitive alphabetical order
      */
-    private void parseDirectoryFiles(WsResource directory, ServerConfiguration configuration) throws ConfigParserException, ConfigValidationException {
+    private void parseDirectoryFiles(WsResource directory, ServerConfiguration configuration,
+                                     ServerConfigurationCache.Recorder recorder) throws ConfigParserException, ConfigValidationException {
+        for (WsResource defaultFile : listDirectoryFiles(directory)) {
+            Tr.audit(tc, "audit.dropin.being.processed", defaultFile.asFile());
+            if (recorder != null) {
+                recorder.documentParsed(defaultFile, true);
+            }
+            try {
+                parser.parseServerConfiguration(defaultFile, configuration);
+            } catch (ConfigParserException ex) {
+                parser.handleParseError(ex, null);
+
+                if (ErrorHandler.INSTANCE.fail()) {
+                    // if onError=FAIL, bubble the exception up the stack
+                    throw ex;
+                } else {
+                    // Mark the last update for the configuration so that we don't try to load it again
+                    configuration.updateLastModified(configRoot.getLastModified());
+                }
+            }
+        }
+    }
+
+    /**
+     * List the config files in a directory in platform insensitive alphabetical order
+     */
+    private List<WsResource> listDirectoryFiles(WsResource directory) {
         if (directory != null) {
             File defaultsDir = directory.asFile();
             if (defaultsDir == null || !defaultsDir.exists())
-                return;
+                return Collections.emptyList();
 
             File[] defaultFiles = defaultsDir.listFiles(new FilenameFilter() {
 
@@ -333,6 +404,7 @@ class ServerXMLConfiguration {
             });
             Arrays.sort(defaultFiles, new AlphaComparator());
 
+            List<WsResource> resources = new ArrayList<WsResource>(defaultFiles.length);
             for (int i = 0; i < defaultFiles.length; i++) {
                 File file = defaultFiles[i];
                 WsResource defaultFile = directory.getChild(file.getName());
@@ -344,22 +416,11 @@ class ServerXMLConfiguration {
                     }
                     continue;
                 }
-                Tr.audit(tc, "audit.dropin.being.processed", defaultFile.asFile());
-                try {
-                    parser.parseServerConfiguration(defaultFile, configuration);
-                } catch (ConfigParserException ex) {
-                    parser.handleParseError(ex, null);
-
-                    if (ErrorHandler.INSTANCE.fail()) {
-                        // if onError=FAIL, bubble the exception up the stack
-                        throw ex;
-                    } else {
-                        // Mark the last update for the configuration so that we don't try to load it again
-                        configuration.updateLastModified(configRoot.getLastModified());
-                    }
-                }
+                resources.add(defaultFile);
             }
+            return resources;
         }
+        return Collections.emptyList();
     }
 
     @FFDCIgnore(ConfigParserTolerableException.class)
@@ -63,10 +63,36 @@ public class XMLConfigParser {
 
     private final XMLConfigValidator configValidator = XMLConfigValidatorFactory.getInstance().getXMLConfigValidator();
 
+    private DocumentListener documentListener;
+
+    /**
+     * Notified about the documents the parser reads, so that a caller can tell what
+     * a configuration was built from.
+     */
+    interface DocumentListener {
+        /**
+         * Called when an include is resolved, before the included document is parsed.
+         *
+         * @param location the location attribute of the include
+         * @param docLocation the location of the document containing the include
+         * @param resource the resolved resource
+         */
+        void includeResolved(String location, String docLocation, WsResource resource);
+
+        /**
+         * Called when a warning about the parsed documents is issued.
+         */
+        void warningIssued();
+    }
+
     public XMLConfigParser(WsLocationAdmin locationService) {
         this.locationService = locationService;
     }
 
+    void setDocumentListener(DocumentListener documentListener) {
+        this.documentListener = documentListener;
+    }
+
     private static final class XifHolder {
         static final XMLInputFactory INSTANCE;
 
@@ -99,6 +125,25 @@ public class XMLConfigParser {
         return sequenceCounter++;
     }
 
+    /**
+     * @return the sequence id the next parsed element gets
+     */
+    @Trivial
+    int peekNextSequenceId() {
+        return sequenceCounter;
+    }
+
+    /**
+     * Makes sure elements parsed from now on get sequence ids not lower than <code>nextSequenceId</code>.
+     * Used when elements are created without being parsed.
+     */
+    @Trivial
+    void reserveSequenceIds(int nextSequenceId) {
+        if (nextSequenceId > sequenceCounter) {
+            sequenceCounter = nextSequenceId;
+        }
+    }
+
     @Trivial
     public XMLConfigValidator getConfigValidator() {
         return configValidator;
@@ -203,6 +248,7 @@ public class XMLConfigParser {
                     list.add(docLocation);
                     Tr.warning(tc, "warn.parse.circular.include", list);
                 }
+                warningIssued();
                 return true;
             }
             docLocationStack.add(docLocation);
@@ -314,6 +360,7 @@ public class XMLConfigParser {
                         if (tc.isWarningEnabled()) {
                             Tr.warning(tc, "warning.unexpected.server.element");
                         }
+                        warningIssued();
                     } else {
                         SimpleElement configElement = parseConfigElement(parser, name, config, docLocation, null, false);
                         configElement.setDocumentLocation(docLocation);
@@ -342,6 +389,10 @@ public class XMLConfigParser {
                               List<WsResource> includes, BaseConfiguration configuration) throws ConfigParserException, ConfigParserTolerableException, ConfigValidationException {
         String behaviorAttribute = getAttributeValue(parser, BEHAVIOR_ATTRIBUTE);
         MergeBehavior mergeBehavior = behaviorAttribute == null ? behaviorStack.getLast() : getMergeBehavior(behaviorAttribute);
+        if (behaviorAttribute != null && !behaviorAttribute.equalsIgnoreCase(mergeBehavior.name())) {
+            // getMergeBehavior warned about an unrecognized value
+            warningIssued();
+        }
 
         String optionalAttributeValue = getAttributeValue(parser, "optional");
         boolean optionalImport = (optionalAttributeValue != null && "true".equalsIgnoreCase(optionalAttributeValue));
@@ -363,6 +414,9 @@ public class XMLConfigParser {
             }
             if (includeResource != null) {
                 includes.add(includeResource);
+                if (documentListener != null) {
+                    documentListener.includeResolved(location, docLocation, includeResource);
+                }
                 if (includeResource.exists() &&
                     ((includeResource.isType(WsResource.Type.FILE) || (includeResource.isType(WsResource.Type.REMOTE))))) {
 
@@ -384,6 +438,7 @@ public class XMLConfigParser {
             } else {
                 if (optionalImport) {
                     Tr.warning(tc, "warn.cannot.resolve.optional.include", location);
+                    warningIssued();
                     configuration = null;
                 } else {
                     logError("error.cannot.read.location", location);
@@ -659,7 +714,14 @@ public class XMLConfigParser {
         return message;
     }
 
+    private void warningIssued() {
+        if (documentListener != null) {
+            documentListener.warningIssued();
+        }
+    }
+
     private void logError(String msgKey, Object... args) {
+        warningIssued();
 
         switch (ErrorHandler.INSTANCE.getOnError()) {
             case FAIL:
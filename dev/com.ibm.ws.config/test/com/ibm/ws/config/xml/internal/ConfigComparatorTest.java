@@ -1295,6 +1295,111 @@ public class ConfigComparatorTest {
         assertNotNull(containsDelta(deltas, filesetPid, "two", DeltaType.MODIFIED));
     }
 
+    private String generateLargeConfiguration(int elements, String dir7, String fileDefault) {
+        StringBuilder xml = new StringBuilder("<server>");
+        for (int i = 0; i < 100; i++) {
+            xml.append("<variable name=\"dir").append(i).append("\" value=\"").append(i == 7 ? dir7 : "dir" + i).append("\"/>");
+        }
+        xml.append("<variable name=\"fileDefault\" value=\"").append(fileDefault).append("\"/>");
+        // a chain of variables each using the previous one
+        xml.append("<variable name=\"chain0\" value=\"${dir7}\"/>");
+        for (int i = 1; i < 50; i++) {
+            xml.append("<variable name=\"chain").append(i).append("\" value=\"${chain").append(i - 1).append("}/${chain").append(i - 1).append("}\"/>");
+        }
+        for (int i = 0; i < elements; i++) {
+            xml.append("<fileset id=\"fs").append(i).append("\" dir=\"${dir").append(i % 100).append("}/fs").append(i).append("\"");
+            if (i % 2 == 0) {
+                xml.append(" file=\"file").append(i).append("\"");
+            }
+            xml.append(">");
+            xml.append("<nested name=\"n").append(i).append("\" ref=\"fs").append((i + 1) % elements).append("\"/>");
+            xml.append("</fileset>");
+        }
+        xml.append("</server>");
+        return xml.toString();
+    }
+
+    private MetaTypeRegistry createFilesetRegistry() {
+        String filesetPid = "com.ibm.ws.fileset";
+        MockObjectClassDefinition filesetOCD = new MockObjectClassDefinition("fileset");
+        filesetOCD.addAttributeDefinition(new MockAttributeDefinition("dir", AttributeDefinition.STRING, 0, null));
+        filesetOCD.addAttributeDefinition(new MockAttributeDefinition("file", AttributeDefinition.STRING, 0, new String[] { "${fileDefault}" }));
+        filesetOCD.setAlias("fileset");
+
+        MockBundle bundle = new MockBundle();
+        MockMetaTypeInformation metatype = new MockMetaTypeInformation(bundle);
+        metatype.add(filesetPid, true, filesetOCD);
+
+        MetaTypeRegistry registry = new MetaTypeRegistry();
+        assertFalse("The registry should be updated", registry.addMetaType(metatype).isEmpty());
+        return registry;
+    }
+
+    @Test
+    public void testLargeConfigVariableChange() throws Exception {
+        changeLocationSettings("default");
+
+        MetaTypeRegistry registry = createFilesetRegistry();
+
+        int elements = 5000;
+        ServerConfiguration oldConfig = parseServerConfiguration(generateLargeConfiguration(elements, "dir7", "file"));
+
+        // change a variable used by one element in a hundred and by the variable chain
+        ServerConfiguration newConfig = parseServerConfiguration(generateLargeConfiguration(elements, "changed", "file"));
+        ComparatorResult result = new ConfigComparator(oldConfig, newConfig, registry).computeDelta();
+
+        assertEquals("Variable change", 51, result.getVariableDelta().size());
+        assertVariable(result.getVariableDelta(), "dir7", DeltaType.MODIFIED);
+        assertVariable(result.getVariableDelta(), "chain49", DeltaType.MODIFIED);
+        List<ConfigDelta> deltas = result.getConfigDelta();
+        assertEquals("Config change", elements / 100, deltas.size());
+        for (ConfigDelta delta : deltas) {
+            assertEquals(DeltaType.MODIFIED, delta.getDelta());
+            assertEquals(7, Integer.parseInt(delta.getConfigElement().getId().substring(2)) % 100);
+        }
+
+        // change a variable used by the metatype default of elements without the file attribute
+        newConfig = parseServerConfiguration(generateLargeConfiguration(elements, "dir7", "changed"));
+        result = new ConfigComparator(oldConfig, newConfig, registry).computeDelta();
+
+        assertEquals("Variable change", 1, result.getVariableDelta().size());
+        assertVariable(result.getVariableDelta(), "fileDefault", DeltaType.MODIFIED);
+        deltas = result.getConfigDelta();
+        assertEquals("Config change", elements / 2, deltas.size());
+        for (ConfigDelta delta : deltas) {
+            assertEquals(1, Integer.parseInt(delta.getConfigElement().getId().substring(2)) % 2);
+        }
+
+        // no change
+        newConfig = parseServerConfiguration(generateLargeConfiguration(elements, "dir7", "file"));
+        result = new ConfigComparator(oldConfig, newConfig, registry).computeDelta();
+        assertFalse("No change", result.hasDelta());
+    }
+
+    /**
+     * Reports how long a variable change takes to compare on configurations of increasing size.
+     * Not run by default because the larger configurations take too long to parse for a unit test.
+     */
+    @Test
+    @Ignore
+    public void testLargeConfigVariableChangeTiming() throws Exception {
+        changeLocationSettings("default");
+
+        MetaTypeRegistry registry = createFilesetRegistry();
+
+        for (int elements = 5000; elements <= 40000; elements *= 2) {
+            ServerConfiguration oldConfig = parseServerConfiguration(generateLargeConfiguration(elements, "dir7", "file"));
+            ServerConfiguration newConfig = parseServerConfiguration(generateLargeConfiguration(elements, "changed", "file"));
+
+            long start = System.nanoTime();
+            ComparatorResult result = new ConfigComparator(oldConfig, newConfig, registry).computeDelta();
+            long elapsed = System.nanoTime() - start;
+
+            assertEquals("Config change", elements / 100, result.getConfigDelta().size());
+            System.out.println("Compared " + elements + " elements with a variable change in " + (elapsed / 1000000) + " ms");
+        }
+    }
+
     private ConfigDelta containsDelta(List<ConfigDelta> deltas, String pid, String id, DeltaType deltaType) {
         for (ConfigDelta delta : deltas) {
             ConfigElement configElement = delta.getConfigElement();
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.config.xml.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.ibm.wsspi.kernel.service.location.WsLocationAdmin;
+import com.ibm.wsspi.kernel.service.location.WsResource;
+
+import test.common.SharedLocationManager;
+import test.common.SharedOutputManager;
+import test.utils.SharedConstants;
+
+public class ServerConfigurationCacheTest {
+
+    static WsLocationAdmin wsLocation;
+    static SharedOutputManager outputMgr;
+
+    private File dir;
+    private File serverXml;
+    private File includeXml;
+    private File cacheFile;
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+        outputMgr = SharedOutputManager.getInstance();
+        outputMgr.captureStreams();
+
+        SharedLocationManager.createDefaultLocations(SharedConstants.SERVER_XML_INSTALL_ROOT, "default");
+        wsLocation = (WsLocationAdmin) SharedLocationManager.getLocationInstance();
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+        outputMgr.restoreStreams();
+        SharedLocationManager.resetWsLocationAdmin();
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        dir = File.createTempFile("configCache", "");
+        dir.delete();
+        dir.mkdirs();
+        serverXml = new File(dir, "server.xml");
+        includeXml = new File(dir, "include.xml");
+        cacheFile = new File(dir, "configCache");
+
+        write(serverXml, "<server description=\"cached\">" +
+                         "  <include location=\"include.xml\"/>" +
+                         "  <include optional=\"true\" location=\"missing.xml\"/>" +
+                         "  <variable name=\"cachedVar\" value=\"one\"/>" +
+                         "  <top id=\"a\" attr=\"x\">" +
+                         "    <child name=\"c1\"/>" +
+                         "    <value>one</value>" +
+                         "    <value>two</value>" +
+                         "    <other ref=\"o1\"/>" +
+                         "    <value merge-op=\"append\">three</value>" +
+                         "  </top>" +
+                         "</server>");
+        write(includeXml, "<server><top id=\"b\" attr=\"y\"/><single>text</single></server>");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (File file : dir.listFiles()) {
+            file.delete();
+        }
+        dir.delete();
+        outputMgr.resetStreams();
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write(content);
+        } finally {
+            writer.close();
+        }
+    }
+
+    private WsResource getServerXml() {
+        return wsLocation.resolveResource(serverXml.getAbsolutePath());
+    }
+
+    private ServerConfiguration parseAndSave(ServerConfigurationCache cache, XMLConfigParser parser) throws Exception {
+        ServerConfigurationCache.Recorder recorder = cache.startRecording();
+        parser.setDocumentListener(recorder);
+        try {
+            recorder.documentParsed(getServerXml(), false);
+            ServerConfiguration configuration = parser.parseServerConfiguration(getServerXml());
+            cache.save(recorder, configuration, parser.peekNextSequenceId());
+            return configuration;
+        } finally {
+            parser.setDocumentListener(null);
+        }
+    }
+
+    private ServerConfiguration load(ServerConfigurationCache cache, XMLConfigParser parser) {
+        return cache.load(Collections.singletonList(getServerXml()), parser);
+    }
+
+    @Test
+    public void testLoad() throws Exception {
+        ServerConfigurationCache cache = new ServerConfigurationCache(cacheFile, wsLocation);
+        XMLConfigParser parsingParser = new XMLConfigParser(wsLocation);
+        ServerConfiguration parsed = parseAndSave(cache, parsingParser);
+        assertTrue("Cache should be written", cacheFile.isFile());
+
+        XMLConfigParser parser = new XMLConfigParser(wsLocation);
+        ServerConfiguration cached = load(cache, parser);
+        assertNotNull("Cached configuration should be used", cached);
+        assertEquals("cached", cached.getDescription());
+        assertEquals(parsed.getLastModified(), cached.getLastModified());
+        assertEquals(parsed.getVariables().get("cachedVar").getValue(), cached.getVariables().get("cachedVar").getValue());
+        assertEquals(parsed.getIncludes().size(), cached.getIncludes().size());
+        for (int i = 0; i < parsed.getIncludes().size(); i++) {
+            assertEquals(parsed.getIncludes().get(i).toExternalURI(), cached.getIncludes().get(i).toExternalURI());
+        }
+        assertEquals(parsingParser.peekNextSequenceId(), parser.peekNextSequenceId());
+
+        for (String id : new String[] { "a", "b" }) {
+            FactoryElement expected = parsed.getFactoryInstance("top", null, id);
+            FactoryElement actual = cached.getFactoryInstance("top", null, id);
+            assertEquals(expected.getAttributes().toString(), actual.getAttributes().toString());
+            assertEquals(expected.getChildren().size(), actual.getChildren().size());
+        }
+        assertEquals(parsed.getSingleton("single", null).getElementValue(), cached.getSingleton("single", null).getElementValue());
+
+        List<SimpleElement> expected = parsed.getFactoryElements("top", null, "a");
+        List<SimpleElement> actual = cached.getFactoryElements("top", null, "a");
+        assertEquals(1, actual.size());
+        assertEquals(expected.get(0).getAttributes().toString(), actual.get(0).getAttributes().toString());
+        assertEquals(expected.get(0).getSequenceId(), actual.get(0).getSequenceId());
+        assertEquals(expected.get(0).getDocLocationStack(), actual.get(0).getDocLocationStack());
+        assertEquals(expected.get(0).getMergeOperations(), actual.get(0).getMergeOperations());
+        ConfigElement child = actual.get(0).getChildren().get(0);
+        assertEquals("c1", child.getAttribute("name"));
+        assertTrue(child.getParent() == actual.get(0));
+    }
+
+    @Test
+    public void testChangedInclude() throws Exception {
+        ServerConfigurationCache cache = new ServerConfigurationCache(cacheFile, wsLocation);
+        parseAndSave(cache, new XMLConfigParser(wsLocation));
+
+        write(includeXml, "<server><top id=\"b\" attr=\"z\"/></server>");
+        assertNull("Changed include should not be read from the cache", load(cache, new XMLConfigParser(wsLocation)));
+    }
+
+    @Test
+    public void testNewOptionalInclude() throws Exception {
+        ServerConfigurationCache cache = new ServerConfigurationCache(cacheFile, wsLocation);
+        parseAndSave(cache, new XMLConfigParser(wsLocation));
+
+        write(new File(dir, "missing.xml"), "<server/>");
+        assertNull("New optional include should not be read from the cache", load(cache, new XMLConfigParser(wsLocation)));
+    }
+
+    @Test
+    public void testNewDocument() throws Exception {
+        ServerConfigurationCache cache = new ServerConfigurationCache(cacheFile, wsLocation);
+        parseAndSave(cache, new XMLConfigParser(wsLocation));
+
+        File dropin = new File(dir, "dropin.xml");
+        write(dropin, "<server/>");
+        List<WsResource> documents = new ArrayList<WsResource>();
+        documents.add(getServerXml());
+        documents.add(wsLocation.resolveResource(dropin.getAbsolutePath()));
+        assertNull("New dropin should not be read from the cache", cache.load(documents, new XMLConfigParser(wsLocation)));
+    }
+
+    @Test
+    public void testWarningNotCached() throws Exception {
+        write(serverXml, "<server><server/></server>");
+        ServerConfigurationCache cache = new ServerConfigurationCache(cacheFile, wsLocation);
+        parseAndSave(cache, new XMLConfigParser(wsLocation));
+        assertFalse("Configuration parsed with warnings should not be cached", cacheFile.exists());
+    }
+}
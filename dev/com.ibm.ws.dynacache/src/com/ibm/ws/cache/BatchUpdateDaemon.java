@@ -16,6 +16,8 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.ibm.websphere.cache.CacheEntry;
 import com.ibm.websphere.cache.InvalidationEvent;
@@ -44,6 +46,11 @@ public class BatchUpdateDaemon extends RealTimeDaemon {
     private final HashMap drsBuffer = new HashMap();
     private final int drsCongestionThreshold = 5;
 
+    /**
+     * Set while a wakeUp requested by a waitOnInvalidation is queued on the cache executor.
+     */
+    private final AtomicBoolean wakeUpRequested = new AtomicBoolean(false);
+
     //private long lastTimeForTrace = 0;  //398807
     //public static final int TRACE_WINDOW = 10000;  // window 10 sec  //398807
 
@@ -93,12 +100,17 @@ public class BatchUpdateDaemon extends RealTimeDaemon {
      *            time the BatchUpdateDaemon wakes.
      */
     public void invalidateByTemplate(String template, boolean waitOnInvalidation, DCache cache) {
+        InvalidationPipeline pipeline = cache.getInvalidationPipeline();
         synchronized (this) {
             BatchUpdateList bul = getUpdateList(cache);
-            bul.invalidateByTemplateEvents.put(template, new InvalidateByTemplateEvent(template, CachePerf.LOCAL));
+            InvalidateByTemplateEvent invalidateByTemplateEvent = new InvalidateByTemplateEvent(template, CachePerf.LOCAL);
+            if (pipeline != null) {
+                pipeline.templateQueued(template, invalidateByTemplateEvent.getTimeStamp());
+            }
+            bul.invalidateByTemplateEvents.put(template, invalidateByTemplateEvent);
         }
         if (waitOnInvalidation) {
-            wakeUp(0, 0);
+            wakeUpOnInvalidation(pipeline);
         }
     }
 
@@ -113,6 +125,9 @@ public class BatchUpdateDaemon extends RealTimeDaemon {
             bul.invalidateByTemplateEvents.clear();
             bul.pushCacheEntryEvents.clear();
             bul.pushECFEvents.clear();
+            if (cache.getInvalidationPipeline() != null) {
+                cache.getInvalidationPipeline().clear();
+            }
             InvalidateByTemplateEvent invalidateByTemplateEvent = new InvalidateByTemplateEvent(template, CachePerf.LOCAL);
             invalidateByTemplateEvent.setCacheCommand_Clear();
             bul.invalidateByTemplateEvents.put(template, invalidateByTemplateEvent);
@@ -154,14 +169,18 @@ public class BatchUpdateDaemon extends RealTimeDaemon {
                 return;
             }
         }
+        InvalidationPipeline pipeline = cache.getInvalidationPipeline();
         synchronized (this) {
             BatchUpdateList bul = getUpdateList(cache);
             InvalidateByIdEvent invalEvent = new InvalidateByIdEvent(id, causeOfInvalidation, sourceOfInvalidation, invokeInternalInvalidateById, invokeDRSRenounce, cache.getCacheName()); // LI4337-17
             invalEvent.setClassLoaderType(cache.getCacheConfig().isUseServerClassLoader());
+            if (pipeline != null && invokeInternalInvalidateById) {
+                pipeline.idQueued(id, invalEvent.getTimeStamp());
+            }
             bul.invalidateByIdEvents.put(id, invalEvent);
         }
         if (waitOnInvalidation) {
-            wakeUp(0, 0);
+            wakeUpOnInvalidation(pipeline);
         }
     }
 
@@ -182,6 +201,39 @@ public class BatchUpdateDaemon extends RealTimeDaemon {
         invalidateById(id, CachePerf.DIRECT, waitOnInvalidation, cache, Cache.CHECK_PREINVALIDATION_LISTENER);
     }
 
+    /**
+     * Processes the queued events for an invalidation that should take effect
+     * right away. Without an InvalidationPipeline the events are processed on the
+     * caller thread. With one, the cache already treats the invalidated entries as
+     * misses, so the events are processed on the cache executor and the caller
+     * returns without waiting for the entries to be removed.
+     */
+    private void wakeUpOnInvalidation(InvalidationPipeline pipeline) {
+        if (pipeline == null) {
+            wakeUp(0, 0);
+        } else if (wakeUpRequested.compareAndSet(false, true)) {
+            Future<?> future = Scheduler.submit(new Runnable() {
+                @Override
+                public void run() {
+                    // events queued from now on need another wakeUp
+                    wakeUpRequested.set(false);
+                    try {
+                        wakeUp(0, 0);
+                    } catch (Exception ex) {
+                        com.ibm.ws.ffdc.FFDCFilter.processException(ex, "com.ibm.ws.cache.BatchUpdateDaemon.wakeUpOnInvalidation", "225", this);
+                        if (tc.isDebugEnabled())
+                            Tr.debug(tc, "exception during wakeUp", ex);
+                    }
+                }
+            });
+            if (future == null) {
+                // no executor outside of OSGi
+                wakeUpRequested.set(false);
+                wakeUp(0, 0);
+            }
+        }
+    }
+
     /**
      * This allows a cache entry to be added to the BatchUpdateDaemon.
      * The cache entry will be added to all caches.
@@ -240,8 +292,17 @@ public class BatchUpdateDaemon extends RealTimeDaemon {
             ArrayList pushCacheEntryList = new ArrayList();
             for (int i = 0; i < currentUpdates.length; i++) {
                 BatchUpdateList bul = null;
+                InvalidationPipeline pipeline = null;
+                HashMap pendingIdEvents = null;
+                HashMap pendingTemplateEvents = null;
                 try {
                     bul = currentUpdates[i];
+                    pipeline = bul.cache.getInvalidationPipeline();
+                    if (pipeline != null) {
+                        // remember the events before they are filtered, all of them stop being pending below
+                        pendingIdEvents = new HashMap(bul.invalidateByIdEvents);
+                        pendingTemplateEvents = new HashMap(bul.invalidateByTemplateEvents);
+                    }
                     // need to save all pushed CEs in an unfiltered
                     // list so we can dec the refCount after they
                     // have been pushed.
@@ -377,6 +438,9 @@ public class BatchUpdateDaemon extends RealTimeDaemon {
                         }
                     }
                 } finally {
+                    if (pipeline != null) {
+                        pipeline.applied(pendingIdEvents, pendingTemplateEvents);
+                    }
                     // ---------------------------------
                     // Dec the ref count
                     // ---------------------------------
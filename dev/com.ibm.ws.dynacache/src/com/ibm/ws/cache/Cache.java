@@ -96,6 +96,11 @@ public class Cache extends DCacheBase implements com.ibm.websphere.cache.CacheLo
      */
     private DependencyTable templateDependencyTable = null;
 
+    /**
+     * This tracks the queued invalidations when invalidations are applied asynchronously.
+     */
+    private InvalidationPipeline invalidationPipeline = null;
+
     /**
      * This is an index to the entries for random access given a cache id. The key is the cache id that is unique within
      * the server. The value is the entry.
@@ -212,11 +217,25 @@ public class Cache extends DCacheBase implements com.ibm.websphere.cache.CacheLo
         increaseCacheSizeInBytes(ObjectSizer.FASTHASHTABLE_INITIAL_OVERHEAD + ObjectSizer.FASTHASHTABLE_INITIAL_PER_ENTRY_OVERHEAD
                                  * cacheConfig.cacheSize, "EHT");
 
-        if (!cacheConfig.disableDependencyId) {
-            dataDependencyTable = new DependencyTable(DependencyTable.CONCURRENT_HASHMAP, cacheConfig.cacheSize / 3);
+        if (cacheConfig.compactDependencyIndex) {
+            // both tables number the cache ids in the same entry id table
+            CompactDependencyTable.EntryIds entryIds = new CompactDependencyTable.EntryIds();
+            if (!cacheConfig.disableDependencyId) {
+                dataDependencyTable = new CompactDependencyTable(entryIds, cacheConfig.cacheSize / 3);
+            }
+            if (!cacheConfig.disableTemplatesSupport) {
+                templateDependencyTable = new CompactDependencyTable(entryIds, cacheConfig.cacheSize / 10);
+            }
+        } else {
+            if (!cacheConfig.disableDependencyId) {
+                dataDependencyTable = new DependencyTable(DependencyTable.CONCURRENT_HASHMAP, cacheConfig.cacheSize / 3);
+            }
+            if (!cacheConfig.disableTemplatesSupport) {
+                templateDependencyTable = new DependencyTable(DependencyTable.CONCURRENT_HASHMAP, cacheConfig.cacheSize / 10);
+            }
         }
-        if (!cacheConfig.disableTemplatesSupport) {
-            templateDependencyTable = new DependencyTable(DependencyTable.CONCURRENT_HASHMAP, cacheConfig.cacheSize / 10);
+        if (cacheConfig.asyncInvalidation) {
+            invalidationPipeline = new InvalidationPipeline();
         }
 
         // --------------------------------------------------------
@@ -350,10 +369,21 @@ public class Cache extends DCacheBase implements com.ibm.websphere.cache.CacheLo
         extendedStats.put("DependencyIdsBufferedForDisk", (long) getDepIdsBufferedSizeDisk());
         extendedStats.put("TemplatesBufferedForDisk", (long) getTemplatesBufferedSizeDisk());
         extendedStats.put("PushPullTableSize", (long) getPushPullTableSize());
+        if (invalidationPipeline != null) {
+            invalidationPipeline.addStatistics(extendedStats);
+        }
         statistics.setExtendedStats(extendedStats);
         return statistics;
     }
 
+    /**
+     * Returns the pending invalidations of this cache when asyncInvalidation is configured, null otherwise.
+     */
+    @Override
+    public InvalidationPipeline getInvalidationPipeline() {
+        return invalidationPipeline;
+    }
+
     /**
      * **** DCache interface **** <br>
      * Sets this JVM's BatchUpdateDaemon. It is called by the CacheUnitImpl when things get started. <br>
@@ -525,6 +555,16 @@ public class Cache extends DCacheBase implements com.ibm.websphere.cache.CacheLo
                 cacheEntry.incRefCount();
         }
 
+        // An entry waiting for a queued invalidation is a miss, the BatchUpdateDaemon removes it later
+        boolean invalidationPending = false;
+        if (cacheEntry != null && invalidationPipeline != null && invalidationPipeline.isPending(cacheEntry)) {
+            if (incRefCount) {
+                cacheEntry.decRefCount();
+            }
+            cacheEntry = null;
+            invalidationPending = true;
+        }
+
         if (cacheEntry != null) {
             if (!ignoreCounting) {
                 // Update cache statistics if the entry is valid (VET < t < RET).
@@ -543,10 +583,14 @@ public class Cache extends DCacheBase implements com.ibm.websphere.cache.CacheLo
                 }
             }
             return cacheEntry;
-        } else if (cacheEntry == null && swapToDisk) {
+        } else if (cacheEntry == null && swapToDisk && !invalidationPending) {
             // synchronized (this) {
             cacheEntry = diskCache.readCacheEntry(id);
             // }
+            if (cacheEntry != null && invalidationPipeline != null && invalidationPipeline.isPending(cacheEntry)) {
+                cacheEntry = null;
+                invalidationPending = true;
+            }
             if (cacheEntry != null) {
                 if (incRefCount) {
                     cacheEntry.incRefCount();
@@ -586,7 +630,7 @@ public class Cache extends DCacheBase implements com.ibm.websphere.cache.CacheLo
         }
 
         // See if another cache has the CE
-        if (cacheEntry == null && askPermission) {
+        if (cacheEntry == null && askPermission && !invalidationPending) {
             cacheEntry = remoteServices.getEntry(id);
             if (cacheEntry != null) {
                 if (incRefCount) {
@@ -1552,7 +1596,21 @@ public class Cache extends DCacheBase implements com.ibm.websphere.cache.CacheLo
      *            A template name.
      * @note Really should not be public, but needed to access from ServletWrapper
      */
-    private synchronized void internalInvalidateByTemplate(InvalidateByTemplateEvent event) {
+    private void internalInvalidateByTemplate(InvalidateByTemplateEvent event) {
+        if (invalidationPipeline == null) {
+            synchronized (this) {
+                removeByTemplate(event);
+            }
+        } else {
+            removeByTemplate(event);
+        }
+    }
+
+    /**
+     * Removes the entries having a dependency on the template of the event. The entries are removed in
+     * chunks when asyncInvalidation is configured, see loopRemove.
+     */
+    private void removeByTemplate(InvalidateByTemplateEvent event) {
 
         if (TraceComponent.isAnyTracingEnabled() && tc.isEntryEnabled())
             Tr.entry(tc, "internalInvalidateByTemplate() cacheName=" + cacheName + " template=[" + event.getTemplate() + "]");
@@ -1562,29 +1620,30 @@ public class Cache extends DCacheBase implements com.ibm.websphere.cache.CacheLo
         int source = event.source;
 
         if (!this.cacheConfig.disableTemplatesSupport) {
-            ValueSet valueSet = templateDependencyTable.removeDependency(template);
-            if (swapToDisk) {
-                ValueSet vs = diskCache.readTemplate(template, HTODDynacache.DELETE); // CCC-2
-                if (valueSet == null)
-                    valueSet = vs;
-                else {
-                    valueSet.union(vs);
-                    vs.clear();
+            ValueSet valueSet = null;
+            synchronized (this) {
+                valueSet = templateDependencyTable.removeDependency(template);
+                if (swapToDisk) {
+                    ValueSet vs = diskCache.readTemplate(template, HTODDynacache.DELETE); // CCC-2
+                    if (valueSet == null)
+                        valueSet = vs;
+                    else {
+                        valueSet.union(vs);
+                        vs.clear();
+                    }
                 }
             }
             if (valueSet != null && valueSet.size() > 0) {
                 event.addRemovedIds(valueSet);
-                this.entriesInMemoryRemoved = 0;
-                this.entriesInDiskRemoved = 0;
-                loopRemove(valueSet, CachePerf.DIRECT, source, FIRE_INVALIDATION_LISTENER);
-                if (this.entriesInDiskRemoved > 0) {
+                int[] removed = loopRemove(valueSet, CachePerf.DIRECT, source, FIRE_INVALIDATION_LISTENER);
+                if (removed[1] > 0) {
                     this.cacheStatisticsListener.templateBasedInvalidationsFromDisk(template);
                 }
                 valueSet.clear();
 
                 if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
                     String msg = "internalInvalidateByTemplate() cacheName=" + cacheName + " template=" + template + " numOfMemoryEntries="
-                                 + this.entriesInMemoryRemoved + " numOfDiskEntries=" + this.entriesInDiskRemoved + " cause=" + CachePerf.DIRECT
+                                 + removed[0] + " numOfDiskEntries=" + removed[1] + " cause=" + CachePerf.DIRECT
                                  + " source=" + source2Text(source) + " elapsed=" + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " listenerEnabled="
                                  + bEnableListener;
                     Tr.debug(tc, msg);
@@ -1603,13 +1662,28 @@ public class Cache extends DCacheBase implements com.ibm.websphere.cache.CacheLo
      * @param causeOfInvalidation
      *            The cause of invalidation...see InvalidateByIdEvent.
      */
-    private synchronized boolean internalInvalidateById(Object id, int causeOfInvalidation, int source, boolean bFireIL) {
+    private boolean internalInvalidateById(Object id, int causeOfInvalidation, int source, boolean bFireIL) {
+        if (invalidationPipeline == null) {
+            synchronized (this) {
+                return removeById(id, causeOfInvalidation, source, bFireIL);
+            }
+        }
+        return removeById(id, causeOfInvalidation, source, bFireIL);
+    }
+
+    /**
+     * Removes the entry of the id and the entries having a dependency on the id.
+     */
+    private boolean removeById(Object id, int causeOfInvalidation, int source, boolean bFireIL) {
         if (TraceComponent.isAnyTracingEnabled() && tc.isEntryEnabled())
             Tr.entry(tc, "internalInvalidateById() cacheName=" + this.cacheName + " id=" + id);
 
-        boolean rc = remove(id, causeOfInvalidation, source, bFireIL, !FROM_DEPID_TEMPLATE_INVALIDATION);
+        boolean rc = false;
+        synchronized (this) {
+            rc = remove(id, causeOfInvalidation, source, bFireIL, !FROM_DEPID_TEMPLATE_INVALIDATION);
+        }
 
-        internalInvalidateByDepId(id, causeOfInvalidation, source, bFireIL);
+        removeByDepId(id, causeOfInvalidation, source, bFireIL);
 
         if (TraceComponent.isAnyTracingEnabled() && tc.isEntryEnabled())
             Tr.exit(tc, "internalInvalidateById: cacheName=" + cacheName + " id=" + id + " rc=" + rc);
@@ -1630,31 +1704,46 @@ public class Cache extends DCacheBase implements com.ibm.websphere.cache.CacheLo
      *            True to fire invalidation event
      */
     @Override
-    public synchronized void internalInvalidateByDepId(Object id, int causeOfInvalidation, int source, boolean bFireIL) {
+    public void internalInvalidateByDepId(Object id, int causeOfInvalidation, int source, boolean bFireIL) {
+        if (invalidationPipeline == null) {
+            synchronized (this) {
+                removeByDepId(id, causeOfInvalidation, source, bFireIL);
+            }
+        } else {
+            removeByDepId(id, causeOfInvalidation, source, bFireIL);
+        }
+    }
+
+    /**
+     * Removes the entries having a dependency on the dependency id. The entries are removed in chunks
+     * when asyncInvalidation is configured, see loopRemove.
+     */
+    private void removeByDepId(Object id, int causeOfInvalidation, int source, boolean bFireIL) {
         if (!this.cacheConfig.disableDependencyId) {
             long start = System.nanoTime();
-            this.entriesInMemoryRemoved = 0;
-            this.entriesInDiskRemoved = 0;
 
-            ValueSet valueSet = dataDependencyTable.removeDependency(id);
-            if (swapToDisk) {
-                if (valueSet == null)
-                    valueSet = diskCache.readDependency(id, HTODDynacache.DELETE);
-                else
-                    valueSet.union(diskCache.readDependency(id, HTODDynacache.DELETE));
+            ValueSet valueSet = null;
+            synchronized (this) {
+                valueSet = dataDependencyTable.removeDependency(id);
+                if (swapToDisk) {
+                    if (valueSet == null)
+                        valueSet = diskCache.readDependency(id, HTODDynacache.DELETE);
+                    else
+                        valueSet.union(diskCache.readDependency(id, HTODDynacache.DELETE));
+                }
             }
             if (valueSet != null && valueSet.size() > 0) {
-                loopRemove(valueSet, causeOfInvalidation, source, bFireIL);
+                int[] removed = loopRemove(valueSet, causeOfInvalidation, source, bFireIL);
                 valueSet.clear();
                 valueSet = null;
-                if (this.entriesInDiskRemoved > 0) {
+                if (removed[1] > 0) {
                     this.cacheStatisticsListener.depIdBasedInvalidationsFromDisk(id);
                 }
                 if (TraceComponent.isAnyTracingEnabled()) {
                     CachePerf cachePerf = cachePerfRef.get();
                     boolean pmiEnabled = (cachePerf != null) ? cachePerf.isPMIEnabled() : false;
                     String msg = "internalInvalidateByDepId() cacheName=" + cacheName + " dep-id=" + id + " numOfMemoryEntries="
-                                 + this.entriesInMemoryRemoved + " numOfDiskEntries=" + this.entriesInDiskRemoved + " cause=" + cause2Text(causeOfInvalidation)
+                                 + removed[0] + " numOfDiskEntries=" + removed[1] + " cause=" + cause2Text(causeOfInvalidation)
                                  + " source=" + source2Text(source) + " elapsed=" + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " listenerEnabled="
                                  + bEnableListener + " PMIEnabled=" + pmiEnabled;
                     if (tc.isDebugEnabled()) {
@@ -1668,14 +1757,41 @@ public class Cache extends DCacheBase implements com.ibm.websphere.cache.CacheLo
         }
     }
 
-    private void loopRemove(ValueSet valueSet, int causeOfInvalidation, int source, boolean bFireIL) {
+    /**
+     * Removes the entries of an invalidated dependency id or template. With asyncInvalidation the entries
+     * are removed invalidationChunkSize at a time, releasing the cache between the chunks so that requests
+     * are not held up by a large invalidation. Otherwise the caller holds the cache lock throughout.
+     * 
+     * @return The number of entries removed from memory and from disk.
+     */
+    private int[] loopRemove(ValueSet valueSet, int causeOfInvalidation, int source, boolean bFireIL) {
+        int[] removed = new int[2];
         if (valueSet != null && !valueSet.isEmpty()) {
+            long start = System.nanoTime();
+            int chunkSize = Integer.MAX_VALUE;
+            if (invalidationPipeline != null && this.cacheConfig.invalidationChunkSize > 0) {
+                chunkSize = this.cacheConfig.invalidationChunkSize;
+            }
+            int chunks = 0;
             Iterator it = valueSet.iterator();
             while (it.hasNext()) {
-                Object entryId = it.next();
-                remove(entryId, causeOfInvalidation, source, bFireIL, FROM_DEPID_TEMPLATE_INVALIDATION);
+                synchronized (this) {
+                    this.entriesInMemoryRemoved = 0;
+                    this.entriesInDiskRemoved = 0;
+                    for (int i = 0; i < chunkSize && it.hasNext(); i++) {
+                        Object entryId = it.next();
+                        remove(entryId, causeOfInvalidation, source, bFireIL, FROM_DEPID_TEMPLATE_INVALIDATION);
+                    }
+                    removed[0] += this.entriesInMemoryRemoved;
+                    removed[1] += this.entriesInDiskRemoved;
+                }
+                chunks++;
+            }
+            if (invalidationPipeline != null) {
+                invalidationPipeline.drained(valueSet.size(), chunks, System.nanoTime() - start);
             }
         }
+        return removed;
     }
 
     /**
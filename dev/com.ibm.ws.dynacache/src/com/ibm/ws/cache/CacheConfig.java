@@ -97,6 +97,9 @@ public class CacheConfig implements DCacheConfig, Cloneable {
     public static final String DISK_DEPENDENCY_CACHE_INDEX_ENABLED = "com.ibm.ws.cache.CacheConfig.htodDependencyCacheIndexEnabled";
     public static final String LIBRARY_REF = "com.ibm.ws.cache.CacheConfig.libraryRef";
     public static final String WEBSERVICES_SET_REQUIRED_TRUE = "com.ibm.ws.cache.CacheConfig.webservicesSetRequiredTrue";
+    public static final String ASYNC_INVALIDATION = "com.ibm.ws.cache.CacheConfig.asyncInvalidation";
+    public static final String INVALIDATION_CHUNK_SIZE = "com.ibm.ws.cache.CacheConfig.invalidationChunkSize";
+    public static final String COMPACT_DEPENDENCY_INDEX = "com.ibm.ws.cache.CacheConfig.compactDependencyIndex";
 
     // ---------------------------------------------------------
     // Warning - Never change these values!! They are
@@ -114,6 +117,9 @@ public class CacheConfig implements DCacheConfig, Cloneable {
     public static final int EVICTION_NONE = 0;
     public static final int EVICTION_RANDOM = 1;
     public static final int EVICTION_SIZE_BASED = 2;
+
+    public static final int DISKCACHE_ENGINE_HTOD = 0;
+    public static final int DISKCACHE_ENGINE_LOG = 1;
     // -------------------------------------------------
     // Config settings - Behaviour Change from v5
     // -------------------------------------------------
@@ -245,6 +251,7 @@ public class CacheConfig implements DCacheConfig, Cloneable {
     int diskCacheSize = DEFAULT_DISKCACHE_SIZE; // default: 0 means disable or maximum disk cache size
 
     int diskCacheEvictionPolicy = EVICTION_RANDOM;
+    int diskCacheEngine = DISKCACHE_ENGINE_HTOD; // HTOD hashtable files, or memory mapped log segments for the cache entries
     int diskCacheHighThreshold = DEFAULT_HIGH_THRESHOLD;
     int diskCacheLowThreshold = DEFAULT_LOW_THRESHOLD;
 
@@ -267,6 +274,19 @@ public class CacheConfig implements DCacheConfig, Cloneable {
     boolean alwaysSetSurrogateControlHdr = false;
     String filteredStatusCodes = null;
 
+    // -----------------------------------------------------------
+    // Config settings - Invalidation
+    // -----------------------------------------------------------
+    // true means invalidations are always applied on the BatchUpdateDaemon, and entries
+    // waiting for a pending invalidation are treated as misses until it is applied
+    boolean asyncInvalidation = false;
+    // number of entries removed per cache lock when an asynchronous invalidation
+    // removes the entries of a dependency id or template; 0 means all at once
+    int invalidationChunkSize = 1000;
+    // true means the dependency id and template tables hold int entry ids instead of
+    // sets of cache ids
+    boolean compactDependencyIndex = false;
+
     // -----------------------------------------------------------
     // Non-WCCM config items
     // -----------------------------------------------------------
@@ -444,12 +464,20 @@ public class CacheConfig implements DCacheConfig, Cloneable {
         diskCachePerformanceLevel = config.diskCachePerformanceLevel;
         htodCleanupFrequency = config.htodCleanupFrequency;
         diskCacheEvictionPolicy = config.diskCacheEvictionPolicy;
+        diskCacheEngine = config.diskCacheEngine;
         diskCacheHighThreshold = config.diskCacheHighThreshold;
         diskCacheLowThreshold = config.diskCacheLowThreshold;
         htodDelayOffloadEntriesLimit = config.htodDelayOffloadEntriesLimit;
         htodDelayOffloadDepIdBuckets = config.htodDelayOffloadDepIdBuckets;
         htodDelayOffloadTemplateBuckets = config.htodDelayOffloadTemplateBuckets;
 
+        // -------------------------------------------------
+        // DynamicCache settings - Invalidation
+        // -------------------------------------------------
+        asyncInvalidation = config.asyncInvalidation;
+        invalidationChunkSize = config.invalidationChunkSize;
+        compactDependencyIndex = config.compactDependencyIndex;
+
         // -------------------------------------------------
         // Override config
         // -------------------------------------------------
@@ -990,14 +1018,14 @@ public class CacheConfig implements DCacheConfig, Cloneable {
                + ", libraryRef=" + libraryRef + ", createCacheAtServerStartup=" + createCacheAtServerStartup + ", distributedObjectCache="
                + distributedObjectCache + ", defaultProvider=" + defaultProvider + ", enableCacheReplication=" + enableCacheReplication
                + ", enableDiskOffload=" + enableDiskOffload + ", enableNioSupport=" + enableNioSupport + ", alwaysSetSurrogateControlHdr="
-               + alwaysSetSurrogateControlHdr + ", externalGroups=" + externalGroups + ", alwaysSynchronizeOnGets=" + alwaysSynchronizeOnGets
+               + alwaysSetSurrogateControlHdr + ", externalGroups=" + externalGroups + ", alwaysSynchronizeOnGets=" + alwaysSynchronizeOnGets + ", asyncInvalidation=" + asyncInvalidation
                + ", alwaysTriggerCommandInvalidations=" + alwaysTriggerCommandInvalidations + ", cacheInstanceStoreCookies="
                + cacheInstanceStoreCookies + ", cachePercentageWindow=" + cachePercentageWindow + ", cachePriority=" + cachePriority
                + ", cacheProviderName=" + cacheProviderName + ", cascadeCachespecProperties=" + cascadeCachespecProperties
-               + ", commandCachePriority=" + commandCachePriority + ", configReloadInterval=" + configReloadInterval + ", disableDependencyId="
+               + ", commandCachePriority=" + commandCachePriority + ", configReloadInterval=" + configReloadInterval + ", compactDependencyIndex=" + compactDependencyIndex + ", disableDependencyId="
                + disableDependencyId + ", disableStoreCookies=" + disableStoreCookies + ", disableTemplateInvalidation="
                + disableTemplateInvalidation + ", disableTemplatesSupport=" + disableTemplatesSupport + ", diskCacheEntrySizeInMB="
-               + diskCacheEntrySizeInMB + ", diskCacheEvictionPolicy=" + diskCacheEvictionPolicy + ", diskCacheHighThreshold="
+               + diskCacheEntrySizeInMB + ", diskCacheEngine=" + diskCacheEngine + ", diskCacheEvictionPolicy=" + diskCacheEvictionPolicy + ", diskCacheHighThreshold="
                + diskCacheHighThreshold + ", diskCacheLowThreshold=" + diskCacheLowThreshold + ", diskCachePerformanceLevel="
                + diskCachePerformanceLevel + ", diskCacheSize=" + diskCacheSize + ", diskCacheSizeInGB=" + diskCacheSizeInGB + ", diskHashBuckets="
                + diskHashBuckets + ", diskOffloadLocation=" + diskOffloadLocation + ", htodCleanupFrequency=" + htodCleanupFrequency
@@ -1014,6 +1042,7 @@ public class CacheConfig implements DCacheConfig, Cloneable {
                + ", filterTimeOutInvalidation=" + filterTimeOutInvalidation + ", filteredStatusCodes=" + filteredStatusCodes
                + ", flushToDiskOnStop=" + flushToDiskOnStop + ", ignoreCacheableCommandDeserializationException="
                + ignoreCacheableCommandDeserializationException + ", ignoreValueInInvalidationEvent=" + ignoreValueInInvalidationEvent
+               + ", invalidationChunkSize=" + invalidationChunkSize
                + ", jspCachePriority=" + jspCachePriority + ", memoryCacheHighThreshold=" + memoryCacheHighThreshold + ", memoryCacheLowThreshold="
                + memoryCacheLowThreshold + ", memoryCacheSizeInMB=" + memoryCacheSizeInMB + ", refCountTracking=" + refCountTracking
                + ", serverServerName=" + serverServerName + ", statusCodesArray=" + Arrays.toString(statusCodesArray) + ", tempDir=" + tempDir
@@ -138,6 +138,7 @@ public class CacheOnDisk implements DynacacheOnDisk {
     protected int templateFiles = 0;
     protected boolean ignoreValueInInvalidationEvent = false;
     protected int diskCachePerformanceLevel = CacheConfig.DEFAULT_DISKCACHE_PERFORMANCE_LEVEL;
+    protected int diskCacheEngine = CacheConfig.DISKCACHE_ENGINE_HTOD;
     protected int explicitBufferLimitOnStop = CacheConfig.DEFAULT_EXPLICIT_BUFFER_LIMIT_ON_STOP;
 
     protected long sleepTime = 0;
@@ -214,6 +215,7 @@ public class CacheOnDisk implements DynacacheOnDisk {
         this.ignoreValueInInvalidationEvent = cacheConfig.ignoreValueInInvalidationEvent;
         this.diskCachePerformanceLevel = cacheConfig.diskCachePerformanceLevel;
         this.evictionPolicy = cacheConfig.diskCacheEvictionPolicy;
+        this.diskCacheEngine = cacheConfig.diskCacheEngine;
         this.explicitBufferLimitOnStop = cacheConfig.explicitBufferLimitOnStop;
 
         int diskCacheSizeLimit = cacheConfig.diskCacheSize; // 3821 NK begin
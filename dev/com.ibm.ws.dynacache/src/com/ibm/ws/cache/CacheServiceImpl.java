@@ -352,6 +352,13 @@ public class CacheServiceImpl implements CacheService, ResourceFactory, ServletC
                             if (key.equals("flushToDiskOnStopEnabled")) {
                                 config.flushToDiskOnStop = (Boolean) value;
                             }
+                            if (key.equals("engine")) {
+                                if ("LOG".equals(value)) {
+                                    config.diskCacheEngine = CacheConfig.DISKCACHE_ENGINE_LOG;
+                                } else {
+                                    config.diskCacheEngine = CacheConfig.DISKCACHE_ENGINE_HTOD;
+                                }
+                            }
                         }
                     }
                 } catch (IOException e) {
@@ -0,0 +1,366 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.cache;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.ibm.websphere.ras.Tr;
+import com.ibm.websphere.ras.TraceComponent;
+
+/**
+ * A DependencyTable that keeps, for each dependency, a set of int entry ids
+ * instead of a ValueSet of cache ids. The cache ids are numbered once in an
+ * EntryIds table shared by the data id and template tables of a cache, so an
+ * entry that depends on several ids costs a few bytes per dependency instead
+ * of a HashSet entry per dependency.
+ * <p>
+ * ValueSets are built on the way out, when a dependency is removed or its
+ * entries are read. Like DependencyTable, the sets are not synchronized; the
+ * Cache updates them under its monitor.
+ */
+public class CompactDependencyTable extends DependencyTable {
+
+    private static final long serialVersionUID = -3702938420931652245L;
+
+    private static TraceComponent tc = Tr.register(CompactDependencyTable.class, "WebSphere Dynamic Cache", "com.ibm.ws.cache.resources.dynacache");
+
+    private final EntryIds entryIds;
+    private final Map<Object, IntSet> dependencyToEntryIds;
+
+    /**
+     * Constructor with parameters.
+     *
+     * @param entryIds The entry ids shared with the other tables of the cache.
+     * @param initialSize The initial size of the dependency table.
+     */
+    CompactDependencyTable(EntryIds entryIds, int initialSize) {
+        super(COMPACT, initialSize);
+        this.entryIds = entryIds;
+        this.dependencyToEntryIds = new ConcurrentHashMap<Object, IntSet>(initialSize, 0.75f, 1);
+    }
+
+    @Override
+    public void add(Object dependency, Object entry) {
+        if (tc.isDebugEnabled())
+            Tr.debug(tc, "IMPORTANT: adding dependency " + dependency + " --> " + entry);
+        if (dependency == null) {
+            throw new IllegalArgumentException("dependency cannot be null");
+        }
+        IntSet set = dependencyToEntryIds.get(dependency);
+        if (set == null) {
+            set = new IntSet();
+            dependencyToEntryIds.put(dependency, set);
+        }
+        int entryId = entryIds.acquire(entry);
+        if (!set.add(entryId)) {
+            entryIds.release(entryId);
+        }
+    }
+
+    @Override
+    public void add(Object dependency, ValueSet valueSet) {
+        if (dependency == null) {
+            throw new IllegalArgumentException("dependency cannot be null");
+        }
+        if (valueSet != null) {
+            release(dependencyToEntryIds.remove(dependency), null);
+            Iterator it = valueSet.iterator();
+            while (it.hasNext()) {
+                add(dependency, it.next());
+            }
+        }
+    }
+
+    @Override
+    public ValueSet removeDependency(Object dependency) {
+        IntSet set = dependencyToEntryIds.remove(dependency);
+        if (set == null) {
+            return null;
+        }
+        ValueSet valueSet = new ValueSet(set.size);
+        release(set, valueSet);
+        return valueSet;
+    }
+
+    @Override
+    public boolean removeEntry(Object dependency, Object entry) {
+        IntSet set = dependencyToEntryIds.get(dependency);
+        if (set == null) {
+            return false;
+        }
+        int entryId = entryIds.find(entry);
+        if (entryId < 0 || !set.remove(entryId)) {
+            return false;
+        }
+        entryIds.release(entryId);
+        if (set.size == 0) {
+            dependencyToEntryIds.remove(dependency);
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        Iterator<IntSet> it = dependencyToEntryIds.values().iterator();
+        while (it.hasNext()) {
+            release(it.next(), null);
+        }
+        dependencyToEntryIds.clear();
+    }
+
+    @Override
+    public Iterator<Object> getKeys() {
+        return dependencyToEntryIds.keySet().iterator();
+    }
+
+    /**
+     * This returns a copy of the entries for the specified dependency.
+     *
+     * @param dependency The dependency to get the entries for.
+     * @return The ValueSet containing all entries for this dependency.
+     */
+    @Override
+    public ValueSet getEntries(Object dependency) {
+        IntSet set = dependencyToEntryIds.get(dependency);
+        if (set == null) {
+            return null;
+        }
+        ValueSet valueSet = new ValueSet(set.size);
+        int[] table = set.table;
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] != 0) {
+                valueSet.add(entryIds.get(table[i] - 1));
+            }
+        }
+        return valueSet;
+    }
+
+    /**
+     * Drops the references of a set to its entry ids, collecting the cache ids
+     * in the value set when one is given.
+     */
+    private void release(IntSet set, ValueSet valueSet) {
+        if (set == null) {
+            return;
+        }
+        int[] table = set.table;
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] != 0) {
+                int entryId = table[i] - 1;
+                if (valueSet != null) {
+                    valueSet.add(entryIds.get(entryId));
+                }
+                entryIds.release(entryId);
+            }
+        }
+        set.size = 0;
+    }
+
+    static int spread(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Numbers the cache ids held in the dependency tables of a cache. An id keeps
+     * its number while any dependency set holds it; the number is reused once the
+     * last reference is released.
+     */
+    static final class EntryIds implements Serializable {
+
+        private static final long serialVersionUID = 6512478380745524211L;
+
+        private Object[] ids = new Object[16];
+        private int[] hashes = new int[16];
+        private int[] refs = new int[16]; // references to a used id, the next free id otherwise
+        private int[] slots = new int[32]; // id + 1, or 0 for an empty slot
+        private int count = 0;
+        private int limit = 0; // ids below this have been handed out
+        private int free = -1;
+
+        /**
+         * Returns the number of a cache id, or -1 if it is not referenced.
+         */
+        int find(Object id) {
+            int h = spread(id.hashCode());
+            int mask = slots.length - 1;
+            for (int s = h & mask;; s = (s + 1) & mask) {
+                int i = slots[s] - 1;
+                if (i < 0) {
+                    return -1;
+                }
+                if (hashes[i] == h && id.equals(ids[i])) {
+                    return i;
+                }
+            }
+        }
+
+        /**
+         * Returns the number of a cache id and adds a reference to it.
+         */
+        int acquire(Object id) {
+            int i = find(id);
+            if (i < 0) {
+                if ((count + 1) * 2 > slots.length) {
+                    rehash(slots.length * 2);
+                }
+                if (free >= 0) {
+                    i = free;
+                    free = refs[i];
+                    refs[i] = 0;
+                } else {
+                    if (limit == ids.length) {
+                        int length = ids.length * 2;
+                        ids = Arrays.copyOf(ids, length);
+                        hashes = Arrays.copyOf(hashes, length);
+                        refs = Arrays.copyOf(refs, length);
+                    }
+                    i = limit++;
+                }
+                ids[i] = id;
+                hashes[i] = spread(id.hashCode());
+                count++;
+                place(i);
+            }
+            refs[i]++;
+            return i;
+        }
+
+        Object get(int i) {
+            return ids[i];
+        }
+
+        /**
+         * Drops a reference to a number, freeing it with the last one.
+         */
+        void release(int i) {
+            if (--refs[i] > 0) {
+                return;
+            }
+            int mask = slots.length - 1;
+            int gap = hashes[i] & mask;
+            while (slots[gap] != i + 1) {
+                gap = (gap + 1) & mask;
+            }
+            // shift the rest of the probe run back over the freed slot
+            for (int s = (gap + 1) & mask; slots[s] != 0; s = (s + 1) & mask) {
+                int home = hashes[slots[s] - 1] & mask;
+                if (((s - home) & mask) >= ((s - gap) & mask)) {
+                    slots[gap] = slots[s];
+                    gap = s;
+                }
+            }
+            slots[gap] = 0;
+            ids[i] = null;
+            refs[i] = free;
+            free = i;
+            count--;
+        }
+
+        int size() {
+            return count;
+        }
+
+        private void place(int i) {
+            int mask = slots.length - 1;
+            int s = hashes[i] & mask;
+            while (slots[s] != 0) {
+                s = (s + 1) & mask;
+            }
+            slots[s] = i + 1;
+        }
+
+        private void rehash(int length) {
+            slots = new int[length];
+            for (int i = 0; i < limit; i++) {
+                if (ids[i] != null) {
+                    place(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * An open addressing set of entry ids, stored as id + 1 so that 0 marks an
+     * empty slot.
+     */
+    static final class IntSet implements Serializable {
+
+        private static final long serialVersionUID = -1139853604372286418L;
+
+        int[] table = new int[4];
+        int size = 0;
+
+        boolean add(int entryId) {
+            int v = entryId + 1;
+            int mask = table.length - 1;
+            int s = spread(v) & mask;
+            while (table[s] != 0) {
+                if (table[s] == v) {
+                    return false;
+                }
+                s = (s + 1) & mask;
+            }
+            if ((size + 1) * 4 > table.length * 3) {
+                grow();
+                mask = table.length - 1;
+                s = spread(v) & mask;
+                while (table[s] != 0) {
+                    s = (s + 1) & mask;
+                }
+            }
+            table[s] = v;
+            size++;
+            return true;
+        }
+
+        boolean remove(int entryId) {
+            int v = entryId + 1;
+            int mask = table.length - 1;
+            int gap = spread(v) & mask;
+            while (table[gap] != v) {
+                if (table[gap] == 0) {
+                    return false;
+                }
+                gap = (gap + 1) & mask;
+            }
+            for (int s = (gap + 1) & mask; table[s] != 0; s = (s + 1) & mask) {
+                int home = spread(table[s]) & mask;
+                if (((s - home) & mask) >= ((s - gap) & mask)) {
+                    table[gap] = table[s];
+                    gap = s;
+                }
+            }
+            table[gap] = 0;
+            size--;
+            return true;
+        }
+
+        private void grow() {
+            int[] old = table;
+            table = new int[old.length * 2];
+            int mask = table.length - 1;
+            for (int i = 0; i < old.length; i++) {
+                if (old[i] != 0) {
+                    int s = spread(old[i]) & mask;
+                    while (table[s] != 0) {
+                        s = (s + 1) & mask;
+                    }
+                    table[s] = old[i];
+                }
+            }
+        }
+    }
+}
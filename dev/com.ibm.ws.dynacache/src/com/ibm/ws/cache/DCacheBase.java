@@ -247,6 +247,16 @@ public abstract class DCacheBase implements DCache {
         return cacheStatisticsListener;
     }
 
+    /**
+     * Returns the pending invalidations of the cache, or null if invalidations are
+     * not applied asynchronously.
+     * 
+     * @return InvalidationPipeline object
+     */
+    public InvalidationPipeline getInvalidationPipeline() {
+        return null;
+    }
+
     /**
      * Get the default priority value as set in the Admin GUI/dynacache.xml file.
      * 
@@ -37,6 +37,7 @@ public class DependencyTable implements Serializable {
 
 	static final int CONCURRENT_HASHMAP = 0;     
     static public final int HASHTABLE = 1;         
+    static final int COMPACT = 2;
 
 	private int tableType = CONCURRENT_HASHMAP;  
 
@@ -59,7 +60,7 @@ public class DependencyTable implements Serializable {
 	/**
 	 * Constructor with parameter.
 	 *
-         * @param tableType   Underlying table type - Hashtable or FastHashtable.
+         * @param tableType   Underlying table type - Hashtable, FastHashtable or compact.
 	 * @param initialSize The initial size of the dependency table.
 	 */
 	public DependencyTable(int tableType, int initialSize) {
@@ -67,6 +68,9 @@ public class DependencyTable implements Serializable {
 		if (tableType == HASHTABLE) {
 			dependencyToEntryTable = new Hashtable(initialSize);
 			this.tableType = tableType;
+		} else if (tableType == COMPACT) {
+			// CompactDependencyTable keeps its own index
+			this.tableType = tableType;
 		} else {
 			dependencyToEntryTable = new ConcurrentHashMap<Object, ValueSet>(initialSize, 0.75f, 1);
 		}
@@ -36,6 +36,8 @@ import com.ibm.ws.cache.persistent.htod.HashtableAction;
 import com.ibm.ws.cache.persistent.htod.HashtableEntry;
 import com.ibm.ws.cache.persistent.htod.HashtableOnDisk;
 import com.ibm.ws.cache.persistent.htod.HashtableOnDiskException;
+import com.ibm.ws.cache.persistent.htod.ObjectTableInterface;
+import com.ibm.ws.cache.persistent.mmap.MappedLogStore;
 import com.ibm.ws.cache.stat.CachePerf;
 import com.ibm.ws.cache.util.ExceptionUtility;
 import com.ibm.ws.cache.util.SerializationUtility;
@@ -97,7 +99,7 @@ public class HTODDynacache {
     public static String dependency_suffix = "-dependencies";
     public static String template_suffix = "-templates";
 
-    protected HashtableOnDisk object_cache = null;
+    protected ObjectTableInterface object_cache = null; // HashtableOnDisk or MappedLogStore
     protected HashtableOnDisk dependency_cache = null;
     protected HashtableOnDisk template_cache = null;
 
@@ -106,6 +108,7 @@ public class HTODDynacache {
 
     boolean auto_rehash = false;
     long scanExpiredTime = 0;
+    int rangeExpiredIndex = 0;
     public String cacheName = "";
 
     //
@@ -262,8 +265,14 @@ public class HTODDynacache {
      *************************************************************************/
     protected void init_files() throws IOException, ClassNotFoundException, FileManagerException {
         initFileManager();
+        this.rangeExpiredIndex = 0;
 
-        if ((object_cache = HashtableOnDisk.getInstance(object_filemgr, auto_rehash, 0, HashtableOnDisk.HAS_CACHE_VALUE, this)) == null) {
+        if (this.cod.diskCacheEngine == CacheConfig.DISKCACHE_ENGINE_LOG) {
+            object_cache = new MappedLogStore(filename + object_suffix, this);
+            if (object_cache.size() == 0) {
+                this.cod.dataFiles = this.cod.dataGB = 1;
+            }
+        } else if ((object_cache = HashtableOnDisk.getInstance(object_filemgr, auto_rehash, 0, HashtableOnDisk.HAS_CACHE_VALUE, this)) == null) {
             HashtableOnDisk.createInstance(object_filemgr,
                                            cod.dataHashtableSize,
                                            hashtable_threshold);
@@ -299,17 +308,20 @@ public class HTODDynacache {
     /*************************************************************************
      * initfileManager()
      * Initialize the file manager instance. Caching within the filemanager is
-     * experimental so it is disabled here.
+     * experimental so it is disabled here. The log engine keeps the objects in
+     * its own files, so there is no file manager for them.
      *************************************************************************/
     void initFileManager() throws IOException, FileManagerException
 
     {
         final String methodName = "initFileManager()";
-        object_filemgr = new FileManagerImpl(filename + object_suffix + ".htod", // filename
-        false, // automatic coalesce, not reccomended
-        "rw", // "r" or "rw"
-        physical_disk_manager, // physical file layer
-        this);
+        if (this.cod.diskCacheEngine != CacheConfig.DISKCACHE_ENGINE_LOG) {
+            object_filemgr = new FileManagerImpl(filename + object_suffix + ".htod", // filename
+            false, // automatic coalesce, not reccomended
+            "rw", // "r" or "rw"
+            physical_disk_manager, // physical file layer
+            this);
+        }
 
         if (!this.disableDependencyId) {
             dependency_filemgr = new FileManagerImpl(filename + dependency_suffix + ".htod", // filename
@@ -385,7 +397,9 @@ public class HTODDynacache {
                 Tr.debug(tc, methodName, "cacheName=" + this.cacheName + "\n Exception: " + ExceptionUtility.getStackTrace(ex));
         }
         try {
-            object_filemgr.close();
+            if (object_filemgr != null) {
+                object_filemgr.close();
+            }
         } catch (Exception ex) {
             com.ibm.ws.ffdc.FFDCFilter.processException(ex, "com.ibm.ws.cache.HTODDynacache.closeNoRWLock", "327", this);
             if (tc.isDebugEnabled())
@@ -515,7 +529,11 @@ public class HTODDynacache {
             OutputStreamWriter out = new OutputStreamWriter(System.out);
             out.write("========================================================================");
             out.write("------------------ Object File Manager Statistics ---------------\n");
-            object_filemgr.dump_stats(out, true);
+            if (object_filemgr != null) {
+                object_filemgr.dump_stats(out, true);
+            } else {
+                object_cache.dump_filemgr_stats(out, true);
+            }
             out.write("------------------ Object HTOD Statistics ---------------\n");
             object_cache.dump_htod_stats(out, true);
             out.write("========================================================================");
@@ -1553,7 +1571,7 @@ public class HTODDynacache {
                     if (evt.expirationTime <= 0)
                         evt.expirationTime = Long.MAX_VALUE;
                     evt.size = dataSize;
-                    evt.id = ce.id; // use it for debug
+                    evt.id = ce.id; // use it for debug, and to find the entry in a MappedLogStore
                     synchronized (evictionTableMonitor) {
                         EvictionTable.insert(evt);
                     }
@@ -2037,7 +2055,7 @@ public class HTODDynacache {
         ValueSet answer = null;
         ValueSet expiredIds = null;
         boolean all = false;
-        HashtableOnDisk cache_instance = null;
+        ObjectTableInterface cache_instance = null;
         try {
             rwLock.readLock().lock();
             if (type == CACHE_ID_DATA) {
@@ -2135,7 +2153,7 @@ public class HTODDynacache {
     protected Result readExpiredByRange(ValueSet expiredIds, int index, int length) {
         final String methodName = "readExpiredByRange()";
         Result result = getFromResultPool();
-        HashtableOnDisk cache_instance = null;
+        ObjectTableInterface cache_instance = null;
         this.scanExpiredTime = 0;
         try {
             rwLock.readLock().lock();
@@ -2145,18 +2163,18 @@ public class HTODDynacache {
                 return result;
             }
             if (index == 0) {
-                cache_instance.rangeExpiredIndex = 0;
+                this.rangeExpiredIndex = 0;
             }
             long t = System.nanoTime();
             DynaAction da = new DynaAction(expiredIds, this);
-            int rangeIndex = cache_instance.iterateKeys(da, cache_instance.rangeExpiredIndex, length);
+            int rangeIndex = cache_instance.iterateKeys(da, this.rangeExpiredIndex, length);
             this.scanExpiredTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t);
 
             if ((expiredIds.size() + da.notExpiredCount) < length) {
-                cache_instance.rangeExpiredIndex = 0;
+                this.rangeExpiredIndex = 0;
                 result.bComplete = true;
             } else {
-                cache_instance.rangeExpiredIndex = rangeIndex;
+                this.rangeExpiredIndex = rangeIndex;
             }
         } catch (FileManagerException ex) {
             this.diskCacheException = ex;
@@ -2196,7 +2214,7 @@ public class HTODDynacache {
         final String methodName = "readHashcodeByRange()";
         Result result = getFromResultPool();
         result.data = null;
-        HashtableOnDisk cache_instance = object_cache;;
+        ObjectTableInterface cache_instance = object_cache;
         try {
             rwLock.readLock().lock();
             if (cache_instance != null) {
@@ -3623,6 +3641,7 @@ public class HTODDynacache {
                     if (evt.expirationTime <= 0)
                         evt.expirationTime = Long.MAX_VALUE;
                     evt.size = entry.size();
+                    evt.id = tid;
                     synchronized (this.htod.evictionTableMonitor) {
                         if (tc.isDebugEnabled())
                             Tr.debug(tc, methodName, "Adding evt during startup, hashcode:" + evt.hashcode + " expirationTime:" + evt.expirationTime + " size:" + evt.size
@@ -3671,7 +3690,7 @@ public class HTODDynacache {
         public long expirationTime;
         public int hashcode;
         public int index;
-        public Object id; // use it for debug
+        public Object id; // use it for debug, and to find the entry in a MappedLogStore
 
         public boolean lessThan(EvictionTableEntry other) {
             return expirationTime < other.expirationTime;
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class tracks the invalidations of a cache that the BatchUpdateDaemon has
+ * queued but not applied yet, when the cache is configured with asyncInvalidation.
+ * <p>
+ * The ids and templates are registered when the invalidation is queued, with the
+ * time stamp of the event. Until the daemon has applied the event, the cache
+ * treats an entry older than the event as a miss if its cache id, one of its
+ * dependency ids or one of its templates is pending. The caller of an invalidation
+ * therefore no longer sees the entries it invalidated, while the entries themselves
+ * are removed later on the daemon, in chunks that release the cache between them.
+ * <p>
+ * It also keeps the latency statistics of the pipeline, from the time an
+ * invalidation is queued to the time it has been applied.
+ */
+public class InvalidationPipeline {
+
+    private final ConcurrentHashMap<Object, Long> pendingIds = new ConcurrentHashMap<Object, Long>();
+    private final ConcurrentHashMap<Object, Long> pendingTemplates = new ConcurrentHashMap<Object, Long>();
+
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong latencyTotal = new AtomicLong();
+    private final AtomicLong latencyMax = new AtomicLong();
+    private final AtomicLong drains = new AtomicLong();
+    private final AtomicLong drainedEntries = new AtomicLong();
+    private final AtomicLong drainChunks = new AtomicLong();
+    private final AtomicLong drainTimeMax = new AtomicLong();
+
+    /**
+     * Registers an invalidation by id that was queued at the given time.
+     */
+    public void idQueued(Object id, long timeStamp) {
+        pendingIds.put(id, timeStamp);
+        queued.incrementAndGet();
+    }
+
+    /**
+     * Registers an invalidation by template that was queued at the given time.
+     */
+    public void templateQueued(String template, long timeStamp) {
+        pendingTemplates.put(template.trim(), timeStamp);
+        queued.incrementAndGet();
+    }
+
+    /**
+     * Returns true if the entry was created before a pending invalidation of its
+     * cache id, of one of its dependency ids or of one of its templates.
+     */
+    public boolean isPending(CacheEntry cacheEntry) {
+        if (pendingIds.isEmpty() && pendingTemplates.isEmpty()) {
+            return false;
+        }
+        long timeStamp = cacheEntry.timeStamp;
+        if (isPending(pendingIds, cacheEntry.id, timeStamp)) {
+            return true;
+        }
+        Object[] dataIds = cacheEntry._dataIds;
+        for (int i = 0; dataIds != null && i < dataIds.length; i++) {
+            if (isPending(pendingIds, dataIds[i], timeStamp)) {
+                return true;
+            }
+        }
+        Object[] templates = cacheEntry._templates;
+        for (int i = 0; templates != null && i < templates.length; i++) {
+            if (isPending(pendingTemplates, templates[i], timeStamp)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isPending(Map<Object, Long> pending, Object key, long timeStamp) {
+        if (key == null || pending.isEmpty()) {
+            return false;
+        }
+        Long queuedAt = pending.get(key);
+        return queuedAt != null && timeStamp <= queuedAt.longValue();
+    }
+
+    /**
+     * Called by the BatchUpdateDaemon once it has processed a batch of events,
+     * whether they were applied or filtered out. An id or template stays pending
+     * if it was queued again since.
+     *
+     * @param invalidateIdEvents A Map of InvalidateByIdEvents.
+     * @param invalidateTemplateEvents A Map of InvalidateByTemplateEvents.
+     */
+    public void applied(Map invalidateIdEvents, Map invalidateTemplateEvents) {
+        long now = System.currentTimeMillis();
+        if (invalidateIdEvents != null) {
+            Iterator it = invalidateIdEvents.values().iterator();
+            while (it.hasNext()) {
+                InvalidateByIdEvent event = (InvalidateByIdEvent) it.next();
+                if (pendingIds.remove(event.getId(), event.getTimeStamp())) {
+                    recordLatency(now - event.getTimeStamp());
+                }
+            }
+        }
+        if (invalidateTemplateEvents != null) {
+            Iterator it = invalidateTemplateEvents.values().iterator();
+            while (it.hasNext()) {
+                InvalidateByTemplateEvent event = (InvalidateByTemplateEvent) it.next();
+                if (event.getTemplate() != null && pendingTemplates.remove(event.getTemplate().trim(), event.getTimeStamp())) {
+                    recordLatency(now - event.getTimeStamp());
+                }
+            }
+        }
+    }
+
+    /**
+     * Forgets all pending invalidations, when the queued events are discarded by a clear.
+     */
+    public void clear() {
+        pendingIds.clear();
+        pendingTemplates.clear();
+    }
+
+    /**
+     * Records the removal of the entries of a dependency id or template.
+     *
+     * @param entries The number of entries removed.
+     * @param chunks The number of times the cache was locked to remove them.
+     * @param nanos The elapsed time of the removal.
+     */
+    public void drained(int entries, int chunks, long nanos) {
+        drains.incrementAndGet();
+        drainedEntries.addAndGet(entries);
+        drainChunks.addAndGet(chunks);
+        updateMax(drainTimeMax, TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    private void recordLatency(long millis) {
+        if (millis < 0) {
+            millis = 0;
+        }
+        applied.incrementAndGet();
+        latencyTotal.addAndGet(millis);
+        updateMax(latencyMax, millis);
+    }
+
+    private static void updateMax(AtomicLong max, long value) {
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Adds the statistics of the pipeline to the extended cache statistics.
+     */
+    public void addStatistics(Map<String, Number> stats) {
+        long count = applied.get();
+        stats.put("InvalidationsQueued", queued.get());
+        stats.put("InvalidationsApplied", count);
+        stats.put("InvalidationsPending", pendingIds.size() + pendingTemplates.size());
+        stats.put("InvalidationLatencyAvgMillis", count == 0 ? 0 : latencyTotal.get() / count);
+        stats.put("InvalidationLatencyMaxMillis", latencyMax.get());
+        stats.put("InvalidationDrains", drains.get());
+        stats.put("InvalidationDrainedEntries", drainedEntries.get());
+        stats.put("InvalidationDrainChunks", drainChunks.get());
+        stats.put("InvalidationDrainMaxMillis", drainTimeMax.get());
+    }
+}
@@ -26,6 +26,7 @@ import com.ibm.ws.cache.EntryInfo;
 import com.ibm.ws.cache.CacheEntry;
 import com.ibm.ws.cache.FreeLruEntryResult;
 import com.ibm.ws.cache.InvalidationAuditDaemon;
+import com.ibm.ws.cache.InvalidationPipeline;
 import com.ibm.ws.cache.RemoteServices;
 import com.ibm.ws.cache.TimeLimitDaemon;
 import com.ibm.ws.cache.stat.CachePerf;
@@ -61,6 +62,8 @@ public interface DCache extends com.ibm.websphere.cache.Cache, com.ibm.websphere
 
     public void setBatchUpdateDaemon(BatchUpdateDaemon batchUpdateDaemon);
 
+    public InvalidationPipeline getInvalidationPipeline();
+
     public void setTimeLimitDaemon(TimeLimitDaemon timeLimitDaemon);
 
     public void setInvalidationAuditDaemon(InvalidationAuditDaemon iad);
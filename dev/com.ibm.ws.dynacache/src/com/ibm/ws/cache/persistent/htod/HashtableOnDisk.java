@@ -37,7 +37,7 @@ import com.ibm.ws.cache.persistent.util.ProfTimer;
 import com.ibm.ws.cache.util.SerializationUtility;
 import com.ibm.ws.ffdc.FFDCFilter;
 
-public class HashtableOnDisk {
+public class HashtableOnDisk implements ObjectTableInterface {
     private static final boolean IS_UNIT_TEST = false;
     private static final int RETRIEVE_KEY = 1;
     private static final int RETRIEVE_KEY_VALUE = 2;
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.cache.persistent.htod;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Writer;
+
+import com.ibm.ws.cache.HTODDynacache.EvictionTableEntry;
+import com.ibm.ws.cache.persistent.filemgr.FileManagerException;
+
+/*************************************************************************
+ * ObjectTableInterface. The operations HTODDynacache uses on the table that
+ * holds the cache entries on disk. HashtableOnDisk implements it over a
+ * FileManager, other disk engines can implement it to replace the object
+ * table while the dependency and template tables stay in HashtableOnDisk.
+ *
+ * Entries are returned as HashtableEntry objects taken from the
+ * HTODDynacache pool, the caller returns them to the pool when done.
+ *************************************************************************/
+public interface ObjectTableInterface {
+
+    public void close()
+                    throws IOException;
+
+    public int size();
+
+    public boolean containsKey(Object key)
+                    throws FileManagerException,
+                    ClassNotFoundException,
+                    IOException,
+                    HashtableOnDiskException;
+
+    public HashtableEntry getHashTableEntry(Object key, boolean checkExpired)
+                    throws IOException,
+                    EOFException,
+                    FileManagerException,
+                    ClassNotFoundException,
+                    HashtableOnDiskException;
+
+    public Object getCacheKey(EvictionTableEntry evt)
+                    throws IOException,
+                    EOFException,
+                    FileManagerException,
+                    ClassNotFoundException,
+                    HashtableOnDiskException;
+
+    public HashtableEntry put(Object key, Object value, int len, long expirationTime, long validatorExpirationTime,
+                              byte[] serializedKey, byte[] serializedCacheValue, int valueHashcode, boolean isAliasId)
+                    throws IOException,
+                    EOFException,
+                    FileManagerException,
+                    ClassNotFoundException,
+                    HashtableOnDiskException;
+
+    public boolean remove(Object key)
+                    throws IOException,
+                    EOFException,
+                    FileManagerException,
+                    ClassNotFoundException,
+                    HashtableOnDiskException;
+
+    public HashtableEntry getAndRemove(Object key, boolean bRetrieveCacheValue)
+                    throws IOException,
+                    EOFException,
+                    FileManagerException,
+                    ClassNotFoundException,
+                    HashtableOnDiskException;
+
+    public boolean updateExpirationInHeader(Object key, long expirationTime, long validatorExpirationTime)
+                    throws IOException,
+                    EOFException,
+                    FileManagerException,
+                    ClassNotFoundException,
+                    HashtableOnDiskException;
+
+    public int iterateKeys(HashtableAction action, int index, int length)
+                    throws IOException,
+                    EOFException,
+                    FileManagerException,
+                    ClassNotFoundException,
+                    HashtableOnDiskException;
+
+    public int getNextRangeIndex();
+
+    public int getPreviousRangeIndex();
+
+    public void addRangeIndex(int index);
+
+    public void initRangeIndex();
+
+    public void reset_stats();
+
+    public void dump_stats_header(Writer out)
+                    throws IOException;
+
+    public void dump_htod_stats(Writer out, boolean labels)
+                    throws IOException,
+                    EOFException,
+                    FileManagerException,
+                    ClassNotFoundException,
+                    HashtableOnDiskException;
+
+    public void dump_filemgr_header(Writer out)
+                    throws IOException;
+
+    public void dump_filemgr_stats(Writer out, boolean labels)
+                    throws IOException;
+}
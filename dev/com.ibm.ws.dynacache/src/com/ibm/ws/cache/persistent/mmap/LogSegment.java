@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.cache.persistent.mmap;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A segment file of a {@link MappedLogStore}, mapped into memory as a whole. Records are only
+ * appended to the segment, by the one thread holding the append lock of the store, so readers
+ * can read the records published in the index without locking.
+ */
+final class LogSegment {
+
+    final int id;
+    final File file;
+    final int capacity;
+
+    private final RandomAccessFile raf;
+    private final MappedByteBuffer buffer;
+
+    /**
+     * The buffer used to append to the segment, only used with the append lock held.
+     */
+    final ByteBuffer writer;
+
+    /**
+     * The end of the last record appended to the segment.
+     */
+    volatile int used;
+
+    /**
+     * The bytes of the records in the segment that are still in the index.
+     */
+    final AtomicInteger live = new AtomicInteger();
+
+    /**
+     * Set once nothing is appended to the segment any more.
+     */
+    volatile boolean sealed;
+
+    /**
+     * Set once the segment is queued for compaction.
+     */
+    final AtomicBoolean queued = new AtomicBoolean();
+
+    private LogSegment(int id, File file, int capacity, int used) throws IOException {
+        this.id = id;
+        this.file = file;
+        this.capacity = capacity;
+        this.used = used;
+        this.raf = new RandomAccessFile(file, "rw");
+        MappedByteBuffer mapped = null;
+        try {
+            if (raf.length() < capacity) {
+                raf.setLength(capacity);
+            }
+            mapped = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } finally {
+            if (mapped == null) {
+                raf.close();
+            }
+        }
+        this.buffer = mapped;
+        this.writer = mapped.duplicate();
+    }
+
+    /**
+     * Creates a new empty segment file.
+     */
+    static LogSegment create(int id, File file, int capacity) throws IOException {
+        if (file.exists() && !file.delete()) {
+            throw new IOException("The disk cache file " + file + " cannot be replaced.");
+        }
+        return new LogSegment(id, file, capacity, 0);
+    }
+
+    /**
+     * Opens an existing segment file written up to the given position.
+     */
+    static LogSegment open(int id, File file, int used) throws IOException {
+        long length = file.length();
+        if (length < used || length > Integer.MAX_VALUE) {
+            throw new IOException("The disk cache file " + file + " is " + length + " bytes long, expected at least " + used + ".");
+        }
+        LogSegment segment = new LogSegment(id, file, (int) length, used);
+        segment.sealed = true;
+        return segment;
+    }
+
+    /**
+     * Returns a buffer positioned at the given offset, for the use of a single reader. The
+     * mapping stays valid while the buffer is referenced, even after the segment is closed.
+     */
+    ByteBuffer reader(int offset) {
+        ByteBuffer b = buffer.duplicate();
+        b.position(offset);
+        return b;
+    }
+
+    int garbage() {
+        return used - live.get();
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    void close() throws IOException {
+        raf.close();
+    }
+
+    @Override
+    public String toString() {
+        return "LogSegment[id=" + id + ", capacity=" + capacity + ", used=" + used + ", live=" + live.get() + ", sealed=" + sealed + "]";
+    }
+}
@@ -0,0 +1,932 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.cache.persistent.mmap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.ibm.websphere.ras.Tr;
+import com.ibm.websphere.ras.TraceComponent;
+import com.ibm.ws.cache.HTODDynacache;
+import com.ibm.ws.cache.HTODDynacache.EvictionTableEntry;
+import com.ibm.ws.cache.Scheduler;
+import com.ibm.ws.cache.persistent.htod.HashtableAction;
+import com.ibm.ws.cache.persistent.htod.HashtableEntry;
+import com.ibm.ws.cache.persistent.htod.HashtableOnDisk;
+import com.ibm.ws.cache.persistent.htod.HashtableOnDiskException;
+import com.ibm.ws.cache.persistent.htod.ObjectTableInterface;
+import com.ibm.ws.cache.util.SerializationUtility;
+
+/**
+ * A log structured object table for the disk cache. Entries are appended to memory mapped
+ * segment files and never updated in place, except for the validator expiration time. The key of
+ * every entry is kept in an in-memory index together with the location of its latest record and
+ * the metadata needed to iterate the table, so reads do not lock and only touch the disk for the
+ * value. Segments whose records are mostly replaced or removed are compacted in the background by
+ * copying their live records to the end of the log.
+ * <p>
+ * The index is written to disk when the store is closed and read back when it is opened. A store
+ * that was not closed, because the server failed, starts empty like the other disk cache files.
+ */
+public class MappedLogStore implements ObjectTableInterface {
+
+    private static TraceComponent tc = Tr.register(MappedLogStore.class, "WebSphere Dynamic Cache", "com.ibm.ws.cache.resources.dynacache");
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * A sealed segment is compacted once less than this percentage of it is live.
+     */
+    static final int COMPACTION_THRESHOLD = 50;
+
+    static final String SEGMENT_SUFFIX = ".log";
+    static final String INDEX_SUFFIX = ".index";
+
+    static final int RECORD_MAGIC = 0x48544F4C;
+    static final int INDEX_MAGIC = 0x48544F49;
+    static final int INDEX_VERSION = 1;
+
+    static final int FLAG_ALIAS_ID = 0x01;
+    static final int FLAG_BYTES = 0x02;
+
+    // record layout, all records start at a multiple of 8
+    static final int LENGTH_OFFSET = 0;
+    static final int MAGIC_OFFSET = 4;
+    static final int FIRST_CREATED_OFFSET = 8;
+    static final int EXPIRATION_OFFSET = 16;
+    static final int VALIDATOR_EXPIRATION_OFFSET = 24;
+    static final int FLAGS_OFFSET = 32;
+    static final int HASHCODE_OFFSET = 36;
+    static final int SIZE_OFFSET = 40;
+    static final int KEY_LENGTH_OFFSET = 44;
+    static final int VALUE_LENGTH_OFFSET = 48;
+    static final int CACHE_VALUE_LENGTH_OFFSET = 52;
+    static final int RECORD_HEADER_SIZE = 56;
+
+    /**
+     * The location of the latest record of a key, with the metadata of the record that is
+     * needed without reading it.
+     */
+    static final class Slot {
+        final LogSegment segment;
+        final int offset;
+        final int length;
+        final long expiration;
+        final int size;
+        final int cacheValueHashcode;
+        final boolean alias;
+
+        Slot(LogSegment segment, int offset, int length, long expiration, int size, int cacheValueHashcode, boolean alias) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.expiration = expiration;
+            this.size = size;
+            this.cacheValueHashcode = cacheValueHashcode;
+            this.alias = alias;
+        }
+
+        long location() {
+            return ((long) segment.id << 32) | offset;
+        }
+    }
+
+    private final String filename;
+    private final HTODDynacache htoddc;
+    private final int segmentSize;
+
+    private final ConcurrentHashMap<Object, Slot> index = new ConcurrentHashMap<Object, Slot>();
+    private final ConcurrentHashMap<Integer, LogSegment> segments = new ConcurrentHashMap<Integer, LogSegment>();
+
+    /**
+     * Serializes the appends to the log, held only while a record is copied into a segment.
+     */
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private LogSegment active = null;
+    private int nextSegmentId = 0;
+    private volatile boolean closed = false;
+
+    private final ConcurrentLinkedQueue<LogSegment> compactionQueue = new ConcurrentLinkedQueue<LogSegment>();
+    /**
+     * Files of compacted segments that could not be deleted yet, deleted by the next compactions.
+     */
+    private final ConcurrentLinkedQueue<File> undeletedFiles = new ConcurrentLinkedQueue<File>();
+    private final Object compactionMonitor = new Object() {};
+    private final Runnable compactor = new Runnable() {
+        @Override
+        public void run() {
+            compactQueuedSegments();
+        }
+    };
+    private Future<?> compactionThread = null;
+    private boolean compacting = false;
+    private boolean processCompaction = false;
+
+    private final List<Integer> rangeIndexList = new ArrayList<Integer>();
+
+    private final AtomicLong readRequests = new AtomicLong();
+    private final AtomicLong readHits = new AtomicLong();
+    private final AtomicLong writeRequests = new AtomicLong();
+    private final AtomicLong writeReplacements = new AtomicLong();
+    private final AtomicLong removes = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong compactions = new AtomicLong();
+    private final AtomicLong bytesCompacted = new AtomicLong();
+
+    /**
+     * Opens the store kept in the files starting with the given name, creating it if needed.
+     *
+     * @param filename the path and name prefix of the files of the store
+     * @param htoddc the disk cache using the store
+     */
+    public MappedLogStore(String filename, HTODDynacache htoddc) throws IOException {
+        this(filename, htoddc, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public MappedLogStore(String filename, HTODDynacache htoddc, int segmentSize) throws IOException {
+        this.filename = filename;
+        this.htoddc = htoddc;
+        this.segmentSize = segmentSize;
+        open();
+    }
+
+    /**
+     * Reads the index written when the store was last closed. Segment files which are not
+     * referenced by the index are deleted, or deleted by the next compactions if they cannot be
+     * deleted yet.
+     */
+    private void open() throws IOException {
+        File indexFile = new File(filename + INDEX_SUFFIX);
+        boolean loaded = false;
+        if (indexFile.exists()) {
+            try {
+                loadIndex(indexFile);
+                loaded = true;
+            } catch (Exception ex) {
+                com.ibm.ws.ffdc.FFDCFilter.processException(ex, "com.ibm.ws.cache.persistent.mmap.MappedLogStore.open", "188", this);
+                if (tc.isDebugEnabled())
+                    Tr.debug(tc, "open()", "cacheName=" + htoddc.cacheName + " discarding disk cache files, the index cannot be read: " + ex);
+                for (LogSegment segment : segments.values()) {
+                    segment.close();
+                }
+                segments.clear();
+                index.clear();
+            }
+        }
+        if (!indexFile.delete() && indexFile.exists()) {
+            throw new IOException("The disk cache file " + indexFile + " cannot be deleted.");
+        }
+
+        for (File file : listSegmentFiles()) {
+            int id = segmentId(file);
+            if (!segments.containsKey(id)) {
+                deleteSegmentFile(file);
+            }
+            nextSegmentId = Math.max(nextSegmentId, id + 1);
+        }
+
+        for (LogSegment segment : segments.values()) {
+            queueIfSparse(segment);
+        }
+        if (tc.isDebugEnabled())
+            Tr.debug(tc, "open()", "cacheName=" + htoddc.cacheName + " file=" + filename + " loaded=" + loaded + " entries=" + index.size()
+                                   + " segments=" + segments.size());
+        if (!compactionQueue.isEmpty()) {
+            startCompaction();
+        }
+    }
+
+    private void loadIndex(File indexFile) throws IOException, ClassNotFoundException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)));
+        try {
+            if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION) {
+                throw new IOException("The disk cache file " + indexFile + " is not a valid index.");
+            }
+            int segmentCount = in.readInt();
+            for (int i = 0; i < segmentCount; i++) {
+                int id = in.readInt();
+                int used = in.readInt();
+                segments.put(id, LogSegment.open(id, segmentFile(id), used));
+            }
+            int entryCount = in.readInt();
+            for (int i = 0; i < entryCount; i++) {
+                LogSegment segment = segments.get(in.readInt());
+                int offset = in.readInt();
+                if (segment == null || offset < 0 || offset + RECORD_HEADER_SIZE > segment.used) {
+                    throw new IOException("The disk cache file " + indexFile + " references a missing record.");
+                }
+                ByteBuffer b = segment.reader(offset);
+                int length = b.getInt(offset + LENGTH_OFFSET);
+                int keyLength = b.getInt(offset + KEY_LENGTH_OFFSET);
+                if (b.getInt(offset + MAGIC_OFFSET) != RECORD_MAGIC || offset + length > segment.used || keyLength < 0
+                    || RECORD_HEADER_SIZE + keyLength > length) {
+                    throw new IOException("The disk cache file " + segment.file + " has an invalid record at " + offset + ".");
+                }
+                byte[] keyBytes = new byte[keyLength];
+                b.position(offset + RECORD_HEADER_SIZE);
+                b.get(keyBytes);
+                Object key = SerializationUtility.deserialize(keyBytes, htoddc.cacheName);
+                Slot slot = new Slot(segment, offset, length, b.getLong(offset + EXPIRATION_OFFSET), b.getInt(offset + SIZE_OFFSET),
+                                b.getInt(offset + HASHCODE_OFFSET), (b.getInt(offset + FLAGS_OFFSET) & FLAG_ALIAS_ID) != 0);
+                index.put(key, slot);
+                segment.live.addAndGet(length);
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    private File[] listSegmentFiles() {
+        final File base = new File(filename);
+        final String prefix = base.getName() + ".";
+        File[] files = base.getAbsoluteFile().getParentFile().listFiles(new java.io.FileFilter() {
+            @Override
+            public boolean accept(File file) {
+                String name = file.getName();
+                return name.startsWith(prefix) && name.endsWith(SEGMENT_SUFFIX) && segmentId(file) >= 0;
+            }
+        });
+        return files == null ? new File[0] : files;
+    }
+
+    private File segmentFile(int id) {
+        return new File(filename + "." + id + SEGMENT_SUFFIX);
+    }
+
+    private int segmentId(File file) {
+        String name = file.getName();
+        int start = new File(filename).getName().length() + 1;
+        int end = name.length() - SEGMENT_SUFFIX.length();
+        if (end <= start) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(name.substring(start, end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void checkOpen() throws HashtableOnDiskException {
+        if (closed) {
+            throw new HashtableOnDiskException("The disk cache file " + filename + " is closed");
+        }
+    }
+
+    /*************************************************************************
+     * close Stops the compaction, forces the segments to disk and writes the
+     * index, so that the entries can be read again when the store is opened.
+     *************************************************************************/
+    @Override
+    public void close() throws IOException {
+        synchronized (compactionMonitor) {
+            closed = true;
+            if (compactionThread != null) {
+                compactionThread.cancel(false);
+            }
+        }
+        appendLock.lock();
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(filename + INDEX_SUFFIX)));
+            try {
+                out.writeInt(INDEX_MAGIC);
+                out.writeInt(INDEX_VERSION);
+                out.writeInt(segments.size());
+                for (LogSegment segment : segments.values()) {
+                    segment.force();
+                    out.writeInt(segment.id);
+                    out.writeInt(segment.used);
+                }
+                List<Slot> slots = new ArrayList<Slot>(index.values());
+                out.writeInt(slots.size());
+                for (Slot slot : slots) {
+                    out.writeInt(slot.segment.id);
+                    out.writeInt(slot.offset);
+                }
+            } finally {
+                out.close();
+            }
+        } finally {
+            for (LogSegment segment : segments.values()) {
+                segment.close();
+            }
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) throws HashtableOnDiskException {
+        checkOpen();
+        return key != null && index.containsKey(key);
+    }
+
+    @Override
+    public HashtableEntry getHashTableEntry(Object key, boolean checkExpired) throws IOException, ClassNotFoundException, HashtableOnDiskException {
+        checkOpen();
+        readRequests.incrementAndGet();
+        Slot slot = key == null ? null : index.get(key);
+        if (slot == null) {
+            return null;
+        }
+        readHits.incrementAndGet();
+        boolean expired = checkExpired && slot.expiration > 0 && System.currentTimeMillis() - slot.expiration >= 0;
+        return readEntry(key, slot, !expired, !expired);
+    }
+
+    /**
+     * Reads the record of a key. The key itself is not read, the index already holds it.
+     */
+    private HashtableEntry readEntry(Object key, Slot slot, boolean retrieveValue, boolean retrieveCacheValue) throws IOException, ClassNotFoundException {
+        int offset = slot.offset;
+        ByteBuffer b = slot.segment.reader(offset);
+        int flags = b.getInt(offset + FLAGS_OFFSET);
+        int keyLength = b.getInt(offset + KEY_LENGTH_OFFSET);
+        int valueLength = b.getInt(offset + VALUE_LENGTH_OFFSET);
+        int cacheValueLength = b.getInt(offset + CACHE_VALUE_LENGTH_OFFSET);
+        b.position(offset + RECORD_HEADER_SIZE + keyLength);
+
+        Object value = null;
+        if (retrieveValue && valueLength != -1) {
+            byte[] data = new byte[valueLength];
+            b.get(data);
+            value = (flags & FLAG_BYTES) != 0 ? data : SerializationUtility.deserialize(data, htoddc.cacheName);
+        } else {
+            valueLength = -1;
+            cacheValueLength = -1;
+        }
+        byte[] cacheValue = null;
+        if (retrieveCacheValue && cacheValueLength != -1) {
+            cacheValue = new byte[cacheValueLength];
+            b.get(cacheValue);
+        }
+
+        HashtableEntry entry = htoddc.getFromHashtableEntryPool();
+        entry.copy(slot.location(), b.getLong(offset + FIRST_CREATED_OFFSET), key, value, 0, 0, 1, 0, valueLength,
+                   b.getLong(offset + EXPIRATION_OFFSET), b.getLong(offset + VALIDATOR_EXPIRATION_OFFSET), slot.size,
+                   cacheValue, cacheValueLength, slot.cacheValueHashcode, slot.alias, true);
+        return entry;
+    }
+
+    /*************************************************************************
+     * getCacheKey Finds the key of the entry an EvictionTableEntry was
+     * created for, by its id when the entry has one or else by comparing the
+     * hashcode, the expiration time and the size of the entries.
+     *************************************************************************/
+    @Override
+    public Object getCacheKey(EvictionTableEntry evt) throws HashtableOnDiskException {
+        checkOpen();
+        if (evt == null) {
+            return null;
+        }
+        Object id = evt.id;
+        if (id != null) {
+            Slot slot = index.get(id);
+            if (slot != null && matches(id, slot, evt)) {
+                return id;
+            }
+        }
+        for (Map.Entry<Object, Slot> e : index.entrySet()) {
+            if (matches(e.getKey(), e.getValue(), evt)) {
+                return e.getKey();
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches(Object key, Slot slot, EvictionTableEntry evt) {
+        long expiration = slot.expiration <= 0 ? Long.MAX_VALUE : slot.expiration;
+        return !slot.alias && slot.size == evt.size && expiration == evt.expirationTime && key.hashCode() == evt.hashcode;
+    }
+
+    /*************************************************************************
+     * put Appends a record for the key to the log and points the index at it.
+     *
+     * @return a HashtableEntry with the key, the size and the expiration time
+     *         of the entry replaced, or null if the key was not in the table.
+     *************************************************************************/
+    @Override
+    public HashtableEntry put(Object key, Object value, int len, long expirationTime, long validatorExpirationTime,
+                              byte[] serializedKey, byte[] serializedCacheValue, int valueHashcode, boolean isAliasId) throws IOException, HashtableOnDiskException {
+        checkOpen();
+        if (key == null) {
+            return null;
+        }
+        writeRequests.incrementAndGet();
+        if (value == null && index.containsKey(key)) {
+            return null;
+        }
+
+        byte[] keyBytes = serializedKey != null ? serializedKey : SerializationUtility.serialize((Serializable) key);
+        int flags = isAliasId ? FLAG_ALIAS_ID : 0;
+        byte[] valueBytes = null;
+        int valueLength = -1;
+        if (value instanceof byte[]) {
+            flags |= FLAG_BYTES;
+            valueBytes = (byte[]) value;
+            valueLength = len != -1 ? len : valueBytes.length;
+        } else if (value != null) {
+            valueBytes = SerializationUtility.serialize((Serializable) value);
+            valueLength = valueBytes.length;
+        }
+        byte[] cacheValue = isAliasId ? null : serializedCacheValue;
+        int cacheValueLength = cacheValue == null ? -1 : cacheValue.length;
+
+        // the same size as HashtableOnDisk, so the disk cache size limits apply the same way
+        int size = HashtableOnDisk.HTENTRY_OVERHEAD_SIZE + keyBytes.length + Math.max(valueLength, 0) + Math.max(cacheValueLength, 0);
+        if (size % 512 != 0) {
+            size = (size / 512 + 1) * 512;
+        }
+        int length = align(RECORD_HEADER_SIZE + keyBytes.length + Math.max(valueLength, 0) + Math.max(cacheValueLength, 0));
+
+        Slot previous;
+        appendLock.lock();
+        try {
+            checkOpen();
+            LogSegment segment = segmentFor(length);
+            int offset = segment.used;
+            ByteBuffer w = segment.writer;
+            w.position(offset);
+            w.putInt(length);
+            w.putInt(RECORD_MAGIC);
+            w.putLong(System.currentTimeMillis());
+            w.putLong(expirationTime);
+            w.putLong(validatorExpirationTime);
+            w.putInt(flags);
+            w.putInt(valueHashcode);
+            w.putInt(size);
+            w.putInt(keyBytes.length);
+            w.putInt(valueLength);
+            w.putInt(cacheValueLength);
+            w.put(keyBytes);
+            if (valueLength > 0) {
+                w.put(valueBytes, 0, valueLength);
+            }
+            if (cacheValueLength > 0) {
+                w.put(cacheValue);
+            }
+            Slot slot = new Slot(segment, offset, length, expirationTime, size, valueHashcode, isAliasId);
+            appended(segment, length);
+            previous = index.put(key, slot);
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (!compactionQueue.isEmpty()) {
+            startCompaction();
+        }
+        if (previous == null) {
+            return null;
+        }
+        writeReplacements.incrementAndGet();
+        release(previous);
+        HashtableEntry oldEntry = htoddc.getFromHashtableEntryPool();
+        oldEntry.copy(previous.location(), 0, key, null, 0, 0, 1, 0, -1, previous.expiration, -1, previous.size,
+                      null, -1, previous.cacheValueHashcode, previous.alias, true);
+        return oldEntry;
+    }
+
+    private static int align(int length) {
+        return (length + 7) & ~7;
+    }
+
+    /**
+     * Returns the segment to append a record of the given length to, sealing the active segment
+     * and starting a new one if the record does not fit. Called with the append lock held.
+     */
+    private LogSegment segmentFor(int length) throws IOException {
+        if (active != null && active.capacity - active.used >= length) {
+            return active;
+        }
+        LogSegment segment = LogSegment.create(nextSegmentId, segmentFile(nextSegmentId), Math.max(segmentSize, length));
+        nextSegmentId++;
+        segments.put(segment.id, segment);
+        LogSegment sealed = active;
+        active = segment;
+        if (sealed != null) {
+            // the compaction is started once the append lock is released
+            sealed.sealed = true;
+            queueIfSparse(sealed);
+        }
+        if (tc.isDebugEnabled())
+            Tr.debug(tc, "segmentFor()", "cacheName=" + htoddc.cacheName + " new " + segment);
+        return segment;
+    }
+
+    private void appended(LogSegment segment, int length) {
+        segment.used += length;
+        segment.live.addAndGet(length);
+        bytesWritten.addAndGet(length);
+    }
+
+    /**
+     * Accounts for a record that is no longer in the index.
+     */
+    private void release(Slot slot) {
+        slot.segment.live.addAndGet(-slot.length);
+        if (queueIfSparse(slot.segment)) {
+            startCompaction();
+        }
+    }
+
+    private boolean queueIfSparse(LogSegment segment) {
+        if (!segment.sealed) {
+            return false;
+        }
+        long live = segment.live.get();
+        if ((live == 0 || live * 100 < (long) segment.used * COMPACTION_THRESHOLD) && segment.queued.compareAndSet(false, true)) {
+            compactionQueue.add(segment);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean remove(Object key) throws HashtableOnDiskException {
+        checkOpen();
+        if (key == null) {
+            return false;
+        }
+        Slot slot = index.remove(key);
+        if (slot == null) {
+            return false;
+        }
+        removes.incrementAndGet();
+        release(slot);
+        return true;
+    }
+
+    @Override
+    public HashtableEntry getAndRemove(Object key, boolean bRetrieveCacheValue) throws IOException, ClassNotFoundException, HashtableOnDiskException {
+        checkOpen();
+        if (key instanceof EvictionTableEntry) {
+            key = getCacheKey((EvictionTableEntry) key);
+        }
+        if (key == null) {
+            return null;
+        }
+        Slot slot = index.get(key);
+        if (slot == null) {
+            return null;
+        }
+        HashtableEntry entry = readEntry(key, slot, true, bRetrieveCacheValue);
+        if (index.remove(key, slot)) {
+            removes.incrementAndGet();
+            release(slot);
+        }
+        return entry;
+    }
+
+    /*************************************************************************
+     * updateExpirationInHeader Updates the validator expiration time in the
+     * record of the key. The expiration time does not change.
+     *************************************************************************/
+    @Override
+    public boolean updateExpirationInHeader(Object key, long expirationTime, long validatorExpirationTime) throws HashtableOnDiskException {
+        checkOpen();
+        if (key == null) {
+            return false;
+        }
+        appendLock.lock();
+        try {
+            Slot slot = index.get(key);
+            if (slot == null) {
+                return false;
+            }
+            slot.segment.writer.putLong(slot.offset + VALIDATOR_EXPIRATION_OFFSET, validatorExpirationTime);
+            return true;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /*************************************************************************
+     * iterateKeys Invokes the action for the keys in the table, starting
+     * after the first index keys, until length keys were passed to the action
+     * or it returns false. The entries passed hold the key and the metadata
+     * from the index, they are not read from disk.
+     *
+     * @return the index to continue the iteration from.
+     *************************************************************************/
+    @Override
+    public int iterateKeys(HashtableAction action, int index, int length) throws HashtableOnDiskException {
+        checkOpen();
+        HashtableEntry entry = new HashtableEntry();
+        int i = 0;
+        int j = 0;
+        Iterator<Map.Entry<Object, Slot>> it = this.index.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Object, Slot> e = it.next();
+            if (i++ < index) {
+                continue;
+            }
+            Slot slot = e.getValue();
+            entry.copy(slot.location(), 0, e.getKey(), null, 0, 0, 1, 0, -1, slot.expiration, -1, slot.size,
+                       null, -1, slot.cacheValueHashcode, slot.alias, true);
+            j++;
+            try {
+                if (!action.execute(entry)) {
+                    break;
+                }
+            } catch (Exception xcp) {
+                throw new HashtableOnDiskException("HashtableAction: " + xcp.toString());
+            }
+            if (length >= 0 && j >= length) {
+                break;
+            }
+        }
+        return i;
+    }
+
+    @Override
+    public int getNextRangeIndex() {
+        int length = rangeIndexList.size();
+        if (length > 0) {
+            return rangeIndexList.get(length - 1).intValue();
+        }
+        return 0;
+    }
+
+    @Override
+    public int getPreviousRangeIndex() {
+        int length = rangeIndexList.size();
+        if (length == 2) {
+            rangeIndexList.remove(1);
+            return 0;
+        } else if (length == 1) {
+            return 0;
+        }
+        rangeIndexList.remove(length - 1);
+        rangeIndexList.remove(length - 2);
+        return rangeIndexList.get(length - 3).intValue();
+    }
+
+    @Override
+    public void addRangeIndex(int index) {
+        rangeIndexList.add(Integer.valueOf(index));
+    }
+
+    @Override
+    public void initRangeIndex() {
+        rangeIndexList.clear();
+        rangeIndexList.add(Integer.valueOf(0));
+    }
+
+    /**
+     * Starts the compaction of the queued segments on the cache executor, or on the calling thread
+     * when there is no executor.
+     */
+    private void startCompaction() {
+        boolean inline = false;
+        synchronized (compactionMonitor) {
+            processCompaction = true;
+            if (closed || compacting) {
+                return;
+            }
+            compacting = true;
+            compactionThread = Scheduler.submit(compactor);
+            inline = compactionThread == null;
+        }
+        if (inline) {
+            compactor.run();
+        }
+    }
+
+    private void compactQueuedSegments() {
+        for (;;) {
+            synchronized (compactionMonitor) {
+                if (!processCompaction || closed) {
+                    compacting = false;
+                    compactionThread = null;
+                    return;
+                }
+                processCompaction = false;
+            }
+            retryDeletes();
+            LogSegment segment;
+            while (!closed && (segment = compactionQueue.poll()) != null) {
+                try {
+                    compact(segment);
+                } catch (Exception ex) {
+                    com.ibm.ws.ffdc.FFDCFilter.processException(ex, "com.ibm.ws.cache.persistent.mmap.MappedLogStore.compactQueuedSegments", "640", this);
+                    if (tc.isDebugEnabled())
+                        Tr.debug(tc, "compactQueuedSegments()", "cacheName=" + htoddc.cacheName + " " + segment + " exception=" + ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies the records of a sealed segment that are still in the index to the end of the log,
+     * then deletes the segment. Readers that found a record in the segment before it was deleted
+     * can still read it, the mapping of the segment stays valid while it is referenced.
+     * <p>
+     * The mapping is only released once the buffers of the segment are garbage collected, and
+     * some platforms do not delete a file that is still mapped. Such files are deleted by the
+     * next compactions instead.
+     */
+    private void compact(LogSegment segment) throws IOException {
+        long t = System.nanoTime();
+        int copied = 0;
+        for (Map.Entry<Object, Slot> e : index.entrySet()) {
+            Slot slot = e.getValue();
+            if (slot.segment != segment) {
+                continue;
+            }
+            appendLock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                if (index.get(e.getKey()) != slot) {
+                    continue;
+                }
+                LogSegment target = segmentFor(slot.length);
+                int offset = target.used;
+                ByteBuffer src = segment.reader(slot.offset);
+                src.limit(slot.offset + slot.length);
+                target.writer.position(offset);
+                target.writer.put(src);
+                Slot copy = new Slot(target, offset, slot.length, slot.expiration, slot.size, slot.cacheValueHashcode, slot.alias);
+                appended(target, slot.length);
+                if (index.replace(e.getKey(), slot, copy)) {
+                    segment.live.addAndGet(-slot.length);
+                } else {
+                    target.live.addAndGet(-slot.length);
+                }
+                copied += slot.length;
+            } finally {
+                appendLock.unlock();
+            }
+        }
+
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            if (segment.live.get() > 0) {
+                // not expected, the records of a sealed segment only leave the index
+                segment.queued.set(false);
+                return;
+            }
+            segments.remove(segment.id);
+            segment.close();
+        } finally {
+            appendLock.unlock();
+        }
+        deleteSegmentFile(segment.file);
+        compactions.incrementAndGet();
+        bytesCompacted.addAndGet(copied);
+        if (tc.isDebugEnabled())
+            Tr.debug(tc, "compact()", "cacheName=" + htoddc.cacheName + " compacted " + segment + " copied=" + copied + " in "
+                                      + (System.nanoTime() - t) / 1000000 + "ms");
+    }
+
+    /**
+     * Deletes a segment file that is no longer used, or queues it to be deleted by the next
+     * compactions when it cannot be deleted yet.
+     */
+    private void deleteSegmentFile(File file) {
+        if (!file.delete() && file.exists()) {
+            Tr.warning(tc, "DYNA1096W", new Object[] { file, htoddc.cacheName });
+            undeletedFiles.add(file);
+        }
+    }
+
+    /**
+     * Deletes the segment files that could not be deleted before.
+     */
+    private void retryDeletes() {
+        Iterator<File> it = undeletedFiles.iterator();
+        while (it.hasNext()) {
+            File file = it.next();
+            if (file.delete() || !file.exists()) {
+                it.remove();
+                if (tc.isDebugEnabled())
+                    Tr.debug(tc, "retryDeletes()", "cacheName=" + htoddc.cacheName + " deleted " + file);
+            }
+        }
+    }
+
+    @Override
+    public void reset_stats() {
+        readRequests.set(0);
+        readHits.set(0);
+        writeRequests.set(0);
+        writeReplacements.set(0);
+        removes.set(0);
+        bytesWritten.set(0);
+        compactions.set(0);
+        bytesCompacted.set(0);
+    }
+
+    @Override
+    public void dump_stats_header(Writer out) throws IOException {
+        out.write("Num-Objects\t");
+        out.write("Segments\t");
+        out.write("Read-Requests\t");
+        out.write("Read-Hits\t");
+        out.write("Write-Replacements\t");
+        out.write("Write-Requests\t");
+        out.write("Removes\t");
+        out.write("Bytes-Written\t");
+        out.write("Compactions\t");
+        out.write("Bytes-Compacted\t");
+    }
+
+    @Override
+    public void dump_htod_stats(Writer out, boolean labels) throws IOException {
+        if (labels) {
+            out.write("\n\n");
+            out.write("--------------------------------------------------\n");
+            out.write("Log Store:\n");
+            out.write("--------------------------------------------------\n");
+            out.write("num_objects = " + index.size() + "\n");
+            out.write("segments = " + segments.size() + "\n");
+            out.write("read_requests " + readRequests.get() + "\n");
+            out.write("read_hits " + readHits.get() + "\n");
+            out.write("write_replacements: " + writeReplacements.get() + "\n");
+            out.write("write_requests: " + writeRequests.get() + "\n");
+            out.write("removes: " + removes.get() + "\n");
+            out.write("bytes written: " + bytesWritten.get() + "\n");
+            out.write("compactions: " + compactions.get() + "\n");
+            out.write("bytes compacted: " + bytesCompacted.get() + "\n");
+            out.write("--------------------------------------------------" + "\n");
+        } else {
+            out.write(index.size() + "\t");
+            out.write(segments.size() + "\t");
+            out.write(readRequests.get() + "\t");
+            out.write(readHits.get() + "\t");
+            out.write(writeReplacements.get() + "\t");
+            out.write(writeRequests.get() + "\t");
+            out.write(removes.get() + "\t");
+            out.write(bytesWritten.get() + "\t");
+            out.write(compactions.get() + "\t");
+            out.write(bytesCompacted.get() + "\t");
+        }
+    }
+
+    @Override
+    public void dump_filemgr_header(Writer out) throws IOException {
+        out.write("Segments\t");
+        out.write("Capacity\t");
+        out.write("Used\t");
+        out.write("Garbage\t");
+    }
+
+    @Override
+    public void dump_filemgr_stats(Writer out, boolean labels) throws IOException {
+        long capacity = 0;
+        long used = 0;
+        long garbage = 0;
+        for (LogSegment segment : segments.values()) {
+            capacity += segment.capacity;
+            used += segment.used;
+            garbage += segment.garbage();
+            if (labels) {
+                out.write(segment + "\n");
+            }
+        }
+        if (labels) {
+            out.write("capacity = " + capacity + "\n");
+            out.write("used = " + used + "\n");
+            out.write("garbage = " + garbage + "\n");
+        } else {
+            out.write(segments.size() + "\t");
+            out.write(capacity + "\t");
+            out.write(used + "\t");
+            out.write(garbage + "\t");
+        }
+    }
+}
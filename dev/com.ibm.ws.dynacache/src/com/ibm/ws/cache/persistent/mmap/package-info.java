@@ -0,0 +1,18 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+/**
+ * @version 1.0.0
+ */
+@org.osgi.annotation.versioning.Version("1.0.0")
+@TraceOptions(traceGroup = "WebSphere Dynamic Cache", messageBundle = "com.ibm.ws.cache.resources.dynacache")
+package com.ibm.ws.cache.persistent.mmap;
+
+import com.ibm.websphere.ras.annotation.TraceOptions;
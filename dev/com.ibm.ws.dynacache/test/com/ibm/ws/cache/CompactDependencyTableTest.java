@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class CompactDependencyTableTest {
+
+    private static final int DEPENDENCIES = 50;
+    private static final int ENTRIES = 200;
+
+    /**
+     * Returns a cache id, ids with an even and the next odd number have the same hash code.
+     */
+    private static Object entry(int n) {
+        return (n % 2 == 0 ? "Aa" : "BB") + (n / 2);
+    }
+
+    private static Object dependency(int n) {
+        return n % 3 == 0 ? Integer.valueOf(n) : "dep" + n;
+    }
+
+    @Test
+    public void testAddAndRemove() {
+        CompactDependencyTable.EntryIds entryIds = new CompactDependencyTable.EntryIds();
+        CompactDependencyTable table = new CompactDependencyTable(entryIds, 10);
+
+        table.add("dep1", "id1");
+        table.add("dep1", "id2");
+        table.add("dep1", "id2");
+        table.add("dep2", "id1");
+        assertEquals(2, entryIds.size());
+        assertEquals(new HashSet<Object>(Arrays.asList("id1", "id2")), table.getEntries("dep1"));
+
+        assertTrue(table.removeEntry("dep1", "id2"));
+        assertFalse(table.removeEntry("dep1", "id2"));
+        assertFalse(table.removeEntry("dep3", "id1"));
+        assertEquals(1, entryIds.size());
+
+        ValueSet removed = table.removeDependency("dep2");
+        assertEquals(1, removed.size());
+        assertTrue(removed.contains("id1"));
+        assertNull(table.removeDependency("dep2"));
+        assertNull(table.getEntries("dep2"));
+
+        // the last dependency of an entry frees its number
+        assertTrue(table.removeEntry("dep1", "id1"));
+        assertNull(table.getEntries("dep1"));
+        assertEquals(0, entryIds.size());
+    }
+
+    /**
+     * Applies random operations to a data id and a template table sharing their entry ids, and compares
+     * them with a map of sets after every operation.
+     */
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(1234);
+        CompactDependencyTable.EntryIds entryIds = new CompactDependencyTable.EntryIds();
+        CompactDependencyTable[] tables = { new CompactDependencyTable(entryIds, 10), new CompactDependencyTable(entryIds, 10) };
+        @SuppressWarnings("unchecked")
+        Map<Object, Set<Object>>[] references = new Map[] { new HashMap<Object, Set<Object>>(), new HashMap<Object, Set<Object>>() };
+
+        for (int op = 0; op < 50000; op++) {
+            int t = random.nextInt(2);
+            CompactDependencyTable table = tables[t];
+            Map<Object, Set<Object>> reference = references[t];
+            Object dependency = dependency(random.nextInt(DEPENDENCIES));
+            Object entry = entry(random.nextInt(ENTRIES));
+            int action = random.nextInt(100);
+
+            if (action < 50) {
+                table.add(dependency, entry);
+                Set<Object> entries = reference.get(dependency);
+                if (entries == null) {
+                    entries = new HashSet<Object>();
+                    reference.put(dependency, entries);
+                }
+                entries.add(entry);
+            } else if (action < 80) {
+                Set<Object> entries = reference.get(dependency);
+                boolean expected = entries != null && entries.remove(entry);
+                if (entries != null && entries.isEmpty()) {
+                    reference.remove(dependency);
+                }
+                assertEquals("removeEntry " + dependency + " " + entry, expected, table.removeEntry(dependency, entry));
+            } else if (action < 90) {
+                assertEquals("removeDependency " + dependency, reference.remove(dependency), table.removeDependency(dependency));
+            } else if (action < 99) {
+                ValueSet valueSet = new ValueSet(4);
+                Set<Object> entries = new HashSet<Object>();
+                for (int i = random.nextInt(5); i >= 0; i--) {
+                    Object e = entry(random.nextInt(ENTRIES));
+                    valueSet.add(e);
+                    entries.add(e);
+                }
+                table.add(dependency, valueSet);
+                reference.put(dependency, entries);
+            } else if (random.nextInt(10) == 0) {
+                table.clear();
+                reference.clear();
+            }
+
+            assertEquals("getEntries " + dependency, reference.get(dependency), table.getEntries(dependency));
+            assertEquals("Entry ids", referencedEntries(references), entryIds.size());
+        }
+
+        for (int t = 0; t < tables.length; t++) {
+            Set<Object> keys = new HashSet<Object>();
+            for (Iterator<Object> it = tables[t].getKeys(); it.hasNext();) {
+                Object dependency = it.next();
+                keys.add(dependency);
+                assertEquals(references[t].get(dependency), tables[t].getEntries(dependency));
+            }
+            assertEquals(references[t].keySet(), keys);
+        }
+    }
+
+    private static int referencedEntries(Map<Object, Set<Object>>[] references) {
+        Set<Object> entries = new HashSet<Object>();
+        for (Map<Object, Set<Object>> reference : references) {
+            for (Set<Object> set : reference.values()) {
+                entries.addAll(set);
+            }
+        }
+        return entries.size();
+    }
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.cache.persistent.mmap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LogSegmentTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testCreateAndOpen() throws Exception {
+        File file = new File(folder.getRoot(), "object.0.log");
+        LogSegment segment = LogSegment.create(0, file, 1024);
+        assertEquals(1024, file.length());
+        assertEquals(0, segment.used);
+        assertFalse(segment.sealed);
+
+        segment.writer.position(0);
+        segment.writer.putLong(42L);
+        segment.writer.putLong(43L);
+        segment.used = 16;
+        segment.live.set(8);
+        assertEquals(8, segment.garbage());
+        segment.force();
+        segment.close();
+
+        segment = LogSegment.open(0, file, 16);
+        assertTrue(segment.sealed);
+        assertEquals(1024, segment.capacity);
+        assertEquals(16, segment.used);
+        assertEquals(0, segment.live.get());
+        ByteBuffer b = segment.reader(8);
+        assertEquals(8, b.position());
+        assertEquals(43L, b.getLong());
+        segment.close();
+    }
+
+    @Test
+    public void testReaderAfterClose() throws Exception {
+        LogSegment segment = LogSegment.create(1, new File(folder.getRoot(), "object.1.log"), 1024);
+        segment.writer.putInt(0, 7);
+        ByteBuffer b = segment.reader(0);
+        segment.close();
+        // the mapping stays valid while the buffer is referenced
+        assertEquals(7, b.getInt(0));
+    }
+
+    @Test(expected = IOException.class)
+    public void testOpenTruncatedFile() throws Exception {
+        File file = new File(folder.getRoot(), "object.3.log");
+        LogSegment.create(3, file, 512).close();
+        LogSegment.open(3, file, 1024);
+    }
+}
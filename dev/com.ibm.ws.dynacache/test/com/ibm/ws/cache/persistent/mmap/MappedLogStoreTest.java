@@ -0,0 +1,351 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.cache.persistent.mmap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.api.Invocation;
+import org.jmock.integration.junit4.JUnit4Mockery;
+import org.jmock.lib.action.CustomAction;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.ibm.ws.cache.HTODDynacache;
+import com.ibm.ws.cache.HTODDynacache.EvictionTableEntry;
+import com.ibm.ws.cache.persistent.htod.HashtableAction;
+import com.ibm.ws.cache.persistent.htod.HashtableEntry;
+import com.ibm.ws.cache.persistent.htod.HashtableOnDiskException;
+
+public class MappedLogStoreTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Mockery mockery = new JUnit4Mockery() {
+        {
+            setImposteriser(ClassImposteriser.INSTANCE);
+        }
+    };
+
+    private HTODDynacache htoddc;
+    private String filename;
+    private MappedLogStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        htoddc = mockery.mock(HTODDynacache.class);
+        htoddc.cacheName = "testCache";
+        mockery.checking(new Expectations() {
+            {
+                allowing(htoddc).getFromHashtableEntryPool();
+                will(new CustomAction("new HashtableEntry") {
+                    @Override
+                    public Object invoke(Invocation invocation) {
+                        return new HashtableEntry();
+                    }
+                });
+            }
+        });
+        filename = new File(folder.getRoot(), "object").getPath();
+        store = new MappedLogStore(filename, htoddc, SEGMENT_SIZE);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    private HashtableEntry put(Object key, Object value, long expiration) throws Exception {
+        return store.put(key, value, -1, expiration, -1, null, new byte[] { 1, 2, 3 }, key.hashCode(), false);
+    }
+
+    private MappedLogStore reopen() throws IOException {
+        store.close();
+        store = null;
+        store = new MappedLogStore(filename, htoddc, SEGMENT_SIZE);
+        return store;
+    }
+
+    private String[] segmentFiles() {
+        return folder.getRoot().list(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.endsWith(MappedLogStore.SEGMENT_SUFFIX);
+            }
+        });
+    }
+
+    private Set<Object> keys(int pageSize) throws HashtableOnDiskException {
+        final Set<Object> keys = new HashSet<Object>();
+        HashtableAction action = new HashtableAction() {
+            @Override
+            public boolean execute(HashtableEntry entry) {
+                assertTrue("Key " + entry.getKey() + " passed twice", keys.add(entry.getKey()));
+                return true;
+            }
+        };
+        int index = 0;
+        for (int pages = 0; pages <= store.size(); pages++) {
+            int next = store.iterateKeys(action, index, pageSize);
+            if (next == index) {
+                break;
+            }
+            index = next;
+        }
+        return keys;
+    }
+
+    @Test
+    public void testPutAndGet() throws Exception {
+        assertNull(put("key", "value", 1000L));
+        assertEquals(1, store.size());
+        assertTrue(store.containsKey("key"));
+        assertFalse(store.containsKey("other"));
+
+        HashtableEntry entry = store.getHashTableEntry("key", false);
+        assertEquals("key", entry.getKey());
+        assertEquals("value", entry.getValue());
+        assertEquals(1000L, entry.expirationTime());
+        assertArrayEquals(new byte[] { 1, 2, 3 }, entry.getSerializedCacheValue());
+        assertEquals(0, entry.size() % 512);
+        assertFalse(entry.isAliasId());
+        assertNull(store.getHashTableEntry("other", false));
+
+        // byte array values are stored as they are
+        byte[] bytes = new byte[] { 4, 5, 6, 7 };
+        store.put("bytes", bytes, 3, -1, -1, null, null, 0, false);
+        assertArrayEquals(new byte[] { 4, 5, 6 }, (byte[]) store.getHashTableEntry("bytes", false).getValue());
+    }
+
+    @Test
+    public void testPutReplaces() throws Exception {
+        put("key", "value1", 1000L);
+        HashtableEntry old = put("key", "value2", 2000L);
+        assertNotNull(old);
+        assertEquals("key", old.getKey());
+        assertEquals(1000L, old.expirationTime());
+
+        assertEquals(1, store.size());
+        HashtableEntry entry = store.getHashTableEntry("key", false);
+        assertEquals("value2", entry.getValue());
+        assertEquals(2000L, entry.expirationTime());
+
+        // a null value only adds the key if it is not in the table yet
+        assertNull(store.put("key", null, -1, 3000L, -1, null, null, 0, false));
+        assertEquals("value2", store.getHashTableEntry("key", false).getValue());
+    }
+
+    @Test
+    public void testExpiredEntryIsReadWithoutValue() throws Exception {
+        put("key", "value", System.currentTimeMillis() - 1000);
+        HashtableEntry entry = store.getHashTableEntry("key", true);
+        assertNotNull(entry);
+        assertNull(entry.getValue());
+        assertNull(entry.getSerializedCacheValue());
+        assertEquals("value", store.getHashTableEntry("key", false).getValue());
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        put("key1", "value1", -1);
+        put("key2", "value2", -1);
+
+        assertTrue(store.remove("key1"));
+        assertFalse(store.remove("key1"));
+        assertFalse(store.remove(null));
+        assertFalse(store.containsKey("key1"));
+        assertNull(store.getHashTableEntry("key1", false));
+
+        HashtableEntry entry = store.getAndRemove("key2", true);
+        assertEquals("value2", entry.getValue());
+        assertArrayEquals(new byte[] { 1, 2, 3 }, entry.getSerializedCacheValue());
+        assertNull(store.getAndRemove("key2", true));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testIterateKeys() throws Exception {
+        Set<Object> expected = new HashSet<Object>();
+        for (int i = 0; i < 25; i++) {
+            put("key" + i, "value" + i, -1);
+            expected.add("key" + i);
+        }
+        assertEquals(expected, keys(-1));
+        assertEquals(expected, keys(7));
+
+        // the iteration stops when the action returns false
+        final int[] count = new int[1];
+        store.iterateKeys(new HashtableAction() {
+            @Override
+            public boolean execute(HashtableEntry entry) {
+                count[0]++;
+                return count[0] < 3;
+            }
+        }, 0, -1);
+        assertEquals(3, count[0]);
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        put("key1", "value1", 1000L);
+        put("key2", "value2", -1);
+
+        EvictionTableEntry evt = new EvictionTableEntry();
+        HashtableEntry entry = store.getHashTableEntry("key1", false);
+        evt.size = entry.size();
+        evt.expirationTime = 1000L;
+        evt.hashcode = "key1".hashCode();
+
+        // found by comparing the metadata, and by its id
+        assertEquals("key1", store.getCacheKey(evt));
+        evt.id = "key1";
+        assertEquals("key1", store.getCacheKey(evt));
+
+        // entries without an expiration time are compared with Long.MAX_VALUE
+        EvictionTableEntry evt2 = new EvictionTableEntry();
+        evt2.size = store.getHashTableEntry("key2", false).size();
+        evt2.expirationTime = Long.MAX_VALUE;
+        evt2.hashcode = "key2".hashCode();
+        assertEquals("key2", store.getCacheKey(evt2));
+
+        entry = store.getAndRemove(evt, true);
+        assertEquals("value1", entry.getValue());
+        assertFalse(store.containsKey("key1"));
+        assertNull(store.getCacheKey(evt));
+    }
+
+    @Test
+    public void testAlias() throws Exception {
+        store.put("alias", "key", -1, 1000L, -1, null, new byte[] { 1 }, 0, true);
+        HashtableEntry entry = store.getHashTableEntry("alias", false);
+        assertTrue(entry.isAliasId());
+        assertEquals("key", entry.getValue());
+        // aliases have no cache value
+        assertNull(entry.getSerializedCacheValue());
+
+        // aliases are not evicted on their own
+        EvictionTableEntry evt = new EvictionTableEntry();
+        evt.size = entry.size();
+        evt.expirationTime = 1000L;
+        evt.hashcode = "alias".hashCode();
+        assertNull(store.getCacheKey(evt));
+
+        reopen();
+        assertTrue(store.getHashTableEntry("alias", false).isAliasId());
+    }
+
+    @Test
+    public void testUpdateExpirationInHeader() throws Exception {
+        put("key", "value", 1000L);
+        assertTrue(store.updateExpirationInHeader("key", 5000L, 2000L));
+        assertFalse(store.updateExpirationInHeader("other", 5000L, 2000L));
+
+        HashtableEntry entry = store.getHashTableEntry("key", false);
+        assertEquals(2000L, entry.validatorExpirationTime());
+        // only the validator expiration time is updated
+        assertEquals(1000L, entry.expirationTime());
+
+        reopen();
+        assertEquals(2000L, store.getHashTableEntry("key", false).validatorExpirationTime());
+    }
+
+    @Test
+    public void testReopen() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            put("key" + i, "value" + i, -1);
+        }
+        store.remove("key0");
+        put("key1", "replaced", -1);
+
+        reopen();
+        assertEquals(99, store.size());
+        assertFalse(store.containsKey("key0"));
+        assertEquals("replaced", store.getHashTableEntry("key1", false).getValue());
+        for (int i = 2; i < 100; i++) {
+            assertEquals("value" + i, store.getHashTableEntry("key" + i, false).getValue());
+        }
+
+        // the entries appended after reopening are kept as well
+        put("key100", "value100", -1);
+        reopen();
+        assertEquals(100, store.size());
+        assertEquals("value100", store.getHashTableEntry("key100", false).getValue());
+    }
+
+    @Test
+    public void testReopenWithoutIndex() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            put("key" + i, "value" + i, -1);
+        }
+        store.close();
+        store = null;
+        assertTrue(segmentFiles().length > 0);
+        assertTrue(new File(filename + MappedLogStore.INDEX_SUFFIX).delete());
+
+        // a store that was not closed starts empty
+        store = new MappedLogStore(filename, htoddc, SEGMENT_SIZE);
+        assertEquals(0, store.size());
+        assertEquals(0, segmentFiles().length);
+    }
+
+    @Test
+    public void testCompaction() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 20; i++) {
+                put("key" + i, "value" + i + "-" + round, -1);
+            }
+        }
+        // the segments of the replaced records were compacted and deleted
+        assertTrue("Segment files " + segmentFiles().length, segmentFiles().length < 10);
+        for (int i = 0; i < 20; i++) {
+            assertEquals("value" + i + "-19", store.getHashTableEntry("key" + i, false).getValue());
+        }
+
+        for (int i = 0; i < 20; i++) {
+            store.remove("key" + i);
+        }
+        put("key", "value", -1);
+        reopen();
+        assertEquals(1, store.size());
+        assertEquals("value", store.getHashTableEntry("key", false).getValue());
+    }
+
+    @Test(expected = HashtableOnDiskException.class)
+    public void testClosed() throws Exception {
+        store.close();
+        try {
+            store.containsKey("key");
+        } finally {
+            store = null;
+        }
+    }
+}
@@ -528,6 +528,7 @@ public class ConnectionManagerServiceImpl extends ConnectionManagerService {
         int reapTime = validateProperty(map, J2CConstants.POOL_ReapTime, ConnectionPoolProperties.DEFAULT_REAP_TIME, TimeUnit.SECONDS, -1, Integer.MAX_VALUE, null,
                                         0, connectorSvc);
         boolean throwExceptionOnMCThreadCheck = false;
+        boolean concurrentFreePool = MetatypeUtils.parseBoolean(CONNECTION_MANAGER, ENABLE_CONCURRENT_FREE_POOL, map.remove(ENABLE_CONCURRENT_FREE_POOL), false);
 
         /*
          * The purge policy has three property values in Liberty. The three same combinations
@@ -577,6 +578,10 @@ public class ConnectionManagerServiceImpl extends ConnectionManagerService {
             if (pm.gConfigProps.getMaxNumberOfMCsAllowableInThread() != maxNumberOfMCsAllowableInThread)
                 pm.gConfigProps.setMaxNumberOfMCsAllowableInThread(maxNumberOfMCsAllowableInThread);
 
+            // The free pool implementation cannot be switched while connections are pooled
+            if (pm.gConfigProps.isConcurrentFreePool() != concurrentFreePool)
+                throw new IllegalStateException(ENABLE_CONCURRENT_FREE_POOL);
+
             return null;
         } else {
             // Connection pool does not exist, create j2c global configuration properties for creating pool.
@@ -585,7 +590,7 @@ public class ConnectionManagerServiceImpl extends ConnectionManagerService {
                             100, // maxFreePoolHashSize,
                             false, // diagnoseConnectionUsage,
                             connectionTimeout, maxPoolSize, minPoolSize, purgePolicy, reapTime, maxIdleTime, agedTimeout, ConnectionPoolProperties.DEFAULT_HOLD_TIME_LIMIT, 0, // commit priority not supported
-                            numConnectionsPerThreadLocal, maxNumberOfMCsAllowableInThread, throwExceptionOnMCThreadCheck);
+                            numConnectionsPerThreadLocal, maxNumberOfMCsAllowableInThread, throwExceptionOnMCThreadCheck, concurrentFreePool);
 
         }
     }
@@ -320,7 +320,7 @@ public final class FreePool implements JCAPMIHelper {
                     // waiter code
                     if (pm.waiterCount > 0) {
                         // there are requests waiting, so notify one of them
-                        pm.waiterFreePoolLock.notify();
+                        pm.notifyWaiter();
                     }
                 } // end synchronized (freeLockObject)
             }
@@ -335,13 +335,20 @@ public final class FreePool implements JCAPMIHelper {
         /*
          * Return mcWrapper to free pool
          */
+        if (pm.waiterQueue != null) {
+            returnToFreePoolConcurrent(mcWrapper);
+            if (TraceComponent.isAnyTracingEnabled() && tc.isEntryEnabled()) {
+                Tr.exit(this, tc, "returnToFreePoolDelegated");
+            }
+            return;
+        }
         synchronized (pm.waiterFreePoolLock) {
             // waiter code
             if ((pm.waiterCount > 0) && (pm.waiterCount > pm.mcWrapperWaiterList.size())) {
                 // there are requests waiting, so notify one of them
                 pm.mcWrapperWaiterList.add(mcWrapper);
                 mcWrapper.setPoolState(4);
-                pm.waiterFreePoolLock.notify();
+                pm.notifyWaiter();
             } else {
                 synchronized (freeConnectionLockObject) {
                     mcWrapperList.add(mcWrapper); // Add to end of list
@@ -356,6 +363,33 @@ public final class FreePool implements JCAPMIHelper {
         }
     }
 
+    /**
+     * Return a cleaned up mcWrapper when the concurrent free pool is enabled.
+     *
+     * The connection is handed directly to the thread that has been waiting the
+     * longest. If no thread is waiting, the connection is added to this free pool
+     * without synchronizing on pm.waiterFreePoolLock.
+     *
+     * @pre mcWrapper != null
+     */
+    protected void returnToFreePoolConcurrent(MCWrapper mcWrapper) {
+        ((com.ibm.ejs.j2c.MCWrapper) mcWrapper).setAlreadyBeingReleased(false);
+        mcWrapper.setPoolState(4);
+        if (pm.waiterQueue.handOff(mcWrapper)) {
+            return;
+        }
+        synchronized (freeConnectionLockObject) {
+            mcWrapperList.add(mcWrapper); // Add to end of list
+            mcWrapper.setPoolState(1);
+        }
+        // A thread may have been queued after the hand off was attempted. It
+        // searches the free pools again before parking, but wake it in case it
+        // searched this free pool before the connection was added.
+        if (pm.waiterQueue.hasWaiters()) {
+            pm.waiterQueue.signal();
+        }
+    }
+
     /**
      * This method will try to cleanup and destroy the connection and remove the
      * mcWrapper from the free pool.
@@ -400,7 +434,7 @@ public final class FreePool implements JCAPMIHelper {
                     if (!skipWaiterNotify) {
                         // waiter code
                         //synchronized(pm.waiterFreePoolLock) {
-                        pm.waiterFreePoolLock.notify();
+                        pm.notifyWaiter();
                         //}
                     }
                 }
@@ -594,7 +628,7 @@ public final class FreePool implements JCAPMIHelper {
                         }
                         pm.totalConnectionCount.decrementAndGet();
                         if ((pm.waiterCount > 0) && (pm.waiterCount > pm.mcWrapperWaiterList.size())) {
-                            pm.waiterFreePoolLock.notify();
+                            pm.notifyWaiter();
                         }
                     }
                 }
@@ -634,7 +668,7 @@ public final class FreePool implements JCAPMIHelper {
                                         }
                                         pm.totalConnectionCount.decrementAndGet();
                                         if ((pm.waiterCount > 0) && (pm.waiterCount > pm.mcWrapperWaiterList.size())) {
-                                            pm.waiterFreePoolLock.notify();
+                                            pm.notifyWaiter();
                                         }
                                     }
                                 }
@@ -660,7 +694,7 @@ public final class FreePool implements JCAPMIHelper {
 
                             // there are requests waiting, so notify one of them
                             pm.mcWrapperWaiterList.add(mcWrapperTemp1);
-                            pm.waiterFreePoolLock.notify();
+                            pm.notifyWaiter();
                         } else {
 
                             synchronized (freeConnectionLockObject) {
@@ -763,7 +797,9 @@ public final class FreePool implements JCAPMIHelper {
          */
         long waitStartTime = 0L;
         long waitEndTime = 0L;
-        if (!addingAConnection) {
+        if (!addingAConnection && pm.waiterQueue != null) {
+            mcWrapper = waitForConnection(managedConnectionFactory, subject, cri, maxFreePoolHashSize);
+        } else if (!addingAConnection) {
             long waitTimeout = pm.connectionTimeout * 1000; //  convert connection timeout to milliseconds.
             long orig_waitTimeout = waitTimeout;
             long totalTimeWaited = 0;
@@ -1255,6 +1291,323 @@ public final class FreePool implements JCAPMIHelper {
 
     }
 
+    /**
+     * Wait for a connection when the concurrent free pool is enabled.
+     *
+     * Instead of waiting on pm.waiterFreePoolLock, the thread is parked in FIFO
+     * order on pm.waiterQueue. A returned connection is handed directly to the
+     * oldest waiter. Other changes to the pool wake the oldest waiter, which then
+     * searches the free pools, the waiter list and the total connection count again.
+     *
+     * @return a connection for this request, or null if a new connection must be created.
+     *         In that case the total connection count already includes the new connection.
+     */
+    private MCWrapper waitForConnection(
+                                        ManagedConnectionFactory managedConnectionFactory,
+                                        Subject subject,
+                                        ConnectionRequestInfo cri,
+                                        int maxFreePoolHashSize) throws ResourceAllocationException, ConnectionWaitTimeoutException {
+        if (TraceComponent.isAnyTracingEnabled() && tc.isEntryEnabled()) {
+            Tr.entry(this, tc, "waitForConnection");
+        }
+
+        final FreePoolWaiterQueue waiterQueue = pm.waiterQueue;
+        FreePoolWaiterQueue.Waiter waiter = null;
+        boolean queued = false;
+        MCWrapper mcWrapper = null;
+        MCWrapper mcWrapperTemp = null;
+        long waitTimeout = pm.connectionTimeout * 1000; //  convert connection timeout to milliseconds.
+        long orig_waitTimeout = waitTimeout;
+        long totalTimeWaited = 0;
+
+        pm.activeRequest.decrementAndGet();
+        pm.requestingAccessToPool();
+        try {
+            while (true) {
+                /*
+                 * Look for a connection returned to one of the free pools
+                 */
+                mcWrapperTemp = removeFirstFreeConnection(maxFreePoolHashSize);
+                if (mcWrapperTemp != null) {
+                    mcWrapper = claimConnectionForWaiter(managedConnectionFactory, subject, cri, mcWrapperTemp, true);
+                    break;
+                }
+
+                /*
+                 * Look for a connection in the mcWrapperWaiterList
+                 */
+                if (pm.mcWrapperWaiterList.size() > 0) { // Dirty read to avoid synchronize call
+                    synchronized (pm.waiterFreePoolLock) {
+                        if (pm.mcWrapperWaiterList.size() > 0) {
+                            mcWrapper = pm.getFreeWaiterConnection(managedConnectionFactory, subject, cri);
+                            if (mcWrapper == null) {
+                                // None of the connections match, claim the first one as a victim
+                                mcWrapperTemp = (MCWrapper) pm.mcWrapperWaiterList.remove(0);
+                                mcWrapperTemp.setPoolState(0);
+                            }
+                        }
+                    }
+                    if (mcWrapper != null) {
+                        if (((com.ibm.ejs.j2c.MCWrapper) mcWrapper).do_not_reuse_mcw) {
+                            // The connection was already destroyed, create a new one in its place
+                            mcWrapper = null;
+                        }
+                        break;
+                    }
+                    if (mcWrapperTemp != null) {
+                        mcWrapper = claimConnectionForWaiter(managedConnectionFactory, subject, cri, mcWrapperTemp, false);
+                        break;
+                    }
+                }
+
+                if (pm.isThreadLocalConnectionEnabled && waitTimeout >= 0) {
+                    mcWrapper = pm.searchTLSForMatchingConnection(managedConnectionFactory, subject, cri);
+                    if (mcWrapper != null)
+                        break;
+                }
+
+                /*
+                 * Try to create a connection again.
+                 * Check the totalConnectionCount to see if we can create a connection.
+                 */
+                boolean addingAConnection = false;
+                synchronized (pm.pmCounterLock) {
+                    if ((pm.totalConnectionCount.get() < pm.maxConnections) || pm.maxConnections == 0) {
+                        pm.totalConnectionCount.incrementAndGet();
+                        addingAConnection = true;
+                        if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
+                            Tr.debug(this, tc, "Total connection count is " + pm.totalConnectionCount.get());
+                        }
+                    }
+                }
+                if (addingAConnection) {
+                    break;
+                }
+
+                if (waiter == null) {
+                    if (waitTimeout < 0) {
+                        Tr.error(
+                                 tc,
+                                 "POOL_MANAGER_EXCP_CCF2_0001_J2CA0045",
+                                 new Object[] { "waitForConnection", gConfigProps.cfName });
+                        ConnectionWaitTimeoutException cwte = new ConnectionWaitTimeoutException("Connection not available, Timed out waiting. 0 used for wait timeout");
+                        com.ibm.ws.ffdc.FFDCFilter.processException(cwte, J2CConstants.DMSID_MAX_CONNECTIONS_REACHED, "1361", this.pm);
+                        pm.activeRequest.decrementAndGet();
+                        if (TraceComponent.isAnyTracingEnabled() && tc.isEntryEnabled())
+                            Tr.exit(this, tc, "waitForConnection", cwte);
+                        throw cwte;
+                    }
+
+                    /*
+                     * Queue this request and search the pool once more before parking. A connection
+                     * returned after this point is either handed to this thread or wakes it.
+                     */
+                    waiter = waiterQueue.enqueue();
+                    synchronized (pm.waiterFreePoolLock) {
+                        if (tc.isDebugEnabled()) {
+                            if (pm.waiterCount == 0)
+                                pm.waitersStartedTime = System.currentTimeMillis();
+                            Tr.debug(this, tc, "Waiters: requests for connections are being queued. Start Time" + pm.waitersStartedTime);
+                        }
+                        pm.waiterCount++;
+                        queued = true;
+                    }
+                    if (tc.isDebugEnabled()) {
+                        ++freePoolQueuedRequests;
+                        if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
+                            String poolStats = pm.gatherPoolStatisticalData();
+                            Tr.debug(this, tc, "Queueing Waiter for pool <" + gConfigProps.getXpathId() + ">. Current Pool Stats are:");
+                            Tr.debug(this, tc, poolStats);
+                        }
+                    }
+                    if (pm.displayInfiniteWaitMessage) {
+                        Tr.info(tc, "INFINITE_CONNECTION_WAIT_TIMEOUT_J2CA0127", gConfigProps.getXpathId());
+                        pm.displayInfiniteWaitMessage = false; // only display this message once per PM.
+                    }
+                    continue;
+                }
+
+                /*
+                 * Reload the waitTimeout incase it has changed.
+                 */
+                long reloadedTime = pm.connectionTimeout * 1000;
+                if (orig_waitTimeout != reloadedTime) {
+                    if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
+                        Tr.debug(this, tc, "Changing connection timeout value from " + orig_waitTimeout + " to " + reloadedTime);
+                    }
+                    waitTimeout = waitTimeout + (reloadedTime - orig_waitTimeout);
+                    orig_waitTimeout = reloadedTime;
+                }
+                // fudge factor for time calculations
+                long kludge = 10L;
+                if (waitTimeout != 0 && (waitTimeout - totalTimeWaited) <= kludge) {
+                    // we timed out and didn't find a connection
+                    if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
+                        Tr.debug(this, tc, "Timeout on datasource " + gConfigProps.cfName + ", total time waited is " + totalTimeWaited);
+                    }
+                    Tr.error(
+                             tc,
+                             "POOL_MANAGER_EXCP_CCF2_0001_J2CA0045",
+                             new Object[] { "waitForConnection", gConfigProps.cfName });
+                    ConnectionWaitTimeoutException cwte = new ConnectionWaitTimeoutException("Connection not available, Timed out waiting for " + totalTimeWaited);
+                    /*
+                     * The new ffdc prossException has a dependency on the DiagnosticModuleForJ2C and should not
+                     * be changed without making the same changes in the Dia...J2C.
+                     */
+                    com.ibm.ws.ffdc.FFDCFilter.processException(cwte, J2CConstants.DMSID_MAX_CONNECTIONS_REACHED, "1426", this.pm);
+                    pm.activeRequest.decrementAndGet();
+                    if (TraceComponent.isAnyTracingEnabled() && tc.isEntryEnabled())
+                        Tr.exit(this, tc, "waitForConnection", cwte);
+                    throw cwte;
+                }
+
+                long waitStartTime = System.currentTimeMillis();
+                pm.activeRequest.decrementAndGet();
+                mcWrapperTemp = waiterQueue.await(waiter, waitTimeout == 0 ? 0 : waitTimeout - totalTimeWaited);
+                pm.requestingAccessToPool();
+                long waitEndTime = System.currentTimeMillis();
+                totalTimeWaited = totalTimeWaited + (waitEndTime - waitStartTime);
+
+                if (mcWrapperTemp != null) {
+                    // A returned connection was handed to this thread, which is no longer queued
+                    waiter = null;
+                    mcWrapper = claimConnectionForWaiter(managedConnectionFactory, subject, cri, mcWrapperTemp, true);
+                    break;
+                }
+            }
+        } catch (InterruptedException ie) {
+            if (tc.isDebugEnabled()) {
+                Tr.debug(this, tc, "Interupted waiting for a connection");
+            }
+            ResourceAllocationException throwMe = new ResourceAllocationException(ie.getMessage());
+            throwMe.initCause(ie);
+            if (TraceComponent.isAnyTracingEnabled() && tc.isEntryEnabled())
+                Tr.exit(this, tc, "waitForConnection", throwMe);
+            throw throwMe;
+        } finally {
+            if (waiter != null) {
+                MCWrapper handedOff = waiterQueue.cancel(waiter);
+                if (handedOff != null) {
+                    // A connection was handed to this thread after it stopped waiting
+                    pm.freePool[handedOff.getHashMapBucket()].returnToFreePoolConcurrent(handedOff);
+                }
+            }
+            if (queued) {
+                synchronized (pm.waiterFreePoolLock) {
+                    pm.waiterCount--;
+                    if (tc.isDebugEnabled()) {
+                        if (pm.waiterCount == 0) {
+                            pm.waitersEndedTime = System.currentTimeMillis();
+                            Tr.debug(this, tc, "Waiters: requests for connections are no longer being queued. End Time:" + pm.waitersEndedTime);
+                            Tr.debug(this, tc, "Waiters: total time waiter were in queue: " + (pm.waitersEndedTime - pm.waitersStartedTime));
+                        }
+                    }
+                }
+                // Pass on a wake up that this thread may have consumed without using it
+                waiterQueue.signal();
+            }
+        }
+
+        if (TraceComponent.isAnyTracingEnabled() && tc.isEntryEnabled()) {
+            Tr.exit(this, tc, "waitForConnection", new Object[] { mcWrapper, totalTimeWaited });
+        }
+        return mcWrapper;
+    }
+
+    /**
+     * Remove the first connection found in any of the free pools.
+     *
+     * @return a connection that is no longer in a free pool, or null if all free pools are empty.
+     */
+    private MCWrapper removeFirstFreeConnection(int maxFreePoolHashSize) {
+        for (int j = 0; j < maxFreePoolHashSize; ++j) {
+            if (pm.freePool[j].mcWrapperList.size() > 0) { //  Dirty read to avoid synchronize call
+                synchronized (pm.freePool[j].freeConnectionLockObject) {
+                    if (pm.freePool[j].mcWrapperList.size() > 0) {
+                        MCWrapper mcWrapperTemp = (MCWrapper) pm.freePool[j].mcWrapperList.remove(0);
+                        mcWrapperTemp.setPoolState(0);
+                        return mcWrapperTemp;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Use a connection found by a waiting thread. If the connection does not match the
+     * request it is claimed as a victim and destroyed, unless victims are sent to the
+     * resource adapter.
+     *
+     * @param mcWrapperTemp a connection that is not in any pool.
+     * @param match true if the connection has not already failed to match the request.
+     * @return the connection to use, or null if a new connection must be created in
+     *         place of the destroyed one.
+     */
+    private MCWrapper claimConnectionForWaiter(
+                                               ManagedConnectionFactory managedConnectionFactory,
+                                               Subject subject,
+                                               ConnectionRequestInfo cri,
+                                               MCWrapper mcWrapperTemp,
+                                               boolean match) throws ResourceAllocationException {
+        MCWrapper mcWrapper = null;
+        if (match) {
+            mcWrapperTemp.setPoolState(0);
+            mcWrapper = getMCWrapperFromMatch(subject, cri, managedConnectionFactory, mcWrapperTemp);
+        }
+        boolean doNotReuse = ((com.ibm.ejs.j2c.MCWrapper) mcWrapperTemp).do_not_reuse_mcw;
+        if (doNotReuse) {
+            if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
+                Tr.debug(this, tc, "Connection error occurred for this mcw " + mcWrapperTemp + ", mcw will not be reuse");
+            }
+        } else if (mcWrapper != null) {
+            return mcWrapper;
+        } else {
+            ManagedConnection mc = mcWrapperTemp.getManagedConnection();
+            if (gConfigProps.sendClaimedVictomToGetConnection && mc instanceof WSManagedConnection) {
+                ((WSManagedConnection) mc).setClaimedVictim();
+                return mcWrapperTemp;
+            }
+            if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
+                Tr.debug(this, tc, "Claiming victim " + mcWrapperTemp);
+            }
+            if (tc.isDebugEnabled()) {
+                ++numberOfClaimedVictims;
+                boolean criMismatch = cri == null ? mcWrapperTemp.getCRI() != null : !cri.equals(mcWrapperTemp.getCRI());
+                boolean subjectMismatch = false;
+                Subject tempSubject = mcWrapperTemp.getSubject();
+                if (subject != null && tempSubject != null) {
+                    Equals equalsHelper = new Equals();
+                    equalsHelper.setSubjects(subject, tempSubject);
+                    subjectMismatch = !AccessController.doPrivileged(equalsHelper);
+                } else {
+                    subjectMismatch = subject != tempSubject;
+                }
+
+                if (criMismatch && subjectMismatch) {
+                    ++numberOfClaimedVictims_CRI_Subject_Mismatch;
+                } else if (criMismatch) {
+                    ++numberOfClaimedVictims_CRI_Only_Mismatch;
+                } else if (subjectMismatch) {
+                    ++numberOfClaimedVictims_Subject_Only_Mismatch;
+                } else {
+                    // matchManagedConnection only failed.
+                    ++numberOfClaimedVictims_MM_Only_Mismatch;
+                }
+                if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
+                    Tr.debug(this, tc, pm.gatherClaimVictimStatisticalData());
+                }
+            }
+        }
+
+        cleanupAndDestroyMCWrapper(mcWrapperTemp);
+        FreePool owner = pm.freePool[mcWrapperTemp.getHashMapBucket()];
+        synchronized (owner.freeConnectionLockObject) {
+            --owner.numberOfConnectionsAssignedToThisFreePool;
+        }
+        return null;
+    }
+
     /**
      *
      * Check for a matching managed connection
@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ejs.j2c;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import com.ibm.websphere.ras.Tr;
+import com.ibm.websphere.ras.TraceComponent;
+import com.ibm.ws.j2c.MCWrapper;
+
+/**
+ * FIFO queue of threads waiting for a connection when the concurrent free pool
+ * is enabled for a connection manager.
+ *
+ * Each waiter parks on its own thread instead of the shared
+ * waiterFreePoolLock monitor. A thread returning a connection to the pool
+ * hands it directly to the oldest waiter, so a released connection cannot be
+ * taken by a newly arriving request ahead of a thread that has been queued.
+ * Events that do not produce a connection for a specific waiter (a connection
+ * destroyed, a connection added to the free pool or the waiter list) only wake
+ * the oldest waiter, which then searches the pool again.
+ *
+ * A waiter must always search the pool again after it has been queued and
+ * before it parks. Together with releasers checking for waiters after adding a
+ * connection to the free pool, this guarantees that a connection cannot be
+ * left in the free pool while a thread is parked.
+ */
+public final class FreePoolWaiterQueue {
+
+    private static final TraceComponent tc = Tr.register(FreePoolWaiterQueue.class, J2CConstants.traceSpec, J2CConstants.messageFile);
+
+    /**
+     * Value of a waiter slot once the waiter has stopped waiting.
+     */
+    private static final Object CANCELLED = new Object();
+
+    /**
+     * A single thread waiting for a connection. The slot is null while the
+     * thread is waiting, the handed off MCWrapper once a connection was given
+     * to it, or CANCELLED once the thread has stopped waiting.
+     */
+    protected static final class Waiter {
+        private final Thread thread = Thread.currentThread();
+        private final AtomicReference<Object> slot = new AtomicReference<Object>();
+
+        @Override
+        public String toString() {
+            return "Waiter@" + Integer.toHexString(hashCode()) + '[' + thread.getName() + ']';
+        }
+    }
+
+    private final ConcurrentLinkedQueue<Waiter> waiters = new ConcurrentLinkedQueue<Waiter>();
+
+    /**
+     * Number of connections handed directly to a waiting thread.
+     */
+    private final AtomicLong handOffs = new AtomicLong();
+
+    /**
+     * Add the current thread to the end of the queue. The caller must search
+     * the pool again before calling await.
+     *
+     * @return the queued waiter.
+     */
+    protected Waiter enqueue() {
+        Waiter waiter = new Waiter();
+        waiters.add(waiter);
+        if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
+            Tr.debug(this, tc, "enqueue " + waiter);
+        }
+        return waiter;
+    }
+
+    /**
+     * Park the waiting thread until a connection is handed to it, it is woken
+     * to search the pool again, or the timeout expires.
+     *
+     * @param waiter the waiter returned by enqueue.
+     * @param timeoutMillis the maximum time to wait. 0 waits until woken.
+     * @return the connection handed to the waiter, or null if the thread must
+     *         search the pool again or has timed out.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    protected MCWrapper await(Waiter waiter, long timeoutMillis) throws InterruptedException {
+        if (waiter.slot.get() == null) {
+            if (timeoutMillis > 0) {
+                LockSupport.parkNanos(this, timeoutMillis * 1000000L);
+            } else {
+                LockSupport.park(this);
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        Object value = waiter.slot.get();
+        return value instanceof MCWrapper ? (MCWrapper) value : null;
+    }
+
+    /**
+     * Stop waiting. If a connection was handed to the waiter before it could be
+     * cancelled, the connection is returned and now belongs to the caller.
+     *
+     * @param waiter the waiter returned by enqueue.
+     * @return the connection handed to the waiter, otherwise null.
+     */
+    protected MCWrapper cancel(Waiter waiter) {
+        waiters.remove(waiter);
+        if (waiter.slot.compareAndSet(null, CANCELLED)) {
+            return null;
+        }
+        Object value = waiter.slot.get();
+        return value instanceof MCWrapper ? (MCWrapper) value : null;
+    }
+
+    /**
+     * Hand a connection to the oldest waiting thread.
+     *
+     * @param mcWrapper a free connection.
+     * @return true if a waiter now owns the connection, false if no thread is waiting.
+     */
+    protected boolean handOff(MCWrapper mcWrapper) {
+        Waiter waiter;
+        while ((waiter = waiters.poll()) != null) {
+            if (waiter.slot.compareAndSet(null, mcWrapper)) {
+                handOffs.incrementAndGet();
+                LockSupport.unpark(waiter.thread);
+                if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
+                    Tr.debug(this, tc, "handed " + mcWrapper + " to " + waiter);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Wake the oldest waiting thread so it searches the pool again.
+     */
+    protected void signal() {
+        Waiter waiter = waiters.peek();
+        if (waiter != null) {
+            LockSupport.unpark(waiter.thread);
+        }
+    }
+
+    /**
+     * Wake all waiting threads so they search the pool again.
+     */
+    protected void signalAll() {
+        for (Waiter waiter : waiters) {
+            LockSupport.unpark(waiter.thread);
+        }
+    }
+
+    /**
+     * @return true if at least one thread is waiting for a connection.
+     */
+    protected boolean hasWaiters() {
+        return !waiters.isEmpty();
+    }
+
+    /**
+     * @return the number of connections handed directly to a waiting thread.
+     */
+    protected long getHandOffCount() {
+        return handOffs.get();
+    }
+
+    @Override
+    public String toString() {
+        return "FreePoolWaiterQueue@" + Integer.toHexString(hashCode()) + "[waiters=" + waiters.size() + " handOffs=" + handOffs.get() + ']';
+    }
+}
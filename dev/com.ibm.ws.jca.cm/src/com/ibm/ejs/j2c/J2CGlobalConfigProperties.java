@@ -353,6 +353,13 @@ public final class J2CGlobalConfigProperties implements PropertyChangeListener,
 
     protected int holdTimeLimit = 10;
     private int numConnectionsPerThreadLocal = 0;
+    /**
+     * Queue threads waiting for a connection in a FIFO waiter queue, where each
+     * thread parks on its own and a released connection is handed directly to
+     * the oldest waiter, instead of waiting on the shared waiter monitor.
+     * Requires the pool to be recreated to change.
+     */
+    private final boolean concurrentFreePool;
 
     private int orphanConnHoldTimeLimitSeconds = 10; // Dynamically Updateable
 
@@ -404,7 +411,8 @@ public final class J2CGlobalConfigProperties implements PropertyChangeListener,
                                      int commitPriority,
                                      int numConnectionsPerThreadLocal,
                                      Integer maxNumberOfMCsAllowableInThread,
-                                     Boolean throwExceptionOnMCThreadCheck) {
+                                     Boolean throwExceptionOnMCThreadCheck,
+                                     boolean concurrentFreePool) {
         if (TraceComponent.isAnyTracingEnabled() && tc.isEntryEnabled()) {
             Tr.entry(this, tc, "<init>", "Full Constructor");
         }
@@ -448,6 +456,7 @@ public final class J2CGlobalConfigProperties implements PropertyChangeListener,
         this.numConnectionsPerThreadLocal = numConnectionsPerThreadLocal;
         this.maxNumberOfMCsAllowableInThread = maxNumberOfMCsAllowableInThread;
         this.throwExceptionOnMCThreadCheck = throwExceptionOnMCThreadCheck;
+        this.concurrentFreePool = concurrentFreePool;
 
         /*
          * This value will be checked in the fatelErrorNotification code. We
@@ -926,6 +935,7 @@ public final class J2CGlobalConfigProperties implements PropertyChangeListener,
         buf.append("  maxFreePoolHashSize             : " + maxFreePoolHashSize + nl);
         buf.append("  orphanConnHoldTimeLimitSeconds  : " + orphanConnHoldTimeLimitSeconds + nl);
         buf.append(" numConnectionsPerThreadLocal  : " + numConnectionsPerThreadLocal + nl);
+        buf.append("  concurrentFreePool              : " + concurrentFreePool + nl);
 
         return buf.toString();
     }
@@ -988,6 +998,10 @@ public final class J2CGlobalConfigProperties implements PropertyChangeListener,
         this.maxNumberOfMCsAllowableInThread = maxNumberOfMCsAllowableInThread;
     }
 
+    public boolean isConcurrentFreePool() {
+        return concurrentFreePool;
+    }
+
     public boolean getThrowExceptionOnMCThreadCheck() {
         if (throwExceptionOnMCThreadCheck != null)
             return throwExceptionOnMCThreadCheck.booleanValue();
@@ -100,6 +100,10 @@ public final class PoolManager implements Runnable, PropertyChangeListener, Veto
     protected final Integer poolManagerBalancePoolLock = new Integer(0);
     protected final Integer waiterFreePoolLock = new Integer(0);
     protected int waiterCount = 0;
+    /**
+     * FIFO queue of waiting threads, only used when the concurrent free pool is enabled.
+     */
+    protected final FreePoolWaiterQueue waiterQueue;
     protected boolean allowConnectionRequests = true;
     private boolean connectionPoolShutDown = false;
     protected final Integer poolManagerTestConnectionLock = new Integer(0);
@@ -204,6 +208,7 @@ public final class PoolManager implements Runnable, PropertyChangeListener, Veto
 
         this.maxNumberOfMCsAllowableInThread = gConfigProps.getMaxNumberOfMCsAllowableInThread();
         this.throwExceptionOnMCThreadCheck = gConfigProps.getThrowExceptionOnMCThreadCheck();
+        this.waiterQueue = gConfigProps.isConcurrentFreePool() ? new FreePoolWaiterQueue() : null;
 
         this.holdTimeLimit = gConfigProps.getOrphanConnHoldTimeLimitSeconds();
 
@@ -872,7 +877,7 @@ public final class PoolManager implements Runnable, PropertyChangeListener, Veto
                                 mcWrapperWaiterList.add(mcWrapper);
                                 mcWrapper.setPoolState(MCWrapper.ConnectionState_waiterPool);
                                 // notify a waiter.
-                                waiterFreePoolLock.notify();
+                                notifyWaiter();
                                 activeRequest.decrementAndGet();
                                 ((com.ibm.ejs.j2c.MCWrapper) mcWrapper).setAlreadyBeingReleased(false);
                                 if (TraceComponent.isAnyTracingEnabled() && tc.isEntryEnabled())
@@ -948,7 +953,7 @@ public final class PoolManager implements Runnable, PropertyChangeListener, Veto
             synchronized (waiterFreePoolLock) {
                 this.totalConnectionCount.decrementAndGet();
                 if (waiterCount > 0)
-                    waiterFreePoolLock.notify();
+                    notifyWaiter();
             }
         } else {
             // Move the pooled connection from the inuse state to the FreePool
@@ -988,7 +993,7 @@ public final class PoolManager implements Runnable, PropertyChangeListener, Veto
         synchronized (waiterFreePoolLock) {
             mcWrapper.setPoolState(MCWrapper.ConnectionState_noPool);
             this.totalConnectionCount.decrementAndGet();
-            waiterFreePoolLock.notify();
+            notifyWaiter();
 
         }
 
@@ -1405,7 +1410,7 @@ public final class PoolManager implements Runnable, PropertyChangeListener, Veto
                                         synchronized (waiterFreePoolLock) {
                                             this.totalConnectionCount.decrementAndGet();
                                             if (waiterCount > 0) {
-                                                waiterFreePoolLock.notify();
+                                                notifyWaiter();
                                             }
 
                                         }
@@ -1456,7 +1461,7 @@ public final class PoolManager implements Runnable, PropertyChangeListener, Veto
                             synchronized (waiterFreePoolLock) {
                                 this.totalConnectionCount.decrementAndGet();
                                 if (waiterCount > 0) {
-                                    waiterFreePoolLock.notify();
+                                    notifyWaiter();
                                 }
 
                             }
@@ -1503,7 +1508,7 @@ public final class PoolManager implements Runnable, PropertyChangeListener, Veto
                     synchronized (waiterFreePoolLock) {
                         this.totalConnectionCount.decrementAndGet();
                         if (waiterCount > 0) {
-                            waiterFreePoolLock.notify();
+                            notifyWaiter();
                         }
 
                     }
@@ -2419,7 +2424,7 @@ public final class PoolManager implements Runnable, PropertyChangeListener, Veto
                 }
                 freePool[0].cleanupAndDestroyMCWrapper(mcWrapperTemp);
                 if ((waiterCount > 0) && (waiterCount > mcWrapperWaiterList.size())) {
-                    waiterFreePoolLock.notify();
+                    notifyWaiter();
                 }
                 if (tc.isEntryEnabled()) {
                     Tr.exit(this, tc, "getFreeWaiterConnection", new Object[] { "Returning destroyed mcWrapper", mcWrapperTemp });
@@ -2444,7 +2449,7 @@ public final class PoolManager implements Runnable, PropertyChangeListener, Veto
                         mcWrapperWaiterList.remove(i);
                         freePool[0].cleanupAndDestroyMCWrapper(mcWrapperTemp);
                         if ((waiterCount > 0) && (waiterCount > mcWrapperWaiterList.size())) {
-                            waiterFreePoolLock.notify();
+                            notifyWaiter();
                         }
                         if (tc.isEntryEnabled()) {
                             Tr.exit(this, tc, "getFreeWaiterConnection", new Object[] { "Returning destroyed mcWrapper", mcWrapperTemp });
@@ -3426,7 +3431,7 @@ public final class PoolManager implements Runnable, PropertyChangeListener, Veto
 
                     if (waiterCount > 0) {
                         // there are requests waiting, so notify one of them
-                        waiterFreePoolLock.notify();
+                        notifyWaiter();
                     }
                 } // end sync
             }
@@ -3663,6 +3668,30 @@ public final class PoolManager implements Runnable, PropertyChangeListener, Veto
 
     }
 
+    /**
+     * Wake one thread waiting for a connection. The caller must be synchronized on
+     * waiterFreePoolLock unless the concurrent free pool is enabled.
+     */
+    protected void notifyWaiter() {
+        if (waiterQueue != null) {
+            waiterQueue.signal();
+        } else {
+            waiterFreePoolLock.notify();
+        }
+    }
+
+    /**
+     * Wake all threads waiting for a connection. The caller must be synchronized on
+     * waiterFreePoolLock unless the concurrent free pool is enabled.
+     */
+    protected void notifyAllWaiters() {
+        if (waiterQueue != null) {
+            waiterQueue.signalAll();
+        } else {
+            waiterFreePoolLock.notifyAll();
+        }
+    }
+
     /**
      * The caller of the method must call endingAccessToPool()
      */
@@ -4106,7 +4135,7 @@ public final class PoolManager implements Runnable, PropertyChangeListener, Veto
             connectionTimeout = value;
             displayInfiniteWaitMessage = (connectionTimeout == 0);
             synchronized (waiterFreePoolLock) {
-                waiterFreePoolLock.notifyAll();
+                notifyAllWaiters();
             }
         } else if (propName.equals("unusedTimeout")) {
             int value = ((Integer) event.getNewValue()).intValue();
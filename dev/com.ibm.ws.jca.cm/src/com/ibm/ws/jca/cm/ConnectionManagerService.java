@@ -37,6 +37,11 @@ public abstract class ConnectionManagerService extends Observable {
      */
     public final static String FACTORY_PID = "com.ibm.ws.jca.connectionManager";
 
+    /**
+     * Name of property that selects the concurrent free pool implementation.
+     */
+    public static final String ENABLE_CONCURRENT_FREE_POOL = "enableConcurrentFreePool";
+
     /**
      * Name of unique identifier property.
      */
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ejs.j2c;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.ibm.ws.j2c.MCWrapper;
+
+/**
+ * Unit tests for the waiter queue used by the concurrent free pool.
+ */
+public class FreePoolWaiterQueueTest {
+
+    private static final long TIMEOUT_SECONDS = 30;
+
+    /**
+     * A connection returned while nobody waits stays with the caller.
+     */
+    @Test
+    public void testHandOffWithoutWaiters() {
+        FreePoolWaiterQueue queue = new FreePoolWaiterQueue();
+        assertFalse(queue.hasWaiters());
+        assertFalse(queue.handOff(newConnection()));
+        assertEquals(0, queue.getHandOffCount());
+    }
+
+    /**
+     * A connection handed off before the waiter parks is returned at once.
+     */
+    @Test
+    public void testHandOffBeforeAwait() throws Exception {
+        FreePoolWaiterQueue queue = new FreePoolWaiterQueue();
+        FreePoolWaiterQueue.Waiter waiter = queue.enqueue();
+        assertTrue(queue.hasWaiters());
+
+        MCWrapper mcw = newConnection();
+        assertTrue(queue.handOff(mcw));
+        assertFalse(queue.hasWaiters());
+        assertSame(mcw, queue.await(waiter, 1000));
+        assertEquals(1, queue.getHandOffCount());
+    }
+
+    /**
+     * A waiter that times out gets no connection, and a cancelled waiter is
+     * skipped by the next hand off.
+     */
+    @Test
+    public void testTimeoutAndCancel() throws Exception {
+        FreePoolWaiterQueue queue = new FreePoolWaiterQueue();
+        FreePoolWaiterQueue.Waiter waiter = queue.enqueue();
+        assertNull(queue.await(waiter, 10));
+        assertNull(queue.cancel(waiter));
+        assertFalse(queue.hasWaiters());
+        assertFalse(queue.handOff(newConnection()));
+    }
+
+    /**
+     * A connection handed off just before the waiter cancels belongs to the
+     * waiter, so it must not be lost.
+     */
+    @Test
+    public void testCancelAfterHandOff() {
+        FreePoolWaiterQueue queue = new FreePoolWaiterQueue();
+        FreePoolWaiterQueue.Waiter waiter = queue.enqueue();
+        MCWrapper mcw = newConnection();
+        assertTrue(queue.handOff(mcw));
+        assertSame(mcw, queue.cancel(waiter));
+    }
+
+    /**
+     * Connections are handed to parked threads in the order they queued.
+     */
+    @Test
+    public void testHandOffOrder() throws Exception {
+        final FreePoolWaiterQueue queue = new FreePoolWaiterQueue();
+        final int threads = 4;
+        final BlockingQueue<Object[]> results = new ArrayBlockingQueue<Object[]>(threads);
+        final MCWrapper[] connections = new MCWrapper[threads];
+
+        for (int i = 0; i < threads; i++) {
+            connections[i] = newConnection();
+            final int index = i;
+            final CountDownLatch queued = new CountDownLatch(1);
+            Thread t = new Thread("waiter-" + i) {
+                @Override
+                public void run() {
+                    FreePoolWaiterQueue.Waiter waiter = queue.enqueue();
+                    queued.countDown();
+                    try {
+                        MCWrapper mcw = null;
+                        while (mcw == null) {
+                            mcw = queue.await(waiter, 0);
+                        }
+                        results.add(new Object[] { index, mcw });
+                    } catch (InterruptedException e) {
+                        results.add(new Object[] { index, e });
+                    }
+                }
+            };
+            t.setDaemon(true);
+            t.start();
+            assertTrue(queued.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+
+        for (int i = 0; i < threads; i++) {
+            assertTrue(queue.handOff(connections[i]));
+        }
+        for (int i = 0; i < threads; i++) {
+            Object[] result = results.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            int index = (Integer) result[0];
+            assertSame(connections[index], result[1]);
+        }
+        assertFalse(queue.hasWaiters());
+        assertEquals(threads, queue.getHandOffCount());
+    }
+
+    /**
+     * A signal wakes a parked waiter without giving it a connection, so it
+     * searches the pool again.
+     */
+    @Test
+    public void testSignalWakesWaiter() throws Exception {
+        final FreePoolWaiterQueue queue = new FreePoolWaiterQueue();
+        final BlockingQueue<Object> results = new ArrayBlockingQueue<Object>(1);
+        final CountDownLatch queued = new CountDownLatch(1);
+        Thread t = new Thread("waiter") {
+            @Override
+            public void run() {
+                FreePoolWaiterQueue.Waiter waiter = queue.enqueue();
+                queued.countDown();
+                try {
+                    MCWrapper mcw = queue.await(waiter, TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+                    queue.cancel(waiter);
+                    results.add(mcw == null ? "woken" : mcw);
+                } catch (InterruptedException e) {
+                    results.add(e);
+                }
+            }
+        };
+        t.setDaemon(true);
+        t.start();
+        assertTrue(queued.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        long start = System.nanoTime();
+        Object result = null;
+        while (result == null && System.nanoTime() - start < TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS)) {
+            queue.signal();
+            result = results.poll(10, TimeUnit.MILLISECONDS);
+        }
+        assertEquals("woken", result);
+        assertFalse(queue.hasWaiters());
+    }
+
+    private static MCWrapper newConnection() {
+        return (MCWrapper) Proxy.newProxyInstance(MCWrapper.class.getClassLoader(),
+                                                  new Class<?>[] { MCWrapper.class },
+                                                  new InvocationHandler() {
+                                                      @Override
+                                                      public Object invoke(Object proxy, Method method, Object[] args) {
+                                                          if ("hashCode".equals(method.getName())) {
+                                                              return System.identityHashCode(proxy);
+                                                          }
+                                                          if ("equals".equals(method.getName())) {
+                                                              return proxy == args[0];
+                                                          }
+                                                          if ("toString".equals(method.getName())) {
+                                                              return "MCWrapper@" + Integer.toHexString(System.identityHashCode(proxy));
+                                                          }
+                                                          return null;
+                                                      }
+                                                  });
+    }
+}
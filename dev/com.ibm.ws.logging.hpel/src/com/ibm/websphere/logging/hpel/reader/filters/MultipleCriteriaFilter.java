@@ -24,6 +24,8 @@ public class MultipleCriteriaFilter implements LogRecordFilter {
     private boolean checkDate = false; // To support start/stop dates for single instance, this is needed
 
     private LevelFilter levelFilter = null;
+    private int minLevel = Integer.MIN_VALUE; // Level range as integers, kept for index lookups
+    private int maxLevel = Integer.MAX_VALUE;
     private Pattern[] includeLoggers; // Regular expressions gsub'd and compiled for fast compares
     private Pattern[] excludeLoggers;
     private final int[] threadIDs; // ThreadIds converted from hex string to ints to match record
@@ -44,6 +46,8 @@ public class MultipleCriteriaFilter implements LogRecordFilter {
         }
         if (logQueryBean.getMinLevel() != null || logQueryBean.getMaxLevel() != null) {
             levelFilter = new LevelFilter(logQueryBean.getMinLevel(), logQueryBean.getMaxLevel());
+            minLevel = logQueryBean.getMinLevel() != null ? logQueryBean.getMinLevel().intValue() : Integer.MIN_VALUE;
+            maxLevel = logQueryBean.getMaxLevel() != null ? logQueryBean.getMaxLevel().intValue() : Integer.MAX_VALUE;
         }
         if (logQueryBean.getMessageContent() != null) {
             messageContent = compile(logQueryBean.getMessageContent());
@@ -57,6 +61,41 @@ public class MultipleCriteriaFilter implements LogRecordFilter {
         threadIDs = logQueryBean.getThreadIDs();
     }
 
+    /**
+     * @return lower boundary of the time range, or Long.MIN_VALUE if time is not checked
+     */
+    public long getMinTime() {
+        return checkDate ? startDate : Long.MIN_VALUE;
+    }
+
+    /**
+     * @return upper boundary of the time range, or Long.MAX_VALUE if time is not checked
+     */
+    public long getMaxTime() {
+        return checkDate ? endDate : Long.MAX_VALUE;
+    }
+
+    /**
+     * @return lower boundary of the level range, or Integer.MIN_VALUE if it is not checked
+     */
+    public int getMinLevel() {
+        return minLevel;
+    }
+
+    /**
+     * @return upper boundary of the level range, or Integer.MAX_VALUE if it is not checked
+     */
+    public int getMaxLevel() {
+        return maxLevel;
+    }
+
+    /**
+     * @return IDs of the threads to accept records from, or null if thread is not checked
+     */
+    public int[] getThreadIDs() {
+        return threadIDs;
+    }
+
     private Pattern[] compile(String[] patterns) {
         Pattern[] result = null;
         if (patterns != null) {
@@ -13,8 +13,8 @@
 
 <p>Sample of filters which can be used in local log queries.</p>
 
- * @version 2.0.0
+ * @version 2.1.0
  */
-@org.osgi.annotation.versioning.Version("2.0.0")
+@org.osgi.annotation.versioning.Version("2.1.0")
 package com.ibm.websphere.logging.hpel.reader.filters;
 
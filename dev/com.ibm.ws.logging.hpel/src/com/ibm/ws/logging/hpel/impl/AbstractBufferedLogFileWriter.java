@@ -85,7 +85,7 @@ public abstract class AbstractBufferedLogFileWriter implements LogFileWriter {
             try {
                 synchronized (fileStream) {
                     if (flushTimer != null) {
-                        fileStream.flush();
+                        periodicFlush();
                     }
                 }
             } catch (IOException e) {
@@ -154,6 +154,23 @@ public abstract class AbstractBufferedLogFileWriter implements LogFileWriter {
         return file;
     }
 
+    /**
+     * Flushes buffered data to disk. Called periodically when buffering is enabled,
+     * with a lock on the <code>fileStream</code>.
+     * 
+     * @throws IOException
+     */
+    protected void periodicFlush() throws IOException {
+        fileStream.flush();
+    }
+
+    /**
+     * @return <code>true</code> if data is flushed to disk periodically rather than on each {@link #flush()} call.
+     */
+    protected boolean isBufferingEnabled() {
+        return flushTimer != null;
+    }
+
     /*
      * (non-Javadoc)
      * 
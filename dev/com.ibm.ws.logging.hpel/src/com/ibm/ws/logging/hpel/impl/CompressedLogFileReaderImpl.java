@@ -0,0 +1,288 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.logging.hpel.impl;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import com.ibm.ws.logging.hpel.LogFileReader;
+
+/**
+ * Implementation of the {@link LogFileReader} interface reading files written by the
+ * {@link CompressedLogFileWriterImpl}. File positions used by this reader are positions
+ * in the uncompressed data and only the block containing the current position is kept
+ * uncompressed in memory.
+ */
+public class CompressedLogFileReaderImpl implements LogFileReader {
+	private final static int MAGIC = CompressedLogFileWriterImpl.MAGIC;
+
+	private final File file;
+	/** Content of the file */
+	private final byte[] data;
+	/** Number of complete blocks in the file */
+	private final int count;
+	/** Positions of the block headers in the file */
+	private final int[] offsets;
+	/** Positions of the blocks in the uncompressed data */
+	private final long[] starts;
+	/** Size of the uncompressed data */
+	private final long length;
+
+	private boolean open = true;
+	private long pointer = 0;
+	private int current = -1;			// index of the block in 'block'.
+	private byte[] block = null;
+	private Inflater inflater = null;
+
+	/**
+	 * Checks if file content is in the compressed format.
+	 *
+	 * @param bytes content of the file.
+	 * @return <code>true</code> if content starts with the compressed file marker.
+	 */
+	public static boolean isCompressed(byte[] bytes) {
+		return bytes.length >= 4 && readInt(bytes, 0) == MAGIC;
+	}
+
+	/**
+	 * Creates the LogFileReader instance reading from the file.
+	 *
+	 * @param file File instance to read data from.
+	 * @throws IOException
+	 */
+	public CompressedLogFileReaderImpl(File file) throws IOException {
+		this(file, LogFileReaderImpl.readFile(file));
+	}
+
+	/**
+	 * Creates the LogFileReader instance using already read file content.
+	 *
+	 * @param file File instance the data was read from.
+	 * @param data content of the file.
+	 * @throws IOException if the content is not in the compressed format.
+	 */
+	CompressedLogFileReaderImpl(File file, byte[] data) throws IOException {
+		if (!isCompressed(data)) {
+			throw new IOException("File \"" + file.getAbsolutePath() + "\" is not a compressed WBL file");
+		}
+		this.file = file;
+		this.data = data;
+
+		int[] blockOffsets = readTable(data);
+		if (blockOffsets == null) {
+			// File was not closed, find blocks written so far.
+			blockOffsets = findBlocks(data);
+		}
+		count = blockOffsets.length;
+		offsets = blockOffsets;
+		starts = new long[count];
+		long total = 0;
+		for (int i=0; i<count; i++) {
+			starts[i] = total;
+			total += readInt(data, offsets[i]);
+		}
+		length = total;
+	}
+
+	/**
+	 * Creates the LogFileReader instance as a clone of <code>other</code>.
+	 *
+	 * @param other Another instance of the LogFileReader to copy file, length, and position from.
+	 */
+	public CompressedLogFileReaderImpl(CompressedLogFileReaderImpl other) {
+		file = other.file;
+		data = other.data;
+		count = other.count;
+		offsets = other.offsets;
+		starts = other.starts;
+		length = other.length;
+		pointer = other.pointer;
+		open = other.open;
+	}
+
+	/*
+	 * Reads offset table from the end of the file.
+	 * Returns null if the table is missing or does not match the file.
+	 */
+	private static int[] readTable(byte[] data) {
+		int end = data.length - 12;
+		if (end < 12 || readInt(data, data.length - 4) != MAGIC) {
+			return null;
+		}
+		long tableOffset = readLong(data, end);
+		if (tableOffset < 4 || tableOffset > end - 8 || readInt(data, (int) tableOffset) != 0) {
+			return null;
+		}
+		int table = (int) tableOffset;
+		int count = readInt(data, table + 4);
+		if (count < 0 || (long) table + 8 + count * 16L != end) {
+			return null;
+		}
+		int[] result = new int[count];
+		for (int i=0; i<count; i++) {
+			long offset = readLong(data, table + 8 + i * 16);
+			if (offset < 4 || offset > table - 8 || !isBlock(data, (int) offset, table)) {
+				return null;
+			}
+			result[i] = (int) offset;
+		}
+		return result;
+	}
+
+	/*
+	 * Walks block headers from the start of the file. Stops at the offset table or on an incomplete block.
+	 */
+	private static int[] findBlocks(byte[] data) {
+		int[] result = new int[16];
+		int count = 0;
+		int position = 4;
+		while (isBlock(data, position, data.length)) {
+			if (count == result.length) {
+				result = Arrays.copyOf(result, count * 2);
+			}
+			result[count++] = position;
+			position += 8 + readInt(data, position + 4);
+		}
+		return Arrays.copyOf(result, count);
+	}
+
+	private static boolean isBlock(byte[] data, int position, int end) {
+		if (position + 8 > end) {
+			return false;
+		}
+		int size = readInt(data, position);
+		int storedSize = readInt(data, position + 4);
+		return size > 0 && storedSize > 0 && storedSize <= size && position + 8L + storedSize <= end;
+	}
+
+	/*
+	 * Makes the block containing 'position' the current one.
+	 */
+	private void loadBlock(long position) throws IOException {
+		if (current >= 0 && position >= starts[current] && position < starts[current] + block.length) {
+			return;
+		}
+		int index = Arrays.binarySearch(starts, position);
+		if (index < 0) {
+			index = -index - 2;
+		}
+		int offset = offsets[index];
+		int size = readInt(data, offset);
+		int storedSize = readInt(data, offset + 4);
+		byte[] result = new byte[size];
+		if (storedSize == size) {
+			System.arraycopy(data, offset + 8, result, 0, size);
+		} else {
+			if (inflater == null) {
+				inflater = new Inflater();
+			} else {
+				inflater.reset();
+			}
+			inflater.setInput(data, offset + 8, storedSize);
+			try {
+				int inflated = 0;
+				while (inflated < size && !inflater.finished()) {
+					int read = inflater.inflate(result, inflated, size - inflated);
+					if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+						break;
+					}
+					inflated += read;
+				}
+				if (inflated < size) {
+					throw new IOException("Block at " + offset + " in file \"" + file.getAbsolutePath() + "\" is truncated");
+				}
+			} catch (DataFormatException ex) {
+				IOException ioe = new IOException("Block at " + offset + " in file \"" + file.getAbsolutePath() + "\" is corrupted");
+				ioe.initCause(ex);
+				throw ioe;
+			}
+		}
+		current = index;
+		block = result;
+	}
+
+	private final byte[] size = new byte[4];
+	public int readLength() throws IOException {
+		readFully(size, 0, 4);
+		return readInt(size, 0);
+	}
+
+	public void close() throws IOException {
+		open = false;
+		block = null;
+		current = -1;
+		if (inflater != null) {
+			inflater.end();
+			inflater = null;
+		}
+	}
+
+	public boolean isOpen() {
+		return open;
+	}
+
+	public long getFilePointer() throws IOException {
+		return pointer;
+	}
+
+	public long length() throws IOException {
+		if (!open) {
+			throw new EOFException();
+		}
+		return length;
+	}
+
+	public void seek(long pos) throws IOException {
+		if (!open || pos > length || pos < 0) {
+			throw new EOFException();
+		}
+		pointer = pos;
+	}
+
+	public void readFully(byte[] b, int off, int len) throws IOException {
+		if (b==null) {
+			throw new IllegalArgumentException("Argument 'b' can't be 'null");
+		}
+		if (off < 0 || len < 0) {
+			throw new IllegalArgumentException("Neither 'off' ("+ off +") nor 'len' ("+ len +") can have negative value.");
+		}
+		if (off + len > b.length) {
+			throw new IllegalArgumentException("Sum of 'off' ("+ off +") and 'len' ("+ len +") can't be bigger than 'b.length' ("+ b.length +").");
+		}
+		if (!open || pointer + len > length) {
+			throw new EOFException();
+		}
+		while (len > 0) {
+			loadBlock(pointer);
+			int position = (int) (pointer - starts[current]);
+			int count = Math.min(len, block.length - position);
+			System.arraycopy(block, position, b, off, count);
+			pointer += count;
+			off += count;
+			len -= count;
+		}
+	}
+
+	private static int readInt(byte[] buffer, int offset) {
+		return (((0xFF & buffer[offset]) << 24) |
+				((0xFF & buffer[offset+1]) << 16) |
+				((0xFF & buffer[offset+2]) << 8) |
+				 (0xFF & buffer[offset+3]));
+	}
+
+	private static long readLong(byte[] buffer, int offset) {
+		return ((long) readInt(buffer, offset) << 32) | (0xFFFFFFFFL & readInt(buffer, offset + 4));
+	}
+}
@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.logging.hpel.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import com.ibm.ws.logging.hpel.LogFileWriter;
+
+/**
+ * Implementation of the {@link LogFileWriter} interface writing data to disk in blocks compressed
+ * with the {@link Deflater} class.<br>
+ * Records are framed the same way as by {@link LogFileWriterImpl}. The resulting stream is split into
+ * blocks of {@link #BLOCK_SIZE} bytes and each block is compressed separately, so that a reader can
+ * decompress only the block containing a record. Offsets of the records, and so offsets used in
+ * repository pointers, are offsets in the uncompressed stream.
+ * <p>
+ * File layout:
+ * <pre>
+ * MAGIC            (int)
+ * block*           (int uncompressed size, int stored size, stored bytes)
+ * offset table     (int 0, int block count, block count * (long block offset, long uncompressed offset))
+ * table offset     (long)
+ * MAGIC            (int)
+ * </pre>
+ * A block is stored uncompressed if compression would not make it smaller. The offset table is written
+ * when the file is closed. Readers find blocks of a file without the table by walking block headers.<br>
+ * <b>Note:</b> For performance reasons methods of this class are thread unsafe - it expect the caller to take care of
+ * only one thread using its methods at a time.
+ */
+public class CompressedLogFileWriterImpl extends AbstractBufferedLogFileWriter {
+	/** Marker of a compressed repository file. Its first byte makes it an invalid size of a header record. */
+	public final static int MAGIC = 0x89485A31;
+	/** Uncompressed size of a block */
+	public final static int BLOCK_SIZE = 64 * 1024;
+
+	private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+	private final byte[] block = new byte[BLOCK_SIZE];
+	private byte[] compressed = new byte[BLOCK_SIZE + 64];
+	private int blockSize = 0;		// bytes waiting in the current block.
+	private long written = 0;		// bytes written into the file.
+	private long uncompressed = 0;	// uncompressed bytes in the blocks written into the file.
+	private long[] blockOffsets = new long[16];
+	private long[] uncompressedOffsets = new long[16];
+	private int blockCount = 0;
+
+	/**
+	 * Creates the LogFileWriter instance writing to the file.
+	 *
+	 * @param file File instance of the file to write to.
+	 * @param bufferingEnabled indicator if buffering should be enabled.
+	 * @throws IOException
+	 */
+	public CompressedLogFileWriterImpl(File file, boolean bufferingEnabled) throws IOException {
+		super(file, bufferingEnabled);
+		byte[] buffer = new byte[4];
+		writeInt(MAGIC, buffer, 0);
+		synchronized(fileStream) {
+			fileStream.write(buffer);
+		}
+		written = buffer.length;
+	}
+
+	public void write(byte[] b) throws IOException {
+		byte[] size = new byte[4];
+		writeInt(b.length, size, 0);
+		synchronized(fileStream) {
+			append(size, 0, 4);
+			append(b, 0, b.length);
+			append(size, 0, 4);
+		}
+	}
+
+	private void append(byte[] b, int off, int len) throws IOException {
+		while (len > 0) {
+			int count = Math.min(len, BLOCK_SIZE - blockSize);
+			System.arraycopy(b, off, block, blockSize, count);
+			blockSize += count;
+			off += count;
+			len -= count;
+			if (blockSize == BLOCK_SIZE) {
+				writeBlock();
+			}
+		}
+	}
+
+	/*
+	 * Compresses the current block and writes it into the file.
+	 */
+	private void writeBlock() throws IOException {
+		if (blockSize == 0) {
+			return;
+		}
+		deflater.reset();
+		deflater.setInput(block, 0, blockSize);
+		deflater.finish();
+		int storedSize = 0;
+		while (!deflater.finished() && storedSize < blockSize) {
+			storedSize += deflater.deflate(compressed, 8 + storedSize, compressed.length - 8 - storedSize);
+		}
+		byte[] stored = compressed;
+		if (!deflater.finished() || storedSize >= blockSize) {
+			// Compression does not help, store bytes as is.
+			storedSize = blockSize;
+			stored = new byte[8 + blockSize];
+			System.arraycopy(block, 0, stored, 8, blockSize);
+		}
+		writeInt(blockSize, stored, 0);
+		writeInt(storedSize, stored, 4);
+		fileStream.write(stored, 0, 8 + storedSize);
+
+		if (blockCount == blockOffsets.length) {
+			blockOffsets = Arrays.copyOf(blockOffsets, blockCount * 2);
+			uncompressedOffsets = Arrays.copyOf(uncompressedOffsets, blockCount * 2);
+		}
+		blockOffsets[blockCount] = written;
+		uncompressedOffsets[blockCount] = uncompressed;
+		blockCount++;
+
+		written += 8 + storedSize;
+		uncompressed += blockSize;
+		blockSize = 0;
+	}
+
+	public void close(byte[] tail) throws IOException {
+		if (tail != null) {
+			write(tail);
+		}
+		synchronized(fileStream) {
+			writeBlock();
+			byte[] table = new byte[8 + blockCount * 16 + 12];
+			writeInt(0, table, 0);
+			writeInt(blockCount, table, 4);
+			int offset = 8;
+			for (int i=0; i<blockCount; i++) {
+				writeLong(blockOffsets[i], table, offset);
+				writeLong(uncompressedOffsets[i], table, offset + 8);
+				offset += 16;
+			}
+			writeLong(written, table, offset);
+			writeInt(MAGIC, table, offset + 8);
+			fileStream.write(table);
+			written += table.length;
+		}
+		deflater.end();
+		super.close(tail);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.ibm.ws.logging.hpel.impl.AbstractBufferedLogFileWriter#flush()
+	 */
+	@Override
+	public void flush() throws IOException {
+		// Without buffering each record has to reach the disk, even in a partial block.
+		if (!isBufferingEnabled()) {
+			synchronized(fileStream) {
+				writeBlock();
+			}
+		}
+		super.flush();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.ibm.ws.logging.hpel.impl.AbstractBufferedLogFileWriter#periodicFlush()
+	 */
+	@Override
+	protected void periodicFlush() throws IOException {
+		writeBlock();
+		super.periodicFlush();
+	}
+
+	public long checkTotal(byte[] buffer, byte[] tail) {
+		// Uncompressed size of the pending bytes is an upper estimate of their size in the file.
+		return written + blockSize + buffer.length + tail.length + 16 + 8 + (blockCount + 1) * 16 + 12;
+	}
+
+	private static void writeInt(int value, byte[] buffer, int offset) {
+		buffer[offset+3] = (byte) (value >>> 0);
+		buffer[offset+2] = (byte) (value >>> 8);
+		buffer[offset+1] = (byte) (value >>> 16);
+		buffer[offset] = (byte) (value >>> 24);
+	}
+
+	private static void writeLong(long value, byte[] buffer, int offset) {
+		writeInt((int) (value >>> 32), buffer, offset);
+		writeInt((int) value, buffer, offset + 4);
+	}
+
+}
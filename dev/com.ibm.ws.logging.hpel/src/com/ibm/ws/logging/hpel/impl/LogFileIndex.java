@@ -0,0 +1,407 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.logging.hpel.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.ibm.websphere.logging.hpel.reader.filters.MultipleCriteriaFilter;
+import com.ibm.ws.logging.hpel.LogRecordSerializer;
+import com.ibm.ws.logging.object.hpel.RepositoryLogRecordImpl;
+
+/**
+ * Sparse index of the records in a repository file.
+ * <p>
+ * Records of the file are grouped into blocks of {@link #BLOCK_SIZE} records. For each block the
+ * index keeps the offset of its first record, the time range of its records, a bitmap of the levels
+ * and a 64 bit bloom filter of the thread IDs used in its records. Readers use it to seek directly to
+ * the first record of a time range and to skip blocks which can't contain records matching a query.
+ * <p>
+ * The index is written into a separate file next to the repository file once writing to that file is
+ * complete. It is used only when the size of the repository file is the one recorded in the index.
+ */
+public class LogFileIndex {
+	/** Extension added to the repository file name to get the name of its index file */
+	public final static String EXTENSION = ".idx";
+	/** Number of records in one index block */
+	public final static int BLOCK_SIZE = 64;
+
+	private final static int MAGIC = 0x48494458; // HIDX
+	private final static int VERSION = 1;
+	/** Bits in a mask which accept any level or any thread */
+	private final static long ALL = -1L;
+
+	private final long logLength;	// expected size of the repository file.
+	private final long dataEnd;		// offset of the byte after the last record.
+	private final int size;
+	private final long[] offsets;
+	private final long[] minTimes;
+	private final long[] maxTimes;
+	private final long[] levels;
+	private final long[] threads;
+
+	private LogFileIndex(long logLength, long dataEnd, int size, long[] offsets, long[] minTimes, long[] maxTimes, long[] levels, long[] threads) {
+		this.logLength = logLength;
+		this.dataEnd = dataEnd;
+		this.size = size;
+		this.offsets = offsets;
+		this.minTimes = minTimes;
+		this.maxTimes = maxTimes;
+		this.levels = levels;
+		this.threads = threads;
+	}
+
+	/**
+	 * Returns index file of a repository file.
+	 *
+	 * @param file repository file.
+	 * @return File instance of the index file.
+	 */
+	public static File getIndexFile(File file) {
+		return new File(file.getPath() + EXTENSION);
+	}
+
+	/**
+	 * Reads index of the repository file.
+	 *
+	 * @param file repository file.
+	 * @param length current size of the repository file.
+	 * @return index of the file or <code>null</code> if index file does not exist or does
+	 * 		not correspond to the repository file.
+	 */
+	public static LogFileIndex read(File file, long length) {
+		File indexFile = getIndexFile(file);
+		if (!AccessHelper.isFile(indexFile)) {
+			return null;
+		}
+		DataInputStream input = null;
+		try {
+			input = new DataInputStream(new BufferedInputStream(AccessHelper.createFileInputStream(indexFile)));
+			if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+				return null;
+			}
+			long logLength = input.readLong();
+			if (logLength != length) {
+				// Repository file was modified after the index was written.
+				return null;
+			}
+			long dataEnd = input.readLong();
+			int size = input.readInt();
+			if (size <= 0 || dataEnd > logLength) {
+				return null;
+			}
+			long[] offsets = new long[size];
+			long[] minTimes = new long[size];
+			long[] maxTimes = new long[size];
+			long[] levels = new long[size];
+			long[] threads = new long[size];
+			for (int i=0; i<size; i++) {
+				offsets[i] = input.readLong();
+				minTimes[i] = input.readLong();
+				maxTimes[i] = input.readLong();
+				levels[i] = input.readLong();
+				threads[i] = input.readLong();
+				if (offsets[i] >= dataEnd || (i > 0 && offsets[i] <= offsets[i-1])) {
+					return null;
+				}
+			}
+			return new LogFileIndex(logLength, dataEnd, size, offsets, minTimes, maxTimes, levels, threads);
+		} catch (IOException ex) {
+			// Incomplete or corrupted index, read the file without it.
+			return null;
+		} finally {
+			if (input != null) {
+				try {
+					input.close();
+				} catch (IOException ex) {
+					// Ignore.
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return number of blocks in the index.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param block index of a block.
+	 * @return offset of the first record in the block.
+	 */
+	public long getOffset(int block) {
+		return offsets[block];
+	}
+
+	/**
+	 * @return size of the repository file this index was written for.
+	 */
+	public long getLogLength() {
+		return logLength;
+	}
+
+	/**
+	 * Finds position of the next record which can match the query.
+	 *
+	 * @param position offset of the next record to read.
+	 * @param query criteria the records should satisfy.
+	 * @return <code>position</code> if it is not the start of a block or that block can match the query,
+	 * 		offset of the first following block which can match the query otherwise. Offset of the end
+	 * 		of the records is returned if none of the following blocks can match the query.
+	 */
+	public long skip(long position, Query query) {
+		int block = Arrays.binarySearch(offsets, 0, size, position);
+		if (block < 0) {
+			return position;
+		}
+		while (block < size && !query.accepts(this, block)) {
+			block++;
+		}
+		return block < size ? offsets[block] : dataEnd;
+	}
+
+	/**
+	 * Maps a level to its bit in the level bitmap. Order of levels is preserved which
+	 * allows to map a level range into a range of bits.
+	 */
+	static int levelBit(int level) {
+		if (level <= 0) {
+			return 0;
+		}
+		return level >= 63*25 ? 63 : level/25;
+	}
+
+	/**
+	 * Maps a thread ID to its bit in the thread bloom filter.
+	 */
+	static int threadBit(int threadID) {
+		return (threadID * 0x9E3779B9) >>> 26;
+	}
+
+	/**
+	 * Returns formatter which should be used to parse records written after this header.
+	 *
+	 * @param headerBytes header record of a repository file.
+	 * @return formatter recognizing the header or <code>null</code> if none of the known formatters does.
+	 */
+	static LogRecordSerializer getFormatter(byte[] headerBytes) {
+		for (LogRecordSerializer formatter: LogRepositoryBaseImpl.KNOWN_FORMATTERS) {
+			try {
+				DataInputStream input = new DataInputStream(new ByteArrayInputStream(headerBytes));
+				if (LogRecordSerializer.HEADER == formatter.getType(input)) {
+					return formatter;
+				}
+			} catch (IOException ex) {
+				// Try next formatter.
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Criteria of a query which can be verified against index blocks.
+	 */
+	public static class Query {
+		private final long minTime;
+		private final long maxTime;
+		private final long levelMask;
+		private final long threadMask;
+
+		Query(long minTime, long maxTime, long levelMask, long threadMask) {
+			this.minTime = minTime;
+			this.maxTime = maxTime;
+			this.levelMask = levelMask;
+			this.threadMask = threadMask;
+		}
+
+		/**
+		 * Creates query based on the filter criteria.
+		 *
+		 * @param filter filter used to select records.
+		 * @return query instance or <code>null</code> if index can't be used to eliminate records
+		 * 		for this filter.
+		 */
+		public static Query getQuery(Object filter) {
+			if (!(filter instanceof MultipleCriteriaFilter)) {
+				return null;
+			}
+			MultipleCriteriaFilter criteria = (MultipleCriteriaFilter)filter;
+
+			long levelMask = ALL;
+			if (criteria.getMinLevel() != Integer.MIN_VALUE || criteria.getMaxLevel() != Integer.MAX_VALUE) {
+				int low = levelBit(criteria.getMinLevel());
+				int high = levelBit(criteria.getMaxLevel());
+				levelMask = low > high ? 0L : (ALL >>> (63 - high + low)) << low;
+			}
+
+			long threadMask = ALL;
+			int[] threadIDs = criteria.getThreadIDs();
+			if (threadIDs != null) {
+				threadMask = 0L;
+				for (int threadID: threadIDs) {
+					threadMask |= 1L << threadBit(threadID);
+				}
+			}
+
+			if (levelMask == ALL && threadMask == ALL && criteria.getMinTime() == Long.MIN_VALUE && criteria.getMaxTime() == Long.MAX_VALUE) {
+				return null;
+			}
+			return new Query(criteria.getMinTime(), criteria.getMaxTime(), levelMask, threadMask);
+		}
+
+		boolean accepts(LogFileIndex index, int block) {
+			return index.maxTimes[block] >= minTime && index.minTimes[block] <= maxTime &&
+				(index.levels[block] & levelMask) != 0L && (index.threads[block] & threadMask) != 0L;
+		}
+	}
+
+	/**
+	 * Collects index information of records while they are written into a repository file.
+	 * Similar to the file writers, methods of this class expect the caller to take care of
+	 * only one thread using its methods at a time.
+	 */
+	public static class Builder {
+		private final LogRecordSerializer formatter;
+		private final RecordInput recordInput = new RecordInput();
+		private final DataInputStream input = new DataInputStream(recordInput);
+
+		private long position;	// offset of the next record.
+		private int count = 0;	// number of records in the current block.
+		private int size = 0;
+		private long[] offsets = new long[16];
+		private long[] minTimes = new long[16];
+		private long[] maxTimes = new long[16];
+		private long[] levels = new long[16];
+		private long[] threads = new long[16];
+
+		/**
+		 * Creates builder for a file starting with a header.
+		 *
+		 * @param headerBytes header record written into the file.
+		 * @return builder instance or <code>null</code> if header is not in a known format.
+		 */
+		public static Builder create(byte[] headerBytes) {
+			LogRecordSerializer formatter = getFormatter(headerBytes);
+			return formatter == null ? null : new Builder(formatter, headerBytes.length + 8L);
+		}
+
+		Builder(LogRecordSerializer formatter, long position) {
+			this.formatter = formatter;
+			this.position = position;
+		}
+
+		/**
+		 * Adds record written into the file.
+		 *
+		 * @param bytes log record bytes written with the file writer.
+		 */
+		public void add(byte[] bytes) {
+			if (count == 0) {
+				if (size == offsets.length) {
+					int length = size * 2;
+					offsets = Arrays.copyOf(offsets, length);
+					minTimes = Arrays.copyOf(minTimes, length);
+					maxTimes = Arrays.copyOf(maxTimes, length);
+					levels = Arrays.copyOf(levels, length);
+					threads = Arrays.copyOf(threads, length);
+				}
+				offsets[size] = position;
+				minTimes[size] = Long.MAX_VALUE;
+				maxTimes[size] = Long.MIN_VALUE;
+				levels[size] = 0L;
+				threads[size] = 0L;
+				size++;
+			}
+			int block = size - 1;
+			try {
+				recordInput.reset(bytes);
+				if (LogRecordSerializer.RECORD != formatter.getType(input)) {
+					throw new IOException("Not a log record");
+				}
+				RepositoryLogRecordImpl record = formatter.deserializeLogTime(input);
+				formatter.deserializeLogHead(record, input);
+				long millis = record.getMillis();
+				if (millis < minTimes[block]) {
+					minTimes[block] = millis;
+				}
+				if (millis > maxTimes[block]) {
+					maxTimes[block] = millis;
+				}
+				levels[block] |= 1L << levelBit(record.getLevelValue());
+				threads[block] |= 1L << threadBit(record.getThreadID());
+			} catch (IOException ex) {
+				// Block has to be read for any query.
+				minTimes[block] = Long.MIN_VALUE;
+				maxTimes[block] = Long.MAX_VALUE;
+				levels[block] = ALL;
+				threads[block] = ALL;
+			}
+			position += bytes.length + 8L;
+			if (++count == BLOCK_SIZE) {
+				count = 0;
+			}
+		}
+
+		/**
+		 * Writes index of the complete repository file.
+		 *
+		 * @param file repository file the records were written into.
+		 * @param tail bytes written into the file after the last record.
+		 * @throws IOException if index can't be written.
+		 */
+		public void write(File file, byte[] tail) throws IOException {
+			if (size == 0) {
+				return;
+			}
+			long logLength = position + (tail == null ? 0L : tail.length + 8L);
+			DataOutputStream output = new DataOutputStream(new BufferedOutputStream(AccessHelper.createFileOutputStream(getIndexFile(file), false)));
+			try {
+				output.writeInt(MAGIC);
+				output.writeInt(VERSION);
+				output.writeLong(logLength);
+				output.writeLong(position);
+				output.writeInt(size);
+				for (int i=0; i<size; i++) {
+					output.writeLong(offsets[i]);
+					output.writeLong(minTimes[i]);
+					output.writeLong(maxTimes[i]);
+					output.writeLong(levels[i]);
+					output.writeLong(threads[i]);
+				}
+			} finally {
+				output.close();
+			}
+		}
+	}
+
+	/*
+	 * Input stream which can be reused for records to avoid allocation on each record.
+	 */
+	private static class RecordInput extends ByteArrayInputStream {
+		RecordInput() {
+			super(new byte[0]);
+		}
+		void reset(byte[] bytes) {
+			buf = bytes;
+			pos = 0;
+			count = bytes.length;
+			mark = 0;
+		}
+	}
+}
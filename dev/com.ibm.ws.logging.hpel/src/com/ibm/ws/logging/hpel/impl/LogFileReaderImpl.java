@@ -37,6 +37,37 @@ public class LogFileReaderImpl implements LogFileReader {
 	 * @throws IOException
 	 */
 	public LogFileReaderImpl(File file) throws IOException {
+		buffer = readFile(file);
+	}
+	
+	private LogFileReaderImpl(byte[] buffer) {
+		this.buffer = buffer;
+	}
+	
+	/**
+	 * Creates the LogFileReader instance suitable for the format of the file.
+	 * 
+	 * @param file File instance to read data from.
+	 * @return reader for a compressed file if the file was written by {@link CompressedLogFileWriterImpl},
+	 * 		LogFileReaderImpl instance otherwise.
+	 * @throws IOException
+	 */
+	public static LogFileReader createReader(File file) throws IOException {
+		byte[] bytes = readFile(file);
+		if (CompressedLogFileReaderImpl.isCompressed(bytes)) {
+			return new CompressedLogFileReaderImpl(file, bytes);
+		}
+		return new LogFileReaderImpl(bytes);
+	}
+	
+	/**
+	 * Reads all bytes of the file.
+	 * 
+	 * @param file File instance to read data from.
+	 * @return content of the file.
+	 * @throws IOException
+	 */
+	static byte[] readFile(File file) throws IOException {
 		if (!AccessHelper.isFile(file)) {
 			throw new IOException("File \"" + file.getAbsolutePath() + "\" is not an existing file.");
 		}
@@ -48,7 +79,7 @@ public class LogFileReaderImpl implements LogFileReader {
 		if (length < 4) {
 			throw new IOException("File \"" + file.getAbsolutePath() + "\" is " + length + " bytes long which is too small for a WBL file");
 		}
-		buffer = new byte[(int)length];
+		byte[] buffer = new byte[(int)length];
 		if (length > 0) {
 			InputStream fis;
 			if (file instanceof GenericFile) {
@@ -69,6 +100,7 @@ public class LogFileReaderImpl implements LogFileReader {
 				throw new IllegalArgumentException("Failed to read all " + buffer.length + " bytes from file \"" + file.getAbsolutePath() + "\". Only " + buffer.length + "bytes were read.");
 			}
 		}
+		return buffer;
 	}
 	
 	/**
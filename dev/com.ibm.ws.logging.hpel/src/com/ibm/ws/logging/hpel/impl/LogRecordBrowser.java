@@ -14,8 +14,16 @@ import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -24,6 +32,9 @@ import com.ibm.websphere.logging.hpel.reader.LogRecordHeaderFilter;
 import com.ibm.websphere.logging.hpel.reader.RepositoryLogRecord;
 import com.ibm.websphere.logging.hpel.reader.RepositoryPointer;
 import com.ibm.websphere.logging.hpel.reader.ServerInstanceLogRecordList;
+import com.ibm.websphere.logging.hpel.reader.filters.LevelFilter;
+import com.ibm.websphere.logging.hpel.reader.filters.MultipleCriteriaFilter;
+import com.ibm.websphere.logging.hpel.reader.filters.ThreadIDFilter;
 import com.ibm.ws.logging.hpel.LogRecordSerializer;
 import com.ibm.ws.logging.hpel.LogRepositoryBrowser;
 import com.ibm.ws.logging.object.hpel.RemoteRepositoryCache;
@@ -43,6 +54,11 @@ public class LogRecordBrowser {
 	/** File browser for the underlying repository */
 	private final LogRepositoryBrowser fileBrowser;
 	
+	/** Number of files following the current one which are read ahead in parallel */
+	private final static int PREFETCH_FILES = 2;
+	/** Seconds a read ahead thread waits for more files before it ends */
+	private final static int PREFETCH_KEEP_ALIVE = 5;
+	
 	/**
 	 * Creates the LogRecordBrowser instance using <code>fileBrowser</code> to find necessary files.
 	 * 
@@ -199,7 +215,12 @@ public class LogRecordBrowser {
 			formatter.deserializeLogRecord(nextRecord, reader);
 			return true;
 		}
-
+		public LogFileIndex.Query getIndexQuery() {
+			return null;
+		}
+		public boolean isThreadSafe() {
+			return true;
+		}
 	
 	}
 	
@@ -219,6 +240,12 @@ public class LogRecordBrowser {
 			}
 			return result;
 		}
+		public LogFileIndex.Query getIndexQuery() {
+			return LogFileIndex.Query.getQuery(filter);
+		}
+		public boolean isThreadSafe() {
+			return isImmutable(filter);
+		}
 
 	}
 	
@@ -235,6 +262,20 @@ public class LogRecordBrowser {
 			formatter.deserializeLogRecord(nextRecord, reader);
 			return filter.accept(nextRecord);
 		}
+		public LogFileIndex.Query getIndexQuery() {
+			return LogFileIndex.Query.getQuery(filter);
+		}
+		public boolean isThreadSafe() {
+			return isImmutable(filter);
+		}
+	}
+	
+	/*
+	 * Filters of this package don't change their state when verifying records and
+	 * can be used by several threads at the same time.
+	 */
+	private static boolean isImmutable(Object filter) {
+		return filter instanceof MultipleCriteriaFilter || filter instanceof LevelFilter || filter instanceof ThreadIDFilter;
 	}
 	
 	/**
@@ -252,6 +293,18 @@ public class LogRecordBrowser {
 		 */
 		boolean filterAccepts(LogRecordSerializer formatter, DataInputStream reader, RepositoryLogRecordImpl nextRecord) throws IOException;		
 		
+		/**
+		 * @return criteria to skip index blocks on or <code>null</code> if index can't be used
+		 * 			to eliminate records for this filter.
+		 */
+		LogFileIndex.Query getIndexQuery();
+		
+		/**
+		 * @return <code>true</code> if this filter can verify records read by several threads
+		 * 			at the same time.
+		 */
+		boolean isThreadSafe();
+		
 	}
 	
 	/**
@@ -343,6 +396,7 @@ public class LogRecordBrowser {
 				current = null;
 			}
 			listIndex = -1;
+			parent.releasePrefetched();
 		}
 		
 		/**
@@ -576,6 +630,10 @@ public class LogRecordBrowser {
 		private final ArrayList<OneFileRecordStatistics> endList = new ArrayList<OneFileRecordStatistics>();
 		private int adjustment = 0; // Index adjustment if cache was set externally using setCache() method.
 		private int total = -1; // The total number of files in the query.
+		/** iterators over files following the current one which are being read in parallel */
+		private final HashMap<Integer, Future<OneFileRecordIterator>> prefetched = new HashMap<Integer, Future<OneFileRecordIterator>>();
+		/** threads reading files ahead of the iterator, created on first use and shut down on release */
+		private ThreadPoolExecutor prefetchExecutor = null;
 		
 		OnePidRecordListImpl(long max, IInternalRecordFilter recFilter) {
 			this.max = max;
@@ -855,14 +913,108 @@ public class LogRecordBrowser {
 			if (stats == null) {
 				return null;
 			}
-			OneFileRecordIterator result = index==0 ? getFirstIterator() : new OneFileRecordIterator(stats.file, max, recFilter);
+			OneFileRecordIterator result = getPrefetched(index, stats.file);
+			if (result == null) {
+				result = index==0 ? getFirstIterator() : new OneFileRecordIterator(stats.file, max, recFilter);
+			}
 			if (result.header == null) {
 				result.header = getHeader();
 			}
+			
+			if (recFilter.isThreadSafe()) {
+				for (int next = index+1; next <= index + PREFETCH_FILES; next++) {
+					prefetch(next);
+				}
+			}
 
 			return result;
 		}
 		
+		/**
+		 * Starts reading records of the <code>index</code>'s file of the query in parallel.
+		 * The file is read until the first record satisfying the query is found.
+		 * 
+		 * @param index index of the file in the result.
+		 */
+		private void prefetch(int index) {
+			Integer key = Integer.valueOf(index);
+			if (prefetched.containsKey(key)) {
+				return;
+			}
+			OneFileRecordStatistics stats = getStatistics(index, false);
+			if (stats == null) {
+				return;
+			}
+			if (prefetchExecutor == null) {
+				// Idle threads end on their own, so a list which is never closed doesn't keep them.
+				prefetchExecutor = new ThreadPoolExecutor(PREFETCH_FILES, PREFETCH_FILES, PREFETCH_KEEP_ALIVE, TimeUnit.SECONDS,
+						new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+					public Thread newThread(Runnable r) {
+						Thread thread = new Thread(r, "HPEL reader");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+				prefetchExecutor.allowCoreThreadTimeOut(true);
+			}
+			final File file = stats.file;
+			prefetched.put(key, prefetchExecutor.submit(new Callable<OneFileRecordIterator>() {
+				public OneFileRecordIterator call() {
+					OneFileRecordIterator result = new OneFileRecordIterator(file, max, recFilter);
+					result.hasNext();
+					return result;
+				}
+			}));
+		}
+		
+		/**
+		 * Returns iterator read in parallel for the <code>index</code>'s file of the query.
+		 * 
+		 * @param index index of the file in the result.
+		 * @param file the file the iterator should be reading.
+		 * @return iterator over the file or <code>null</code> if it wasn't read in parallel.
+		 */
+		private OneFileRecordIterator getPrefetched(int index, File file) {
+			Future<OneFileRecordIterator> future = prefetched.remove(Integer.valueOf(index));
+			if (future == null) {
+				return null;
+			}
+			try {
+				OneFileRecordIterator result = future.get();
+				if (file.equals(result.file)) {
+					return result;
+				}
+				result.close();
+			} catch (InterruptedException ex) {
+				future.cancel(true);
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException ex) {
+				// Fall through to read the file in the current thread.
+			}
+			return null;
+		}
+		
+		/**
+		 * Releases files opened to read records in parallel and stops the threads
+		 * reading them.
+		 */
+		void releasePrefetched() {
+			for (Future<OneFileRecordIterator> future: prefetched.values()) {
+				if (!future.cancel(false)) {
+					try {
+						future.get().close();
+					} catch (Exception ex) {
+						// Nothing to release.
+					}
+				}
+			}
+			prefetched.clear();
+			if (prefetchExecutor != null) {
+				prefetchExecutor.shutdown();
+				prefetchExecutor = null;
+			}
+		}
+		
 		/**
 		 * Returns first file iterator.
 		 * 
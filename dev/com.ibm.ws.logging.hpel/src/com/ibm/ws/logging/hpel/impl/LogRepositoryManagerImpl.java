@@ -400,6 +400,10 @@ public class LogRepositoryManagerImpl extends LogRepositoryBaseImpl implements L
 		if (AccessHelper.deleteFile(returnFD.file)) {
 			fileList.remove(returnFD) ;
 			totalSize -= returnFD.size;
+			File indexFile = LogFileIndex.getIndexFile(returnFD.file);
+			if (AccessHelper.isFile(indexFile)) {
+				AccessHelper.deleteFile(indexFile);
+			}
 			if (debugLogger.isLoggable(Level.FINE) && LogRepositoryBaseImpl.isDebugEnabled()) {
 				debugLogger.logp(Level.FINE, thisClass, "purgeOldestFile", "delete: "+returnFD.file.getName());
 			}
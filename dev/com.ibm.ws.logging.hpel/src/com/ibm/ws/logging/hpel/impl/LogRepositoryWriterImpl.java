@@ -42,9 +42,11 @@ public class LogRepositoryWriterImpl implements LogRepositoryWriter {
 	private byte[] headerBytes = null;  // value 'null' means that writer is closed.
 	private int outOfSpaceAction = 0;
 	protected boolean bufferingEnabled = true;
+	protected boolean compressionEnabled = false;
 
 
 	private LogFileWriter writer = null;
+	private LogFileIndex.Builder indexBuilder = null;	// index of the records in the current file.
 	private int index = 0;	// index of a record in a file. -1 means that
 							// close() was already issued.
 
@@ -108,10 +110,19 @@ public class LogRepositoryWriterImpl implements LogRepositoryWriter {
 		this.bufferingEnabled = bufferingEnabled;
 	}
 
+	/**
+	 * Sets new compressionEnabled. The change takes effect on the next file.
+	 *
+	 * @param compressionEnabled indicator if new files should be written in blocks of compressed records.
+	 */
+	public synchronized void setCompressionEnabled(boolean compressionEnabled) {
+		this.compressionEnabled = compressionEnabled;
+	}
+
 	private synchronized void switchFile(){
 		if (writer != null){
 			try{
-				writer.close(headerBytes);
+				closeWriter();
 				index = 0;
 				writer = null;
 			}
@@ -152,15 +163,19 @@ public class LogRepositoryWriterImpl implements LogRepositoryWriter {
 				if (index > 0) {
 					File next = manager.checkForNewFile(writer.checkTotal(bytes, headerBytes), timestamp);
 					if (next != null) {
-						writer.close(headerBytes);
+						closeWriter();
 						index = 0;
 						writer = createNewWriter(next);
 						writer.write(headerBytes);
+						startIndex();
 						manager.notifyOfFileAction(LogEventListener.EVENTTYPEROLL) ;
 					}
 				}
 
 				writer.write(bytes);
+				if (indexBuilder != null) {
+					indexBuilder.add(bytes);
+				}
 				writer.flush();
 				index++;
 
@@ -214,6 +229,7 @@ public class LogRepositoryWriterImpl implements LogRepositoryWriter {
 		if (writer == null && headerBytes != null) {
 			writer = createNewWriter(manager.startNewFile(timestamp));
 			writer.write(headerBytes);
+			startIndex();
 			manager.notifyOfFileAction(LogEventListener.EVENTTYPEROLL) ;
 		}
 	}
@@ -224,7 +240,7 @@ public class LogRepositoryWriterImpl implements LogRepositoryWriter {
 	public synchronized void stop() {
 		if (writer != null) {
 			try {
-				writer.close(headerBytes);
+				closeWriter();
 				writer = null;
 			} catch (IOException ex) {
 				// No need to crash on this error even if the tail won't be written
@@ -239,6 +255,32 @@ public class LogRepositoryWriterImpl implements LogRepositoryWriter {
 		//manager.stop();
 	}
 
+	/**
+	 * Starts collecting index of the records written into the new file. Index is
+	 * kept only for files written directly to disk.
+	 */
+	private void startIndex() {
+		indexBuilder = writer instanceof LogFileWriterImpl || writer instanceof CompressedLogFileWriterImpl ?
+				LogFileIndex.Builder.create(headerBytes) : null;
+	}
+
+	/**
+	 * Closes current file and writes index of its records.
+	 */
+	private void closeWriter() throws IOException {
+		File file = writer.currentFile();
+		LogFileIndex.Builder builder = indexBuilder;
+		indexBuilder = null;
+		writer.close(headerBytes);
+		if (builder != null) {
+			try {
+				builder.write(file, headerBytes);
+			} catch (IOException ex) {
+				// Readers fall back to reading the file without the index.
+			}
+		}
+	}
+
 	/**
 	 * Creates new instance of a writer to write into given file.
 	 *
@@ -248,6 +290,9 @@ public class LogRepositoryWriterImpl implements LogRepositoryWriter {
 	 * @see LogFileWriter
 	 */
 	protected LogFileWriter createNewWriter(File file) throws IOException {
+		if (compressionEnabled) {
+			return new CompressedLogFileWriterImpl(file, bufferingEnabled);
+		}
 		return new LogFileWriterImpl(file, bufferingEnabled);
 	}
 
@@ -49,6 +49,16 @@ public class OneFileBrowserImpl implements LogRepositoryBrowser {
             return true;
         }
 
+        @Override
+        public LogFileIndex.Query getIndexQuery() {
+            return null;
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+
     }
 
     public OneFileBrowserImpl(File repositoryLocation) throws IllegalArgumentException {
@@ -47,6 +47,10 @@ public abstract class OneLogFileRecordIterator implements Iterator<RepositoryLog
 	protected final LogFileReader reader;
 	/** next record available in the file to return in next() method */
 	private RepositoryLogRecordImpl nextRecord = null;
+	/** index of the records in the file, <code>null</code> if file has no valid index */
+	private LogFileIndex index = null;
+	/** criteria to skip index blocks on, <code>null</code> if all blocks need to be read */
+	private LogFileIndex.Query query = null;
 	
 	private final static LogFileReader DUMMY_READER = new LogFileReader() {
 		public void close() throws IOException {
@@ -115,6 +119,11 @@ public abstract class OneLogFileRecordIterator implements Iterator<RepositoryLog
 		
 		try {
 			header = readHeaderRecord(true);
+			// Index is trusted only when the file starts with a valid header.
+			index = LogFileIndex.read(file, reader.length());
+			if (index != null) {
+				query = recFilter.getIndexQuery();
+			}
 		} catch (IOException ex) {
 			logger.logp(Level.SEVERE, className, "OneLogFileRecordIterator", "HPEL_NoHeaderRecordInFileHead",
 					new String[] {file.getAbsolutePath(), ex.getMessage()});
@@ -370,6 +379,13 @@ public abstract class OneLogFileRecordIterator implements Iterator<RepositoryLog
 			if (verifyMin(record)) {
 				return true;
 			}
+			if (index != null) {
+				long position = setPositionByIndex();
+				if (position >= 0) {
+					min = position;
+					return true;
+				}
+			}
 			reader.seek(max);
 			long nextPosition = seekToPrevRecord(formatter);
 			max = nextPosition;
@@ -414,6 +430,55 @@ public abstract class OneLogFileRecordIterator implements Iterator<RepositoryLog
 		return false;
 	}
 	
+	/**
+	 * Finds position of the index block containing the first record satisfying the
+	 * verifyMin() condition. Only starts of the blocks are read which avoids searching
+	 * for eye catchers.
+	 * @return position of the block or -1 if index does not match records in the file.
+	 */
+	private long setPositionByIndex() throws IOException {
+		int low = 0;
+		int high = index.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			RepositoryLogRecordImpl record = readTime(index.getOffset(mid));
+			if (record == null) {
+				logger.logp(Level.FINE, className, "setPositionByIndex", "Index does not match records in {0}", file);
+				index = null;
+				return -1L;
+			}
+			if (verifyMin(record)) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+		// First record of the block 'low' satisfies condition, earlier records in the previous block may as well.
+		return index.getOffset(low > 0 ? low - 1 : 0);
+	}
+	
+	/**
+	 * Reads time information of the record at the position.
+	 * @return record with time information or <code>null</code> if there's no record at the position.
+	 */
+	private RepositoryLogRecordImpl readTime(long position) throws IOException {
+		reader.seek(position);
+		int recSize = reader.readLength();
+		if (recSize < 0 || position + recSize + 8 > reader.length()) {
+			return null;
+		}
+		DataInputStream input = readRecord(recSize);
+		try {
+			if (LogRecordSerializer.RECORD != formatter.getType(input)) {
+				return null;
+			}
+			return formatter.deserializeLogTime(input);
+		} catch (IOException ex) {
+			// Bytes at the position are not a record.
+			return null;
+		}
+	}
+	
 	public boolean hasNext() {
 		if (nextRecord == null) {
 			nextRecord = getNext(-1);
@@ -478,6 +543,17 @@ public abstract class OneLogFileRecordIterator implements Iterator<RepositoryLog
 					if (position + 8 >= fileSize) {
 						break;
 					}
+					// Skip index blocks which can't have records satisfying the query.
+					if (query != null && index != null) {
+						long next = index.skip(position, query);
+						if (next != position) {
+							position = next;
+							if (position + 8 >= fileSize) {
+								break;
+							}
+							reader.seek(position);
+						}
+					}
 					// Read the length of the next record.
 					recSize = reader.readLength();
 
@@ -706,7 +782,7 @@ public abstract class OneLogFileRecordIterator implements Iterator<RepositoryLog
 	 * @throws IOException
 	 */
 	protected LogFileReader createNewReader(File file) throws IOException {
-		return new LogFileReaderImpl(file);
+		return LogFileReaderImpl.createReader(file);
 	}
 	
 	/**
@@ -720,6 +796,9 @@ public abstract class OneLogFileRecordIterator implements Iterator<RepositoryLog
 		if (other instanceof LogFileReaderImpl) {
 			return new LogFileReaderImpl((LogFileReaderImpl)other);
 		}
+		if (other instanceof CompressedLogFileReaderImpl) {
+			return new CompressedLogFileReaderImpl((CompressedLogFileReaderImpl)other);
+		}
 		throw new IOException("Instance of the " + other.getClass().getName() + " is not clonable by " + OneLogFileRecordIterator.class.getName() + ".");
 	}
 	
@@ -28,6 +28,7 @@ public interface HpelConstants {
     String PURGE_MAXSIZE = "purgeMaxSize"; // MB or -1* to disable
     String PURGE_MINTIME = "purgeMinTime"; // Hours or -1* to disable
     String BUFFERING = "bufferingEnabled"; // Boolean (true is default)
+    String COMPRESSION = "compressionEnabled"; // Boolean (false is default)
     String OUTOFSPACE_ACTION = "outOfSpaceAction"; // HpelTraceServiceConfig.OutOfSpaceAction
     String FILESWITCH_TIME = "fileSwitchTime"; // Hour 0*-23 or -1 to disable
 
@@ -162,6 +162,7 @@ public class HpelTraceServiceConfig extends LogProviderConfigImpl {
         int ivPurgeMinTime = -1; // in hours, disabled until configuration applied
         OutOfSpaceAction ivOutOfSpaceAction = OutOfSpaceAction.StopLogging;
         boolean ivBufferingEnabled = true;
+        boolean ivCompressionEnabled = false;
         int ivFileSwitchTime = -1; // Hour of the day
 
         LogState(String prefix) {
@@ -233,6 +234,13 @@ public class HpelTraceServiceConfig extends LogProviderConfigImpl {
                 ivBufferingEnabled = Boolean.valueOf((String) obj);
             }
 
+            obj = config.get(prefix + HpelConstants.COMPRESSION);
+            if (obj instanceof Boolean) {
+                ivCompressionEnabled = ((Boolean) obj).booleanValue();
+            } else if (obj instanceof String) {
+                ivCompressionEnabled = Boolean.valueOf((String) obj);
+            }
+
             obj = config.get(prefix + HpelConstants.FILESWITCH_TIME);
             ivFileSwitchTime = LoggingConfigUtils.getIntValue(obj, ivFileSwitchTime);
         }
@@ -243,6 +251,7 @@ public class HpelTraceServiceConfig extends LogProviderConfigImpl {
             sb.append(prefix).append(HpelConstants.PURGE_MINTIME).append("=").append(Long.toString(ivPurgeMinTime)).append(",");
             sb.append(prefix).append(HpelConstants.OUTOFSPACE_ACTION).append("=").append(ivOutOfSpaceAction.toString()).append(",");
             sb.append(prefix).append(HpelConstants.BUFFERING).append("=").append(Boolean.toString(ivBufferingEnabled)).append(",");
+            sb.append(prefix).append(HpelConstants.COMPRESSION).append("=").append(Boolean.toString(ivCompressionEnabled)).append(",");
             sb.append(prefix).append(HpelConstants.FILESWITCH_TIME).append("=").append(Integer.toString(ivFileSwitchTime));
         }
 
@@ -253,6 +262,7 @@ public class HpelTraceServiceConfig extends LogProviderConfigImpl {
             int result = 1;
             result = prime * result + getOuterType().hashCode();
             result = prime * result + (ivBufferingEnabled ? 1231 : 1237);
+            result = prime * result + (ivCompressionEnabled ? 1231 : 1237);
             result = prime * result + ((ivDataDirectory == null) ? 0 : ivDataDirectory.hashCode());
             result = prime * result + ivFileSwitchTime;
             result = prime * result + ((ivOutOfSpaceAction == null) ? 0 : ivOutOfSpaceAction.hashCode());
@@ -275,6 +285,8 @@ public class HpelTraceServiceConfig extends LogProviderConfigImpl {
                 return false;
             if (ivBufferingEnabled != other.ivBufferingEnabled)
                 return false;
+            if (ivCompressionEnabled != other.ivCompressionEnabled)
+                return false;
             if (ivDataDirectory == null) {
                 if (other.ivDataDirectory != null)
                     return false;
@@ -175,6 +175,7 @@ public class HpelTraceServiceWriter {
             }
 
             logWriter.setBufferingEnabled(config.ivLog.ivBufferingEnabled);
+            logWriter.setCompressionEnabled(config.ivLog.ivCompressionEnabled);
             logWriter.setOutOfSpaceAction(config.ivLog.ivOutOfSpaceAction.ordinal());
             if (isNewLog || currentLogState == null || currentLogState.ivFileSwitchTime != config.ivLog.ivFileSwitchTime) {
                 if (currentLogState != null) {
@@ -191,6 +192,7 @@ public class HpelTraceServiceWriter {
             }
 
             writer.setBufferingEnabled(config.ivTrace.ivBufferingEnabled);
+            writer.setCompressionEnabled(config.ivTrace.ivCompressionEnabled);
             writer.setOutOfSpaceAction(config.ivTrace.ivOutOfSpaceAction.ordinal());
             if (isNewTrace || currentTraceState == null || currentTraceState.ivFileSwitchTime != config.ivTrace.ivFileSwitchTime) {
                 if (currentTraceState != null) {
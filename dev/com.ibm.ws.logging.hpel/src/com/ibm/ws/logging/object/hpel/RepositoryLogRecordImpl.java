@@ -286,6 +286,13 @@ public class RepositoryLogRecordImpl implements RepositoryLogRecord {
 		return Level.parse(Integer.toString(level));
 	}
 
+	/**
+	 * @return the integer value of the level without parsing it into a Level instance.
+	 */
+	public int getLevelValue() {
+		return level;
+	}
+
 	/**
 	 * @param level the level to set.
 	 */
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.logging.hpel.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Level;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ibm.websphere.logging.hpel.reader.RepositoryLogRecord;
+import com.ibm.websphere.logging.hpel.reader.RepositoryPointer;
+import com.ibm.ws.logging.hpel.LogFileReader;
+import com.ibm.ws.logging.hpel.LogRecordSerializer;
+import com.ibm.ws.logging.hpel.impl.LogRecordBrowser.IInternalRecordFilter;
+import com.ibm.ws.logging.object.hpel.RepositoryLogRecordImpl;
+
+public class CompressedLogFileTest {
+    private static final int RECORDS = 5000;
+
+    private final LogRecordSerializer formatter = new BinaryLogRecordSerializerVersion2Impl();
+    private final IInternalRecordFilter acceptAll = new IInternalRecordFilter() {
+        @Override
+        public boolean filterAccepts(LogRecordSerializer formatter, DataInputStream reader, RepositoryLogRecordImpl nextRecord) throws IOException {
+            formatter.deserializeLogHead(nextRecord, reader);
+            formatter.deserializeLogRecord(nextRecord, reader);
+            return true;
+        }
+
+        @Override
+        public LogFileIndex.Query getIndexQuery() {
+            return null;
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+    };
+
+    private File file;
+    private byte[] headerBytes;
+    private long uncompressedLength;
+
+    @Before
+    public void createFile() throws IOException {
+        file = File.createTempFile("hpel", LogRepositoryBaseImpl.EXTENSION);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        formatter.serializeFileHeader(new Properties(), new DataOutputStream(bytes));
+        headerBytes = bytes.toByteArray();
+    }
+
+    @After
+    public void deleteFile() {
+        file.delete();
+    }
+
+    /**
+     * Writes header and records into the file, closes the file only if <code>close</code> is set.
+     */
+    private void writeFile(boolean close) throws IOException {
+        CompressedLogFileWriterImpl writer = new CompressedLogFileWriterImpl(file, false);
+        writer.write(headerBytes);
+        uncompressedLength = headerBytes.length + 8;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (int i = 0; i < RECORDS; i++) {
+            RepositoryLogRecordImpl record = new RepositoryLogRecordImpl();
+            record.setMillis(1000L + i);
+            record.setInternalSeqNumber(i);
+            record.setLevel(Level.INFO.intValue());
+            record.setThreadID(1);
+            record.setLoggerName("test");
+            record.setMessage("message " + i);
+            bytes.reset();
+            formatter.serialize(record, new DataOutputStream(bytes));
+            writer.write(bytes.toByteArray());
+            uncompressedLength += bytes.size() + 8;
+        }
+        if (close) {
+            writer.close(headerBytes);
+            uncompressedLength += headerBytes.length + 8;
+        } else {
+            writer.flush();
+        }
+    }
+
+    private List<Long> readAll(long position) {
+        OneLogFileRecordIterator it = new OneLogFileRecordIterator(file, -1, acceptAll) {
+            @Override
+            protected RepositoryPointer getPointer(File file, long position) {
+                return null;
+            }
+        };
+        List<Long> result = new ArrayList<Long>();
+        if (position >= 0) {
+            it.setPosition(position);
+        }
+        RepositoryLogRecord record;
+        while ((record = it.next()) != null) {
+            result.add(Long.valueOf(record.getMillis() - 1000L));
+        }
+        it.close();
+        return result;
+    }
+
+    @Test
+    public void testReadClosedFile() throws Exception {
+        writeFile(true);
+        Assert.assertTrue("File was not compressed", file.length() < uncompressedLength / 2);
+
+        LogFileReader reader = LogFileReaderImpl.createReader(file);
+        Assert.assertTrue(reader instanceof CompressedLogFileReaderImpl);
+        Assert.assertEquals(uncompressedLength, reader.length());
+        reader.close();
+
+        List<Long> records = readAll(-1);
+        Assert.assertEquals(RECORDS, records.size());
+        for (int i = 0; i < RECORDS; i++) {
+            Assert.assertEquals(i, records.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void testSeek() throws Exception {
+        writeFile(true);
+
+        // Find position of a record in the middle of the file
+        OneLogFileRecordIterator it = new OneLogFileRecordIterator(file, -1, acceptAll) {
+            @Override
+            protected RepositoryPointer getPointer(File file, long position) {
+                return null;
+            }
+        };
+        long position = -1;
+        for (int i = 0; i < RECORDS / 2; i++) {
+            position = it.getPosition();
+            Assert.assertNotNull(it.next());
+        }
+        it.close();
+
+        List<Long> records = readAll(position);
+        Assert.assertEquals(RECORDS - RECORDS / 2 + 1, records.size());
+        Assert.assertEquals(RECORDS / 2 - 1, records.get(0).intValue());
+    }
+
+    @Test
+    public void testReadUnclosedFile() throws Exception {
+        writeFile(false);
+        // Simulate an incomplete block at the end.
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.seek(raf.length());
+        raf.writeInt(CompressedLogFileWriterImpl.BLOCK_SIZE);
+        raf.writeInt(1000);
+        raf.close();
+
+        List<Long> records = readAll(-1);
+        Assert.assertEquals(RECORDS, records.size());
+        Assert.assertEquals(RECORDS - 1, records.get(RECORDS - 1).intValue());
+    }
+}
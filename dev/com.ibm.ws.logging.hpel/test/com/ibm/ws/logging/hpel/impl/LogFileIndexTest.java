@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.logging.hpel.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Level;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ibm.websphere.logging.hpel.reader.LogQueryBean;
+import com.ibm.websphere.logging.hpel.reader.RepositoryLogRecord;
+import com.ibm.websphere.logging.hpel.reader.RepositoryPointer;
+import com.ibm.websphere.logging.hpel.reader.filters.MultipleCriteriaFilter;
+import com.ibm.ws.logging.hpel.LogRecordSerializer;
+import com.ibm.ws.logging.hpel.impl.LogRecordBrowser.IInternalRecordFilter;
+import com.ibm.ws.logging.object.hpel.RepositoryLogRecordImpl;
+
+public class LogFileIndexTest {
+    private static final int RECORDS = 200;
+    private static final long START = 1000L;
+
+    private final LogRecordSerializer formatter = new BinaryLogRecordSerializerVersion2Impl();
+    private File file;
+
+    /**
+     * Writes a file with INFO records of thread 1 in the first block, of thread 2 in the rest,
+     * and SEVERE records in the third block.
+     */
+    @Before
+    public void writeFile() throws IOException {
+        file = File.createTempFile("hpel", LogRepositoryBaseImpl.EXTENSION);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        formatter.serializeFileHeader(new Properties(), new DataOutputStream(bytes));
+        byte[] headerBytes = bytes.toByteArray();
+
+        LogFileWriterImpl writer = new LogFileWriterImpl(file, false);
+        writer.write(headerBytes);
+        LogFileIndex.Builder builder = LogFileIndex.Builder.create(headerBytes);
+        Assert.assertNotNull(builder);
+        for (int i = 0; i < RECORDS; i++) {
+            RepositoryLogRecordImpl record = new RepositoryLogRecordImpl();
+            record.setMillis(START + i);
+            record.setInternalSeqNumber(i);
+            record.setLevel(i >= 130 && i < 136 ? Level.SEVERE.intValue() : Level.INFO.intValue());
+            record.setThreadID(i < LogFileIndex.BLOCK_SIZE ? 1 : 2);
+            record.setLoggerName("test");
+            record.setMessage("message " + i);
+            bytes.reset();
+            formatter.serialize(record, new DataOutputStream(bytes));
+            writer.write(bytes.toByteArray());
+            builder.add(bytes.toByteArray());
+        }
+        writer.close(headerBytes);
+        builder.write(file, headerBytes);
+    }
+
+    @After
+    public void deleteFile() {
+        LogFileIndex.getIndexFile(file).delete();
+        file.delete();
+    }
+
+    private static LogFileIndex.Query getQuery(LogQueryBean bean) {
+        return LogFileIndex.Query.getQuery(new MultipleCriteriaFilter(bean));
+    }
+
+    @Test
+    public void testSkip() throws Exception {
+        LogFileIndex index = LogFileIndex.read(file, file.length());
+        Assert.assertNotNull(index);
+        Assert.assertEquals((RECORDS + LogFileIndex.BLOCK_SIZE - 1) / LogFileIndex.BLOCK_SIZE, index.size());
+        long first = index.getOffset(0);
+
+        Assert.assertNull(getQuery(new LogQueryBean()));
+
+        LogQueryBean bean = new LogQueryBean();
+        bean.setLevels(Level.SEVERE, Level.SEVERE);
+        Assert.assertEquals(index.getOffset(2), index.skip(first, getQuery(bean)));
+        // Position inside of a block is never skipped.
+        Assert.assertEquals(first + 1, index.skip(first + 1, getQuery(bean)));
+
+        bean = new LogQueryBean();
+        bean.setTime(new Date(START + 150), null);
+        Assert.assertEquals(index.getOffset(2), index.skip(first, getQuery(bean)));
+
+        bean = new LogQueryBean();
+        bean.setThreadIDs(new int[] { 1 });
+        Assert.assertEquals(first, index.skip(first, getQuery(bean)));
+        Assert.assertTrue(index.skip(index.getOffset(1), getQuery(bean)) > index.getOffset(index.size() - 1));
+    }
+
+    @Test
+    public void testStaleIndex() {
+        Assert.assertNull(LogFileIndex.read(file, file.length() + 1));
+    }
+
+    @Test
+    public void testIterator() {
+        final LogQueryBean bean = new LogQueryBean();
+        bean.setLevels(Level.SEVERE, null);
+        final MultipleCriteriaFilter filter = new MultipleCriteriaFilter(bean);
+        IInternalRecordFilter recFilter = new IInternalRecordFilter() {
+            @Override
+            public boolean filterAccepts(LogRecordSerializer formatter, DataInputStream reader, RepositoryLogRecordImpl nextRecord) throws IOException {
+                formatter.deserializeLogHead(nextRecord, reader);
+                formatter.deserializeLogRecord(nextRecord, reader);
+                return filter.accept(nextRecord);
+            }
+
+            @Override
+            public LogFileIndex.Query getIndexQuery() {
+                return LogFileIndex.Query.getQuery(filter);
+            }
+
+            @Override
+            public boolean isThreadSafe() {
+                return true;
+            }
+        };
+
+        OneLogFileRecordIterator it = new OneLogFileRecordIterator(file, -1, recFilter) {
+            @Override
+            protected RepositoryPointer getPointer(File file, long position) {
+                return null;
+            }
+        };
+        List<Long> found = new ArrayList<Long>();
+        RepositoryLogRecord record;
+        while ((record = it.next()) != null) {
+            found.add(Long.valueOf(record.getMillis() - START));
+        }
+        it.close();
+        Assert.assertEquals("[130, 131, 132, 133, 134, 135]", found.toString());
+    }
+
+    @Test
+    public void testSetPositionByMin() {
+        IInternalRecordFilter recFilter = new IInternalRecordFilter() {
+            @Override
+            public boolean filterAccepts(LogRecordSerializer formatter, DataInputStream reader, RepositoryLogRecordImpl nextRecord) throws IOException {
+                formatter.deserializeLogHead(nextRecord, reader);
+                formatter.deserializeLogRecord(nextRecord, reader);
+                return true;
+            }
+
+            @Override
+            public LogFileIndex.Query getIndexQuery() {
+                return null;
+            }
+
+            @Override
+            public boolean isThreadSafe() {
+                return true;
+            }
+        };
+
+        OneLogFileRecordIterator it = new OneLogFileRecordIterator(file, START + 170, recFilter) {
+            @Override
+            protected boolean verifyMin(RepositoryLogRecordImpl record) {
+                return record.getMillis() >= START + 100;
+            }
+
+            @Override
+            protected RepositoryPointer getPointer(File file, long position) {
+                return null;
+            }
+        };
+        int count = 0;
+        RepositoryLogRecord record = it.next();
+        Assert.assertEquals(START + 100, record.getMillis());
+        while (record != null) {
+            count++;
+            record = it.next();
+        }
+        it.close();
+        Assert.assertEquals(71, count);
+    }
+}
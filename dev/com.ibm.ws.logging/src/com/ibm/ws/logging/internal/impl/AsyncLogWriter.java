@@ -0,0 +1,337 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.logging.internal.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import com.ibm.websphere.ras.Tr;
+import com.ibm.ws.logging.internal.TraceSpecification;
+import com.ibm.ws.logging.internal.impl.BaseTraceService.TraceWriter;
+import com.ibm.ws.logging.internal.impl.LoggingConstants.AsyncOverflowPolicy;
+
+/**
+ * Writes pre-formatted records to trace writers on a dedicated thread.
+ * <p>
+ * Threads producing log and trace records add them to a bounded ring buffer
+ * without taking a lock: a slot is claimed with a compare-and-set of the tail
+ * sequence, and is published by advancing the sequence number of the slot.
+ * A single writer thread removes records in batches and writes them, in order,
+ * to their trace writers (messages.log, trace.log, or the console).
+ * <p>
+ * When the buffer is full, the {@link AsyncOverflowPolicy} decides whether the
+ * producing thread waits for space or the record is dropped. Dropped records are
+ * counted, and the count is reported by a warning message.
+ * <p>
+ * Records written by the writer thread itself (for example, messages issued
+ * while rolling a log file) and records written after the writer is stopped
+ * are written directly.
+ */
+public class AsyncLogWriter implements Runnable {
+
+    /** The most records the writer thread writes between checks for dropped records. */
+    static final int MAX_BATCH = 256;
+
+    /** How long the writer thread sleeps when no records are queued, if it is not woken sooner. */
+    static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /** How long a producer waits for space in a full buffer before trying again. */
+    static final long FULL_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /** The longest a flush waits for queued records to be written. */
+    static final long FLUSH_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    /** The shortest interval between reports of dropped records. */
+    static final long DROP_REPORT_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /** The writer which is currently active, if any. See {@link #flushActive()}. */
+    private static volatile AsyncLogWriter active;
+
+    private final int capacity;
+    private final int mask;
+
+    /**
+     * Slot sequence numbers: a slot whose sequence equals a tail position is free
+     * for that position; a slot whose sequence is one more than a head position
+     * holds the record for that position.
+     */
+    private final AtomicLongArray sequences;
+    private final TraceWriter[] targets;
+    private final String[] records;
+
+    /** The next position to be claimed by a producer. */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** The next position to be written. Only updated by the writer thread. */
+    private volatile long head = 0;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+    private long lastDropReport = System.nanoTime() - DROP_REPORT_INTERVAL_NANOS;
+
+    private volatile AsyncOverflowPolicy overflowPolicy;
+
+    private final Thread writerThread;
+    private volatile boolean writerWaiting = false;
+    private volatile boolean stopped = false;
+
+    /**
+     * @param queueSize the number of records which may be queued; rounded up to a power of two
+     * @param overflowPolicy what to do with records which are written when the queue is full
+     */
+    public AsyncLogWriter(int queueSize, AsyncOverflowPolicy overflowPolicy) {
+        int size = capacityFor(queueSize);
+        this.capacity = size;
+        this.mask = size - 1;
+
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.targets = new TraceWriter[size];
+        this.records = new String[size];
+
+        this.overflowPolicy = overflowPolicy;
+
+        writerThread = new Thread(this, "Log writer");
+        writerThread.setDaemon(true);
+        writerThread.setContextClassLoader(AsyncLogWriter.class.getClassLoader());
+    }
+
+    /**
+     * Start the writer thread. This writer becomes the active writer.
+     */
+    public void start() {
+        writerThread.start();
+        active = this;
+    }
+
+    /**
+     * Stop the writer thread, after it writes all queued records. Records written
+     * after this call are written directly.
+     */
+    public void stop() {
+        if (active == this) {
+            active = null;
+        }
+
+        stopped = true;
+        LockSupport.unpark(writerThread);
+
+        if (Thread.currentThread() != writerThread) {
+            try {
+                writerThread.join(TimeUnit.NANOSECONDS.toMillis(FLUSH_TIMEOUT_NANOS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // Pick up anything added while the writer thread was finishing
+        if (!writerThread.isAlive()) {
+            drain(Integer.MAX_VALUE);
+        }
+        reportDropped(true);
+    }
+
+    /**
+     * @return the capacity of a writer created with the given queue size
+     */
+    public static int capacityFor(int queueSize) {
+        int size = 2;
+        while (size < queueSize && size < (1 << 30)) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public AsyncOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(AsyncOverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * @return the number of records dropped and not yet reported
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Queue a record to be written to a trace writer.
+     *
+     * @param target the writer to receive the record
+     * @param record the formatted record
+     * @param isTrace true if the record is a trace record, which may be dropped
+     *            by the {@link AsyncOverflowPolicy#DROP_TRACE} policy
+     */
+    public void write(TraceWriter target, String record, boolean isTrace) {
+        if (stopped || Thread.currentThread() == writerThread) {
+            target.writeRecord(record);
+            return;
+        }
+
+        while (!offer(target, record)) {
+            AsyncOverflowPolicy policy = overflowPolicy;
+            if (policy == AsyncOverflowPolicy.DROP || (isTrace && policy == AsyncOverflowPolicy.DROP_TRACE)) {
+                droppedCount.incrementAndGet();
+                return;
+            }
+            if (stopped) {
+                target.writeRecord(record);
+                return;
+            }
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(this, FULL_WAIT_NANOS);
+        }
+
+        if (writerWaiting) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    /**
+     * Claim a slot and publish a record to it.
+     *
+     * @return false if the buffer is full
+     */
+    private boolean offer(TraceWriter target, String record) {
+        long pos = tail.get();
+        int index;
+        while (true) {
+            index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false; // the writer has not yet freed this slot
+            } else {
+                pos = tail.get(); // another producer claimed this position
+            }
+        }
+
+        targets[index] = target;
+        records[index] = record;
+        sequences.set(index, pos + 1);
+        return true;
+    }
+
+    /**
+     * Write queued records. Only called by the writer thread, or when the
+     * writer thread is no longer running.
+     *
+     * @return the number of records written
+     */
+    private int drain(int max) {
+        int count = 0;
+        long pos = head;
+        while (count < max) {
+            int index = (int) (pos & mask);
+            if (sequences.get(index) != pos + 1) {
+                break; // empty, or the producer has not finished publishing
+            }
+
+            TraceWriter target = targets[index];
+            String record = records[index];
+            targets[index] = null;
+            records[index] = null;
+            sequences.set(index, pos + capacity);
+            head = ++pos;
+            count++;
+
+            try {
+                target.writeRecord(record);
+            } catch (RuntimeException e) {
+                // Keep going: a failure to write one record must not stop logging
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Wait until the records queued before this call have been written, or
+     * until a timeout expires.
+     */
+    public void flush() {
+        if (Thread.currentThread() == writerThread) {
+            return; // already writing
+        }
+
+        long target = tail.get();
+        long deadline = System.nanoTime() + FLUSH_TIMEOUT_NANOS;
+        while (head < target && writerThread.isAlive() && System.nanoTime() - deadline < 0) {
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(this, FULL_WAIT_NANOS);
+        }
+    }
+
+    /**
+     * Flush the active writer, if there is one. Used by FFDC to ensure the trace
+     * which precedes an incident is written before the incident is reported.
+     */
+    public static void flushActive() {
+        AsyncLogWriter writer = active;
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            int count = drain(MAX_BATCH);
+            reportDropped(false);
+
+            if (count == 0) {
+                if (stopped) {
+                    // One last pass: a producer may have published after the check above
+                    drain(Integer.MAX_VALUE);
+                    return;
+                }
+
+                writerWaiting = true;
+                if (sequences.get((int) (head & mask)) != head + 1 && !stopped) {
+                    LockSupport.parkNanos(this, IDLE_WAIT_NANOS);
+                }
+                writerWaiting = false;
+            }
+        }
+    }
+
+    /**
+     * Issue a warning if records were dropped. Warnings are issued at most once
+     * a minute, unless forced.
+     */
+    private void reportDropped(boolean force) {
+        if (droppedCount.get() == 0) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (force || now - lastDropReport >= DROP_REPORT_INTERVAL_NANOS) {
+            lastDropReport = now;
+            long count = droppedCount.getAndSet(0);
+            if (count > 0) {
+                Tr.warning(TraceSpecification.getTc(), "ASYNC_LOG_RECORDS_DROPPED", count, capacity);
+            }
+        }
+    }
+}
@@ -235,6 +235,9 @@ public class BaseFFDCService implements FFDCFilterService {
      */
     @FFDCIgnore(PrivilegedActionException.class)
     private void log(String sourceId, String probeId, Throwable th, Object callerThis, Object[] objectArray) {
+        // Make sure the trace leading up to the incident is written first
+        AsyncLogWriter.flushActive();
+
         IncidentImpl incident = getIncident(sourceId, probeId, th, callerThis, objectArray);
         incident.log(th, callerThis, objectArray);
         if (System.getSecurityManager() == null) {
@@ -151,6 +151,9 @@ public class BaseTraceService implements TrService {
     /** Writer sending messages to trace.log */
     protected volatile TraceWriter traceLog = null;
 
+    /** When asynchronous logging is enabled, writes records to messages.log, trace.log and the console on a dedicated thread */
+    protected volatile AsyncLogWriter asyncWriter = null;
+
     /** A PrintStream that tees to the original System.out and to our logs. */
     protected TeePrintStream teeOut = null;
     /** A PrintStream that tees to the original System.err and to our logs. */
@@ -265,6 +268,7 @@ public class BaseTraceService implements TrService {
         }
 
         initializeWriters(trConfig);
+        updateAsyncWriter(trConfig);
         if (hideMessageids.size() > 0) {
             Tr.info(TraceSpecification.getTc(), "MESSAGES_CONFIGURED_HIDDEN_2", new Object[] { hideMessageids });
         }
@@ -285,6 +289,13 @@ public class BaseTraceService implements TrService {
 
         unregisterLoggerHandlerSingleton();
 
+        // Write anything still queued before the writers are closed
+        AsyncLogWriter oldAsyncWriter = asyncWriter;
+        asyncWriter = null;
+        if (oldAsyncWriter != null) {
+            oldAsyncWriter.stop();
+        }
+
         // Close writers, however they were allocated
         LoggingFileUtils.tryToClose(messagesLog);
         LoggingFileUtils.tryToClose(traceLog);
@@ -436,7 +447,7 @@ public class BaseTraceService implements TrService {
 
         // Tee to messages.log (always)
         String message = formatter.messageLogFormat(logRecord, logRecord.getMessage());
-        messagesLog.writeRecord(message);
+        writeRecord(messagesLog, message, false);
         invokeMessageRouters(new RoutedMessageImpl(logRecord.getMessage(), logRecord.getMessage(), message, logRecord));
 
         if (detailLog == systemOut) {
@@ -568,7 +579,7 @@ public class BaseTraceService implements TrService {
             }
 
             // messages.log
-            messagesLog.writeRecord(messageLogFormat);
+            writeRecord(messagesLog, messageLogFormat, false);
 
             // console.log
             if (detailLog == systemOut) {
@@ -624,7 +635,24 @@ public class BaseTraceService implements TrService {
         if (detailLog == systemOut || detailLog == systemErr) {
             writeStreamOutput((SystemLogHolder) detailLog, traceDetail, false);
         } else {
-            detailLog.writeRecord(traceDetail);
+            writeRecord(detailLog, traceDetail, true);
+        }
+    }
+
+    /**
+     * Write a formatted record to messages.log or trace.log: directly, or via the
+     * asynchronous writer when asynchronous logging is enabled.
+     *
+     * @param writer the target log
+     * @param record the formatted record
+     * @param isTrace true if the record is written to trace.log
+     */
+    protected void writeRecord(TraceWriter writer, String record, boolean isTrace) {
+        AsyncLogWriter useAsyncWriter = asyncWriter;
+        if (useAsyncWriter == null) {
+            writer.writeRecord(record);
+        } else {
+            useAsyncWriter.write(writer, record, isTrace);
         }
     }
 
@@ -712,6 +740,13 @@ public class BaseTraceService implements TrService {
      *            from bootstrap properties
      */
     protected void initializeWriters(LogProviderConfigImpl config) {
+        // Records queued for the current writers must be written before
+        // the writers are replaced or closed.
+        AsyncLogWriter useAsyncWriter = asyncWriter;
+        if (useAsyncWriter != null) {
+            useAsyncWriter.flush();
+        }
+
         // createFileLog may or may not return the original log holder..
         messagesLog = FileLogHolder.createFileLogHolder(messagesLog,
                                                         newFileLogHeader(false),
@@ -740,6 +775,32 @@ public class BaseTraceService implements TrService {
         }
     }
 
+    /**
+     * Start, stop, or replace the asynchronous writer to match the configuration.
+     * A new writer is installed before the old writer is stopped, so records
+     * are never written to a stopped writer's queue.
+     *
+     * @param config a {@link LogProviderConfigImpl} containing TrService configuration
+     */
+    protected void updateAsyncWriter(LogProviderConfigImpl config) {
+        AsyncLogWriter oldAsyncWriter = asyncWriter;
+
+        if (!config.isAsyncLogging()) {
+            asyncWriter = null;
+        } else if (oldAsyncWriter == null || oldAsyncWriter.getCapacity() != AsyncLogWriter.capacityFor(config.getAsyncQueueSize())) {
+            AsyncLogWriter newAsyncWriter = new AsyncLogWriter(config.getAsyncQueueSize(), config.getAsyncOverflowPolicy());
+            newAsyncWriter.start();
+            asyncWriter = newAsyncWriter;
+        } else {
+            oldAsyncWriter.setOverflowPolicy(config.getAsyncOverflowPolicy());
+            return;
+        }
+
+        if (oldAsyncWriter != null) {
+            oldAsyncWriter.stop();
+        }
+    }
+
     private FileLogHeader newFileLogHeader(boolean trace) {
         return new FileLogHeader(logHeader, trace, javaLangInstrument);
     }
@@ -863,11 +924,19 @@ public class BaseTraceService implements TrService {
      * @param txt pre-formatted or raw message
      * @param rawStream if true, this is from direct invocation of System.out or System.err
      */
-    protected synchronized void writeStreamOutput(SystemLogHolder holder, String txt, boolean rawStream) {
+    protected void writeStreamOutput(SystemLogHolder holder, String txt, boolean rawStream) {
         if (holder == systemErr && rawStream) {
             txt = "[err] " + txt;
         }
-        holder.originalStream.println(txt);
+
+        AsyncLogWriter useAsyncWriter = asyncWriter;
+        if (useAsyncWriter != null) {
+            useAsyncWriter.write(holder, txt, false);
+        } else {
+            synchronized (this) {
+                holder.originalStream.println(txt);
+            }
+        }
     }
 
     /**
@@ -22,6 +22,7 @@ import java.util.logging.Level;
 import com.ibm.websphere.logging.WsLevel;
 import com.ibm.websphere.ras.Tr;
 import com.ibm.websphere.ras.TraceComponent;
+import com.ibm.ws.logging.internal.impl.LoggingConstants.AsyncOverflowPolicy;
 import com.ibm.ws.logging.internal.impl.LoggingConstants.FFDCSummaryPolicy;
 import com.ibm.ws.logging.internal.impl.LoggingConstants.TraceFormat;
 import com.ibm.wsspi.logging.TextFileOutputStreamFactory;
@@ -92,6 +93,15 @@ public class LogProviderConfigImpl implements LogProviderConfig {
     /** Copy System.out and System.err invocations to the original system streams */
     protected volatile boolean copySystemStreams = true;
 
+    /** Write log and trace records on a dedicated thread */
+    protected volatile boolean asyncLogging = false;
+
+    /** The number of records which may wait to be written when asyncLogging is enabled */
+    protected volatile int asyncQueueSize = LoggingConstants.DEFAULT_ASYNC_QUEUE_SIZE;
+
+    /** What to do with records written when the asynchronous queue is full */
+    protected volatile AsyncOverflowPolicy asyncOverflowPolicy = AsyncOverflowPolicy.BLOCK;
+
     /** The current/active trace specification */
     protected volatile String traceSpec = "*=info";
 
@@ -178,6 +188,13 @@ public class LogProviderConfigImpl implements LogProviderConfig {
 
         hideMessageIds = InitConfgAttribute.HIDE_MESSAGES.getStringCollectionValue(c, hideMessageIds, isInit);
 
+        asyncLogging = InitConfgAttribute.ASYNC_LOGGING.getBooleanValue(c, asyncLogging, isInit);
+        asyncQueueSize = InitConfgAttribute.ASYNC_QUEUE_SIZE.getIntValue(c, asyncQueueSize, isInit);
+        if (asyncQueueSize < 1) {
+            asyncQueueSize = LoggingConstants.DEFAULT_ASYNC_QUEUE_SIZE;
+        }
+        asyncOverflowPolicy = InitConfgAttribute.ASYNC_OVERFLOW_POLICY.getAsyncOverflowPolicyValue(c, asyncOverflowPolicy, isInit);
+
     }
 
     /**
@@ -291,6 +308,18 @@ public class LogProviderConfigImpl implements LogProviderConfig {
         return copySystemStreams;
     }
 
+    public boolean isAsyncLogging() {
+        return asyncLogging;
+    }
+
+    public int getAsyncQueueSize() {
+        return asyncQueueSize;
+    }
+
+    public AsyncOverflowPolicy getAsyncOverflowPolicy() {
+        return asyncOverflowPolicy;
+    }
+
     @Override
     public TrService getTrDelegate() {
         return trDelegate;
@@ -324,6 +353,9 @@ public class LogProviderConfigImpl implements LogProviderConfig {
         sb.append(",traceFormat=").append(traceFormat);
         sb.append(",isoDateFormat=").append(isoDateFormat);
         sb.append(",traceFileName=").append(traceFileName);
+        sb.append(",asyncLogging=").append(asyncLogging);
+        sb.append(",asyncQueueSize=").append(asyncQueueSize);
+        sb.append(",asyncOverflowPolicy=").append(asyncOverflowPolicy);
         sb.append("]");
 
         return sb.toString();
@@ -341,7 +373,10 @@ public class LogProviderConfigImpl implements LogProviderConfig {
         TRACE_SPEC("traceSpecification", "com.ibm.ws.logging.trace.specification"),
         TRACE_FORMAT("traceFormat", "com.ibm.ws.logging.trace.format"),
         ISO_DATE_FORMAT("isoDateFormat", "com.ibm.ws.logging.isoDateFormat"),
-        HIDE_MESSAGES("hideMessage", "com.ibm.ws.logging.hideMessage");
+        HIDE_MESSAGES("hideMessage", "com.ibm.ws.logging.hideMessage"),
+        ASYNC_LOGGING("asyncLogging", "com.ibm.ws.logging.async"),
+        ASYNC_QUEUE_SIZE("asyncQueueSize", "com.ibm.ws.logging.async.queue.size"),
+        ASYNC_OVERFLOW_POLICY("asyncOverflowPolicy", "com.ibm.ws.logging.async.overflow.policy");
 
         final String configKey;
         final String propertyKey;
@@ -375,6 +410,11 @@ public class LogProviderConfigImpl implements LogProviderConfig {
             return newValue;
         }
 
+        AsyncOverflowPolicy getAsyncOverflowPolicyValue(Map<String, Object> config, AsyncOverflowPolicy defaultValue, boolean isInit) {
+            Object value = config.get(isInit ? propertyKey : configKey);
+            return LoggingConfigUtils.getAsyncOverflowPolicy(value, defaultValue);
+        }
+
         Level getLogLevelValue(Map<String, Object> config, Level defaultValue, boolean isInit) {
             Object value = config.get(isInit ? propertyKey : configKey);
             return LoggingConfigUtils.getLogLevel(value, defaultValue);
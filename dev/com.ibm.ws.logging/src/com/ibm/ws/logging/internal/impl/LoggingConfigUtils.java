@@ -18,6 +18,7 @@ import java.util.logging.Level;
 
 import com.ibm.websphere.logging.WsLevel;
 import com.ibm.ws.ffdc.annotation.FFDCIgnore;
+import com.ibm.ws.logging.internal.impl.LoggingConstants.AsyncOverflowPolicy;
 import com.ibm.ws.logging.internal.impl.LoggingConstants.FFDCSummaryPolicy;
 import com.ibm.ws.logging.internal.impl.LoggingConstants.TraceFormat;
 
@@ -183,6 +184,18 @@ public class LoggingConfigUtils {
         return defaultValue;
     }
 
+    public static AsyncOverflowPolicy getAsyncOverflowPolicy(Object newValue, AsyncOverflowPolicy defaultValue) {
+        if (newValue != null && newValue instanceof String) {
+            String strValue = ((String) newValue).toUpperCase();
+            try {
+                return AsyncOverflowPolicy.valueOf(strValue);
+            } catch (Exception e) {
+            }
+        }
+
+        return defaultValue;
+    }
+
     /**
      * Create a delegate instance of the specified (or default) delegate class.
      * 
@@ -41,4 +41,16 @@ public interface LoggingConstants {
     enum FFDCSummaryPolicy {
         DEFAULT, IMMEDIATE
     };
+
+    /** What to do with a log or trace record when the asynchronous log queue is full */
+    enum AsyncOverflowPolicy {
+        /** Wait for space in the queue */
+        BLOCK,
+        /** Drop the record */
+        DROP,
+        /** Drop trace records; wait for space for all other records */
+        DROP_TRACE
+    };
+
+    int DEFAULT_ASYNC_QUEUE_SIZE = 16384;
 }
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.logging.internal.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import test.TestConstants;
+import test.common.SharedOutputManager;
+
+import com.ibm.ws.logging.internal.impl.BaseTraceService.TraceWriter;
+import com.ibm.ws.logging.internal.impl.LoggingConstants.AsyncOverflowPolicy;
+
+/**
+ *
+ */
+public class AsyncLogWriterTest {
+    static SharedOutputManager outputMgr = SharedOutputManager.getInstance().logTo(TestConstants.BUILD_TMP);
+
+    @Rule
+    public TestRule outputRule = outputMgr;
+
+    /** Collects records; optionally blocks the writer thread on the first record. */
+    static class ListWriter implements TraceWriter {
+        final List<String> records = new ArrayList<String>();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release;
+
+        ListWriter(boolean block) {
+            release = new CountDownLatch(block ? 1 : 0);
+        }
+
+        @Override
+        public void writeRecord(String record) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (records) {
+                records.add(record);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {}
+
+        List<String> getRecords() {
+            synchronized (records) {
+                return new ArrayList<String>(records);
+            }
+        }
+    }
+
+    @Test
+    public void testCapacity() {
+        assertEquals(2, AsyncLogWriter.capacityFor(1));
+        assertEquals(16, AsyncLogWriter.capacityFor(16));
+        assertEquals(32, AsyncLogWriter.capacityFor(17));
+    }
+
+    @Test
+    public void testWriteInOrder() throws Exception {
+        final ListWriter target = new ListWriter(false);
+        final AsyncLogWriter writer = new AsyncLogWriter(16, AsyncOverflowPolicy.BLOCK);
+        writer.start();
+
+        final int producers = 4;
+        final int perProducer = 1000;
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            threads[p] = new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < perProducer; i++) {
+                        writer.write(target, producer + ":" + i, true);
+                    }
+                }
+            };
+            threads[p].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        writer.flush();
+        writer.stop();
+
+        List<String> records = target.getRecords();
+        assertEquals("Blocking policy must not drop records", producers * perProducer, records.size());
+        assertEquals(0, writer.getDroppedCount());
+
+        // Records from each producer are written in the order they were issued
+        int[] next = new int[producers];
+        for (String record : records) {
+            int colon = record.indexOf(':');
+            int producer = Integer.parseInt(record.substring(0, colon));
+            assertEquals("Out of order record " + record, next[producer]++, Integer.parseInt(record.substring(colon + 1)));
+        }
+    }
+
+    @Test
+    public void testDropTrace() throws Exception {
+        ListWriter target = new ListWriter(true);
+        AsyncLogWriter writer = new AsyncLogWriter(4, AsyncOverflowPolicy.DROP_TRACE);
+        writer.start();
+
+        // The writer thread takes the first record and blocks; fill the queue behind it
+        writer.write(target, "first", false);
+        assertTrue(target.started.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 4; i++) {
+            writer.write(target, "queued" + i, false);
+        }
+
+        // The queue is full: trace is dropped
+        writer.write(target, "trace", true);
+        assertEquals(1, writer.getDroppedCount());
+
+        target.release.countDown();
+        writer.flush();
+        writer.stop();
+
+        List<String> records = target.getRecords();
+        assertEquals(5, records.size());
+        assertTrue(!records.contains("trace"));
+    }
+
+    @Test
+    public void testWriteAfterStop() {
+        ListWriter target = new ListWriter(false);
+        AsyncLogWriter writer = new AsyncLogWriter(4, AsyncOverflowPolicy.DROP);
+        writer.start();
+        writer.stop();
+
+        writer.write(target, "direct", true);
+        assertEquals(1, target.getRecords().size());
+    }
+}
@@ -11,9 +11,11 @@
 package com.ibm.ws.microprofile.metrics;
 
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.util.Locale;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 import javax.servlet.http.HttpServletResponse;
 
@@ -51,6 +53,12 @@ public class MetricsHandler implements RESTHandler {
 
     private static final TraceComponent tc = Tr.register(MetricsHandler.class);
 
+    private static final String ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+    private static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+    private static final String VARY_HEADER = "Vary";
+    private static final String GZIP = "gzip";
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
     BaseMetrics bm;
 
     @Activate
@@ -84,8 +92,12 @@ public class MetricsHandler implements RESTHandler {
             response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, Tr.formatMessage(tc, locale, "internal.error.CWMMC0006E", e));
         }
 
+        GzipResponseWriter gzipWriter = null;
         try {
-            OutputWriter outputWriter = getOutputWriter(request, response, locale);
+            if (Constants.METHOD_GET.equals(method) && acceptsGzip(request.getHeader(ACCEPT_ENCODING_HEADER))) {
+                gzipWriter = new GzipResponseWriter(response);
+            }
+            OutputWriter outputWriter = getOutputWriter(request, response, locale, gzipWriter);
             String attribute = request.getPathVariable(Constants.ATTRIBUTE);
             String sub = request.getPathVariable(Constants.SUB);
 
@@ -106,6 +118,10 @@ public class MetricsHandler implements RESTHandler {
             } else {
                 outputWriter.write();
             }
+            if (gzipWriter != null) {
+                // the output writers only flush, so write the end of the gzip stream
+                gzipWriter.close();
+            }
         } catch (EmptyRegistryException e) {
             Tr.event(tc, "The " + regName + " registry is empty.");
             response.setStatus(HttpServletResponse.SC_NO_CONTENT);
@@ -127,16 +143,23 @@ public class MetricsHandler implements RESTHandler {
         }
     }
 
-    private OutputWriter getOutputWriter(RESTRequest request, RESTResponse response, Locale locale) throws IOException, HTTPNotAcceptableException, HTTPMethodNotAllowedException {
+    private OutputWriter getOutputWriter(RESTRequest request, RESTResponse response, Locale locale,
+                                         Writer gzipWriter) throws IOException, HTTPNotAcceptableException, HTTPMethodNotAllowedException {
         String method = request.getMethod();
         String accept = request.getHeader(Constants.ACCEPT_HEADER);
-        Writer writer = response.getWriter();
 
         if (accept == null) {
             accept = Constants.ACCEPT_HEADER_TEXT;
         }
 
         if (Constants.METHOD_GET.equals(method)) {
+            Writer writer;
+            response.addResponseHeader(VARY_HEADER, ACCEPT_ENCODING_HEADER);
+            if (gzipWriter != null) {
+                writer = gzipWriter;
+            } else {
+                writer = response.getWriter();
+            }
             if (accept.contains(Constants.ACCEPT_HEADER_TEXT)) {
                 return new PrometheusMetricWriter(writer, locale);
             } else if (accept.contains(Constants.ACCEPT_HEADER_JSON)) {
@@ -147,7 +170,7 @@ public class MetricsHandler implements RESTHandler {
             }
         } else if (Constants.METHOD_OPTIONS.equals(method)) {
             if (accept.contains(Constants.ACCEPT_HEADER_JSON)) {
-                return new JSONMetadataWriter(writer, locale);
+                return new JSONMetadataWriter(response.getWriter(), locale);
             } else {
                 throw new HTTPNotAcceptableException();
             }
@@ -172,6 +195,83 @@ public class MetricsHandler implements RESTHandler {
         }
     }
 
+    /**
+     * Returns whether the Accept-Encoding header of a request allows a gzip encoded response.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] params = coding.split(";");
+            String name = params[0].trim();
+            if (GZIP.equalsIgnoreCase(name) || "x-gzip".equalsIgnoreCase(name)) {
+                for (int i = 1; i < params.length; i++) {
+                    String param = params[i].trim();
+                    if (param.startsWith("q=")) {
+                        try {
+                            return Double.parseDouble(param.substring(2).trim()) > 0;
+                        } catch (NumberFormatException e) {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A writer of a gzip encoded response body. The response is only encoded once something is
+     * written, so that responses without a body, such as errors, are left as they are. The writer
+     * must be closed to complete the gzip stream; closing it more than once has no effect.
+     */
+    private static class GzipResponseWriter extends Writer {
+        private final RESTResponse response;
+        private Writer out;
+
+        GzipResponseWriter(RESTResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            if (len > 0) {
+                getOut().write(cbuf, off, len);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            if (len > 0) {
+                getOut().write(str, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (out != null) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (out != null) {
+                out.close();
+            }
+        }
+
+        private Writer getOut() throws IOException {
+            if (out == null) {
+                response.setResponseHeader(CONTENT_ENCODING_HEADER, GZIP);
+                out = new OutputStreamWriter(new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE), "UTF-8");
+            }
+            return out;
+        }
+    }
+
     private String checkSlash(String s) {
         if (s.endsWith("/")) {
             s = s.substring(0, s.length() - 1);
@@ -10,6 +10,9 @@
  *******************************************************************************/
 package com.ibm.ws.microprofile.metrics.helper;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.eclipse.microprofile.metrics.Counter;
 import org.eclipse.microprofile.metrics.Counting;
 import org.eclipse.microprofile.metrics.Gauge;
@@ -18,6 +21,7 @@ import org.eclipse.microprofile.metrics.Meter;
 import org.eclipse.microprofile.metrics.Metered;
 import org.eclipse.microprofile.metrics.MetricUnits;
 import org.eclipse.microprofile.metrics.Sampling;
+import org.eclipse.microprofile.metrics.Snapshot;
 import org.eclipse.microprofile.metrics.Timer;
 
 import com.ibm.websphere.ras.Tr;
@@ -35,6 +39,22 @@ public class PrometheusBuilder {
 
     private static final String QUANTILE = "quantile";
 
+    private static final String[] QUANTILE_TAGS = { QUANTILE + "=\"0.5\"", QUANTILE + "=\"0.75\"", QUANTILE + "=\"0.95\"",
+                                                    QUANTILE + "=\"0.98\"", QUANTILE + "=\"0.99\"", QUANTILE + "=\"0.999\"" };
+
+    private static final String RATE = "_rate_" + MetricUnits.PER_SECOND.toString();
+    private static final String ONE_MIN_RATE = "_one_min_rate_" + MetricUnits.PER_SECOND.toString();
+    private static final String FIVE_MIN_RATE = "_five_min_rate_" + MetricUnits.PER_SECOND.toString();
+    private static final String FIFTEEN_MIN_RATE = "_fifteen_min_rate_" + MetricUnits.PER_SECOND.toString();
+
+    /*
+     * Prometheus names of the metrics. Sanitizing the name of the metric also gives the name of each
+     * of its lines, as the suffixes are already sanitized. The cache is dropped if it grows past
+     * the number of metrics a server is expected to have, in case metrics keep being replaced.
+     */
+    private static final int MAX_CACHED_NAMES = 50000;
+    private static final ConcurrentMap<String, String> prometheusNames = new ConcurrentHashMap<String, String>();
+
     @FFDCIgnore({ IllegalStateException.class })
     public static void buildGauge(StringBuilder builder, String name, Gauge<?> gauge, String description, Double conversionFactor, String tags, String appendUnit) {
         // Skip non number values
@@ -54,191 +74,168 @@ public class PrometheusBuilder {
         if (!(Double.isNaN(conversionFactor))) {
             gaugeValNumber = gaugeValNumber.doubleValue() * conversionFactor;
         }
-        getPromTypeLine(builder, name, "gauge", appendUnit);
-        getPromHelpLine(builder, name, description, appendUnit);
-        getPromValueLine(builder, name, gaugeValNumber, tags, appendUnit);
+        String metricName = getPrometheusMetricName(name);
+        getPromTypeLine(builder, metricName, null, "gauge", appendUnit);
+        getPromHelpLine(builder, metricName, null, description, appendUnit);
+        getPromValueLine(builder, metricName, null, appendUnit, tags, null);
+        if (gaugeValNumber instanceof Double) {
+            builder.append(gaugeValNumber.doubleValue());
+        } else {
+            builder.append(gaugeValNumber);
+        }
+        builder.append('\n');
     }
 
     public static void buildCounter(StringBuilder builder, String name, Counter counter, String description, String tags) {
-        getPromTypeLine(builder, name, "counter");
-        getPromHelpLine(builder, name, description);
-        getPromValueLine(builder, name, counter.getCount(), tags);
+        String metricName = getPrometheusMetricName(name);
+        getPromTypeLine(builder, metricName, null, "counter", null);
+        getPromHelpLine(builder, metricName, null, description, null);
+        getPromValueLine(builder, metricName, null, null, tags, null);
+        builder.append(counter.getCount()).append('\n');
     }
 
     public static void buildTimer(StringBuilder builder, String name, Timer timer, String description, String tags) {
-        buildMetered(builder, name, timer, description, tags);
+        String metricName = getPrometheusMetricName(name);
+        buildMetered(builder, metricName, timer, tags);
         double conversionFactor = Constants.NANOSECONDCONVERSION;
         // Build Histogram
-        buildSampling(builder, name, timer, description, conversionFactor, tags, Constants.APPENDEDSECONDS);
+        buildSampling(builder, metricName, timer, description, conversionFactor, tags, Constants.APPENDEDSECONDS);
     }
 
     public static void buildHistogram(StringBuilder builder, String name, Histogram histogram, String description, Double conversionFactor, String tags,
                                       String appendUnit) {
         // Build Histogram
-        buildSampling(builder, name, histogram, description, conversionFactor, tags, appendUnit);
+        buildSampling(builder, getPrometheusMetricName(name), histogram, description, conversionFactor, tags, appendUnit);
     }
 
     public static void buildMeter(StringBuilder builder, String name, Meter meter, String description, String tags) {
-        buildCounting(builder, name, meter, description, tags);
-        buildMetered(builder, name, meter, description, tags);
+        String metricName = getPrometheusMetricName(name);
+        buildCounting(builder, metricName, meter, description, tags);
+        buildMetered(builder, metricName, meter, tags);
     }
 
-    private static void buildSampling(StringBuilder builder, String name, Sampling sampling, String description, Double conversionFactor, String tags,
+    private static void buildSampling(StringBuilder builder, String metricName, Sampling sampling, String description, double conversionFactor, String tags,
                                       String appendUnit) {
 
-        double meanVal = sampling.getSnapshot().getMean();
-        double maxVal = sampling.getSnapshot().getMax();
-        double minVal = sampling.getSnapshot().getMin();
-        double stdDevVal = sampling.getSnapshot().getStdDev();
-        double medianVal = sampling.getSnapshot().getMedian();
-        double percentile75th = sampling.getSnapshot().get75thPercentile();
-        double percentile95th = sampling.getSnapshot().get95thPercentile();
-        double percentile98th = sampling.getSnapshot().get98thPercentile();
-        double percentile99th = sampling.getSnapshot().get99thPercentile();
-        double percentile999th = sampling.getSnapshot().get999thPercentile();
+        Snapshot snapshot = sampling.getSnapshot();
+        double factor = Double.isNaN(conversionFactor) ? 1 : conversionFactor;
 
-        if (!(Double.isNaN(conversionFactor))) {
-            meanVal = sampling.getSnapshot().getMean() * conversionFactor;
-            maxVal = sampling.getSnapshot().getMax() * conversionFactor;
-            minVal = sampling.getSnapshot().getMin() * conversionFactor;
-            stdDevVal = sampling.getSnapshot().getStdDev() * conversionFactor;
-            medianVal = sampling.getSnapshot().getMedian() * conversionFactor;
-            percentile75th = sampling.getSnapshot().get75thPercentile() * conversionFactor;
-            percentile95th = sampling.getSnapshot().get95thPercentile() * conversionFactor;
-            percentile98th = sampling.getSnapshot().get98thPercentile() * conversionFactor;
-            percentile99th = sampling.getSnapshot().get99thPercentile() * conversionFactor;
-            percentile999th = sampling.getSnapshot().get999thPercentile() * conversionFactor;
-        }
+        buildGaugeLine(builder, metricName, "_mean", snapshot.getMean() * factor, tags, appendUnit);
+        buildGaugeLine(builder, metricName, "_max", snapshot.getMax() * factor, tags, appendUnit);
+        buildGaugeLine(builder, metricName, "_min", snapshot.getMin() * factor, tags, appendUnit);
+        buildGaugeLine(builder, metricName, "_stddev", snapshot.getStdDev() * factor, tags, appendUnit);
 
-        String lineName = name + "_mean";
-        getPromTypeLine(builder, lineName, "gauge", appendUnit);
-        getPromValueLine(builder, lineName, meanVal, tags, appendUnit);
-        lineName = name + "_max";
-        getPromTypeLine(builder, lineName, "gauge", appendUnit);
-        getPromValueLine(builder, lineName, maxVal, tags, appendUnit);
-        lineName = name + "_min";
-        getPromTypeLine(builder, lineName, "gauge", appendUnit);
-        getPromValueLine(builder, lineName, minVal, tags, appendUnit);
-        lineName = name + "_stddev";
-        getPromTypeLine(builder, lineName, "gauge", appendUnit);
-        getPromValueLine(builder, lineName, stdDevVal, tags, appendUnit);
-
-        getPromTypeLine(builder, name, "summary", appendUnit);
-        getPromHelpLine(builder, name, description, appendUnit);
+        getPromTypeLine(builder, metricName, null, "summary", appendUnit);
+        getPromHelpLine(builder, metricName, null, description, appendUnit);
         if (Counting.class.isInstance(sampling)) {
-            getPromValueLine(builder, name, ((Counting) sampling).getCount(), tags, appendUnit == null ? "_count" : appendUnit + "_count");
+            getPromValueLine(builder, metricName, null, appendUnit == null ? "_count" : appendUnit + "_count", tags, null);
+            builder.append(((Counting) sampling).getCount()).append('\n');
+        }
+        double[] quantiles = { snapshot.getMedian(), snapshot.get75thPercentile(), snapshot.get95thPercentile(),
+                               snapshot.get98thPercentile(), snapshot.get99thPercentile(), snapshot.get999thPercentile() };
+        for (int i = 0; i < quantiles.length; i++) {
+            getPromValueLine(builder, metricName, null, appendUnit, tags, QUANTILE_TAGS[i]);
+            builder.append(quantiles[i] * factor).append('\n');
         }
-        getPromValueLine(builder, name, medianVal, tags, new Tag(QUANTILE, "0.5"), appendUnit);
-        getPromValueLine(builder, name, percentile75th, tags, new Tag(QUANTILE, "0.75"), appendUnit);
-        getPromValueLine(builder, name, percentile95th, tags, new Tag(QUANTILE, "0.95"), appendUnit);
-        getPromValueLine(builder, name, percentile98th, tags, new Tag(QUANTILE, "0.98"), appendUnit);
-        getPromValueLine(builder, name, percentile99th, tags, new Tag(QUANTILE, "0.99"), appendUnit);
-        getPromValueLine(builder, name, percentile999th, tags, new Tag(QUANTILE, "0.999"), appendUnit);
-    }
-
-    private static void buildCounting(StringBuilder builder, String name, Counting counting, String description, String tags) {
-        String lineName = name + "_total";
-        getPromTypeLine(builder, lineName, "counter");
-        getPromHelpLine(builder, lineName, description);
-        getPromValueLine(builder, lineName, counting.getCount(), tags);
     }
 
-    /**
-     *
-     *
-     * @param builder
-     * @param name
-     * @param metered
-     */
-    private static void buildMetered(StringBuilder builder, String name, Metered metered, String description, String tags) {
-        String lineName = name + "_rate_" + MetricUnits.PER_SECOND.toString();
-        getPromTypeLine(builder, lineName, "gauge");
-        getPromValueLine(builder, lineName, metered.getMeanRate(), tags);
-
-        lineName = name + "_one_min_rate_" + MetricUnits.PER_SECOND.toString();
-        getPromTypeLine(builder, lineName, "gauge");
-        getPromValueLine(builder, lineName, metered.getOneMinuteRate(), tags);
-
-        lineName = name + "_five_min_rate_" + MetricUnits.PER_SECOND.toString();
-        getPromTypeLine(builder, lineName, "gauge");
-        getPromValueLine(builder, lineName, metered.getFiveMinuteRate(), tags);
-
-        lineName = name + "_fifteen_min_rate_" + MetricUnits.PER_SECOND.toString();
-        getPromTypeLine(builder, lineName, "gauge");
-        getPromValueLine(builder, lineName, metered.getFifteenMinuteRate(), tags);
+    private static void buildCounting(StringBuilder builder, String metricName, Counting counting, String description, String tags) {
+        getPromTypeLine(builder, metricName, "_total", "counter", null);
+        getPromHelpLine(builder, metricName, "_total", description, null);
+        getPromValueLine(builder, metricName, "_total", null, tags, null);
+        builder.append(counting.getCount()).append('\n');
     }
 
-    private static void getPromValueLine(StringBuilder builder, String name, Number value, String tags) {
-        getPromValueLine(builder, name, value, tags, null);
+    private static void buildMetered(StringBuilder builder, String metricName, Metered metered, String tags) {
+        buildGaugeLine(builder, metricName, RATE, metered.getMeanRate(), tags, null);
+        buildGaugeLine(builder, metricName, ONE_MIN_RATE, metered.getOneMinuteRate(), tags, null);
+        buildGaugeLine(builder, metricName, FIVE_MIN_RATE, metered.getFiveMinuteRate(), tags, null);
+        buildGaugeLine(builder, metricName, FIFTEEN_MIN_RATE, metered.getFifteenMinuteRate(), tags, null);
     }
 
-    private static void getPromValueLine(StringBuilder builder, String name, Number value, String tags, Tag quantile, String appendUnit) {
-
-        if (tags == null || tags.isEmpty()) {
-            tags = quantile.getKey() + "=\"" + quantile.getValue() + "\"";
-        } else {
-            tags = tags + "," + quantile.getKey() + "=\"" + quantile.getValue() + "\"";
-        }
-        getPromValueLine(builder, name, value, tags, appendUnit);
+    private static void buildGaugeLine(StringBuilder builder, String metricName, String suffix, double value, String tags, String appendUnit) {
+        getPromTypeLine(builder, metricName, suffix, "gauge", appendUnit);
+        getPromValueLine(builder, metricName, suffix, appendUnit, tags, null);
+        builder.append(value).append('\n');
     }
 
-    private static void getPromValueLine(StringBuilder builder, String name, Number value, String tags, String appendUnit) {
-
-        String metricName = getPrometheusMetricName(name);
-
-        builder.append(metricName);
-
-        if (appendUnit != null) {
-            builder.append(appendUnit);
-        }
-
-        if (tags != null && tags.length() > 0) {
-            builder.append("{").append(tags).append("}");
+    /*
+     * Appends the name and tags of a value line, the caller appends the value and the line end.
+     */
+    private static void getPromValueLine(StringBuilder builder, String metricName, String suffix, String appendUnit, String tags, String quantile) {
+        appendName(builder, metricName, suffix, appendUnit);
+
+        boolean hasTags = tags != null && tags.length() > 0;
+        if (hasTags || quantile != null) {
+            builder.append('{');
+            if (hasTags) {
+                builder.append(tags);
+                if (quantile != null) {
+                    builder.append(',');
+                }
+            }
+            if (quantile != null) {
+                builder.append(quantile);
+            }
+            builder.append('}');
         }
 
-        builder.append(" ").append(value).append('\n');
-    }
-
-    private static void getPromHelpLine(StringBuilder builder, String name, String description) {
-        getPromHelpLine(builder, name, description, null);
+        builder.append(' ');
     }
 
-    private static void getPromHelpLine(StringBuilder builder, String name, String description, String appendUnit) {
-        String metricName = getPrometheusMetricName(name);
+    private static void getPromHelpLine(StringBuilder builder, String metricName, String suffix, String description, String appendUnit) {
         if (description != null && !description.isEmpty()) {
-            builder.append("# HELP ").append(metricName);
-
-            if (appendUnit != null) {
-                builder.append(appendUnit);
-            }
-            builder.append(" ").append(description).append("\n");
+            builder.append("# HELP ");
+            appendName(builder, metricName, suffix, appendUnit);
+            builder.append(' ').append(description).append('\n');
         }
     }
 
-    private static void getPromTypeLine(StringBuilder builder, String name, String type) {
-        getPromTypeLine(builder, name, type, null);
+    private static void getPromTypeLine(StringBuilder builder, String metricName, String suffix, String type, String appendUnit) {
+        builder.append("# TYPE ");
+        appendName(builder, metricName, suffix, appendUnit);
+        builder.append(' ').append(type).append('\n');
     }
 
-    private static void getPromTypeLine(StringBuilder builder, String name, String type, String appendUnit) {
-
-        String metricName = getPrometheusMetricName(name);
-        builder.append("# TYPE ").append(metricName);
+    private static void appendName(StringBuilder builder, String metricName, String suffix, String appendUnit) {
+        builder.append(metricName);
+        if (suffix != null) {
+            builder.append(suffix);
+        }
         if (appendUnit != null) {
             builder.append(appendUnit);
         }
-        builder.append(" ").append(type).append("\n");
+    }
+
+    /**
+     * Escapes a help text as required by the Prometheus text format.
+     *
+     * @param description the help text
+     * @return the help text with backslashes and line feeds escaped
+     */
+    public static String escapeHelp(String description) {
+        if (description == null || (description.indexOf('\\') < 0 && description.indexOf('\n') < 0)) {
+            return description;
+        }
+        return description.replace("\\", "\\\\").replace("\n", "\\n");
     }
 
     /*
      * Create the Prometheus metric name by sanitizing some characters
      */
     private static String getPrometheusMetricName(String name) {
-
-        String out = name.replaceAll("(?<!^|:)(\\p{Upper})(?=\\p{Lower})", "_$1");
-        out = out.replaceAll("(?<=\\p{Lower})(\\p{Upper})", "_$1").toLowerCase();
-        out = out.replaceAll("[-_.\\s]+", "_");
-        out = out.replaceAll("^_*(.*?)_*$", "$1");
-
+        String out = prometheusNames.get(name);
+        if (out == null) {
+            out = name.replaceAll("(?<!^|:)(\\p{Upper})(?=\\p{Lower})", "_$1");
+            out = out.replaceAll("(?<=\\p{Lower})(\\p{Upper})", "_$1").toLowerCase();
+            out = out.replaceAll("[-_.\\s]+", "_");
+            out = out.replaceAll("^_*(.*?)_*$", "$1");
+
+            if (prometheusNames.size() >= MAX_CACHED_NAMES) {
+                prometheusNames.clear();
+            }
+            prometheusNames.put(name, out);
+        }
         return out;
     }
 }
@@ -18,6 +18,7 @@ import org.eclipse.microprofile.metrics.Metadata;
 import org.eclipse.microprofile.metrics.Meter;
 import org.eclipse.microprofile.metrics.Metric;
 import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Snapshot;
 import org.eclipse.microprofile.metrics.Timer;
 
 import com.ibm.ws.microprofile.metrics.Constants;
@@ -92,18 +93,19 @@ public class Util {
         results.put(Constants.FIVE_MINUTE_RATE, timer.getFiveMinuteRate());
         results.put(Constants.FIFTEEN_MINUTE_RATE, timer.getFifteenMinuteRate());
 
-        results.put(Constants.MAX, timer.getSnapshot().getMax());
-        results.put(Constants.MEAN, timer.getSnapshot().getMean());
-        results.put(Constants.MIN, timer.getSnapshot().getMin());
+        Snapshot snapshot = timer.getSnapshot();
+        results.put(Constants.MAX, snapshot.getMax());
+        results.put(Constants.MEAN, snapshot.getMean());
+        results.put(Constants.MIN, snapshot.getMin());
 
-        results.put(Constants.STD_DEV, timer.getSnapshot().getStdDev());
+        results.put(Constants.STD_DEV, snapshot.getStdDev());
 
-        results.put(Constants.MEDIAN, timer.getSnapshot().getMedian());
-        results.put(Constants.PERCENTILE_75TH, timer.getSnapshot().get75thPercentile());
-        results.put(Constants.PERCENTILE_95TH, timer.getSnapshot().get95thPercentile());
-        results.put(Constants.PERCENTILE_98TH, timer.getSnapshot().get98thPercentile());
-        results.put(Constants.PERCENTILE_99TH, timer.getSnapshot().get99thPercentile());
-        results.put(Constants.PERCENTILE_999TH, timer.getSnapshot().get999thPercentile());
+        results.put(Constants.MEDIAN, snapshot.getMedian());
+        results.put(Constants.PERCENTILE_75TH, snapshot.get75thPercentile());
+        results.put(Constants.PERCENTILE_95TH, snapshot.get95thPercentile());
+        results.put(Constants.PERCENTILE_98TH, snapshot.get98thPercentile());
+        results.put(Constants.PERCENTILE_99TH, snapshot.get99thPercentile());
+        results.put(Constants.PERCENTILE_999TH, snapshot.get999thPercentile());
 
         return results;
     }
@@ -112,18 +114,19 @@ public class Util {
         Map<String, Number> results = new HashMap<String, Number>();
         results.put(Constants.COUNT, histogram.getCount());
 
-        results.put(Constants.MAX, histogram.getSnapshot().getMax());
-        results.put(Constants.MEAN, histogram.getSnapshot().getMean());
-        results.put(Constants.MIN, histogram.getSnapshot().getMin());
+        Snapshot snapshot = histogram.getSnapshot();
+        results.put(Constants.MAX, snapshot.getMax());
+        results.put(Constants.MEAN, snapshot.getMean());
+        results.put(Constants.MIN, snapshot.getMin());
 
-        results.put(Constants.STD_DEV, histogram.getSnapshot().getStdDev());
+        results.put(Constants.STD_DEV, snapshot.getStdDev());
 
-        results.put(Constants.MEDIAN, histogram.getSnapshot().getMedian());
-        results.put(Constants.PERCENTILE_75TH, histogram.getSnapshot().get75thPercentile());
-        results.put(Constants.PERCENTILE_95TH, histogram.getSnapshot().get95thPercentile());
-        results.put(Constants.PERCENTILE_98TH, histogram.getSnapshot().get98thPercentile());
-        results.put(Constants.PERCENTILE_99TH, histogram.getSnapshot().get99thPercentile());
-        results.put(Constants.PERCENTILE_999TH, histogram.getSnapshot().get999thPercentile());
+        results.put(Constants.MEDIAN, snapshot.getMedian());
+        results.put(Constants.PERCENTILE_75TH, snapshot.get75thPercentile());
+        results.put(Constants.PERCENTILE_95TH, snapshot.get95thPercentile());
+        results.put(Constants.PERCENTILE_98TH, snapshot.get98thPercentile());
+        results.put(Constants.PERCENTILE_99TH, snapshot.get99thPercentile());
+        results.put(Constants.PERCENTILE_999TH, snapshot.get999thPercentile());
 
         return results;
     }
@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.microprofile.metrics.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.eclipse.microprofile.metrics.Snapshot;
+
+/**
+ * A reservoir which counts values in HDR histogram style log-linear buckets instead of keeping
+ * samples. Every power of two range is split in 64 linear sub-buckets, so a value is known to
+ * within 1/64 of its magnitude and values below 128 are exact. Recording a value is constant time
+ * and does not lock, and the memory used does not depend on the number or range of the values.
+ * <p>
+ * Values are recorded in an active interval. Once the interval is older than the window length,
+ * the next snapshot swaps it with the idle interval, waiting for the updates in flight to finish,
+ * so that snapshots cover between one and two window lengths of the most recent values.
+ * Negative values are recorded as zero.
+ */
+public class HdrReservoir implements Reservoir {
+    static final int SUB_BUCKET_BITS = 6;
+    static final int SUB_BUCKET_HALF_COUNT = 1 << SUB_BUCKET_BITS;
+    static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_HALF_COUNT;
+
+    private static final long DEFAULT_WINDOW = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * The counts of the values recorded during one interval.
+     */
+    static final class Interval {
+        final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+        final LongAdderAdapter count = LongAdderProxy.create();
+        final LongAdderAdapter sum = LongAdderProxy.create();
+        final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+        final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+        void record(long value) {
+            counts.incrementAndGet(bucketIndex(value));
+            count.increment();
+            sum.add(value);
+            long current = min.get();
+            while (value < current && !min.compareAndSet(current, value)) {
+                current = min.get();
+            }
+            current = max.get();
+            while (value > current && !max.compareAndSet(current, value)) {
+                current = max.get();
+            }
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts.set(i, 0);
+            }
+            count.sumThenReset();
+            sum.sumThenReset();
+            min.set(Long.MAX_VALUE);
+            max.set(Long.MIN_VALUE);
+        }
+    }
+
+    private final long window;
+    private final Clock clock;
+
+    private volatile Interval active = new Interval();
+    private Interval previous = new Interval();
+    private long rotated;
+
+    /*
+     * Writers enter a phase by incrementing the start epoch, and leave it by incrementing the end
+     * epoch of the phase, whose sign is given by the start epoch they saw. A swap of the intervals
+     * starts the other phase and waits for the end epoch of the old phase to catch up.
+     */
+    private final AtomicLong startEpoch = new AtomicLong(0);
+    private final AtomicLong evenEndEpoch = new AtomicLong(0);
+    private final AtomicLong oddEndEpoch = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Creates a new {@link HdrReservoir} with a window length of one minute.
+     */
+    public HdrReservoir() {
+        this(DEFAULT_WINDOW, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Creates a new {@link HdrReservoir}.
+     *
+     * @param window the window length
+     * @param windowUnit the unit of {@code window}
+     */
+    public HdrReservoir(long window, TimeUnit windowUnit) {
+        this(window, windowUnit, Clock.defaultClock());
+    }
+
+    /**
+     * Creates a new {@link HdrReservoir}.
+     *
+     * @param window the window length
+     * @param windowUnit the unit of {@code window}
+     * @param clock the clock used to rotate the intervals
+     */
+    public HdrReservoir(long window, TimeUnit windowUnit, Clock clock) {
+        this.window = windowUnit.toNanos(window);
+        this.clock = clock;
+        this.rotated = clock.getTick();
+    }
+
+    @Override
+    public int size() {
+        long count;
+        synchronized (this) {
+            count = active.count.sum() + previous.count.sum();
+        }
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void update(long value) {
+        long epoch = startEpoch.getAndIncrement();
+        try {
+            active.record(value < 0 ? 0 : value);
+        } finally {
+            if (epoch < 0) {
+                oddEndEpoch.getAndIncrement();
+            } else {
+                evenEndEpoch.getAndIncrement();
+            }
+        }
+    }
+
+    @Override
+    public synchronized Snapshot getSnapshot() {
+        final long now = clock.getTick();
+        if (now - rotated >= window) {
+            Interval idle = previous;
+            idle.reset();
+            previous = active;
+            active = idle;
+            flipPhase();
+            if (now - rotated >= 2 * window) {
+                // Nothing was read for a whole window, the values are too old.
+                previous.reset();
+            }
+            rotated = now;
+        }
+        return new HdrSnapshot(active, previous);
+    }
+
+    /**
+     * Waits for the updates that may still use the previously active interval.
+     */
+    private void flipPhase() {
+        boolean nextPhaseIsEven = startEpoch.get() < 0;
+        long initialStartValue = nextPhaseIsEven ? 0 : Long.MIN_VALUE;
+        (nextPhaseIsEven ? evenEndEpoch : oddEndEpoch).set(initialStartValue);
+        long startValueAtFlip = startEpoch.getAndSet(initialStartValue);
+        AtomicLong endEpoch = nextPhaseIsEven ? oddEndEpoch : evenEndEpoch;
+        while (endEpoch.get() != startValueAtFlip) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Returns the bucket of a value that is not negative.
+     */
+    static int bucketIndex(long value) {
+        if (value < 2 * SUB_BUCKET_HALF_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    /**
+     * Returns the lowest value counted in a bucket.
+     */
+    static long lowestValue(int index) {
+        if (index < 2 * SUB_BUCKET_HALF_COUNT) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        return ((long) ((index & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT)) << shift;
+    }
+
+    /**
+     * Returns the number of values counted in a bucket.
+     */
+    static long bucketWidth(int index) {
+        if (index < 2 * SUB_BUCKET_HALF_COUNT) {
+            return 1;
+        }
+        return 1L << ((index >>> SUB_BUCKET_BITS) - 1);
+    }
+}
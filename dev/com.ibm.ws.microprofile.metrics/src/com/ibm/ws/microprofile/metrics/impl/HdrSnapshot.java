@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.microprofile.metrics.impl;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import org.eclipse.microprofile.metrics.Snapshot;
+
+import com.ibm.ws.microprofile.metrics.impl.HdrReservoir.Interval;
+
+/**
+ * A statistical snapshot of a {@link HdrReservoir}. Each non-empty bucket is represented by the
+ * middle of its range, limited to the lowest and highest recorded values.
+ */
+public class HdrSnapshot extends Snapshot {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final long[] values;
+    private final long[] counts;
+    private final long totalCount;
+    private final long min;
+    private final long max;
+    private final double mean;
+
+    /**
+     * Create a new {@link Snapshot} of the values counted in the given intervals.
+     *
+     * @param intervals the intervals of the reservoir
+     */
+    HdrSnapshot(Interval... intervals) {
+        long lowest = Long.MAX_VALUE;
+        long highest = Long.MIN_VALUE;
+        long sum = 0;
+        for (Interval interval : intervals) {
+            lowest = Math.min(lowest, interval.min.get());
+            highest = Math.max(highest, interval.max.get());
+            sum += interval.sum.sum();
+        }
+
+        long[] bucketValues = new long[HdrReservoir.BUCKET_COUNT];
+        long[] bucketCounts = new long[HdrReservoir.BUCKET_COUNT];
+        int buckets = 0;
+        long total = 0;
+        for (int i = 0; i < HdrReservoir.BUCKET_COUNT; i++) {
+            long count = 0;
+            for (Interval interval : intervals) {
+                count += interval.counts.get(i);
+            }
+            if (count > 0) {
+                long value = HdrReservoir.lowestValue(i) + (HdrReservoir.bucketWidth(i) >>> 1);
+                bucketValues[buckets] = Math.max(lowest, Math.min(highest, value));
+                bucketCounts[buckets] = count;
+                buckets++;
+                total += count;
+            }
+        }
+
+        this.values = Arrays.copyOf(bucketValues, buckets);
+        this.counts = Arrays.copyOf(bucketCounts, buckets);
+        this.totalCount = total;
+        this.min = total == 0 ? 0 : lowest;
+        this.max = total == 0 ? 0 : highest;
+        this.mean = total == 0 ? 0 : Math.max(min, Math.min(max, (double) sum / total));
+    }
+
+    /**
+     * Returns the value at the given quantile.
+     *
+     * @param quantile a given quantile, in {@code [0..1]}
+     * @return the value in the distribution at {@code quantile}
+     */
+    @Override
+    public double getValue(double quantile) {
+        if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+            throw new IllegalArgumentException(quantile + " is not in [0..1]");
+        }
+
+        if (totalCount == 0) {
+            return 0.0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * totalCount));
+        long seen = 0;
+        for (int i = 0; i < values.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+
+    /**
+     * Returns the number of values in the snapshot.
+     *
+     * @return the number of values
+     */
+    @Override
+    public int size() {
+        return (int) Math.min(totalCount, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the value of each non-empty bucket in the snapshot.
+     *
+     * @return the bucket values
+     */
+    @Override
+    public long[] getValues() {
+        return Arrays.copyOf(values, values.length);
+    }
+
+    /**
+     * Returns the highest value in the snapshot.
+     *
+     * @return the highest value
+     */
+    @Override
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the lowest value in the snapshot.
+     *
+     * @return the lowest value
+     */
+    @Override
+    public long getMin() {
+        return min;
+    }
+
+    /**
+     * Returns the arithmetic mean of the values in the snapshot.
+     *
+     * @return the arithmetic mean
+     */
+    @Override
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Returns the standard deviation of the bucket values in the snapshot.
+     *
+     * @return the standard deviation value
+     */
+    @Override
+    public double getStdDev() {
+        if (totalCount <= 1) {
+            return 0;
+        }
+
+        double variance = 0;
+        for (int i = 0; i < values.length; i++) {
+            final double diff = values[i] - mean;
+            variance += counts[i] * diff * diff;
+        }
+
+        return Math.sqrt(variance / (totalCount - 1));
+    }
+
+    /**
+     * Writes the value and the count of each non-empty bucket to the given stream.
+     *
+     * @param output an output stream
+     */
+    @Override
+    public void dump(OutputStream output) {
+        final PrintWriter out = new PrintWriter(new OutputStreamWriter(output, UTF_8));
+        try {
+            for (int i = 0; i < values.length; i++) {
+                out.printf("%d %d%n", values[i], counts[i]);
+            }
+        } finally {
+            out.close();
+        }
+    }
+}
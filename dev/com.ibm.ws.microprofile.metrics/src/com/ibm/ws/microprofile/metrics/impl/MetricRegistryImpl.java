@@ -23,6 +23,8 @@
 *******************************************************************************/
 package com.ibm.ws.microprofile.metrics.impl;
 
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.Collections;
 import java.util.Map;
 import java.util.SortedMap;
@@ -111,6 +113,34 @@ public class MetricRegistryImpl extends MetricRegistry {
         return MetricType.INVALID;
     }
 
+    /**
+     * System property which selects the reservoir of new histograms and timers, either
+     * {@value #RESERVOIR_EXPONENTIALLY_DECAYING} (the default) or {@value #RESERVOIR_HDR}.
+     */
+    public static final String RESERVOIR_PROPERTY = "com.ibm.ws.microprofile.metrics.reservoir";
+    public static final String RESERVOIR_EXPONENTIALLY_DECAYING = "exponentiallyDecaying";
+    public static final String RESERVOIR_HDR = "hdr";
+
+    private static final boolean USE_HDR_RESERVOIR = RESERVOIR_HDR.equalsIgnoreCase(getReservoirProperty());
+
+    private static String getReservoirProperty() {
+        return AccessController.doPrivileged(new PrivilegedAction<String>() {
+            @Override
+            public String run() {
+                return System.getProperty(RESERVOIR_PROPERTY);
+            }
+        });
+    }
+
+    /**
+     * Creates the reservoir of a new histogram or timer, as selected by {@link #RESERVOIR_PROPERTY}.
+     *
+     * @return a new {@link Reservoir}
+     */
+    static Reservoir newReservoir() {
+        return USE_HDR_RESERVOIR ? new HdrReservoir() : new ExponentiallyDecayingReservoir();
+    }
+
     private final ConcurrentMap<String, Metric> metrics;
     private final ConcurrentMap<String, Metadata> metadata;
     private final ConcurrentHashMap<String, ConcurrentLinkedQueue<String>> applicationMap;
@@ -487,7 +517,7 @@ public class MetricRegistryImpl extends MetricRegistry {
         MetricBuilder<Histogram> HISTOGRAMS = new MetricBuilder<Histogram>() {
             @Override
             public Histogram newMetric() {
-                return new HistogramImpl(new ExponentiallyDecayingReservoir());
+                return new HistogramImpl(newReservoir());
             }
 
             @Override
@@ -511,7 +541,7 @@ public class MetricRegistryImpl extends MetricRegistry {
         MetricBuilder<Timer> TIMERS = new MetricBuilder<Timer>() {
             @Override
             public Timer newMetric() {
-                return new TimerImpl();
+                return new TimerImpl(newReservoir());
             }
 
             @Override
@@ -15,6 +15,8 @@ import java.io.Writer;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.microprofile.metrics.Counter;
 import org.eclipse.microprofile.metrics.Gauge;
@@ -42,8 +44,23 @@ public class PrometheusMetricWriter implements OutputWriter {
 
     private static final TraceComponent tc = Tr.register(PrometheusMetricWriter.class);
 
+    /*
+     * The metrics are written to the response whenever this many characters were built, so that
+     * the output of many metrics is never held in memory at once.
+     */
+    private static final int FLUSH_SIZE = 8192;
+
+    /*
+     * Translated and escaped help texts by locale. The cache is dropped if it grows past the number
+     * of metrics a server is expected to have.
+     */
+    private static final int MAX_CACHED_DESCRIPTIONS = 20000;
+    private static final ConcurrentMap<Locale, ConcurrentMap<String, String>> descriptions = new ConcurrentHashMap<Locale, ConcurrentMap<String, String>>();
+
     private final Writer writer;
     private final Locale locale;
+    private final StringBuilder builder = new StringBuilder(FLUSH_SIZE + FLUSH_SIZE / 2);
+    private char[] chars;
 
     public PrometheusMetricWriter(Writer writer, Locale locale) {
         this.writer = writer;
@@ -57,7 +74,6 @@ public class PrometheusMetricWriter implements OutputWriter {
      */
     @Override
     public void write(String registryName, String metricName) throws NoSuchMetricException, NoSuchRegistryException, IOException, EmptyRegistryException {
-        StringBuilder builder = new StringBuilder();
         writeMetricsAsPrometheus(builder, registryName, metricName);
         serialize(builder);
     }
@@ -65,7 +81,6 @@ public class PrometheusMetricWriter implements OutputWriter {
     /** {@inheritDoc} */
     @Override
     public void write(String registryName) throws NoSuchRegistryException, EmptyRegistryException, IOException {
-        StringBuilder builder = new StringBuilder();
         writeMetricsAsPrometheus(builder, registryName);
         serialize(builder);
     }
@@ -74,7 +89,6 @@ public class PrometheusMetricWriter implements OutputWriter {
     @Override
     @FFDCIgnore({ EmptyRegistryException.class, NoSuchRegistryException.class })
     public void write() throws IOException {
-        StringBuilder builder = new StringBuilder();
         for (String registryName : Constants.REGISTRY_NAMES_LIST) {
             try {
                 writeMetricsAsPrometheus(builder, registryName);
@@ -85,16 +99,17 @@ public class PrometheusMetricWriter implements OutputWriter {
         serialize(builder);
     }
 
-    private void writeMetricsAsPrometheus(StringBuilder builder, String registryName) throws NoSuchRegistryException, EmptyRegistryException {
+    private void writeMetricsAsPrometheus(StringBuilder builder, String registryName) throws NoSuchRegistryException, EmptyRegistryException, IOException {
         writeMetricMapAsPrometheus(builder, registryName, Util.getMetricsAsMap(registryName), Util.getMetricsMetadataAsMap(registryName));
     }
 
     private void writeMetricsAsPrometheus(StringBuilder builder, String registryName,
-                                          String metricName) throws NoSuchRegistryException, NoSuchMetricException, EmptyRegistryException {
+                                          String metricName) throws NoSuchRegistryException, NoSuchMetricException, EmptyRegistryException, IOException {
         writeMetricMapAsPrometheus(builder, registryName, Util.getMetricsAsMap(registryName, metricName), Util.getMetricsMetadataAsMap(registryName));
     }
 
-    private void writeMetricMapAsPrometheus(StringBuilder builder, String registryName, Map<String, Metric> metricMap, Map<String, Metadata> metricMetadataMap) {
+    private void writeMetricMapAsPrometheus(StringBuilder builder, String registryName, Map<String, Metric> metricMap,
+                                            Map<String, Metadata> metricMetadataMap) throws IOException {
         for (Entry<String, Metric> entry : metricMap.entrySet()) {
             String metricNamePrometheus = registryName + ":" + entry.getKey();
             Metric metric = entry.getValue();
@@ -103,13 +118,7 @@ public class PrometheusMetricWriter implements OutputWriter {
             //description
             Metadata metricMetaData = metricMetadataMap.get(entryName);
 
-            String description = "";
-
-            if (metricMetaData.getDescription() == null || metricMetaData.getDescription().trim().isEmpty()) {
-                description = "";
-            } else {
-                description = Tr.formatMessage(tc, locale, metricMetaData.getDescription());
-            }
+            String description = getDescription(metricMetaData.getDescription());
 
             String tags = metricMetaData.getTagsAsString();
 
@@ -234,12 +243,59 @@ public class PrometheusMetricWriter implements OutputWriter {
             } else {
                 Tr.event(tc, "Metric type '" + metric.getClass() + " for " + entryName + " is invalid.");
             }
+
+            if (builder.length() >= FLUSH_SIZE) {
+                flush(builder);
+            }
+        }
+    }
+
+    /*
+     * Returns the translated help text, escaped for the Prometheus format.
+     */
+    private String getDescription(String description) {
+        if (description == null || description.trim().isEmpty()) {
+            return "";
+        }
+        Locale key = locale == null ? Locale.getDefault() : locale;
+        ConcurrentMap<String, String> localeDescriptions = descriptions.get(key);
+        if (localeDescriptions == null) {
+            localeDescriptions = new ConcurrentHashMap<String, String>();
+            ConcurrentMap<String, String> existing = descriptions.putIfAbsent(key, localeDescriptions);
+            if (existing != null) {
+                localeDescriptions = existing;
+            }
+        }
+        String formatted = localeDescriptions.get(description);
+        if (formatted == null) {
+            formatted = PrometheusBuilder.escapeHelp(Tr.formatMessage(tc, locale, description));
+            if (localeDescriptions.size() >= MAX_CACHED_DESCRIPTIONS) {
+                localeDescriptions.clear();
+            }
+            localeDescriptions.put(description, formatted);
+        }
+        return formatted;
+    }
+
+    /*
+     * Writes the built output to the response and empties the builder for reuse.
+     */
+    private void flush(StringBuilder builder) throws IOException {
+        int length = builder.length();
+        if (chars == null) {
+            chars = new char[FLUSH_SIZE];
+        }
+        for (int start = 0; start < length; start += chars.length) {
+            int end = Math.min(length, start + chars.length);
+            builder.getChars(start, end, chars, 0);
+            writer.write(chars, 0, end - start);
         }
+        builder.setLength(0);
     }
 
     private void serialize(StringBuilder builder) throws IOException {
         try {
-            writer.write(builder.toString());
+            flush(builder);
         } finally {
             writer.close();
         }
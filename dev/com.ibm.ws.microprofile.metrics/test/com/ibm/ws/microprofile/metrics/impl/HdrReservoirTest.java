@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.microprofile.metrics.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.microprofile.metrics.Snapshot;
+import org.junit.Test;
+
+public class HdrReservoirTest {
+
+    private static final long WINDOW = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * Clock which only moves when the test advances it.
+     */
+    private static class ManualClock extends Clock {
+        private volatile long tick;
+
+        @Override
+        public long getTick() {
+            return tick;
+        }
+
+        void advance(long nanos) {
+            tick += nanos;
+        }
+    }
+
+    /**
+     * Each bucket starts where the previous one ends, and the lowest and highest value of a bucket
+     * are counted in that bucket.
+     */
+    @Test
+    public void testBucketBoundaries() {
+        long expectedLowest = 0;
+        for (int i = 0; i < HdrReservoir.BUCKET_COUNT; i++) {
+            long lowest = HdrReservoir.lowestValue(i);
+            long highest = lowest + HdrReservoir.bucketWidth(i) - 1;
+            assertEquals("Lowest value of bucket " + i, expectedLowest, lowest);
+            assertEquals("Bucket of " + lowest, i, HdrReservoir.bucketIndex(lowest));
+            assertEquals("Bucket of " + highest, i, HdrReservoir.bucketIndex(highest));
+            expectedLowest = highest + 1;
+        }
+        // the last bucket ends with the highest long value
+        assertEquals(Long.MIN_VALUE, expectedLowest);
+        assertEquals(HdrReservoir.BUCKET_COUNT - 1, HdrReservoir.bucketIndex(Long.MAX_VALUE));
+    }
+
+    /**
+     * Values below 128 are counted exactly, and a larger value is counted in a bucket whose width
+     * is at most 1/64 of the value.
+     */
+    @Test
+    public void testBucketPrecision() {
+        for (long value = 0; value < 2 * HdrReservoir.SUB_BUCKET_HALF_COUNT; value++) {
+            assertEquals(1, HdrReservoir.bucketWidth(HdrReservoir.bucketIndex(value)));
+        }
+        for (int bit = 7; bit < 63; bit++) {
+            long[] values = { 1L << bit, (1L << bit) - 1, (1L << bit) + 1, (1L << (bit + 1)) - 1 };
+            for (long value : values) {
+                long width = HdrReservoir.bucketWidth(HdrReservoir.bucketIndex(value));
+                assertTrue("Width " + width + " of the bucket of " + value, width * HdrReservoir.SUB_BUCKET_HALF_COUNT <= value);
+            }
+        }
+    }
+
+    /**
+     * The percentiles of a snapshot are within 1/128 of the exact percentiles, the half width of
+     * a bucket.
+     */
+    @Test
+    public void testPercentilePrecision() {
+        HdrReservoir reservoir = new HdrReservoir();
+        Random random = new Random(42);
+        long[] values = new long[100000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 40);
+            reservoir.update(values[i]);
+        }
+        Arrays.sort(values);
+
+        Snapshot snapshot = reservoir.getSnapshot();
+        assertEquals(values.length, snapshot.size());
+        assertEquals(values[0], snapshot.getMin());
+        assertEquals(values[values.length - 1], snapshot.getMax());
+
+        double[] quantiles = { 0.0, 0.001, 0.1, 0.25, 0.5, 0.75, 0.95, 0.98, 0.99, 0.999, 1.0 };
+        for (double quantile : quantiles) {
+            long exact = values[(int) Math.max(0, Math.ceil(quantile * values.length) - 1)];
+            double error = Math.abs(snapshot.getValue(quantile) - exact);
+            assertTrue("Value " + snapshot.getValue(quantile) + " at " + quantile + ", expected " + exact,
+                       error <= (double) exact / (2 * HdrReservoir.SUB_BUCKET_HALF_COUNT));
+        }
+    }
+
+    /**
+     * Values stay in the snapshots for one to two window lengths, and negative values are
+     * recorded as zero.
+     */
+    @Test
+    public void testIntervalRotation() {
+        ManualClock clock = new ManualClock();
+        HdrReservoir reservoir = new HdrReservoir(WINDOW, TimeUnit.NANOSECONDS, clock);
+
+        reservoir.update(10);
+        reservoir.update(-5);
+        Snapshot snapshot = reservoir.getSnapshot();
+        assertEquals(2, snapshot.size());
+        assertEquals(0, snapshot.getMin());
+        assertEquals(10, snapshot.getMax());
+
+        // the values move to the previous interval
+        clock.advance(WINDOW);
+        snapshot = reservoir.getSnapshot();
+        assertEquals(2, snapshot.size());
+
+        reservoir.update(20);
+        snapshot = reservoir.getSnapshot();
+        assertEquals(3, snapshot.size());
+        assertEquals(20, snapshot.getMax());
+
+        clock.advance(WINDOW);
+        snapshot = reservoir.getSnapshot();
+        assertEquals(1, snapshot.size());
+        assertEquals(20, snapshot.getMin());
+
+        // nothing was read for two window lengths
+        reservoir.update(30);
+        clock.advance(2 * WINDOW);
+        snapshot = reservoir.getSnapshot();
+        assertEquals(0, snapshot.size());
+        assertEquals(0, reservoir.size());
+        assertEquals(0.0, snapshot.getValue(0.5), 0.0);
+    }
+
+    /**
+     * Rotating the intervals while values are recorded waits for the updates in flight, so that an
+     * interval is never reset while a value is recorded in it.
+     */
+    @Test
+    public void testIntervalRotationWithConcurrentUpdates() throws Exception {
+        final ManualClock clock = new ManualClock();
+        final HdrReservoir reservoir = new HdrReservoir(WINDOW, TimeUnit.NANOSECONDS, clock);
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+        Thread[] writers = new Thread[4];
+        for (int i = 0; i < writers.length; i++) {
+            writers[i] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        while (!done.get()) {
+                            reservoir.update(1000);
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                }
+            };
+            writers[i].start();
+        }
+
+        try {
+            for (int round = 0; round < 1000 && failure.get() == null; round++) {
+                clock.advance(WINDOW);
+                reservoir.getSnapshot();
+            }
+        } finally {
+            done.set(true);
+            for (Thread writer : writers) {
+                writer.join();
+            }
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+
+        // the counts of the buckets agree with the number of values of both intervals
+        Snapshot snapshot = reservoir.getSnapshot();
+        assertEquals(reservoir.size(), snapshot.size());
+        assertEquals(1000, snapshot.getMin());
+        assertEquals(1000, snapshot.getMax());
+        assertEquals(1000.0, snapshot.getMean(), 0.0);
+    }
+}
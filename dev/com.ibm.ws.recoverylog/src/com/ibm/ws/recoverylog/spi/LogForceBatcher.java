@@ -0,0 +1,387 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.ws.recoverylog.spi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ibm.tx.util.logging.Tr;
+import com.ibm.tx.util.logging.TraceComponent;
+
+//------------------------------------------------------------------------------
+//Class: LogForceBatcher
+//------------------------------------------------------------------------------
+/**
+ * <p>
+ * Coalesces concurrent force requests against a recovery log into a single
+ * physical force (group commit). The first caller to arrive while no force is
+ * in progress becomes the leader of the next batch. It optionally waits for up
+ * to the configured maximum delay, or until the configured batch size has been
+ * reached, before forcing the log file on behalf of every caller that arrived
+ * before the force started. All other callers simply block until a force that
+ * covers their request has completed.
+ * </p>
+ *
+ * <p>
+ * Each caller must have written its data to the log file before requesting the
+ * force, so any force that starts after the request has been registered is
+ * guaranteed to make that data persistent.
+ * </p>
+ *
+ * <p>
+ * Group commit is enabled with the com.ibm.ws.recoverylog.spi.GroupCommit system
+ * property. The com.ibm.ws.recoverylog.spi.GroupCommitMaxDelay property sets the
+ * number of microseconds a leader may wait for more requests (default 0, ie batch
+ * only the requests that arrive during the previous force) and the
+ * com.ibm.ws.recoverylog.spi.GroupCommitMaxBatchSize property sets the number of
+ * requests after which a leader stops waiting (default 64).
+ * </p>
+ */
+class LogForceBatcher
+{
+    private static final TraceComponent tc = Tr.register(LogForceBatcher.class, TraceConstants.TRACE_GROUP, TraceConstants.NLS_FILE);
+
+    /**
+     * Flag indicating if group commit has been enabled for recovery log forces.
+     */
+    static final boolean GROUP_COMMIT_ENABLED = Boolean.getBoolean("com.ibm.ws.recoverylog.spi.GroupCommit");
+
+    /**
+     * The maximum time (in nanoseconds) a batch leader will wait for further requests.
+     */
+    private static final long MAX_DELAY_NANOS = Long.getLong("com.ibm.ws.recoverylog.spi.GroupCommitMaxDelay", 0L) * 1000L;
+
+    /**
+     * The number of requests that causes a waiting batch leader to force immediately.
+     */
+    private static final int MAX_BATCH_SIZE = Integer.getInteger("com.ibm.ws.recoverylog.spi.GroupCommitMaxBatchSize", 64);
+
+    /**
+     * The log name, used for trace only.
+     */
+    private final String _logName;
+
+    /**
+     * Number of force requests that have been registered.
+     */
+    private long _requested;
+
+    /**
+     * All requests up to and including this number have been forced.
+     */
+    private long _completed;
+
+    /**
+     * The failed batches with requests whose callers have not been told of the
+     * failure yet. A batch is dropped once each of its requests has been reported.
+     */
+    private final List<FailedBatch> _failedBatches = new ArrayList<FailedBatch>();
+
+    /**
+     * Flag indicating that a batch leader currently owns the log file.
+     */
+    private boolean _forceInProgress;
+
+    // Statistics, guarded by this
+    private long _forceCount;
+    private long _forcedRequests;
+    private long _maxBatchSize;
+    private long _totalForceNanos;
+    private long _maxForceNanos;
+
+    //------------------------------------------------------------------------------
+    // Method: LogForceBatcher.LogForceBatcher
+    //------------------------------------------------------------------------------
+    /**
+     * Package access constructor.
+     *
+     * @param logName The name of the recovery log served by this batcher.
+     */
+    LogForceBatcher(String logName)
+    {
+        _logName = logName;
+        if (tc.isDebugEnabled())
+            Tr.debug(tc, "Group commit for " + logName + " maxDelay(ns)=" + MAX_DELAY_NANOS + " maxBatchSize=" + MAX_BATCH_SIZE);
+    }
+
+    //------------------------------------------------------------------------------
+    // Method: LogForceBatcher.force
+    //------------------------------------------------------------------------------
+    /**
+     * <p>
+     * Ensure that all data written to the supplied log file before this call is
+     * forced to persistent storage, sharing the physical force with any concurrent
+     * callers. The caller must hold the recovery log shared control lock so that the
+     * active file cannot be switched by a keypoint while the batch is outstanding.
+     * </p>
+     *
+     * @param activeFile The log file to be forced.
+     *
+     * @exception InternalLogException The force covering this request failed.
+     */
+    void force(LogFileHandle activeFile) throws InternalLogException
+    {
+        if (tc.isEntryEnabled())
+            Tr.entry(tc, "force", new Object[] { _logName, activeFile });
+
+        boolean interrupted = false;
+        final long ticket;
+
+        synchronized (this)
+        {
+            ticket = ++_requested;
+
+            // Wake a waiting batch leader once the batch is full
+            if (_forceInProgress && (_requested - _completed) >= MAX_BATCH_SIZE)
+                notifyAll();
+        }
+
+        try
+        {
+            while (true)
+            {
+                final long batchStart;
+                final long batchEnd;
+
+                synchronized (this)
+                {
+                    while (true)
+                    {
+                        if (ticket <= _completed)
+                        {
+                            final InternalLogException failure = takeFailure(ticket);
+                            if (failure != null)
+                            {
+                                if (tc.isEntryEnabled())
+                                    Tr.exit(tc, "force", failure);
+                                throw failure;
+                            }
+
+                            if (tc.isEntryEnabled())
+                                Tr.exit(tc, "force");
+                            return;
+                        }
+
+                        if (!_forceInProgress)
+                            break;
+
+                        try
+                        {
+                            wait();
+                        } catch (InterruptedException exc)
+                        {
+                            // The caller cannot be released until its data is persistent
+                            interrupted = true;
+                        }
+                    }
+
+                    // Become the leader of the next batch and give other requests the
+                    // chance to join it.
+                    _forceInProgress = true;
+                    long remaining = MAX_DELAY_NANOS;
+                    final long deadline = System.nanoTime() + remaining;
+                    while (remaining > 0 && (_requested - _completed) < MAX_BATCH_SIZE)
+                    {
+                        try
+                        {
+                            wait(remaining / 1000000L, (int) (remaining % 1000000L));
+                        } catch (InterruptedException exc)
+                        {
+                            interrupted = true;
+                            break;
+                        }
+                        remaining = deadline - System.nanoTime();
+                    }
+
+                    // Every request registered before the physical force starts is covered by it
+                    batchStart = _completed;
+                    batchEnd = _requested;
+                }
+
+                InternalLogException failure = null;
+                final long start = System.nanoTime();
+                try
+                {
+                    activeFile.force();
+                } catch (InternalLogException exc)
+                {
+                    failure = exc;
+                } catch (RuntimeException exc)
+                {
+                    failure = new InternalLogException(exc);
+                }
+                final long elapsed = System.nanoTime() - start;
+
+                synchronized (this)
+                {
+                    final long batchSize = batchEnd - batchStart;
+                    _completed = batchEnd;
+                    _forceInProgress = false;
+                    _forceCount++;
+                    _forcedRequests += batchSize;
+                    _totalForceNanos += elapsed;
+                    if (elapsed > _maxForceNanos)
+                        _maxForceNanos = elapsed;
+                    if (batchSize > _maxBatchSize)
+                        _maxBatchSize = batchSize;
+
+                    if (failure != null && batchSize > 0)
+                        _failedBatches.add(new FailedBatch(batchStart, batchEnd, failure));
+
+                    if (tc.isDebugEnabled())
+                        Tr.debug(tc, "Forced batch of " + batchSize + " requests in " + elapsed + "ns", failure);
+                    notifyAll();
+                }
+            }
+        } finally
+        {
+            if (interrupted)
+                Thread.currentThread().interrupt();
+        }
+    }
+
+    //------------------------------------------------------------------------------
+    // Method: LogForceBatcher.takeFailure
+    //------------------------------------------------------------------------------
+    /**
+     * Returns the exception of the failed batch that covered the given request, if
+     * any, and counts the request as reported. Must be called with this locked and
+     * only once for each completed request.
+     *
+     * @param ticket The completed request.
+     *
+     * @return The exception to report to the caller, or null if the request was forced.
+     */
+    private InternalLogException takeFailure(long ticket)
+    {
+        for (int i = 0; i < _failedBatches.size(); i++)
+        {
+            final FailedBatch batch = _failedBatches.get(i);
+            if (ticket > batch.from && ticket <= batch.upTo)
+            {
+                if (--batch.unreported == 0)
+                    _failedBatches.remove(i);
+                return batch.failure;
+            }
+        }
+        return null;
+    }
+
+    //------------------------------------------------------------------------------
+    // Method: LogForceBatcher.statistics
+    //------------------------------------------------------------------------------
+    /**
+     * Returns a summary of the group commit activity for this log: the number of
+     * physical forces, the number of force requests they satisfied, the largest
+     * batch and the average and maximum force latency.
+     *
+     * @return The group commit statistics.
+     */
+    synchronized String statistics()
+    {
+        final long averageNanos = _forceCount == 0 ? 0 : _totalForceNanos / _forceCount;
+        return "forces=" + _forceCount +
+               " requests=" + _forcedRequests +
+               " maxBatchSize=" + _maxBatchSize +
+               " avgForceNanos=" + averageNanos +
+               " maxForceNanos=" + _maxForceNanos;
+    }
+
+    //------------------------------------------------------------------------------
+    // Method: LogForceBatcher.getForceCount
+    //------------------------------------------------------------------------------
+    /**
+     * @return The number of physical forces issued.
+     */
+    synchronized long getForceCount()
+    {
+        return _forceCount;
+    }
+
+    //------------------------------------------------------------------------------
+    // Method: LogForceBatcher.getForcedRequests
+    //------------------------------------------------------------------------------
+    /**
+     * @return The number of force requests satisfied by the physical forces.
+     */
+    synchronized long getForcedRequests()
+    {
+        return _forcedRequests;
+    }
+
+    //------------------------------------------------------------------------------
+    // Method: LogForceBatcher.getMaxBatchSize
+    //------------------------------------------------------------------------------
+    /**
+     * @return The largest number of requests satisfied by a single physical force.
+     */
+    synchronized long getMaxBatchSize()
+    {
+        return _maxBatchSize;
+    }
+
+    //------------------------------------------------------------------------------
+    // Method: LogForceBatcher.getTotalForceNanos
+    //------------------------------------------------------------------------------
+    /**
+     * @return The accumulated time spent in physical forces, in nanoseconds.
+     */
+    synchronized long getTotalForceNanos()
+    {
+        return _totalForceNanos;
+    }
+
+    //------------------------------------------------------------------------------
+    // Method: LogForceBatcher.getMaxForceNanos
+    //------------------------------------------------------------------------------
+    /**
+     * @return The longest single physical force, in nanoseconds.
+     */
+    synchronized long getMaxForceNanos()
+    {
+        return _maxForceNanos;
+    }
+
+    //------------------------------------------------------------------------------
+    // Method: LogForceBatcher.getUnreportedFailures
+    //------------------------------------------------------------------------------
+    /**
+     * @return The number of failed batches whose callers have not all been told yet.
+     */
+    synchronized int getUnreportedFailures()
+    {
+        return _failedBatches.size();
+    }
+
+    //------------------------------------------------------------------------------
+    // Class: LogForceBatcher.FailedBatch
+    //------------------------------------------------------------------------------
+    /**
+     * The requests after from, up to and including upTo, that were covered by a
+     * failed force.
+     */
+    private static final class FailedBatch
+    {
+        final long from;
+        final long upTo;
+        final InternalLogException failure;
+        long unreported;
+
+        FailedBatch(long from, long upTo, InternalLogException failure)
+        {
+            this.from = from;
+            this.upTo = upTo;
+            this.failure = failure;
+            this.unreported = upTo - from;
+        }
+    }
+}
@@ -154,6 +154,11 @@ class LogHandle
      */
     FailureScope _failureScope;
 
+    /**
+     * Coalesces concurrent force requests when group commit is enabled, null otherwise.
+     */
+    private final LogForceBatcher _forceBatcher;
+
     //------------------------------------------------------------------------------
     // Method: LogHandle.LogHandle          
     //------------------------------------------------------------------------------
@@ -201,6 +206,7 @@ class LogHandle
         _maxLogFileSize = maxLogFileSize;
         _logFileSize = logFileSize;
         _failureScope = fs;
+        _forceBatcher = LogForceBatcher.GROUP_COMMIT_ENABLED ? new LogForceBatcher(logName) : null;
 
         if (tc.isEntryEnabled())
             Tr.exit(tc, "LogHandle", this);
@@ -822,6 +828,9 @@ class LogHandle
             throw new InternalLogException(exc);
         }
 
+        if (_forceBatcher != null && tc.isEventEnabled())
+            Tr.event(tc, "Group commit statistics for " + _logName + ": " + _forceBatcher.statistics());
+
         _file1 = null;
         _file2 = null;
         _activeFile = null;
@@ -928,13 +937,31 @@ class LogHandle
         //  hit when calling the force method 
         if (!Configuration._isSnapshotSafe)
         {
-            _activeFile.force();
+            // With group commit enabled concurrent callers share a single physical force
+            if (_forceBatcher != null)
+                _forceBatcher.force(_activeFile);
+            else
+                _activeFile.force();
         }
 
         if (tc.isEntryEnabled())
             Tr.exit(tc, "force");
     }
 
+    //------------------------------------------------------------------------------
+    // Method: LogHandle.forceBatcher
+    //------------------------------------------------------------------------------
+    /**
+     * Returns the group commit batcher for this log, giving access to the batch size
+     * and force latency statistics.
+     * 
+     * @return The group commit batcher, or null if group commit is not enabled.
+     */
+    LogForceBatcher forceBatcher()
+    {
+        return _forceBatcher;
+    }
+
     //------------------------------------------------------------------------------
     // Method: LogHandle.logFileHeader
     //------------------------------------------------------------------------------
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.recoverylog.spi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LogForceBatcherTest
+{
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 200;
+
+    /**
+     * A log file whose first forces fail. It notes how many requests the batcher had
+     * completed when each force started, which gives the size of each batch.
+     */
+    private static class FailingLogFile extends LogFileHandle
+    {
+        private final int _failures;
+        private final List<Long> _completedAtStart = new ArrayList<Long>();
+        private LogForceBatcher _batcher;
+
+        FailingLogFile(int failures)
+        {
+            super("test", "test", "test", "test", 1, "test", 1, null);
+            _failures = failures;
+        }
+
+        @Override
+        protected void force() throws InternalLogException
+        {
+            final int force;
+            synchronized (_completedAtStart)
+            {
+                force = _completedAtStart.size();
+                _completedAtStart.add(_batcher.getForcedRequests());
+            }
+            Thread.yield();
+            if (force < _failures)
+                throw new InternalLogException("force " + force + " failed", null);
+        }
+
+        /**
+         * @return The number of requests covered by the failed forces.
+         */
+        long failedRequests()
+        {
+            synchronized (_completedAtStart)
+            {
+                if (_completedAtStart.size() > _failures)
+                    return _completedAtStart.get(_failures);
+                return _batcher.getForcedRequests();
+            }
+        }
+    }
+
+    private void forceConcurrently(final LogForceBatcher batcher, final FailingLogFile file, final AtomicInteger failed) throws Exception
+    {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Throwable> errors = new ArrayList<Throwable>();
+        final Thread[] threads = new Thread[THREADS];
+        for (int i = 0; i < THREADS; i++)
+        {
+            threads[i] = new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        start.await();
+                        batcher.force(file);
+                    } catch (InternalLogException e)
+                    {
+                        failed.incrementAndGet();
+                    } catch (Throwable t)
+                    {
+                        synchronized (errors)
+                        {
+                            errors.add(t);
+                        }
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        start.countDown();
+        for (int i = 0; i < THREADS; i++)
+        {
+            threads[i].join(30000);
+            Assert.assertFalse("force did not return", threads[i].isAlive());
+        }
+        Assert.assertTrue("unexpected errors " + errors, errors.isEmpty());
+    }
+
+    @Test
+    public void testSingleFailure() throws Exception
+    {
+        final LogForceBatcher batcher = new LogForceBatcher("test");
+        final FailingLogFile file = new FailingLogFile(1);
+        file._batcher = batcher;
+
+        try
+        {
+            batcher.force(file);
+            Assert.fail("the force of the only request failed");
+        } catch (InternalLogException e)
+        {
+            // expected
+        }
+        batcher.force(file);
+
+        Assert.assertEquals(2, batcher.getForceCount());
+        Assert.assertEquals(0, batcher.getUnreportedFailures());
+    }
+
+    /**
+     * Makes the first two batches fail in a row. Every request covered by either
+     * failed force must be reported as failed, whatever the order in which the
+     * waiters wake up, and every other request must succeed.
+     */
+    @Test
+    public void testTwoFailedBatchesInARow() throws Exception
+    {
+        for (int round = 0; round < ROUNDS; round++)
+        {
+            final LogForceBatcher batcher = new LogForceBatcher("test");
+            final FailingLogFile file = new FailingLogFile(2);
+            file._batcher = batcher;
+            final AtomicInteger failed = new AtomicInteger();
+
+            forceConcurrently(batcher, file, failed);
+
+            Assert.assertEquals("round " + round + ": " + batcher.statistics(), file.failedRequests(), failed.get());
+            Assert.assertEquals(THREADS, batcher.getForcedRequests());
+            Assert.assertEquals(0, batcher.getUnreportedFailures());
+        }
+    }
+}
@@ -45,7 +45,7 @@ public class AuthCacheServiceImpl implements AuthCacheService, UserRegistryChang
 
     private static final TraceComponent tc = Tr.register(AuthCacheServiceImpl.class);
 
-    private Cache cache;
+    private SegmentedCache cache;
     private final Set<CacheKeyProvider> cacheKeyProviders = new HashSet<CacheKeyProvider>();
     private boolean allowBasicAuthLookup = true;
     private int initialSize = 50;
@@ -180,7 +180,7 @@ public class AuthCacheServiceImpl implements AuthCacheService, UserRegistryChang
         }
         authCacheConfig = new AuthCacheConfigImpl(initialSize, maxSize, timeoutInMilliSeconds, allowBasicAuthLookup);
         stopCacheEvictionTask();
-        cache = new Cache(initialSize, maxSize, timeoutInMilliSeconds, cacheEvictionListenerSet);
+        cache = new SegmentedCache(initialSize, maxSize, timeoutInMilliSeconds, cacheEvictionListenerSet);
     }
 
     protected void deactivate(ComponentContext componentContext) {
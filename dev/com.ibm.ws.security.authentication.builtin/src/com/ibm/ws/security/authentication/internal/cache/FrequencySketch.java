@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.security.authentication.internal.cache;
+
+/**
+ * Count-min sketch estimating how often keys were accessed, used by {@link SegmentedCache} to decide
+ * whether a new entry is worth keeping over an existing one. Each key is counted in four 4-bit counters
+ * and the estimate is the smallest of them. All counters are halved once the number of increments
+ * reaches ten times the capacity, so that the sketch forgets old popularity.
+ * <p>
+ * This class is not thread safe, the owning segment guards it.
+ */
+class FrequencySketch {
+
+    private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * @param capacity expected maximum number of entries tracked by the owner
+     */
+    FrequencySketch(int capacity) {
+        int size = 16;
+        int wanted = Math.min(Math.max(capacity, 16), 1 << 24);
+        while (size < wanted) {
+            size <<= 1;
+        }
+        table = new long[size];
+        tableMask = size - 1;
+        sampleSize = (capacity > Integer.MAX_VALUE / 10) ? Integer.MAX_VALUE : Math.max(capacity, 16) * 10;
+    }
+
+    /**
+     * @return estimated number of times the key with the hash was counted, at most 15.
+     */
+    int frequency(int hash) {
+        int start = (hash & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Counts an access of the key with the hash.
+     */
+    void increment(int hash) {
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = 0xfL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return ((int) h) & tableMask;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+}
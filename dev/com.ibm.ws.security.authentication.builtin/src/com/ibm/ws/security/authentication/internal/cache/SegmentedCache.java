@@ -0,0 +1,495 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.security.authentication.internal.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ibm.websphere.ras.Tr;
+import com.ibm.websphere.ras.TraceComponent;
+import com.ibm.ws.security.authentication.cache.CacheEvictionListener;
+
+/**
+ * Cache split into independently locked segments, so that concurrent logins only contend when their
+ * keys fall into the same segment.
+ * <p>
+ * Each segment keeps its entries in three access ordered queues following the W-TinyLFU policy: new
+ * entries enter a small window queue, entries leaving the window go to the probation queue and entries
+ * accessed again while on probation are promoted to the protected queue. When the segment is full the
+ * oldest entry on probation is compared with the newest one, and the one accessed less often according
+ * to a {@link FrequencySketch} is evicted. This keeps frequently used subjects cached when many one-time
+ * logins pass through the cache.
+ * <p>
+ * Entries expire when they were not accessed for the timeout. Expiration times are tracked per entry by a
+ * {@link TimerWheel} in each segment, expired entries are never returned and are removed on the next
+ * operation on their segment or by the periodic clean up task.
+ * <p>
+ * Hit, miss, eviction and expiration counts are kept for the whole cache.
+ */
+public class SegmentedCache {
+
+    private static final TraceComponent tc = Tr.register(SegmentedCache.class, "Authentication");
+
+    private static final int MAX_SEGMENTS = 64;
+    private static final int MIN_SEGMENT_SIZE = 32;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final int entryLimit;
+    private final long timeout;
+    private final long startTime = System.nanoTime();
+
+    /**
+     * Listener for cache eviction notifications.
+     */
+    private final Set<CacheEvictionListener> cacheEvictionListenerSet;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong expirationCount = new AtomicLong();
+
+    /**
+     * Timer to schedule the clean up task.
+     */
+    private Timer timer;
+
+    public SegmentedCache(int initialSize, int entryLimit, long timeoutInMilliSeconds) {
+        this(initialSize, entryLimit, timeoutInMilliSeconds, null);
+    }
+
+    public SegmentedCache(int initialSize, int entryLimit, long timeoutInMilliSeconds, Set<CacheEvictionListener> callbackSet) {
+        this.entryLimit = entryLimit;
+        this.timeout = timeoutInMilliSeconds;
+        this.cacheEvictionListenerSet = callbackSet;
+
+        boolean bounded = entryLimit > 0 && entryLimit < Integer.MAX_VALUE;
+        int count = 1;
+        int concurrency = Runtime.getRuntime().availableProcessors() * 4;
+        while (count < concurrency && count < MAX_SEGMENTS && (!bounded || entryLimit / (count << 1) >= MIN_SEGMENT_SIZE)) {
+            count <<= 1;
+        }
+        segments = new Segment[count];
+        segmentMask = count - 1;
+        int capacity = bounded ? (entryLimit + count - 1) / count : Integer.MAX_VALUE;
+        int initialCapacity = Math.max(initialSize, 0) / count;
+        long now = now();
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(initialCapacity, capacity, now);
+        }
+
+        if (timeoutInMilliSeconds > 0) {
+            scheduleCleanUpTask(timeoutInMilliSeconds);
+        }
+    }
+
+    private void scheduleCleanUpTask(long timeoutInMilliSeconds) {
+        timer = new Timer(true);
+        long period = Math.max(timeoutInMilliSeconds / 2, 1);
+        timer.schedule(new CleanUpTask(), period, period);
+    }
+
+    private long now() {
+        return (System.nanoTime() - startTime) / 1000000L;
+    }
+
+    private static int spread(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[(hash >>> 24) & segmentMask];
+    }
+
+    /**
+     * Find and return the object associated with the specified key.
+     */
+    public Object get(Object key) {
+        int hash = spread(key);
+        List<Object> victims = new ArrayList<Object>(0);
+        Object value = segmentFor(hash).get(key, hash, now(), victims);
+        if (value == null) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+        notifyListeners(victims);
+        return value;
+    }
+
+    /**
+     * Insert the value into the Cache using the specified key.
+     */
+    public void insert(Object key, Object value) {
+        int hash = spread(key);
+        List<Object> victims = new ArrayList<Object>(0);
+        segmentFor(hash).put(key, hash, value, now(), victims);
+        notifyListeners(victims);
+    }
+
+    /**
+     * Remove an object from the Cache.
+     */
+    public void remove(Object key) {
+        int hash = spread(key);
+        List<Object> victims = new ArrayList<Object>(0);
+        segmentFor(hash).remove(key, now(), victims);
+        notifyListeners(victims);
+    }
+
+    /**
+     * Purge all entries from the Cache. Evicted values are reported to the listeners
+     * in one notification.
+     */
+    protected void clearAllEntries() {
+        List<Object> victims = new ArrayList<Object>();
+        for (Segment segment : segments) {
+            segment.clear(victims);
+        }
+        notifyListeners(victims);
+    }
+
+    /**
+     * Removes expired entries from all segments.
+     */
+    void cleanUp() {
+        List<Object> victims = new ArrayList<Object>(0);
+        long now = now();
+        for (Segment segment : segments) {
+            segment.cleanUp(now, victims);
+        }
+        notifyListeners(victims);
+        if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
+            Tr.debug(tc, "The current cache size is " + size() + ", hits " + getHitCount() + ", misses " + getMissCount() +
+                         ", evictions " + getEvictionCount() + ", expirations " + getExpirationCount());
+        }
+    }
+
+    private void notifyListeners(List<Object> victims) {
+        if (!victims.isEmpty() && cacheEvictionListenerSet != null) {
+            for (CacheEvictionListener evictionCallback : cacheEvictionListenerSet) {
+                evictionCallback.evicted(victims);
+            }
+        }
+    }
+
+    protected void stopEvictionTask() {
+        if (timer != null) {
+            timer.cancel();
+        }
+    }
+
+    int getEntryLimit() {
+        return entryLimit;
+    }
+
+    int getSegmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * @return number of entries in the cache, including expired entries not yet removed.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return number of lookups that found a value.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return number of lookups that did not find a value.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return number of entries evicted to keep the cache within its entry limit.
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * @return number of entries removed because they were not accessed within the timeout.
+     */
+    public long getExpirationCount() {
+        return expirationCount.get();
+    }
+
+    static final int WINDOW = 0;
+    static final int PROBATION = 1;
+    static final int PROTECTED = 2;
+
+    /**
+     * Cache entry, linked into the access order queue and the timer wheel of its segment.
+     */
+    static class Node {
+        final Object key;
+        final int hash;
+        Object value;
+        int queue;
+        long expiry;
+        Node prev;
+        Node next;
+        Node wheelPrev;
+        Node wheelNext;
+
+        Node(Object key, int hash, Object value) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+        }
+
+        static Node sentinel() {
+            Node sentinel = new Node(null, 0, null);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            sentinel.wheelPrev = sentinel;
+            sentinel.wheelNext = sentinel;
+            return sentinel;
+        }
+    }
+
+    /**
+     * Access ordered queue, least recently used entry first.
+     */
+    static class AccessQueue {
+        private final Node sentinel = Node.sentinel();
+        int size;
+
+        Node first() {
+            return sentinel.next == sentinel ? null : sentinel.next;
+        }
+
+        Node last() {
+            return sentinel.prev == sentinel ? null : sentinel.prev;
+        }
+
+        void add(Node node) {
+            node.prev = sentinel.prev;
+            node.next = sentinel;
+            sentinel.prev.next = node;
+            sentinel.prev = node;
+            size++;
+        }
+
+        void remove(Node node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        void moveToLast(Node node) {
+            remove(node);
+            add(node);
+        }
+    }
+
+    private class Segment {
+        private final Map<Object, Node> data;
+        private final int capacity;
+        private final int windowCapacity;
+        private final int protectedCapacity;
+        private final AccessQueue window = new AccessQueue();
+        private final AccessQueue probation = new AccessQueue();
+        private final AccessQueue protectedQueue = new AccessQueue();
+        private final FrequencySketch sketch;
+        private final TimerWheel wheel;
+
+        Segment(int initialCapacity, int capacity, long now) {
+            this.data = new HashMap<Object, Node>(initialCapacity);
+            this.capacity = capacity;
+            this.windowCapacity = Math.max(1, capacity / 100);
+            this.protectedCapacity = (int) ((capacity - (long) windowCapacity) * 8 / 10);
+            this.sketch = new FrequencySketch(capacity == Integer.MAX_VALUE ? 1024 : capacity);
+            this.wheel = timeout > 0 ? new TimerWheel(now) : null;
+        }
+
+        synchronized Object get(Object key, int hash, long now, List<Object> victims) {
+            expireEntries(now, victims);
+            sketch.increment(hash);
+            Node node = data.get(key);
+            if (node == null) {
+                return null;
+            }
+            if (wheel != null && node.expiry <= now) {
+                // Not yet visited by the wheel
+                removeNode(node);
+                victims.add(node.value);
+                expirationCount.incrementAndGet();
+                return null;
+            }
+            onAccess(node, now);
+            return node.value;
+        }
+
+        synchronized void put(Object key, int hash, Object value, long now, List<Object> victims) {
+            expireEntries(now, victims);
+            sketch.increment(hash);
+            Node node = data.get(key);
+            if (node != null) {
+                if (node.value != null) {
+                    victims.add(node.value);
+                }
+                node.value = value;
+                onAccess(node, now);
+                return;
+            }
+            node = new Node(key, hash, value);
+            data.put(key, node);
+            node.queue = WINDOW;
+            window.add(node);
+            if (wheel != null) {
+                node.expiry = now + timeout;
+                wheel.schedule(node);
+            }
+            evictEntries(victims);
+        }
+
+        synchronized void remove(Object key, long now, List<Object> victims) {
+            expireEntries(now, victims);
+            Node node = data.get(key);
+            if (node != null) {
+                removeNode(node);
+                victims.add(node.value);
+            }
+        }
+
+        synchronized void clear(List<Object> victims) {
+            for (Node node : data.values()) {
+                victims.add(node.value);
+            }
+            data.clear();
+            for (AccessQueue queue : new AccessQueue[] { window, probation, protectedQueue }) {
+                Node node;
+                while ((node = queue.first()) != null) {
+                    queue.remove(node);
+                    if (wheel != null) {
+                        wheel.deschedule(node);
+                    }
+                }
+            }
+        }
+
+        synchronized void cleanUp(long now, List<Object> victims) {
+            expireEntries(now, victims);
+        }
+
+        synchronized int size() {
+            return data.size();
+        }
+
+        private void onAccess(Node node, long now) {
+            if (node.queue == WINDOW) {
+                window.moveToLast(node);
+            } else if (node.queue == PROBATION) {
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedQueue.add(node);
+                // Demote the least recently used protected entries back to probation
+                while (protectedQueue.size > protectedCapacity) {
+                    Node demoted = protectedQueue.first();
+                    protectedQueue.remove(demoted);
+                    demoted.queue = PROBATION;
+                    probation.add(demoted);
+                }
+            } else {
+                protectedQueue.moveToLast(node);
+            }
+            if (wheel != null) {
+                node.expiry = now + timeout;
+                wheel.reschedule(node);
+            }
+        }
+
+        private void evictEntries(List<Object> victims) {
+            // Entries leaving the window become candidates on probation
+            while (window.size > windowCapacity) {
+                Node candidate = window.first();
+                window.remove(candidate);
+                candidate.queue = PROBATION;
+                probation.add(candidate);
+            }
+            while (data.size() > capacity) {
+                Node evicted;
+                Node victim = probation.first();
+                Node candidate = probation.last();
+                if (victim == null) {
+                    evicted = protectedQueue.first() != null ? protectedQueue.first() : window.first();
+                } else if (victim == candidate) {
+                    evicted = victim;
+                } else {
+                    // The candidate is only admitted if it was accessed more often than the victim
+                    evicted = sketch.frequency(candidate.hash) > sketch.frequency(victim.hash) ? victim : candidate;
+                }
+                removeNode(evicted);
+                if (evicted.value != null) {
+                    victims.add(evicted.value);
+                }
+                evictionCount.incrementAndGet();
+            }
+        }
+
+        private void expireEntries(long now, List<Object> victims) {
+            if (wheel != null) {
+                List<Node> expired = new ArrayList<Node>(0);
+                wheel.advance(now, expired);
+                for (Node node : expired) {
+                    data.remove(node.key);
+                    queueOf(node).remove(node);
+                    victims.add(node.value);
+                    expirationCount.incrementAndGet();
+                }
+            }
+        }
+
+        private void removeNode(Node node) {
+            data.remove(node.key);
+            queueOf(node).remove(node);
+            if (wheel != null) {
+                wheel.deschedule(node);
+            }
+        }
+
+        private AccessQueue queueOf(Node node) {
+            return node.queue == WINDOW ? window : node.queue == PROBATION ? probation : protectedQueue;
+        }
+    }
+
+    private class CleanUpTask extends TimerTask {
+
+        /** {@inheritDoc} */
+        @Override
+        public void run() {
+            cleanUp();
+        }
+
+    }
+}
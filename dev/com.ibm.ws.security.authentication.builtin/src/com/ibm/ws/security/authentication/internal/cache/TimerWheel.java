@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.security.authentication.internal.cache;
+
+import java.util.List;
+
+import com.ibm.ws.security.authentication.internal.cache.SegmentedCache.Node;
+
+/**
+ * Hierarchical timer wheel tracking the expiration time of the entries of a {@link SegmentedCache} segment.
+ * <p>
+ * There are four wheels of 64 buckets each. A bucket of the first wheel covers about one second, a bucket
+ * of the second about a minute, of the third about an hour and of the last about three days. An entry is
+ * placed into the finest wheel able to hold its remaining time, so scheduling and removing an entry take
+ * constant time. When time advances only the buckets passed since the last advance are visited, entries
+ * that are not due yet are moved to a finer wheel.
+ * <p>
+ * Times are in milliseconds. This class is not thread safe, the owning segment guards it.
+ */
+class TimerWheel {
+
+    private static final int BUCKETS = 64;
+    private static final int[] SHIFTS = { 10, 16, 22, 28 };
+
+    private final Node[][] wheels = new Node[SHIFTS.length][BUCKETS];
+    private long time;
+
+    TimerWheel(long now) {
+        time = now;
+        for (Node[] wheel : wheels) {
+            for (int i = 0; i < BUCKETS; i++) {
+                wheel[i] = Node.sentinel();
+            }
+        }
+    }
+
+    /**
+     * Adds the node to the bucket matching its expiration time.
+     */
+    void schedule(Node node) {
+        long delay = node.expiry - time;
+        Node sentinel = null;
+        for (int level = 0; level < SHIFTS.length; level++) {
+            if (delay < (1L << (SHIFTS[level] + 6))) {
+                sentinel = wheels[level][(int) ((node.expiry >> SHIFTS[level]) & (BUCKETS - 1))];
+                break;
+            }
+        }
+        if (sentinel == null) {
+            // Beyond the span of the wheels, park in the bucket of the last wheel visited last.
+            int level = SHIFTS.length - 1;
+            sentinel = wheels[level][(int) (((time >> SHIFTS[level]) - 1) & (BUCKETS - 1))];
+        }
+        node.wheelPrev = sentinel.wheelPrev;
+        node.wheelNext = sentinel;
+        sentinel.wheelPrev.wheelNext = node;
+        sentinel.wheelPrev = node;
+    }
+
+    /**
+     * Removes the node from its bucket, if it is scheduled.
+     */
+    void deschedule(Node node) {
+        if (node.wheelNext != null) {
+            node.wheelNext.wheelPrev = node.wheelPrev;
+            node.wheelPrev.wheelNext = node.wheelNext;
+            node.wheelNext = null;
+            node.wheelPrev = null;
+        }
+    }
+
+    /**
+     * Moves the node to the bucket matching its new expiration time.
+     */
+    void reschedule(Node node) {
+        deschedule(node);
+        schedule(node);
+    }
+
+    /**
+     * Advances the wheels to <code>now</code> and collects the nodes expired by then.
+     *
+     * @param now current time.
+     * @param expired list to add expired nodes to, they are no longer scheduled.
+     */
+    void advance(long now, List<Node> expired) {
+        long previous = time;
+        if (now <= previous) {
+            return;
+        }
+        time = now;
+        for (int level = 0; level < SHIFTS.length; level++) {
+            long previousTicks = previous >> SHIFTS[level];
+            long currentTicks = now >> SHIFTS[level];
+            if (currentTicks <= previousTicks) {
+                // Coarser wheels did not move either.
+                break;
+            }
+            long delta = Math.min(currentTicks - previousTicks, BUCKETS - 1);
+            for (long i = 0; i <= delta; i++) {
+                expire(wheels[level][(int) ((previousTicks + i) & (BUCKETS - 1))], now, expired);
+            }
+        }
+    }
+
+    private void expire(Node sentinel, long now, List<Node> expired) {
+        // Detach the bucket first, rescheduled nodes may land in the same bucket.
+        Node node = sentinel.wheelNext;
+        sentinel.wheelNext = sentinel;
+        sentinel.wheelPrev = sentinel;
+        while (node != sentinel) {
+            Node next = node.wheelNext;
+            node.wheelNext = null;
+            node.wheelPrev = null;
+            if (node.expiry <= now) {
+                expired.add(node);
+            } else {
+                schedule(node);
+            }
+            node = next;
+        }
+    }
+}
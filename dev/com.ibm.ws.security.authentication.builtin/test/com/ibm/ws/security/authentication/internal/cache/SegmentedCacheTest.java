@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.security.authentication.internal.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.ibm.ws.security.authentication.cache.CacheEvictionListener;
+
+public class SegmentedCacheTest {
+
+    private final Set<SegmentedCache> registeredCachesForStoppingEvictionTasks = new HashSet<SegmentedCache>();
+    private final CacheEvictionListenerDouble listener = new CacheEvictionListenerDouble();
+
+    @After
+    public void tearDown() throws Exception {
+        for (SegmentedCache cache : registeredCachesForStoppingEvictionTasks) {
+            cache.stopEvictionTask();
+        }
+    }
+
+    private SegmentedCache createCache(int entryLimit, long timeout) {
+        Set<CacheEvictionListener> listeners = new HashSet<CacheEvictionListener>();
+        listeners.add(listener);
+        SegmentedCache cache = new SegmentedCache(10, entryLimit, timeout, listeners);
+        registeredCachesForStoppingEvictionTasks.add(cache);
+        return cache;
+    }
+
+    @Test
+    public void constructor_entryLimit() {
+        SegmentedCache cache = createCache(12345, 0);
+        assertEquals(12345, cache.getEntryLimit());
+    }
+
+    @Test
+    public void insertAndGet() {
+        SegmentedCache cache = createCache(25000, 600000);
+        cache.insert("1", "one");
+        assertEquals("one", cache.get("1"));
+        assertNull(cache.get("2"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0, listener.victims.size());
+    }
+
+    @Test
+    public void insert_replaceNotifiesListener() {
+        SegmentedCache cache = createCache(25000, 0);
+        cache.insert("1", "one");
+        cache.insert("1", "uno");
+        assertEquals("uno", cache.get("1"));
+        assertEquals("[one]", listener.victims.toString());
+    }
+
+    @Test
+    public void remove() {
+        SegmentedCache cache = createCache(25000, 0);
+        cache.remove("keyForEntryThatDoesNotExist");
+        assertEquals(0, listener.victims.size());
+        cache.insert("1", "one");
+        cache.remove("1");
+        assertNull(cache.get("1"));
+        assertEquals("[one]", listener.victims.toString());
+    }
+
+    @Test
+    public void clearAllEntries() {
+        SegmentedCache cache = createCache(25000, 0);
+        for (int i = 0; i < 100; i++) {
+            cache.insert(i, "value" + i);
+        }
+        cache.clearAllEntries();
+        assertEquals(0, cache.size());
+        assertEquals(1, listener.calls);
+        assertEquals(100, listener.victims.size());
+    }
+
+    @Test
+    public void insert_unlimited() {
+        SegmentedCache cache = createCache(0, 0);
+        for (int i = 0; i < 10000; i++) {
+            cache.insert(i, "value" + i);
+        }
+        assertEquals(10000, cache.size());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void insert_withEvict() {
+        SegmentedCache cache = createCache(1, 0);
+        cache.insert("1", 1);
+        cache.insert("2", 2);
+        cache.insert("3", 3);
+        cache.insert("4", 4);
+        assertEquals(1, cache.size());
+        assertEquals(3, cache.getEvictionCount());
+        assertEquals(3, listener.victims.size());
+    }
+
+    /**
+     * Entries used often must survive a scan of keys used only once.
+     */
+    @Test
+    public void insert_frequentEntriesSurviveScan() {
+        int limit = 1000;
+        SegmentedCache cache = createCache(limit, 0);
+        for (int i = 0; i < limit / 2; i++) {
+            cache.insert("hot" + i, i);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < limit / 2; i++) {
+                cache.get("hot" + i);
+            }
+        }
+        for (int i = 0; i < limit * 20; i++) {
+            cache.get("cold" + i);
+            cache.insert("cold" + i, i);
+        }
+        int retained = 0;
+        for (int i = 0; i < limit / 2; i++) {
+            if (cache.get("hot" + i) != null) {
+                retained++;
+            }
+        }
+        assertTrue("Only " + retained + " frequently used entries were retained", retained > limit / 2 * 9 / 10);
+        assertTrue("The cache must stay close to its limit, size is " + cache.size(), cache.size() <= limit + cache.getSegmentCount());
+    }
+
+    @Test
+    public void get_expired() throws Exception {
+        SegmentedCache cache = createCache(25000, 50);
+        cache.stopEvictionTask();
+        cache.insert("1", "one");
+        cache.insert("2", "two");
+        Thread.sleep(100);
+        assertNull(cache.get("1"));
+        assertEquals(1, cache.getExpirationCount());
+        assertEquals("[one]", listener.victims.toString());
+    }
+
+    @Test
+    public void cleanUp_expired() throws Exception {
+        SegmentedCache cache = createCache(25000, 100);
+        cache.stopEvictionTask();
+        for (int i = 0; i < 100; i++) {
+            cache.insert(i, "value" + i);
+        }
+        // The timer wheel resolution is about one second.
+        Thread.sleep(2200);
+        cache.cleanUp();
+        assertEquals(0, cache.size());
+        assertEquals(100, cache.getExpirationCount());
+        assertEquals(100, listener.victims.size());
+    }
+
+    @Test
+    public void get_accessExtendsExpiry() throws Exception {
+        SegmentedCache cache = createCache(25000, 300);
+        cache.stopEvictionTask();
+        cache.insert("1", "one");
+        for (int i = 0; i < 5; i++) {
+            Thread.sleep(100);
+            assertEquals("one", cache.get("1"));
+        }
+    }
+
+    @Test
+    public void concurrentAccess() throws Exception {
+        final SegmentedCache cache = createCache(500, 600000);
+        final AtomicInteger failures = new AtomicInteger();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < 8; t++) {
+            final int seed = t;
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < 20000; i++) {
+                            Integer key = Integer.valueOf((i * 31 + seed) % 2000);
+                            Object value = cache.get(key);
+                            if (value == null) {
+                                cache.insert(key, key);
+                            } else if (!key.equals(value)) {
+                                failures.incrementAndGet();
+                            }
+                            if (i % 100 == 0) {
+                                cache.remove(key);
+                            }
+                        }
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+            };
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, failures.get());
+        assertEquals(8 * 20000, cache.getHitCount() + cache.getMissCount());
+        assertTrue(cache.size() <= 500 + cache.getSegmentCount());
+    }
+
+    class CacheEvictionListenerDouble implements CacheEvictionListener {
+        public final List<Object> victims = new ArrayList<Object>();
+        public int calls;
+
+        @Override
+        public synchronized void evicted(List<Object> victims) {
+            this.victims.addAll(victims);
+            calls++;
+        }
+    };
+}
@@ -12,10 +12,10 @@ package com.ibm.ws.security.common.jwk.impl;
 
 import java.security.PublicKey;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.ibm.ws.security.common.jwk.interfaces.JSONWebKey;
 import com.ibm.ws.security.common.jwk.interfaces.JWK;
@@ -24,7 +24,11 @@ import com.ibm.ws.security.common.jwk.interfaces.JWK;
  *
  */
 public class JWKSet {
-    protected List<JWK> jwks = Collections.synchronizedList(new ArrayList<JWK>());
+    /**
+     * The keys are looked up without locking, so the list is copied on write and is replaced
+     * as a whole when a new set of keys is retrieved.
+     */
+    protected volatile List<JWK> jwks = new CopyOnWriteArrayList<JWK>();
 
     private final long Stale = 10 * 60 * 1000; //10 minutes
 
@@ -58,13 +62,25 @@ public class JWKSet {
         jwks.add(0, jwk);
     }
 
+    /**
+     * Replaces all keys of this set with the specified keys. Lookups see either the old keys
+     * or the new keys, never a partially replaced set.
+     */
+    public synchronized void replaceJWKs(List<JWK> newJwks) {
+        jwks = new CopyOnWriteArrayList<JWK>(newJwks);
+    }
+
     public JSONWebKey getJWKByKid(String id) {
+        List<JWK> jwks = this.jwks;
         if (id == null) {
-            if (jwks.size() == 1) {
-                return jwks.get(0);
-            } else {
-                return null;
+            Iterator<JWK> it = jwks.iterator();
+            if (it.hasNext()) {
+                JWK jwk = it.next();
+                if (!it.hasNext()) {
+                    return jwk;
+                }
             }
+            return null;
         }
 
         Iterator<JWK> it = jwks.iterator();
@@ -12,6 +12,7 @@
 package com.ibm.ws.security.jwt.internal;
 
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.osgi.framework.ServiceReference;
 import org.osgi.service.component.ComponentContext;
@@ -32,6 +33,7 @@ import com.ibm.websphere.security.jwt.InvalidConsumerException;
 import com.ibm.websphere.security.jwt.InvalidTokenException;
 import com.ibm.websphere.security.jwt.JwtToken;
 import com.ibm.ws.security.jwt.config.JwtConsumerConfig;
+import com.ibm.ws.security.jwt.utils.JwtUtils;
 import com.ibm.ws.ssl.KeyStoreService;
 import com.ibm.wsspi.kernel.service.utils.AtomicServiceReference;
 import com.ibm.wsspi.kernel.service.utils.ConcurrentServiceReferenceMap;
@@ -58,10 +60,12 @@ public class ConsumerImpl implements Consumer {
 
     private final static String KEY_JWT_CONSUMER_SERVICE = "jwtConsumerConfig";
     private static final String KEY_KEYSTORE_SERVICE = "keyStoreService";
+    private static final String KEY_EXECUTOR_SERVICE = "executorService";
     private static final String CFG_KEY_ID = "id";
 
     private static ConcurrentServiceReferenceMap<String, JwtConsumerConfig> jwtServiceMapRef = new ConcurrentServiceReferenceMap<String, JwtConsumerConfig>(KEY_JWT_CONSUMER_SERVICE);
     private static AtomicServiceReference<KeyStoreService> keyStoreServiceRef = new AtomicServiceReference<KeyStoreService>(KEY_KEYSTORE_SERVICE);
+    private static AtomicServiceReference<ExecutorService> executorServiceRef = new AtomicServiceReference<ExecutorService>(KEY_EXECUTOR_SERVICE);
 
     @Reference(service = JwtConsumerConfig.class, name = KEY_JWT_CONSUMER_SERVICE, policy = ReferencePolicy.DYNAMIC, cardinality = ReferenceCardinality.MULTIPLE, policyOption = ReferencePolicyOption.RELUCTANT)
     protected void setJwtConsumerConfig(ServiceReference<JwtConsumerConfig> ref) {
@@ -85,10 +89,21 @@ public class ConsumerImpl implements Consumer {
         keyStoreServiceRef.unsetReference(ref);
     }
 
+    @Reference(service = ExecutorService.class, name = KEY_EXECUTOR_SERVICE, policy = ReferencePolicy.DYNAMIC, cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    protected void setExecutorService(ServiceReference<ExecutorService> ref) {
+        executorServiceRef.setReference(ref);
+    }
+
+    protected void unsetExecutorService(ServiceReference<ExecutorService> ref) {
+        executorServiceRef.unsetReference(ref);
+    }
+
     @Activate
     protected void activate(ComponentContext cc) {
         jwtServiceMapRef.activate(cc);
         keyStoreServiceRef.activate(cc);
+        executorServiceRef.activate(cc);
+        JwtUtils.setExecutorService(executorServiceRef);
         active = true;
         Tr.info(tc, "JWT_CONSUMER_SERVICE_ACTIVATED");
     }
@@ -102,6 +117,8 @@ public class ConsumerImpl implements Consumer {
     protected void deactivate(int reason, ComponentContext cc) {
         jwtServiceMapRef.deactivate(cc);
         keyStoreServiceRef.deactivate(cc);
+        executorServiceRef.deactivate(cc);
+        JwtUtils.setExecutorService(null);
         active = false;
     }
 
@@ -54,6 +54,7 @@ public class ConsumerUtil {
 
     private static TimeUtils timeUtils = new TimeUtils(TimeUtils.YearMonthDateHourMinSecZone);
     private final JtiNonceCache jtiCache = new JtiNonceCache();
+    private final ValidatedJwtCache validatedJwtCache = new ValidatedJwtCache();
 
     public ConsumerUtil(AtomicServiceReference<KeyStoreService> kss) {
         keyStoreService = kss;
@@ -67,9 +68,18 @@ public class ConsumerUtil {
     }
 
     JwtContext parseJwtAndGetJwtContext(String jwtString, JwtConsumerConfig config) throws Exception {
+        boolean validationRequired = config.isValidationRequired();
+        if (validationRequired) {
+            // A token presented again does not need its signature verified again until it expires
+            JwtContext cachedJwtContext = validatedJwtCache.get(jwtString, config.getClockSkew());
+            if (cachedJwtContext != null) {
+                return cachedJwtContext;
+            }
+        }
         JwtContext jwtContext = parseJwtWithoutValidation(jwtString, config);
-        if (config.isValidationRequired()) {
+        if (validationRequired) {
             jwtContext = getSigningKeyAndParseJwtWithValidation(jwtString, config, jwtContext);
+            validatedJwtCache.put(jwtString, jwtContext);
         }
         return jwtContext;
     }
@@ -14,6 +14,11 @@ import java.io.IOException;
 import java.security.KeyStoreException;
 import java.security.PrivilegedActionException;
 import java.security.PublicKey;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.net.ssl.SSLSocketFactory;
 
@@ -62,6 +67,46 @@ public class JwKRetriever {
 
     boolean hostNameVerificationEnabled = true;
 
+    /**
+     * Minimum time between two retrievals of a JWK set for keys that are not in the set, so that tokens
+     * with unknown key ids can not make every request call the JWK endpoint.
+     */
+    static final long MIN_FETCH_INTERVAL = 5 * 1000; // 5 seconds
+
+    /**
+     * Age after which a JWK set in use is retrieved again in the background. Keys are considered stale
+     * by the JWK set after 10 minutes, so refreshed keys replace them before that.
+     */
+    static final long REFRESH_INTERVAL = 5 * 60 * 1000; // 5 minutes
+
+    /**
+     * Retrieval state of each JWK set, JWK sets are replaced when their configuration changes.
+     */
+    private static final Map<JWKSet, FetchState> fetchStates = Collections.synchronizedMap(new WeakHashMap<JWKSet, FetchState>());
+
+    static class FetchState {
+        long lastFetch = 0; // guarded by the JWK set
+        volatile long lastRefresh = 0;
+        volatile boolean refreshing = false;
+
+        boolean isFetchAllowed(long now) {
+            return now - lastFetch >= MIN_FETCH_INTERVAL;
+        }
+
+        synchronized boolean startRefresh(long now) {
+            if (refreshing || lastRefresh == 0 || now - lastRefresh < REFRESH_INTERVAL) {
+                return false;
+            }
+            refreshing = true;
+            return true;
+        }
+
+        void fetched(long now) {
+            lastFetch = now;
+            lastRefresh = now;
+        }
+    }
+
     /**
      *
      * @param configId
@@ -105,7 +150,9 @@ public class JwKRetriever {
         PublicKey key = this.getJwkCache(kid, x5t);
         KeyStoreException errKeyStoreException = null;
         InterruptedException errInterruptedException = null;
-        if (key == null) {
+        if (key != null) {
+            refreshInBackground();
+        } else {
             try {
                 key = this.getJwkRemote(kid, x5t);
             } catch (KeyStoreException e) {
@@ -142,10 +189,18 @@ public class JwKRetriever {
         }
         PublicKey key = null;
         try {
+            // Only one thread retrieves the JWK set, the others find the keys it retrieved
             synchronized (jwkSet) {
                 key = this.getJwkCache(kid, x5t);
                 if (key == null) {
-                    key = doJwkRemote(kid, x5t);
+                    FetchState state = getFetchState(jwkSet);
+                    long now = System.currentTimeMillis();
+                    if (state.isFetchAllowed(now)) {
+                        state.fetched(now);
+                        key = doJwkRemote(kid, x5t);
+                    } else if (tc.isDebugEnabled()) {
+                        Tr.debug(tc, "JWK set was retrieved from '" + jwkUrl + "' less than " + MIN_FETCH_INTERVAL + " ms ago, not retrieving it again");
+                    }
                 }
             }
         } catch (KeyStoreException e) {
@@ -154,6 +209,74 @@ public class JwKRetriever {
         return key;
     }
 
+    static FetchState getFetchState(JWKSet jwkSet) {
+        synchronized (fetchStates) {
+            FetchState state = fetchStates.get(jwkSet);
+            if (state == null) {
+                state = new FetchState();
+                fetchStates.put(jwkSet, state);
+            }
+            return state;
+        }
+    }
+
+    /**
+     * Retrieves the JWK set again in the background on the server executor if the keys in use were
+     * retrieved a while ago, so that rotated keys are picked up without making a request wait for the
+     * JWK endpoint. Without an executor the keys are only retrieved again when a key is not found.
+     */
+    @FFDCIgnore(RejectedExecutionException.class)
+    void refreshInBackground() {
+        String jwkUrl = jwkEndpointUrl;
+        if (jwkUrl == null || !jwkUrl.startsWith("http")) {
+            return;
+        }
+        Executor executor = JwtUtils.getExecutorService();
+        if (executor == null) {
+            return;
+        }
+        final FetchState state = getFetchState(jwkSet);
+        if (!state.startRefresh(System.currentTimeMillis())) {
+            return;
+        }
+        if (tc.isDebugEnabled()) {
+            Tr.debug(tc, "Refreshing JWK set from '" + jwkUrl + "'");
+        }
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                @FFDCIgnore(KeyStoreException.class)
+                public void run() {
+                    try {
+                        doJwkRemote(null, null);
+                        state.lastRefresh = System.currentTimeMillis();
+                    } catch (KeyStoreException e) {
+                        // The keys in the set are kept, the next refresh tries again
+                        if (tc.isDebugEnabled()) {
+                            Tr.debug(tc, "Fail to refresh remote keys: ", e);
+                        }
+                    } finally {
+                        state.refreshing = false;
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            state.refreshing = false;
+            if (tc.isDebugEnabled()) {
+                Tr.debug(tc, "Fail to schedule refresh of remote keys: ", e);
+            }
+        }
+    }
+
+    /**
+     * Replaces the keys of the JWK set with the keys retrieved from the JWK endpoint, so that the set
+     * holds each key once and keys removed from the endpoint are dropped. Retrieving the set again
+     * must not add a second copy of its keys, or a key could no longer be found without a key id.
+     */
+    void replaceJwks(JWKSet retrieved) {
+        jwkSet.replaceJWKs(retrieved.getJWKs());
+    }
+
     @FFDCIgnore({ Exception.class, KeyStoreException.class })
     protected PublicKey doJwkRemote(String kid, String x5t) throws KeyStoreException {
 
@@ -165,8 +288,11 @@ public class JwKRetriever {
             SSLSocketFactory sslSocketFactory = getSSLSocketFactory(jwkUrl, sslConfigurationName, sslSupport);
             HttpClient client = createHTTPClient(sslSocketFactory, jwkUrl, hostNameVerificationEnabled);
             jsonString = getHTTPRequestAsString(client, jwkUrl);
-            boolean bJwk = parseJwk(jsonString, jwkSet, sigAlg);
-            if (!bJwk) {
+            JWKSet retrieved = new JWKSet();
+            boolean bJwk = parseJwk(jsonString, retrieved, sigAlg);
+            if (bJwk) {
+                replaceJwks(retrieved);
+            } else {
                 // can not get back any JWK from OP
                 // since getJwkLocal will be called later and NO key exception
                 // will be handled in the parent callers
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.security.jwt.internal;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+import org.apache.commons.codec.binary.Base64;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.MalformedClaimException;
+import org.jose4j.jwt.NumericDate;
+import org.jose4j.jwt.consumer.JwtContext;
+
+import com.ibm.websphere.ras.Tr;
+import com.ibm.websphere.ras.TraceComponent;
+import com.ibm.ws.ffdc.annotation.FFDCIgnore;
+import com.ibm.ws.security.common.structures.BoundedHashMap;
+import com.ibm.ws.security.jwt.utils.Constants;
+
+/**
+ * Cache of the tokens a consumer already validated, so that a token presented again is not parsed
+ * and its signature is not verified again. Tokens are looked up by the SHA-256 digest of their
+ * compact form, the token itself is not kept as a key. An entry is only used until the token
+ * expires, and not before the token becomes valid, taking the clock skew into account.
+ * <p>
+ * The cache is owned by the {@link ConsumerUtil} of a consumer configuration, which is replaced
+ * when the configuration changes.
+ */
+class ValidatedJwtCache {
+
+    private static final TraceComponent tc = Tr.register(ValidatedJwtCache.class);
+
+    static final int DEFAULT_ENTRY_LIMIT = 10000;
+
+    private static class CachedJwt {
+        final JwtContext jwtContext;
+        final long expiration;
+        final long notBefore;
+
+        CachedJwt(JwtContext jwtContext, long expiration, long notBefore) {
+            this.jwtContext = jwtContext;
+            this.expiration = expiration;
+            this.notBefore = notBefore;
+        }
+    }
+
+    /**
+     * Digests of validated tokens, the oldest entries are removed first once the limit is reached.
+     */
+    private final Map<String, Object> table;
+
+    ValidatedJwtCache() {
+        this(DEFAULT_ENTRY_LIMIT);
+    }
+
+    ValidatedJwtCache(int entryLimit) {
+        table = Collections.synchronizedMap(new BoundedHashMap(entryLimit));
+    }
+
+    /**
+     * Returns the validated context of the token if it was cached and is still within its validity period.
+     *
+     * @param jwtString the compact form of the token.
+     * @param clockSkewInMilliseconds the clock skew allowed by the consumer.
+     */
+    JwtContext get(String jwtString, long clockSkewInMilliseconds) {
+        String key = getCacheKey(jwtString);
+        if (key == null) {
+            return null;
+        }
+        CachedJwt cached = (CachedJwt) table.get(key);
+        if (cached == null) {
+            return null;
+        }
+        long now = (new Date()).getTime();
+        if (now - clockSkewInMilliseconds >= cached.expiration) {
+            // Let the full validation report the expiration.
+            table.remove(key);
+            return null;
+        }
+        if (cached.notBefore > 0 && now + clockSkewInMilliseconds <= cached.notBefore) {
+            return null;
+        }
+        if (tc.isDebugEnabled()) {
+            Tr.debug(tc, "Found validated JWT in cache");
+        }
+        return cached.jwtContext;
+    }
+
+    /**
+     * Caches the context of a token that passed the validation. Tokens without an expiration are not cached.
+     */
+    @FFDCIgnore(MalformedClaimException.class)
+    void put(String jwtString, JwtContext jwtContext) {
+        String key = getCacheKey(jwtString);
+        if (key == null || jwtContext == null) {
+            return;
+        }
+        JwtClaims claims = jwtContext.getJwtClaims();
+        if (claims == null) {
+            return;
+        }
+        try {
+            NumericDate exp = claims.getExpirationTime();
+            if (exp == null) {
+                return;
+            }
+            NumericDate nbf = claims.getNotBefore();
+            table.put(key, new CachedJwt(jwtContext, exp.getValueInMillis(), nbf == null ? 0 : nbf.getValueInMillis()));
+        } catch (MalformedClaimException e) {
+            // Already rejected by the validation, nothing to cache.
+        }
+    }
+
+    int size() {
+        return table.size();
+    }
+
+    void clear() {
+        table.clear();
+    }
+
+    @FFDCIgnore({ NoSuchAlgorithmException.class, UnsupportedEncodingException.class })
+    String getCacheKey(String jwtString) {
+        if (jwtString == null || jwtString.isEmpty()) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.encodeBase64URLSafeString(digest.digest(jwtString.getBytes(Constants.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Should not happen - SHA-256 must be supported
+        } catch (UnsupportedEncodingException e) {
+            // Should not happen - UTF-8 should be supported
+        }
+        return null;
+    }
+}
@@ -35,6 +35,7 @@ import java.util.Random;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.regex.Pattern;
 
 import org.apache.commons.codec.binary.Base64;
@@ -111,6 +112,7 @@ public class JwtUtils {
     private static ConcurrentServiceReferenceMap<String, KeyStoreService> keyStoreServiceMapRef = new ConcurrentServiceReferenceMap<String, KeyStoreService>(
             KEY_KEYSTORE_SERVICE);
     private static AtomicServiceReference<SSLSupport> sslSupportRef;
+    private static AtomicServiceReference<ExecutorService> executorServiceRef;
 
     // private static AtomicServiceReference<VirtualHost> virtualHostRef;
 
@@ -441,6 +443,18 @@ public class JwtUtils {
         return (sslSupportRef.getService());
     }
 
+    public static void setExecutorService(AtomicServiceReference<ExecutorService> executorServiceRef) {
+        JwtUtils.executorServiceRef = executorServiceRef;
+    }
+
+    /**
+     * @return the server executor, or null if it is not available
+     */
+    public static ExecutorService getExecutorService() {
+        AtomicServiceReference<ExecutorService> ref = executorServiceRef;
+        return ref == null ? null : ref.getService();
+    }
+
     public static void setKeyStoreService(AtomicServiceReference<KeyStoreService> kssRef) {
         // TODO Auto-generated method stub
         JwtUtils.keyStoreServiceRef = kssRef;
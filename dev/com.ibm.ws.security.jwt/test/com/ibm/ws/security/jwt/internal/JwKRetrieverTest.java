@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.security.jwt.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.codec.binary.Base64;
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.integration.junit4.JUnit4Mockery;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ibm.ws.security.common.jwk.impl.JWKSet;
+import com.ibm.ws.security.jwt.utils.JwtUtils;
+import com.ibm.wsspi.kernel.service.utils.AtomicServiceReference;
+import com.ibm.wsspi.ssl.SSLSupport;
+
+public class JwKRetrieverTest {
+
+    public final Mockery mockery = new JUnit4Mockery() {
+        {
+            setImposteriser(ClassImposteriser.INSTANCE);
+        }
+    };
+
+    @SuppressWarnings("unchecked")
+    private final AtomicServiceReference<SSLSupport> sslSupportRef = mockery.mock(AtomicServiceReference.class, "sslSupportRef");
+
+    @Before
+    public void setUp() {
+        mockery.checking(new Expectations() {
+            {
+                allowing(sslSupportRef).getService();
+                will(returnValue(null));
+            }
+        });
+        JwtUtils.setSSLSupportService(sslSupportRef);
+    }
+
+    @After
+    public void tearDown() {
+        JwtUtils.setSSLSupportService(null);
+        mockery.assertIsSatisfied();
+    }
+
+    private String rsaJwks() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        RSAPublicKey key = (RSAPublicKey) generator.generateKeyPair().getPublic();
+        return "{\"keys\":[{\"kty\":\"RSA\",\"use\":\"sig\",\"alg\":\"RS256\","
+                + "\"n\":\"" + Base64.encodeBase64URLSafeString(key.getModulus().toByteArray()) + "\","
+                + "\"e\":\"" + Base64.encodeBase64URLSafeString(key.getPublicExponent().toByteArray()) + "\"}]}";
+    }
+
+    private JWKSet retrieve(JwKRetriever retriever, String jsonString) {
+        JWKSet retrieved = new JWKSet();
+        assertTrue(retriever.parseJwk(jsonString, retrieved, "RS256"));
+        retriever.replaceJwks(retrieved);
+        return retrieved;
+    }
+
+    /**
+     * Retrieving the same keys again must not add a second copy, so that a key without a key id
+     * can still be found.
+     */
+    @Test
+    public void testReplaceJwks_sameKeys() throws Exception {
+        JWKSet jwkSet = new JWKSet();
+        JwKRetriever retriever = new JwKRetriever("configId", null, "https://localhost/jwk", jwkSet);
+        String jsonString = rsaJwks();
+
+        retrieve(retriever, jsonString);
+        assertEquals(1, jwkSet.getJWKs().size());
+        retrieve(retriever, jsonString);
+        assertEquals(1, jwkSet.getJWKs().size());
+        assertNotNull(jwkSet.getPublicKeyByKid(null));
+    }
+
+    /**
+     * Keys that are no longer published are dropped when the keys are retrieved again.
+     */
+    @Test
+    public void testReplaceJwks_rotatedKeys() throws Exception {
+        JWKSet jwkSet = new JWKSet();
+        JwKRetriever retriever = new JwKRetriever("configId", null, "https://localhost/jwk", jwkSet);
+
+        retrieve(retriever, rsaJwks());
+        JWKSet rotated = retrieve(retriever, rsaJwks());
+        assertEquals(1, jwkSet.getJWKs().size());
+        assertEquals(rotated.getPublicKeyByKid(null), jwkSet.getPublicKeyByKid(null));
+    }
+
+    /**
+     * Lookups running while the keys are retrieved again always find a key, because the keys are
+     * replaced as a whole.
+     */
+    @Test
+    public void testReplaceJwks_concurrentLookups() throws Exception {
+        final JWKSet jwkSet = new JWKSet();
+        JwKRetriever retriever = new JwKRetriever("configId", null, "https://localhost/jwk", jwkSet);
+        String[] jsonStrings = { rsaJwks(), rsaJwks() };
+        retrieve(retriever, jsonStrings[0]);
+
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        Thread[] readers = new Thread[4];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        while (!done.get()) {
+                            if (jwkSet.getPublicKeyByKid(null) == null) {
+                                throw new AssertionError("No key found while the keys were replaced");
+                            }
+                            assertNull(jwkSet.getPublicKeyByx5t("unknown"));
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                }
+            };
+            readers[i].start();
+        }
+        try {
+            for (int i = 0; i < 2000 && failure.get() == null; i++) {
+                retrieve(retriever, jsonStrings[i % 2]);
+            }
+        } finally {
+            done.set(true);
+            for (Thread reader : readers) {
+                reader.join();
+            }
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        assertEquals(1, jwkSet.getJWKs().size());
+    }
+}
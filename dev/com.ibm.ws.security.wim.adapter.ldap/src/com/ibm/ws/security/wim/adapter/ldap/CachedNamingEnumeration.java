@@ -107,6 +107,10 @@ public class CachedNamingEnumeration implements NamingEnumeration<SearchResult>,
         iList.add(elem);
     }
 
+    List<SearchResult> getResults() {
+        return iList;
+    }
+
     @Override
     public String toString() {
         if (iList != null) {
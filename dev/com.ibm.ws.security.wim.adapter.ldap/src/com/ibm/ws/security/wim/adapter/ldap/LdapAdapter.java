@@ -41,6 +41,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import javax.naming.InvalidNameException;
 import javax.naming.NameAlreadyBoundException;
@@ -206,6 +207,11 @@ public class LdapAdapter extends BaseRepository implements ConfiguredRepository
      */
     private boolean isActiveDirectory = false;
 
+    /**
+     * The server executor, used to refresh LDAP cache entries in the background.
+     */
+    private ExecutorService executorService = null;
+
     @Activate
     protected void activated(Map<String, Object> properties, ComponentContext cc) throws WIMException {
         super.activate(properties, cc);
@@ -240,7 +246,7 @@ public class LdapAdapter extends BaseRepository implements ConfiguredRepository
         }
 
         iLdapConfigMgr = new LdapConfigManager();
-        iLdapConn = new LdapConnection(iLdapConfigMgr);
+        iLdapConn = new LdapConnection(iLdapConfigMgr, executorService);
         //try {
         iLdapConfigMgr.initialize(configProps);
         iLdapConn.initialize(configProps);
@@ -256,6 +262,15 @@ public class LdapAdapter extends BaseRepository implements ConfiguredRepository
     @Reference(cardinality = ReferenceCardinality.OPTIONAL)
     protected void setSSLSupport(SSLSupportOptional sslSupport) {}
 
+    @Reference
+    protected void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    protected void unsetExecutorService(ExecutorService executorService) {
+        this.executorService = null;
+    }
+
     /**
      * Method to get the given Entity from the underlying repository
      *
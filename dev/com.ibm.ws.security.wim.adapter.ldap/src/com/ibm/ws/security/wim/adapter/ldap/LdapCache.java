@@ -0,0 +1,584 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.security.wim.adapter.ldap;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
+import javax.naming.directory.Attribute;
+import javax.naming.directory.Attributes;
+import javax.naming.directory.SearchResult;
+
+import com.ibm.websphere.ras.Tr;
+import com.ibm.websphere.ras.TraceComponent;
+import com.ibm.websphere.ras.annotation.Trivial;
+import com.ibm.ws.ffdc.annotation.FFDCIgnore;
+import com.ibm.wsspi.security.wim.exception.WIMException;
+
+/**
+ * Cache for the results of LDAP calls made by {@link LdapConnection}.
+ * <p>
+ * Besides the number of entries, the cache bounds the estimated memory used by its entries,
+ * so that a few very large entries, such as groups with many members, can not exhaust the heap.
+ * Entries that are not used again are evicted first, reads only mark an entry as used.
+ * <p>
+ * The cache also supports:
+ * <ul>
+ * <li>caching that an entry was not found, see {@link #putNotFound(String, String, long)};</li>
+ * <li>coalescing concurrent identical requests so that only one of them calls the LDAP server,
+ * see {@link #coalesce(String, Loader)};</li>
+ * <li>refreshing entries that are used often in the background shortly before they expire,
+ * see {@link #put(String, Object, long, Loader)} and {@link #setRefreshExecutor(Executor)}.</li>
+ * </ul>
+ */
+public class LdapCache {
+
+    private static final TraceComponent tc = Tr.register(LdapCache.class);
+
+    /**
+     * Estimated memory allowed per entry when the cache derives its memory bound from its entry limit.
+     */
+    static final int DEFAULT_BYTES_PER_ENTRY = 4096;
+
+    /**
+     * Number of hits after which an entry is refreshed in the background before it expires.
+     */
+    static final int REFRESH_HITS = 3;
+
+    /**
+     * Fraction of the time to live after which a hot entry is refreshed.
+     */
+    static final double REFRESH_RATIO = 0.8;
+
+    /**
+     * Loads a value from the LDAP server.
+     */
+    public interface Loader {
+        /**
+         * @return the value, or null if nothing should be cached.
+         */
+        Object load() throws WIMException;
+    }
+
+    /**
+     * Value returned by {@link #get(String)} for an entry that is known not to exist.
+     */
+    public static final class NotFound {
+        private final String message;
+
+        NotFound(String message) {
+            this.message = message;
+        }
+
+        /**
+         * @return the message of the exception raised when the entry was not found.
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "NotFound[" + message + "]";
+        }
+    }
+
+    private static final class Entry {
+        final String key;
+        final Object value;
+        final long weight;
+        final long created;
+        final long expiry;
+        final Loader refresher;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        volatile boolean referenced;
+        volatile boolean removed;
+        volatile int hits;
+
+        Entry(String key, Object value, long weight, long created, long timeToLive, Loader refresher) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.created = created;
+            this.expiry = timeToLive > 0 ? created + timeToLive : Long.MAX_VALUE;
+            this.refresher = refresher;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiry;
+        }
+
+        boolean isRefreshDue(long now) {
+            return refresher != null && expiry != Long.MAX_VALUE && hits >= REFRESH_HITS
+                   && now >= created + (long) ((expiry - created) * REFRESH_RATIO);
+        }
+    }
+
+    private static final class PendingLoad {
+        private final CountDownLatch done = new CountDownLatch(1);
+        private Object value;
+        private Throwable failure;
+
+        void set(Object value) {
+            this.value = value;
+            done.countDown();
+        }
+
+        void fail(Throwable failure) {
+            this.failure = failure;
+            done.countDown();
+        }
+
+        Object await() throws WIMException {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    done.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure instanceof WIMException) {
+                throw (WIMException) failure;
+            } else if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            return value;
+        }
+    }
+
+    private final String name;
+    private final int entryLimit;
+    private final long weightLimit;
+    private final long defaultTimeToLive;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+    private final ConcurrentHashMap<String, PendingLoad> pendingLoads = new ConcurrentHashMap<String, PendingLoad>();
+
+    /**
+     * Entries in insertion order, visited by the eviction clock hand. Replaced and removed
+     * entries stay queued until the hand or a purge reaches them.
+     */
+    private final ConcurrentLinkedQueue<Entry> clock = new ConcurrentLinkedQueue<Entry>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong weight = new AtomicLong();
+    private final Object evictionLock = new Object() {};
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong refreshCount = new AtomicLong();
+
+    private volatile Executor refreshExecutor;
+
+    /**
+     * @param name name of the cache used in trace.
+     * @param entryLimit maximum number of entries, 0 means no limit.
+     * @param timeToLive default time to live in milliseconds, 0 means entries do not expire.
+     */
+    public LdapCache(String name, int entryLimit, long timeToLive) {
+        this(name, entryLimit, entryLimit > 0 ? (long) entryLimit * DEFAULT_BYTES_PER_ENTRY : 0, timeToLive);
+    }
+
+    /**
+     * @param name name of the cache used in trace.
+     * @param entryLimit maximum number of entries, 0 means no limit.
+     * @param weightLimit maximum estimated size of all entries in bytes, 0 means no limit.
+     * @param timeToLive default time to live in milliseconds, 0 means entries do not expire.
+     */
+    public LdapCache(String name, int entryLimit, long weightLimit, long timeToLive) {
+        this.name = name;
+        this.entryLimit = entryLimit;
+        this.weightLimit = weightLimit;
+        this.defaultTimeToLive = timeToLive;
+    }
+
+    /**
+     * Set the executor that refreshes entries in the background. Without an executor, entries
+     * are not refreshed ahead and are loaded again on the first miss after they expire.
+     */
+    public void setRefreshExecutor(Executor refreshExecutor) {
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * Return the value cached for the key. A hit on a hot entry that is about to expire
+     * schedules a refresh of the entry.
+     *
+     * @return the value, a {@link NotFound} instance or null if there is no valid entry.
+     */
+    public Object get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (entry.isExpired(now)) {
+            if (entries.remove(key, entry)) {
+                removed(entry);
+            }
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        entry.referenced = true;
+        entry.hits++;
+        Executor executor = refreshExecutor;
+        if (executor != null && entry.isRefreshDue(now) && entry.refreshing.compareAndSet(false, true)) {
+            scheduleRefresh(executor, entry);
+        }
+        return entry.value;
+    }
+
+    /**
+     * Cache the value with the default time to live.
+     */
+    public void put(String key, Object value) {
+        put(key, value, defaultTimeToLive, null);
+    }
+
+    /**
+     * Cache the value.
+     *
+     * @param timeToLive time to live in milliseconds, 0 means the entry does not expire.
+     */
+    public void put(String key, Object value, long timeToLive) {
+        put(key, value, timeToLive, null);
+    }
+
+    /**
+     * Cache the value.
+     *
+     * @param timeToLive time to live in milliseconds, 0 means the entry does not expire.
+     * @param refresher loader used to refresh the entry in the background when it is used often,
+     *            may be null.
+     */
+    public void put(String key, Object value, long timeToLive, Loader refresher) {
+        if (value == null) {
+            invalidate(key);
+            return;
+        }
+        long entryWeight = estimateSize(key, value);
+        if (weightLimit > 0 && entryWeight > weightLimit) {
+            if (tc.isDebugEnabled()) {
+                Tr.debug(tc, "put " + name + " entry of " + entryWeight + " bytes exceeds the cache limit: " + key);
+            }
+            invalidate(key);
+            return;
+        }
+        Entry entry = new Entry(key, value, entryWeight, System.currentTimeMillis(), timeToLive, refresher);
+        weight.addAndGet(entryWeight);
+        Entry old = entries.put(key, entry);
+        if (old != null) {
+            removed(old);
+        }
+        clock.offer(entry);
+        queued.incrementAndGet();
+        evictIfNeeded();
+    }
+
+    /**
+     * Cache that the entry for the key does not exist.
+     *
+     * @param message message of the exception raised when the entry was not found.
+     * @param timeToLive time to live in milliseconds.
+     */
+    public void putNotFound(String key, String message, long timeToLive) {
+        put(key, new NotFound(message), timeToLive, null);
+    }
+
+    /**
+     * Run the loader unless an identical request is already loading, in which case wait for and
+     * return its result instead. The result is shared by all callers, they must not modify it.
+     *
+     * @param requestKey key identifying identical requests.
+     */
+    @FFDCIgnore(Throwable.class)
+    public Object coalesce(String requestKey, Loader loader) throws WIMException {
+        PendingLoad load = new PendingLoad();
+        PendingLoad pending = pendingLoads.putIfAbsent(requestKey, load);
+        if (pending != null) {
+            coalescedCount.incrementAndGet();
+            if (tc.isDebugEnabled()) {
+                Tr.debug(tc, "coalesce " + name + " waiting for pending request: " + requestKey);
+            }
+            return pending.await();
+        }
+        try {
+            Object value = loader.load();
+            load.set(value);
+            return value;
+        } catch (Throwable t) {
+            load.fail(t);
+            throw t;
+        } finally {
+            pendingLoads.remove(requestKey, load);
+        }
+    }
+
+    /**
+     * Remove the entry for the key.
+     */
+    public void invalidate(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            removed(entry);
+        }
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void clear() {
+        synchronized (evictionLock) {
+            for (Iterator<Entry> it = entries.values().iterator(); it.hasNext();) {
+                Entry entry = it.next();
+                it.remove();
+                removed(entry);
+            }
+            purge();
+        }
+    }
+
+    /**
+     * @return the number of entries, including entries that expired but were not removed yet.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the estimated size of all entries in bytes.
+     */
+    public long getWeight() {
+        return weight.get();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * @return the number of requests that waited for an identical request instead of calling the server.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    public long getRefreshCount() {
+        return refreshCount.get();
+    }
+
+    private void removed(Entry entry) {
+        if (!entry.removed) {
+            entry.removed = true;
+            weight.addAndGet(-entry.weight);
+        }
+    }
+
+    private boolean isOverLimit() {
+        return (entryLimit > 0 && entries.size() > entryLimit) || (weightLimit > 0 && weight.get() > weightLimit);
+    }
+
+    /**
+     * Move the clock hand until the cache is within its limits. Expired entries and entries not
+     * used since the hand last passed them are evicted, the others are given a second chance.
+     */
+    private void evictIfNeeded() {
+        if (!isOverLimit() && queued.get() <= 2 * entries.size() + 16) {
+            return;
+        }
+        synchronized (evictionLock) {
+            long now = System.currentTimeMillis();
+            int evicted = 0;
+            // Each live entry is visited at most twice, the second time without its reference bit.
+            int budget = 2 * queued.get() + 1;
+            while (isOverLimit() && budget-- > 0) {
+                Entry entry = clock.poll();
+                if (entry == null) {
+                    break;
+                }
+                queued.decrementAndGet();
+                if (entry.removed) {
+                    continue;
+                }
+                if (entry.referenced && !entry.isExpired(now)) {
+                    entry.referenced = false;
+                    clock.offer(entry);
+                    queued.incrementAndGet();
+                } else if (entries.remove(entry.key, entry)) {
+                    removed(entry);
+                    evicted++;
+                }
+            }
+            if (evicted > 0) {
+                evictionCount.addAndGet(evicted);
+                if (tc.isDebugEnabled()) {
+                    Tr.debug(tc, "evictIfNeeded " + name + " evicted " + evicted + " entries, size " + entries.size() + ", weight " + weight.get());
+                }
+            }
+            if (queued.get() > 2 * entries.size() + 16) {
+                purge();
+            }
+        }
+    }
+
+    /**
+     * Drop replaced and removed entries from the clock. Called with the eviction lock held.
+     */
+    private void purge() {
+        for (Iterator<Entry> it = clock.iterator(); it.hasNext();) {
+            if (it.next().removed) {
+                it.remove();
+                queued.decrementAndGet();
+            }
+        }
+    }
+
+    @FFDCIgnore(RejectedExecutionException.class)
+    private void scheduleRefresh(Executor executor, final Entry entry) {
+        final long timeToLive = entry.expiry - entry.created;
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                @FFDCIgnore(WIMException.class)
+                public void run() {
+                    if (entry.removed) {
+                        return;
+                    }
+                    try {
+                        Object value = entry.refresher.load();
+                        // Do not overwrite an entry replaced or invalidated while loading.
+                        if (value != null && entries.get(entry.key) == entry) {
+                            put(entry.key, value, timeToLive, entry.refresher);
+                            refreshCount.incrementAndGet();
+                        }
+                    } catch (WIMException e) {
+                        // The entry stays until it expires, the next miss reloads it.
+                        if (tc.isDebugEnabled()) {
+                            Tr.debug(tc, "refresh " + name + " failed for " + entry.key + ": " + e);
+                        }
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.refreshing.set(false);
+            if (tc.isDebugEnabled()) {
+                Tr.debug(tc, "scheduleRefresh " + name + " could not schedule refresh: " + e);
+            }
+        }
+    }
+
+    /**
+     * Estimate the memory used by an entry in bytes.
+     */
+    @Trivial
+    static long estimateSize(String key, Object value) {
+        return 64 + estimateSize(key) + estimateSize(value);
+    }
+
+    @Trivial
+    @FFDCIgnore(NamingException.class)
+    private static long estimateSize(Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof String) {
+            return 40 + 2L * ((String) value).length();
+        } else if (value instanceof byte[]) {
+            return 16 + ((byte[]) value).length;
+        } else if (value instanceof NotFound) {
+            return 16 + estimateSize(((NotFound) value).getMessage());
+        } else if (value instanceof CachedNamingEnumeration) {
+            long size = 32;
+            List<SearchResult> results = ((CachedNamingEnumeration) value).getResults();
+            if (results != null) {
+                for (SearchResult result : results) {
+                    size += estimateSize(result);
+                }
+            }
+            return size;
+        } else if (value instanceof SearchResult) {
+            SearchResult result = (SearchResult) value;
+            return 32 + estimateSize(result.getName()) + estimateSize(result.getAttributes());
+        } else if (value instanceof Attributes) {
+            long size = 48;
+            for (NamingEnumeration<? extends Attribute> attrs = ((Attributes) value).getAll(); attrs.hasMoreElements();) {
+                size += estimateSize(attrs.nextElement());
+            }
+            return size;
+        } else if (value instanceof Attribute) {
+            Attribute attr = (Attribute) value;
+            long size = 48 + estimateSize(attr.getID());
+            try {
+                for (int i = 0; i < attr.size(); i++) {
+                    size += 8 + estimateSize(attr.get(i));
+                }
+            } catch (NamingException e) {
+                // Count what could be read.
+            }
+            return size;
+        } else if (value instanceof Map<?, ?>) {
+            long size = 48;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += 32 + estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+            }
+            return size;
+        } else if (value instanceof Iterable<?>) {
+            long size = 32;
+            for (Object element : (Iterable<?>) value) {
+                size += 8 + estimateSize(element);
+            }
+            return size;
+        }
+        return 16;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(name);
+        sb.append("{ size=").append(entries.size());
+        sb.append(", weight=").append(weight.get());
+        sb.append(", hits=").append(hitCount.get());
+        sb.append(", misses=").append(missCount.get());
+        sb.append(", evictions=").append(evictionCount.get());
+        sb.append(", coalesced=").append(coalescedCount.get());
+        sb.append(", refreshes=").append(refreshCount.get());
+        sb.append(" }");
+        return sb.toString();
+    }
+}
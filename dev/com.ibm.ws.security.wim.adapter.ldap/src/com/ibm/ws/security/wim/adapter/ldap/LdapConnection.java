@@ -55,6 +55,7 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -93,7 +94,6 @@ import com.ibm.websphere.security.wim.ras.WIMTraceHelper;
 import com.ibm.ws.config.xml.internal.nester.Nester;
 import com.ibm.ws.ffdc.annotation.FFDCIgnore;
 import com.ibm.ws.security.wim.FactoryManager;
-import com.ibm.ws.security.wim.env.ICacheUtil;
 import com.ibm.wsspi.kernel.service.utils.SerializableProtectedString;
 import com.ibm.wsspi.security.wim.SchemaConstants;
 import com.ibm.wsspi.security.wim.exception.EntityAlreadyExistsException;
@@ -149,7 +149,12 @@ public class LdapConnection {
     /**
      * The search results cache
      */
-    private ICacheUtil iSearchResultsCache = null;
+    private LdapCache iSearchResultsCache = null;
+
+    /**
+     * The executor that refreshes cache entries in the background.
+     */
+    private Executor iExecutor = null;
 
     /**
      * Default search results cache size
@@ -183,7 +188,7 @@ public class LdapConnection {
     /**
      * The attributes cache
      */
-    private ICacheUtil iAttrsCache = null;
+    private LdapCache iAttrsCache = null;
 
     /**
      * Default attributes cache size
@@ -204,6 +209,12 @@ public class LdapConnection {
      */
     private int iAttrsSizeLmit = 2000;
 
+    /**
+     * Maximum time in milliseconds an entry not found on the LDAP server is remembered
+     * in the attributes cache. Kept short as the entry may be created by another client.
+     */
+    private static final long NOT_FOUND_CACHE_TIME_OUT = 30000;
+
     /**
      * default server time to live
      */
@@ -544,6 +555,17 @@ public class LdapConnection {
         iLdapConfigMgr = ldapConfigMgr;
     }
 
+    /**
+     * Constructor.
+     *
+     * @param ldapConfigMgr
+     * @param executor The executor that refreshes cache entries in the background, may be null.
+     */
+    public LdapConnection(LdapConfigManager ldapConfigMgr, Executor executor) {
+        iLdapConfigMgr = ldapConfigMgr;
+        iExecutor = executor;
+    }
+
     public void initialize(Map<String, Object> configProps) throws WIMException {
         final String METHODNAME = "initialize(DataObject)";
 
@@ -995,18 +1017,15 @@ public class LdapConnection {
         final String METHODNAME = "createSearchResultsCache";
 
         if (iSearchResultsCacheEnabled) {
-            if (FactoryManager.getCacheUtil().isCacheAvailable()) {
-                iSearchResultsCache = FactoryManager.getCacheUtil().initialize(iSearchResultsCacheSize, iSearchResultsCacheSize, iSearchResultsCacheTimeOut);
-                if (iSearchResultsCache != null) {
-                    if (tc.isDebugEnabled()) {
-                        StringBuilder strBuf = new StringBuilder(METHODNAME);
-                        strBuf.append(" \nSearch Results Cache: ").append(iSearchResultsCacheName).append(" is enabled:\n");
-                        strBuf.append("\tCacheSize: ").append(iSearchResultsCacheSize).append("\n");
-                        strBuf.append("\tCacheTimeOut: ").append(iSearchResultsCacheTimeOut).append("\n");
-                        strBuf.append("\tCacheResultSizeLimit: ").append(iSearchResultSizeLmit).append("\n");
-                        Tr.debug(tc, strBuf.toString());
-                    }
-                }
+            iSearchResultsCache = new LdapCache(iSearchResultsCacheName, iSearchResultsCacheSize, iSearchResultsCacheTimeOut);
+            iSearchResultsCache.setRefreshExecutor(iExecutor);
+            if (tc.isDebugEnabled()) {
+                StringBuilder strBuf = new StringBuilder(METHODNAME);
+                strBuf.append(" \nSearch Results Cache: ").append(iSearchResultsCacheName).append(" is enabled:\n");
+                strBuf.append("\tCacheSize: ").append(iSearchResultsCacheSize).append("\n");
+                strBuf.append("\tCacheTimeOut: ").append(iSearchResultsCacheTimeOut).append("\n");
+                strBuf.append("\tCacheResultSizeLimit: ").append(iSearchResultSizeLmit).append("\n");
+                Tr.debug(tc, strBuf.toString());
             }
         }
     }
@@ -1018,19 +1037,16 @@ public class LdapConnection {
         final String METHODNAME = "createAttributesCache";
 
         if (iAttrsCacheEnabled) {
-            if (FactoryManager.getCacheUtil().isCacheAvailable()) {
-                iAttrsCache = FactoryManager.getCacheUtil().initialize(iAttrsCacheSize, iAttrsCacheSize, iAttrsCacheTimeOut);
-                if (iAttrsCache != null) {
-                    if (tc.isDebugEnabled()) {
-                        StringBuilder strBuf = new StringBuilder(METHODNAME);
-                        strBuf.append(" \nAttributes Cache: ").append(iAttrsCacheName).append(" is enabled:\n");
-                        strBuf.append("\tCacheSize: ").append(iAttrsCacheSize).append("\n");
-                        strBuf.append("\tCacheTimeOut: ").append(iAttrsCacheTimeOut).append("\n");
-                        strBuf.append("\tCacheSizeLimit: ").append(iAttrsSizeLmit).append("\n");
-                        strBuf.append("\tCacheTTLAttr: ").append(iServerTTLAttr).append("\n");
-                        Tr.debug(tc, strBuf.toString());
-                    }
-                }
+            iAttrsCache = new LdapCache(iAttrsCacheName, iAttrsCacheSize, iAttrsCacheTimeOut);
+            iAttrsCache.setRefreshExecutor(iExecutor);
+            if (tc.isDebugEnabled()) {
+                StringBuilder strBuf = new StringBuilder(METHODNAME);
+                strBuf.append(" \nAttributes Cache: ").append(iAttrsCacheName).append(" is enabled:\n");
+                strBuf.append("\tCacheSize: ").append(iAttrsCacheSize).append("\n");
+                strBuf.append("\tCacheTimeOut: ").append(iAttrsCacheTimeOut).append("\n");
+                strBuf.append("\tCacheSizeLimit: ").append(iAttrsSizeLmit).append("\n");
+                strBuf.append("\tCacheTTLAttr: ").append(iServerTTLAttr).append("\n");
+                Tr.debug(tc, strBuf.toString());
             }
         }
     }
@@ -1040,7 +1056,7 @@ public class LdapConnection {
      *
      * @return
      */
-    private ICacheUtil getSearchResultsCache() {
+    private LdapCache getSearchResultsCache() {
         if (iSearchResultsCache == null) {
             createSearchResultsCache();
         }
@@ -1052,7 +1068,7 @@ public class LdapConnection {
      *
      * @return
      */
-    private ICacheUtil getAttributesCache() {
+    private LdapCache getAttributesCache() {
         if (iAttrsCache == null) {
             createAttributesCache();
         }
@@ -1345,15 +1361,20 @@ public class LdapConnection {
                     }
                 }
             }
+            // Cached that the entry does not exist.
+            else if (cached instanceof LdapCache.NotFound) {
+                if (tc.isDebugEnabled()) {
+                    Tr.debug(tc, METHODNAME + " Hit cache, entry not found: " + key);
+                }
+                throw new EntityNotFoundException(WIMMessageKey.LDAP_ENTRY_NOT_FOUND, ((LdapCache.NotFound) cached).getMessage());
+            }
             // No cache entry, call LDAP to retrieve all request attributes.
             else {
                 if (tc.isDebugEnabled()) {
                     Tr.debug(tc, METHODNAME + " Miss cache: " + key);
                 }
 
-                attributes = getAttributes(name, attrIds);
-                // Add attributes to cache.
-                updateAttributesCache(key, attributes, null, attrIds);
+                attributes = loadAttributes(name, key, attrIds);
             }
         } else {
             // Attribute cache is not available, directly call LDAP server
@@ -1363,6 +1384,37 @@ public class LdapConnection {
         return attributes;
     }
 
+    /**
+     * Retrieve the attributes of an entry that is not cached and add them to the attributes cache.
+     * Concurrent requests for the same attributes of the same entry share a single LDAP call, and
+     * an entry that does not exist is remembered for a short time.
+     *
+     * @param name The distinguished name of the entry.
+     * @param key The attributes cache key of the entry.
+     * @param attrIds The attribute IDs to retrieve.
+     * @return The attributes, owned by the caller.
+     */
+    @FFDCIgnore(EntityNotFoundException.class)
+    private Attributes loadAttributes(final String name, final String key, final String[] attrIds) throws WIMException {
+        Attributes attributes = (Attributes) getAttributesCache().coalesce(key + "|" + Arrays.toString(attrIds), new LdapCache.Loader() {
+            @Override
+            @FFDCIgnore(EntityNotFoundException.class)
+            public Object load() throws WIMException {
+                try {
+                    Attributes attributes = getAttributes(name, attrIds);
+                    // Add attributes to cache.
+                    updateAttributesCache(key, attributes, null, attrIds);
+                    return attributes;
+                } catch (EntityNotFoundException e) {
+                    getAttributesCache().putNotFound(key, e.getMessage(), Math.min(iAttrsCacheTimeOut, NOT_FOUND_CACHE_TIME_OUT));
+                    throw e;
+                }
+            }
+        });
+        // The result may be shared with other requests, callers modify it.
+        return (Attributes) attributes.clone();
+    }
+
     @Trivial
     private void addAttributes(Attributes sourceAttrs, Attributes descAttrs) {
         for (NamingEnumeration<?> neu = sourceAttrs.getAll(); neu.hasMoreElements();) {
@@ -1386,7 +1438,7 @@ public class LdapConnection {
         /*
          * Add uniqueName to DN mapping to cache
          */
-        getAttributesCache().put(uniqueNameKey, dn, 1, iAttrsCacheTimeOut, 0, null);
+        getAttributesCache().put(uniqueNameKey, dn, iAttrsCacheTimeOut);
         if (tc.isDebugEnabled()) {
             Tr.debug(tc, METHODNAME + " Update " + iAttrsCacheName + "(size: "
                          + getAttributesCache().size() + ")\n" + uniqueNameKey + ": " + dn);
@@ -1454,7 +1506,7 @@ public class LdapConnection {
                         cachedAttrs.put(nullAttr);
                     }
                 }
-                getAttributesCache().put(key, cachedAttrs, 1, iAttrsCacheTimeOut, 0, null);
+                getAttributesCache().put(key, cachedAttrs, iAttrsCacheTimeOut);
                 if (tc.isDebugEnabled()) {
                     Tr.debug(tc, METHODNAME + " Update " + iAttrsCacheName + "(size: " + getAttributesCache().size() + ")\n" + key
                                  + ": " + cachedAttrs);
@@ -1489,7 +1541,7 @@ public class LdapConnection {
                     cachedAttrs.put(attr);
                 }
             }
-            getAttributesCache().put(key, cachedAttrs, 1, iAttrsCacheTimeOut, 0, null);
+            getAttributesCache().put(key, cachedAttrs, iAttrsCacheTimeOut);
             if (tc.isDebugEnabled()) {
                 Tr.debug(tc, METHODNAME + " Update " + iAttrsCacheName + "(size: " + getAttributesCache().size() + ")\n" + key + ": " + cachedAttrs);
             }
@@ -1517,9 +1569,7 @@ public class LdapConnection {
                 if (tc.isDebugEnabled()) {
                     Tr.debug(tc, METHODNAME + " Miss cache: " + key);
                 }
-                neu = search(name, filterExpr, filterArgs, cons, null);
-                String[] reqAttrIds = cons.getReturningAttributes();
-                neu = updateSearchCache(name, key, neu, reqAttrIds);
+                neu = loadSearchResults(name, filterExpr, filterArgs, cons, key);
             } else {
                 if (tc.isDebugEnabled()) {
                     Tr.debug(tc, METHODNAME + " Hit cache: " + key);
@@ -1532,16 +1582,64 @@ public class LdapConnection {
         return neu;
     }
 
+    /**
+     * Search for entries that are not in the search results cache and add them to the cache.
+     * Concurrent identical searches share a single LDAP call.
+     *
+     * @return The search results, owned by the caller.
+     */
+    private NamingEnumeration<SearchResult> loadSearchResults(final String name, final String filterExpr, final Object[] filterArgs, final SearchControls cons,
+                                                              final String key) throws WIMException {
+        CachedNamingEnumeration results = (CachedNamingEnumeration) getSearchResultsCache().coalesce(key, new LdapCache.Loader() {
+            @Override
+            public Object load() throws WIMException {
+                NamingEnumeration<SearchResult> neu = search(name, filterExpr, filterArgs, cons, null);
+                return updateSearchCache(name, key, neu, cons.getReturningAttributes(), new SearchResultsRefresher(name, filterExpr, filterArgs, cons));
+            }
+        });
+        // The result may be shared with other requests, callers consume it.
+        return (CachedNamingEnumeration) results.clone();
+    }
+
+    /**
+     * Reloads a search results cache entry that is used often before it expires.
+     */
+    private class SearchResultsRefresher implements LdapCache.Loader {
+        private final String name;
+        private final String filterExpr;
+        private final Object[] filterArgs;
+        private final SearchControls cons;
+
+        SearchResultsRefresher(String name, String filterExpr, Object[] filterArgs, SearchControls cons) {
+            this.name = name;
+            this.filterExpr = filterExpr;
+            this.filterArgs = filterArgs;
+            this.cons = cons;
+        }
+
+        @Override
+        public Object load() throws WIMException {
+            CachedNamingEnumeration clone1 = new CachedNamingEnumeration();
+            CachedNamingEnumeration clone2 = new CachedNamingEnumeration();
+            int count = cloneSearchResults(search(name, filterExpr, filterArgs, cons, null), clone1, clone2);
+            // Size limit 0 means no limit.
+            if (iSearchResultSizeLmit == 0 || count < iSearchResultSizeLmit) {
+                return clone2;
+            }
+            return null;
+        }
+    }
+
     @FFDCIgnore(NamingException.class)
-    private NamingEnumeration<SearchResult> updateSearchCache(String searchBase, String key, NamingEnumeration<SearchResult> neu,
-                                                              String[] reqAttrIds) throws WIMSystemException {
+    private CachedNamingEnumeration updateSearchCache(String searchBase, String key, NamingEnumeration<SearchResult> neu,
+                                                      String[] reqAttrIds, LdapCache.Loader refresher) throws WIMSystemException {
         final String METHODNAME = "updateSearchCache";
         CachedNamingEnumeration clone1 = new CachedNamingEnumeration();
         CachedNamingEnumeration clone2 = new CachedNamingEnumeration();
         int count = cloneSearchResults(neu, clone1, clone2);
         // Size limit 0 means no limit.
         if (iSearchResultSizeLmit == 0 || count < iSearchResultSizeLmit) {
-            getSearchResultsCache().put(key, clone2, 1, iSearchResultsCacheTimeOut, 0, null);
+            getSearchResultsCache().put(key, clone2, iSearchResultsCacheTimeOut, refresher);
             if (tc.isDebugEnabled())
                 Tr.debug(tc, METHODNAME + " Update " + iSearchResultsCacheName + "(size: " + getSearchResultsCache().size() + ")\n" + key);
 
@@ -1749,6 +1847,7 @@ public class LdapConnection {
      * @return The entities.
      * @throws WIMException If there was an issue calling the LDAP server to get the attributes.
      */
+    @FFDCIgnore(EntityNotFoundException.class)
     public Attributes getAttributesByUniqueName(String uniqueName, String[] attrIds, List<String> entityTypes) throws WIMException {
         final String METHODNAME = "getAttributesByUniqueName";
 
@@ -2956,6 +3055,8 @@ public class LdapConnection {
         } finally {
             releaseDirContext(ctx);
         }
+        // The entry may have been cached as not found.
+        invalidateAttributes(name, null, null);
         return dirContext;
     }
 
@@ -3019,6 +3120,8 @@ public class LdapConnection {
         } finally {
             releaseDirContext(ctx);
         }
+        // The new entry may have been cached as not found.
+        invalidateAttributes(newDn, null, null);
     }
 
     /**
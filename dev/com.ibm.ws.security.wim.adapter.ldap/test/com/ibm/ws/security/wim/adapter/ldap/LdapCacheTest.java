@@ -0,0 +1,279 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.ws.security.wim.adapter.ldap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.naming.directory.BasicAttribute;
+import javax.naming.directory.BasicAttributes;
+
+import org.junit.Test;
+
+import com.ibm.websphere.security.wim.ras.WIMMessageKey;
+import com.ibm.wsspi.security.wim.exception.EntityNotFoundException;
+import com.ibm.wsspi.security.wim.exception.WIMException;
+
+/**
+ * Test LdapCache
+ */
+public class LdapCacheTest {
+
+    @Test
+    public void putAndGet() {
+        LdapCache cache = new LdapCache("test", 100, 600000);
+        cache.put("uid=user1", "one");
+        assertEquals("one", cache.get("uid=user1"));
+        assertNull(cache.get("uid=user2"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        cache.invalidate("uid=user1");
+        assertNull(cache.get("uid=user1"));
+        assertEquals(0, cache.getWeight());
+    }
+
+    @Test
+    public void entryLimit() {
+        LdapCache cache = new LdapCache("test", 100, 0, 600000);
+        for (int i = 0; i < 1000; i++) {
+            cache.put("uid=user" + i, "value" + i);
+        }
+        assertTrue("size is " + cache.size(), cache.size() <= 100);
+        assertEquals(900, cache.getEvictionCount());
+    }
+
+    @Test
+    public void weightLimit() {
+        BasicAttributes group = new BasicAttributes(true);
+        BasicAttribute members = new BasicAttribute("member");
+        for (int i = 0; i < 500; i++) {
+            members.add("uid=user" + i + ",o=ibm,c=us");
+        }
+        group.put(members);
+        long groupWeight = LdapCache.estimateSize("cn=group", group);
+
+        LdapCache cache = new LdapCache("test", 1000, groupWeight * 5, 600000);
+        for (int i = 0; i < 50; i++) {
+            cache.put("cn=group" + i, group);
+        }
+        assertTrue("weight is " + cache.getWeight(), cache.getWeight() <= groupWeight * 5);
+        assertTrue("size is " + cache.size(), cache.size() <= 5);
+
+        // An entry larger than the whole cache is not cached.
+        LdapCache small = new LdapCache("test", 1000, groupWeight / 2, 600000);
+        small.put("cn=group", group);
+        assertNull(small.get("cn=group"));
+        assertEquals(0, small.getWeight());
+    }
+
+    /**
+     * Entries read since the clock hand last passed them survive eviction.
+     */
+    @Test
+    public void referencedEntriesSurvive() {
+        LdapCache cache = new LdapCache("test", 10, 0, 600000);
+        cache.put("hot", "hot");
+        for (int i = 0; i < 100; i++) {
+            assertEquals("hot", cache.get("hot"));
+            cache.put("cold" + i, "cold");
+        }
+        assertEquals("hot", cache.get("hot"));
+    }
+
+    @Test
+    public void expiry() throws Exception {
+        LdapCache cache = new LdapCache("test", 100, 600000);
+        cache.put("uid=user1", "one", 50);
+        cache.put("uid=user2", "two");
+        Thread.sleep(100);
+        assertNull(cache.get("uid=user1"));
+        assertEquals("two", cache.get("uid=user2"));
+    }
+
+    @Test
+    public void notFound() throws Exception {
+        LdapCache cache = new LdapCache("test", 100, 600000);
+        cache.putNotFound("uid=missing", "CWIML4527E", 50);
+        Object cached = cache.get("uid=missing");
+        assertTrue(cached instanceof LdapCache.NotFound);
+        assertEquals("CWIML4527E", ((LdapCache.NotFound) cached).getMessage());
+        Thread.sleep(100);
+        assertNull(cache.get("uid=missing"));
+    }
+
+    @Test
+    public void clear() {
+        LdapCache cache = new LdapCache("test", 100, 600000);
+        for (int i = 0; i < 50; i++) {
+            cache.put("uid=user" + i, "value" + i);
+        }
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getWeight());
+    }
+
+    /**
+     * Concurrent identical requests share one load.
+     */
+    @Test
+    public void coalesce() throws Exception {
+        final LdapCache cache = new LdapCache("test", 100, 600000);
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        final Object result = new Object();
+        final LdapCache.Loader loader = new LdapCache.Loader() {
+            @Override
+            public Object load() throws WIMException {
+                loads.incrementAndGet();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return result;
+            }
+        };
+        final List<Object> results = new ArrayList<Object>();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        Object value = cache.coalesce("(uid=user1)", loader);
+                        synchronized (results) {
+                            results.add(value);
+                        }
+                    } catch (WIMException e) {
+                        fail(e.toString());
+                    }
+                }
+            };
+            threads.add(thread);
+            thread.start();
+        }
+        long deadline = System.currentTimeMillis() + 10000;
+        while (cache.getCoalescedCount() < 7 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(7, cache.getCoalescedCount());
+        assertEquals(8, results.size());
+        for (Object value : results) {
+            assertSame(result, value);
+        }
+
+        // Later requests load again.
+        cache.coalesce("(uid=user1)", loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void coalesceFailure() throws Exception {
+        LdapCache cache = new LdapCache("test", 100, 600000);
+        try {
+            cache.coalesce("uid=missing", new LdapCache.Loader() {
+                @Override
+                public Object load() throws WIMException {
+                    throw new EntityNotFoundException(WIMMessageKey.LDAP_ENTRY_NOT_FOUND, "not found");
+                }
+            });
+            fail("Expected EntityNotFoundException");
+        } catch (EntityNotFoundException e) {
+            assertEquals("not found", e.getMessage());
+        }
+    }
+
+    /**
+     * A hot entry used shortly before it expires is reloaded in the background.
+     */
+    @Test
+    public void refreshAhead() throws Exception {
+        LdapCache cache = new LdapCache("test", 100, 600000);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        cache.setRefreshExecutor(executor);
+        try {
+            refreshAhead(cache);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void refreshAhead(LdapCache cache) throws Exception {
+        final AtomicInteger loads = new AtomicInteger();
+        LdapCache.Loader refresher = new LdapCache.Loader() {
+            @Override
+            public Object load() throws WIMException {
+                return "refreshed" + loads.incrementAndGet();
+            }
+        };
+        cache.put("uid=user1", "original", 400, refresher);
+        for (int i = 0; i < LdapCache.REFRESH_HITS; i++) {
+            assertEquals("original", cache.get("uid=user1"));
+        }
+        assertEquals(0, loads.get());
+
+        Thread.sleep(350);
+        assertEquals("original", cache.get("uid=user1"));
+        long deadline = System.currentTimeMillis() + 10000;
+        while (cache.getRefreshCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, cache.getRefreshCount());
+        assertEquals("refreshed1", cache.get("uid=user1"));
+
+        // The refreshed entry lives for another time to live.
+        Thread.sleep(200);
+        assertEquals("refreshed1", cache.get("uid=user1"));
+    }
+
+    /**
+     * Without an executor, a hot entry is not refreshed and expires as usual.
+     */
+    @Test
+    public void noRefreshWithoutExecutor() throws Exception {
+        LdapCache cache = new LdapCache("test", 100, 600000);
+        final AtomicInteger loads = new AtomicInteger();
+        LdapCache.Loader refresher = new LdapCache.Loader() {
+            @Override
+            public Object load() throws WIMException {
+                return "refreshed" + loads.incrementAndGet();
+            }
+        };
+        cache.put("uid=user1", "original", 400, refresher);
+        for (int i = 0; i < LdapCache.REFRESH_HITS; i++) {
+            assertEquals("original", cache.get("uid=user1"));
+        }
+        Thread.sleep(350);
+        assertEquals("original", cache.get("uid=user1"));
+        Thread.sleep(100);
+        assertNull(cache.get("uid=user1"));
+        assertEquals(0, loads.get());
+        assertEquals(0, cache.getRefreshCount());
+    }
+}
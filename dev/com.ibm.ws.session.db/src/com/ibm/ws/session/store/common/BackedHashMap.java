@@ -10,10 +10,12 @@
  *******************************************************************************/
 package com.ibm.ws.session.store.common;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Enumeration;
 import java.util.Hashtable;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
@@ -430,19 +432,7 @@ public abstract class BackedHashMap extends LRUHashMap {
             LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[UPDATE_SESSION], "Do the write!");
         }
 
-        boolean propHit = false;
-
-        if (_smc.writeAllProperties()) {
-            propHit = true;
-        }
-
-        if (!propHit && backedSess.appDataChanges != null) {
-            propHit = !backedSess.appDataChanges.isEmpty();
-        }
-
-        if (!propHit && backedSess.appDataRemovals != null) {
-            propHit = !backedSess.appDataRemovals.isEmpty();
-        }
+        boolean propHit = hasPropertyHit(backedSess);
 
         if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
             LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[UPDATE_SESSION], "propHit is: " + propHit);
@@ -474,6 +464,19 @@ public abstract class BackedHashMap extends LRUHashMap {
         }
     }
 
+    /*
+     * hasPropertyHit - true if the application data of the session must be written
+     */
+    protected boolean hasPropertyHit(BackedSession backedSess) {
+        if (_smc.writeAllProperties()) {
+            return true;
+        }
+        if (backedSess.appDataChanges != null && !backedSess.appDataChanges.isEmpty()) {
+            return true;
+        }
+        return backedSess.appDataRemovals != null && !backedSess.appDataRemovals.isEmpty();
+    }
+
     /*
      * updateCacheId
      */
@@ -886,6 +889,12 @@ public abstract class BackedHashMap extends LRUHashMap {
         long now = System.currentTimeMillis();
         long writeInterval = _smc.getPropertyWriterInterval() * 1000; //convert seconds to milliseconds
 
+        // when batching, the writes are prepared under the session lock and sent after the loop
+        List batchedWrites = null;
+        if (_smc.getTimeBasedWriteBatchSize() > 0) {
+            batchedWrites = new ArrayList();
+        }
+
         Enumeration vEnum = tableKeys();
         if (isTraceOn && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
             LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[DO_TIME_BASED_WRITES], "!!!!!!!!!!PropertyWriteThread Loop STARTS Here!!!!!!!!!!!!! ");
@@ -987,7 +996,15 @@ public abstract class BackedHashMap extends LRUHashMap {
                                 // be enforced in the GUI.
 
                                 cachedSession.setLastWriteTime(now);
-                                cachedSession.flush(); // do the write
+                                Object batchedWrite = null;
+                                if (batchedWrites != null) {
+                                    batchedWrite = prepareBatchedSessionWrite(cachedSession);
+                                }
+                                if (batchedWrite != null) {
+                                    batchedWrites.add(batchedWrite);
+                                } else {
+                                    cachedSession.flush(); // do the write
+                                }
                                 cachedSession.deferWriteUntilNextTick = 0;
                             }
                         } else {
@@ -1006,11 +1023,52 @@ public abstract class BackedHashMap extends LRUHashMap {
                 }
             }
         }
+        if (batchedWrites != null && !batchedWrites.isEmpty()) {
+            if (isTraceOn && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
+                LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[DO_TIME_BASED_WRITES], "Sending batched writes of " + batchedWrites.size() + " sessions");
+            }
+            persistBatchedWrites(batchedWrites);
+        }
         if (isTraceOn && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
             LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[DO_TIME_BASED_WRITES], "!!!!!!!!!! PropertyWriteThread Loop ENDS Here!!!!!!!!!!!!!");
         }
     } // end of method
 
+    /*
+     * prepareBatchedSessionWrite - called with the session locked, takes what the time based
+     * write of the session must send, or returns null if the session must be written on its own
+     */
+    private Object prepareBatchedSessionWrite(BackedSession backedSess) {
+        // a session that is not in the backend yet needs the insert done by put
+        if (backedSess.needToInsert) {
+            return null;
+        }
+        Object batchedWrite = prepareBatchedWrite(backedSess, hasPropertyHit(backedSess));
+        if (batchedWrite != null) {
+            // what flush(false) does before the write
+            backedSess.cacheLastAccessedTime = false;
+            if (cachedLastAccessedTimes != null) {
+                cachedLastAccessedTimes.remove(backedSess.getId());
+            }
+        }
+        return batchedWrite;
+    }
+
+    /*
+     * prepareBatchedWrite - extenders that can batch the time based writes return a snapshot of
+     * the session update here, and clear the changes it holds. It is called with the session locked.
+     * Returning null writes the session with flush() instead, which is what this default does.
+     */
+    protected Object prepareBatchedWrite(BackedSession backedSess, boolean propHit) {
+        return null;
+    }
+
+    /*
+     * persistBatchedWrites - sends the writes returned by prepareBatchedWrite in one go,
+     * and gives the changes back to the sessions whose write failed.
+     */
+    protected void persistBatchedWrites(List batchedWrites) {}
+
     /*
      * abstract methods to be implemented by extenders of this class
      * See DatabaseHashMap and MTMHashMap for details
@@ -25,9 +25,21 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.ConcurrentModificationException;
 import java.util.Enumeration;
 import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.logging.Level;
 
 import javax.sql.DataSource;
@@ -46,6 +58,7 @@ import com.ibm.ws.session.store.common.BackedHashMap;
 import com.ibm.ws.session.store.common.BackedSession;
 import com.ibm.ws.session.store.common.LoggingUtil;
 import com.ibm.ws.threadContext.ComponentMetaDataAccessorImpl;
+import com.ibm.ws.webcontainer.httpsession.SessionMgrComponentImpl;
 import com.ibm.wsspi.resource.ResourceConfig;
 import com.ibm.wsspi.session.IStore;
 
@@ -67,6 +80,8 @@ public class DatabaseHashMap extends BackedHashMap {
     String dbid;
     String dbpwd;
     private transient DatabaseStoreService databaseStoreService;
+    // the batched writes being sent, by session id
+    private final transient ConcurrentMap<String, SessionWrite> pendingWrites = new ConcurrentHashMap<String, SessionWrite>();
 
     //  PK71265
     String delPropall;
@@ -212,6 +227,9 @@ public class DatabaseHashMap extends BackedHashMap {
     private static final int DOES_INDEX_EXISTS_DISTRIBUTED = 31;
     private static final int DOES_INDEX_EXISTS_ISERIES = 32;
     private static final int IS_TABLE_MARKED_VOLATILE = 33;
+    private static final int PREPARE_BATCHED_WRITE = 34;
+    private static final int PERSIST_BATCHED_WRITES = 35;
+    private static final int WRITE_BATCH = 36;
 
     private static final String methodNames[] = { "setUserInfo", "initDBSettings", "getTableDefinition", "createTable", "getDataSource",
                                                  "removePersistedSession", "doInvalidations", "pollForInvalidSessionsWithListeners", "closeResultSet", "closeStatement",
@@ -219,7 +237,8 @@ public class DatabaseHashMap extends BackedHashMap {
                                                  "updateLastAccessTime", "overQualLastAccessTimeUpdate", "readFromExternal", "isPresent", "insertSession",
                                                  "handlePropertyHits", "persistSession", "serializeAppData", "writeCachedLastAccessedTimes", "getCollectionName",
                                                  "oracleGetValue", "setMaxInactToZero", "performInvalidation", "processInvalidListeners", "updateNukerTimeStamp",
-                                                 "beginDBContext", "doesIndexExistsDistributed", "doesIndexExistsISeries", "isTableMarkedVolatile" };
+                                                 "beginDBContext", "doesIndexExistsDistributed", "doesIndexExistsISeries", "isTableMarkedVolatile",
+                                                 "prepareBatchedWrite", "persistBatchedWrites", "writeBatch" };
 
     /*
      * Constructor
@@ -2128,84 +2147,26 @@ public class DatabaseHashMap extends BackedHashMap {
         Thread t = Thread.currentThread();
         PreparedStatement ps = null;
         boolean psClose = false;
-        byte[] objbuf = null;
-        int objbufLength = 0;
 
         try {
-            // build update string based on what has changed
-            d2.update = new StringBuffer();
-            boolean didFirstCol = false;
-
-            d2.update.append(upBase);
-            if (d2.userWriteHit) {
-                if (didFirstCol) {
-                    d2.update.append(comma);
-                }
-                d2.update.append(userCol).append(equals);
-                didFirstCol = true;
-            }
-
-            if (d2.maxInactWriteHit) {
-                if (didFirstCol) {
-                    d2.update.append(comma);
-                } else {
-                    didFirstCol = true;
-                }
-                d2.update.append(maxInactCol).append(equals);
-            }
-
-            if (d2.listenCntHit) {
-                if (didFirstCol) {
-                    d2.update.append(comma);
-                } else {
-                    didFirstCol = true;
-                }
-                d2.update.append(listenCol).append(equals);
-            }
-
-            if (!_smc.getEnableEOSWrite() || _smc.getScheduledInvalidation()) {
-                if (didFirstCol) {
-                    d2.update.append(comma);
-                } else {
-                    didFirstCol = true;
-                }
-                d2.update.append(lastAccCol).append(equals);
-            }
-
-            if (propHit) {
-                if (!_smc.isUsingMultirow()) {
-                    if (didFirstCol) {
-                        d2.update.append(comma);
-                    } else {
-                        didFirstCol = true;
-                    }
-                    objbuf = serializeAppData(d2);
-                    if (objbuf != null) {
-                        objbufLength = objbuf.length;
-                    }
-                }
+            // a batched write of the session that is still being sent must not land after this one
+            awaitPendingWrite(d2);
 
-                boolean success = handlePropertyHits(d2, t, objbufLength);
-                if (!success) { //325643
-                    if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
-                        LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[PERSIST_SESSION], "returning false after handlePropertyHits");
-                    }
-                    return false; // 325643
+            // build update string based on what has changed
+            SessionWrite w = prepareWrite(d2, propHit, t);
+            if (w == null) { //325643
+                if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
+                    LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[PERSIST_SESSION], "returning false after handlePropertyHits");
                 }
+                return false; // 325643
             }
 
             // if nothing changed, then just return
-            if (!didFirstCol) {
-                d2.update = null;
-                d2.userWriteHit = false;
-                d2.maxInactWriteHit = false;
-                d2.listenCntHit = false;
+            if (w.sql == null) {
                 if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINER)) {
                     LoggingUtil.SESSION_LOGGER_WAS.exiting(methodClassName, methodNames[PERSIST_SESSION], "true - Nothing changed");
                 }
                 return true;
-            } else {
-                d2.update.append(upId);
             }
 
             con = getConnection(false);
@@ -2220,89 +2181,27 @@ public class DatabaseHashMap extends BackedHashMap {
                 return false;
             }
 
-            ps = con.prepareStatement(d2.update.toString());
+            ps = con.prepareStatement(w.sql);
             long startTime = System.currentTimeMillis();
             if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
-                LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[PERSIST_SESSION], "doing a sql update of " + d2.update.toString());
-            }
-            int colcnt = 0;
-
-            if (d2.userWriteHit) {
-                if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
-                    LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[PERSIST_SESSION], "update username " + d2.getUserName());
-                }
-                colcnt++;
-                ps.setString(colcnt, d2.getUserName());
-                d2.userWriteHit = false;
-            }
-
-            if (d2.maxInactWriteHit) {
-                if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
-                    LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[PERSIST_SESSION], "update maxinactive " + d2.getMaxInactiveInterval());
-                }
-                colcnt++;
-                ps.setInt(colcnt, d2.getMaxInactiveInterval());
-                d2.maxInactWriteHit = false;
-            }
-
-            if (d2.listenCntHit) {
-                if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
-                    LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[PERSIST_SESSION], "update listerncnt " + d2.listenerFlag);
-                }
-                colcnt++;
-                ps.setShort(colcnt, d2.listenerFlag);
-                d2.listenCntHit = false;
+                LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[PERSIST_SESSION], "doing a sql update of " + w.sql);
             }
 
-            ByteArrayInputStream bis = null;
-            long time = d2.getCurrentAccessTime();
-            if (!_smc.getEnableEOSWrite() || _smc.getScheduledInvalidation()) {
-                if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
-                    LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[PERSIST_SESSION], "update last write time to DB !!!!!!! " + time);
-                }
-                colcnt++;
-                // shouldn't get a -1 time since already stored...
-                // I'm assuming lastAccess has been updated in the session object
-                setPSLong(ps, colcnt, time);
-                d2.setLastWriteLastAccessTime(time);
-
-            }
-
-            // not done in multirow, MR's handlePropertyHits will reset flag
-            if (propHit && !_smc.isUsingMultirow()) {
-                if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
-                    LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[PERSIST_SESSION], "update  " + time); // cmd 200713
-                }
-                colcnt++;
-
-                if ((!usingInformix) && (!_smc.isUseOracleBlob())) {
-                    ps.setBytes(colcnt, objbuf);
-                } else {
-
-                    bis = new ByteArrayInputStream(objbuf);
-                    ps.setBinaryStream(colcnt, (InputStream) bis, objbufLength);
-                }
-            }
-
-            colcnt++;
-            ps.setString(colcnt, id);
-
-            colcnt++;
-            ps.setString(colcnt, id);
-
-            colcnt++; //*dbc2.2
-            ps.setString(colcnt, d2.getAppName()); //*dbc2.2
+            bindWrite(ps, w);
 
             if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
-                LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[PERSIST_SESSION], "before upd " + d2.update.toString() + " for sess " + id);
+                LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[PERSIST_SESSION], "before upd " + w.sql + " for sess " + id);
             }
 
             ps.executeUpdate();
+            if (w.lastAccessHit) {
+                d2.setLastWriteLastAccessTime(w.lastAccess);
+            }
 
-            if (objbuf != null && propHit && !_smc.isUsingMultirow()) {
+            if (w.objbuf != null) {
                 SessionStatistics pmiStats = _iStore.getSessionStatistics();
                 if (pmiStats != null) {
-                    pmiStats.writeTimes(objbuf.length, System.currentTimeMillis() - startTime);
+                    pmiStats.writeTimes(w.objbuf.length, System.currentTimeMillis() - startTime);
                 }
             }
 
@@ -2347,6 +2246,492 @@ public class DatabaseHashMap extends BackedHashMap {
         return true;
     }
 
+    /*
+     * prepareWrite - builds the update string in d2.update for what has changed, and takes the
+     * values to write from the session. The session keeps its changes until the write is done.
+     * Returns null if handlePropertyHits failed, or a write without sql if nothing changed.
+     */
+    SessionWrite prepareWrite(BackedSession d2, boolean propHit, Thread t) {
+        SessionWrite w = new SessionWrite(d2);
+        d2.update = new StringBuffer();
+        boolean didFirstCol = false;
+
+        d2.update.append(upBase);
+        if (d2.userWriteHit) {
+            if (didFirstCol) {
+                d2.update.append(comma);
+            }
+            d2.update.append(userCol).append(equals);
+            didFirstCol = true;
+        }
+
+        if (d2.maxInactWriteHit) {
+            if (didFirstCol) {
+                d2.update.append(comma);
+            } else {
+                didFirstCol = true;
+            }
+            d2.update.append(maxInactCol).append(equals);
+        }
+
+        if (d2.listenCntHit) {
+            if (didFirstCol) {
+                d2.update.append(comma);
+            } else {
+                didFirstCol = true;
+            }
+            d2.update.append(listenCol).append(equals);
+        }
+
+        if (!_smc.getEnableEOSWrite() || _smc.getScheduledInvalidation()) {
+            if (didFirstCol) {
+                d2.update.append(comma);
+            } else {
+                didFirstCol = true;
+            }
+            d2.update.append(lastAccCol).append(equals);
+            w.lastAccessHit = true;
+        }
+
+        if (propHit) {
+            int objbufLength = 0;
+            if (!_smc.isUsingMultirow()) {
+                if (didFirstCol) {
+                    d2.update.append(comma);
+                } else {
+                    didFirstCol = true;
+                }
+                w.objbuf = serializeAppData(d2);
+                if (w.objbuf != null) {
+                    objbufLength = w.objbuf.length;
+                }
+                w.propHit = true; // not done in multirow, MR's handlePropertyHits writes the rows
+            }
+
+            boolean success = handlePropertyHits(d2, t, objbufLength);
+            if (!success) { //325643
+                return null;
+            }
+        }
+
+        // if nothing changed, then there is nothing to write
+        if (!didFirstCol) {
+            d2.update = null;
+            d2.userWriteHit = false;
+            d2.maxInactWriteHit = false;
+            d2.listenCntHit = false;
+            return w;
+        }
+        d2.update.append(upId);
+        w.sql = d2.update.toString();
+
+        if (d2.userWriteHit) {
+            w.userWriteHit = true;
+            w.userName = d2.getUserName();
+        }
+        if (d2.maxInactWriteHit) {
+            w.maxInactWriteHit = true;
+            w.maxInactive = d2.getMaxInactiveInterval();
+        }
+        if (d2.listenCntHit) {
+            w.listenCntHit = true;
+            w.listenerFlag = d2.listenerFlag;
+        }
+        if (w.lastAccessHit) {
+            // shouldn't get a -1 time since already stored...
+            // I'm assuming lastAccess has been updated in the session object
+            w.lastAccess = d2.getCurrentAccessTime();
+        }
+        return w;
+    }
+
+    /*
+     * bindWrite - sets the parameters of the update statement of a write
+     */
+    void bindWrite(PreparedStatement ps, SessionWrite w) throws SQLException {
+        int colcnt = 0;
+
+        if (w.userWriteHit) {
+            if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
+                LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[PERSIST_SESSION], "update username " + w.userName);
+            }
+            colcnt++;
+            ps.setString(colcnt, w.userName);
+        }
+
+        if (w.maxInactWriteHit) {
+            if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
+                LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[PERSIST_SESSION], "update maxinactive " + w.maxInactive);
+            }
+            colcnt++;
+            ps.setInt(colcnt, w.maxInactive);
+        }
+
+        if (w.listenCntHit) {
+            if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
+                LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[PERSIST_SESSION], "update listerncnt " + w.listenerFlag);
+            }
+            colcnt++;
+            ps.setShort(colcnt, w.listenerFlag);
+        }
+
+        if (w.lastAccessHit) {
+            if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
+                LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[PERSIST_SESSION], "update last write time to DB !!!!!!! " + w.lastAccess);
+            }
+            colcnt++;
+            setPSLong(ps, colcnt, w.lastAccess);
+        }
+
+        if (w.propHit) {
+            if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
+                LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[PERSIST_SESSION], "update  " + w.lastAccess); // cmd 200713
+            }
+            colcnt++;
+
+            if ((!usingInformix) && (!_smc.isUseOracleBlob())) {
+                ps.setBytes(colcnt, w.objbuf);
+            } else {
+                int objbufLength = w.objbuf == null ? 0 : w.objbuf.length;
+                ByteArrayInputStream bis = new ByteArrayInputStream(w.objbuf);
+                ps.setBinaryStream(colcnt, (InputStream) bis, objbufLength);
+            }
+        }
+
+        colcnt++;
+        ps.setString(colcnt, w.id);
+
+        colcnt++;
+        ps.setString(colcnt, w.id);
+
+        colcnt++; //*dbc2.2
+        ps.setString(colcnt, w.appName); //*dbc2.2
+    }
+
+    /*
+     * prepareBatchedWrite - takes the write of a time based write interval, with the session locked.
+     * The changes it holds are cleared now and given back by restoreWrite if the batch fails.
+     * Until the batch is done, a later write of the session waits for it in awaitPendingWrite.
+     */
+    @Override
+    protected Object prepareBatchedWrite(BackedSession d2, boolean propHit) {
+        // multirow writes the attribute rows while it builds the update, it keeps the single writes
+        if (_smc.isUsingMultirow()) {
+            return null;
+        }
+        SessionWrite w = null;
+        try {
+            awaitPendingWrite(d2);
+            w = prepareWrite(d2, propHit, Thread.currentThread());
+        } catch (Exception e) {
+            com.ibm.ws.ffdc.FFDCFilter.processException(e, "com.ibm.ws.session.store.db.DatabaseHashMap.prepareBatchedWrite", "2396", d2);
+            LoggingUtil.SESSION_LOGGER_WAS.logp(Level.SEVERE, methodClassName, methodNames[PREPARE_BATCHED_WRITE], "DatabaseHashMap.ejbStoreError");
+            LoggingUtil.SESSION_LOGGER_WAS.logp(Level.SEVERE, methodClassName, methodNames[PREPARE_BATCHED_WRITE], "CommonMessage.exception", e);
+        }
+        d2.update = null;
+        if (w == null) {
+            // like a failed persistSession, the changes stay in the session
+            return new SessionWrite(d2);
+        }
+        if (w.sql != null) {
+            d2.userWriteHit = false;
+            d2.maxInactWriteHit = false;
+            d2.listenCntHit = false;
+            if (d2.appDataChanges != null && !d2.appDataChanges.isEmpty()) {
+                w.appDataChanges = (Hashtable) d2.appDataChanges.clone();
+                d2.appDataChanges.clear();
+            }
+            if (d2.appDataRemovals != null && !d2.appDataRemovals.isEmpty()) {
+                w.appDataRemovals = (Hashtable) d2.appDataRemovals.clone();
+                d2.appDataRemovals.clear();
+            }
+            pendingWrites.put(w.id, w);
+        }
+        return w;
+    }
+
+    /*
+     * persistBatchedWrites - groups the writes by update string and sends each group in JDBC
+     * batches of TimeBasedWriteBatchSize, on up to TimeBasedWriteThreads connections at once.
+     */
+    @Override
+    protected void persistBatchedWrites(List batchedWrites) {
+        if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
+            LoggingUtil.SESSION_LOGGER_WAS.entering(methodClassName, methodNames[PERSIST_BATCHED_WRITES], Integer.valueOf(batchedWrites.size()));
+        }
+        Map<String, List<SessionWrite>> writesBySql = new LinkedHashMap<String, List<SessionWrite>>();
+        for (int i = 0; i < batchedWrites.size(); i++) {
+            SessionWrite w = (SessionWrite) batchedWrites.get(i);
+            if (w.sql == null) {
+                continue; // nothing to write
+            }
+            List<SessionWrite> writes = writesBySql.get(w.sql);
+            if (writes == null) {
+                writes = new ArrayList<SessionWrite>();
+                writesBySql.put(w.sql, writes);
+            }
+            writes.add(w);
+        }
+
+        int batchSize = _smc.getTimeBasedWriteBatchSize();
+        final ConcurrentLinkedQueue<List<SessionWrite>> batches = new ConcurrentLinkedQueue<List<SessionWrite>>();
+        for (List<SessionWrite> writes : writesBySql.values()) {
+            for (int i = 0; i < writes.size(); i += batchSize) {
+                batches.add(writes.subList(i, Math.min(i + batchSize, writes.size())));
+            }
+        }
+
+        int writers = Math.min(_smc.getTimeBasedWriteThreads(), batches.size());
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        if (writers > 1) {
+            SessionMgrComponentImpl sessionMgr = SessionMgrComponentImpl.INSTANCE.get();
+            ScheduledExecutorService executor = sessionMgr == null ? null : sessionMgr.getScheduledExecutorService();
+            if (executor != null) {
+                Runnable writer = new Runnable() {
+                    @Override
+                    public void run() {
+                        writeBatches(batches);
+                    }
+                };
+                try {
+                    for (int i = 1; i < writers; i++) {
+                        futures.add(executor.submit(writer));
+                    }
+                } catch (RejectedExecutionException ree) {
+                    // this thread writes the batches that are left
+                }
+            }
+        }
+
+        writeBatches(batches);
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException ee) {
+                com.ibm.ws.ffdc.FFDCFilter.processException(ee, "com.ibm.ws.session.store.db.DatabaseHashMap.persistBatchedWrites", "2472", this);
+            }
+        }
+        if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINER)) {
+            LoggingUtil.SESSION_LOGGER_WAS.exiting(methodClassName, methodNames[PERSIST_BATCHED_WRITES]);
+        }
+    }
+
+    /*
+     * writeBatches - writes batches until there are none left
+     */
+    void writeBatches(ConcurrentLinkedQueue<List<SessionWrite>> batches) {
+        List<SessionWrite> batch;
+        while ((batch = batches.poll()) != null) {
+            writeBatch(batch);
+        }
+    }
+
+    /*
+     * writeBatch - runs the update of each write of the batch as one JDBC batch. The writes all
+     * have the same update string. If the batch fails, the changes are given back to the sessions.
+     */
+    void writeBatch(List<SessionWrite> batch) {
+        if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
+            LoggingUtil.SESSION_LOGGER_WAS.entering(methodClassName, methodNames[WRITE_BATCH], Integer.valueOf(batch.size()));
+        }
+        String sql = batch.get(0).sql;
+        Connection con = null;
+        PreparedStatement ps = null;
+        boolean written = false;
+
+        try {
+            con = getConnection(false);
+            if (con == null) {
+                if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
+                    LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[WRITE_BATCH], "null connection");
+                }
+                return;
+            }
+
+            ps = con.prepareStatement(sql);
+            long startTime = System.currentTimeMillis();
+            if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINE)) {
+                LoggingUtil.SESSION_LOGGER_WAS.logp(Level.FINE, methodClassName, methodNames[WRITE_BATCH], "doing a sql batch update of " + sql);
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                bindWrite(ps, batch.get(i));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            written = true;
+
+            SessionStatistics pmiStats = _iStore.getSessionStatistics();
+            if (pmiStats != null) {
+                // each write is charged its share of the batch
+                long writeTime = (System.currentTimeMillis() - startTime) / batch.size();
+                for (int i = 0; i < batch.size(); i++) {
+                    SessionWrite w = batch.get(i);
+                    if (w.objbuf != null) {
+                        pmiStats.writeTimes(w.objbuf.length, writeTime);
+                    }
+                }
+            }
+        } catch (SQLException se) {
+            com.ibm.ws.ffdc.FFDCFilter.processException(se, "com.ibm.ws.session.store.db.DatabaseHashMap.writeBatch", "2534", this);
+            LoggingUtil.SESSION_LOGGER_WAS.logp(Level.SEVERE, methodClassName, methodNames[WRITE_BATCH], "DatabaseHashMap.ejbStoreError");
+            LoggingUtil.SESSION_LOGGER_WAS.logp(Level.SEVERE, methodClassName, methodNames[WRITE_BATCH], "CommonMessage.miscData", " Update string: " + sql);
+            LoggingUtil.SESSION_LOGGER_WAS.logp(Level.SEVERE, methodClassName, methodNames[WRITE_BATCH], "CommonMessage.exception", se);
+        } catch (Exception ee) {
+            com.ibm.ws.ffdc.FFDCFilter.processException(ee, "com.ibm.ws.session.store.db.DatabaseHashMap.writeBatch", "2539", this);
+            LoggingUtil.SESSION_LOGGER_WAS.logp(Level.SEVERE, methodClassName, methodNames[WRITE_BATCH], "DatabaseHashMap.ejbStoreError");
+            LoggingUtil.SESSION_LOGGER_WAS.logp(Level.SEVERE, methodClassName, methodNames[WRITE_BATCH], "CommonMessage.exception", ee);
+        } finally {
+            if (ps != null)
+                closeStatement(ps);
+            if (con != null)
+                closeConnection(con);
+            for (int i = 0; i < batch.size(); i++) {
+                finishWrite(batch.get(i), written);
+            }
+        }
+        if (com.ibm.websphere.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_WAS.isLoggable(Level.FINER)) {
+            LoggingUtil.SESSION_LOGGER_WAS.exiting(methodClassName, methodNames[WRITE_BATCH], Boolean.valueOf(written));
+        }
+    }
+
+    /*
+     * finishWrite - ends a batched write, and wakes up a later write of the session that waits for it
+     */
+    void finishWrite(SessionWrite w, boolean written) {
+        if (written && w.lastAccessHit) {
+            w.session.setLastWriteLastAccessTime(w.lastAccess);
+        }
+        pendingWrites.remove(w.id, w);
+        synchronized (w) {
+            w.done = true;
+            w.written = written;
+            w.notifyAll();
+        }
+        if (!written) {
+            restoreWrite(w);
+        }
+    }
+
+    /*
+     * awaitPendingWrite - waits until the batched write of the session that is being sent is done,
+     * so that the older values of that write do not overwrite a later write of the session.
+     * Called with the session locked. If the batched write failed, its changes are given back to
+     * the session first, so that the later write includes them.
+     */
+    void awaitPendingWrite(BackedSession d2) {
+        SessionWrite pending = pendingWrites.get(d2.getId());
+        if (pending == null) {
+            return;
+        }
+        boolean written;
+        boolean interrupted = false;
+        synchronized (pending) {
+            while (!pending.done) {
+                try {
+                    pending.wait();
+                } catch (InterruptedException ie) {
+                    interrupted = true;
+                }
+            }
+            written = pending.written;
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (!written) {
+            restoreWrite(pending);
+        }
+    }
+
+    /*
+     * restoreWrite - gives the changes of a failed write back to its session, and has the
+     * next time based write pick the session up again. The changes are only given back once.
+     */
+    void restoreWrite(SessionWrite w) {
+        synchronized (w) {
+            if (w.restored) {
+                return;
+            }
+            w.restored = true;
+        }
+        BackedSession d2 = w.session;
+        synchronized (d2) {
+            if (!d2.isValid()) {
+                return;
+            }
+            if (w.userWriteHit) {
+                d2.userWriteHit = true;
+            }
+            if (w.maxInactWriteHit) {
+                d2.maxInactWriteHit = true;
+            }
+            if (w.listenCntHit) {
+                d2.listenCntHit = true;
+            }
+            // keep the changes made since the write was taken
+            if (w.appDataChanges != null) {
+                if (d2.appDataChanges == null) {
+                    d2.appDataChanges = new Hashtable();
+                }
+                for (Iterator it = w.appDataChanges.entrySet().iterator(); it.hasNext();) {
+                    Map.Entry e = (Map.Entry) it.next();
+                    if (!d2.appDataChanges.containsKey(e.getKey()) && (d2.appDataRemovals == null || !d2.appDataRemovals.containsKey(e.getKey()))) {
+                        d2.appDataChanges.put(e.getKey(), e.getValue());
+                    }
+                }
+            }
+            if (w.appDataRemovals != null) {
+                if (d2.appDataRemovals == null) {
+                    d2.appDataRemovals = new Hashtable();
+                }
+                for (Iterator it = w.appDataRemovals.entrySet().iterator(); it.hasNext();) {
+                    Map.Entry e = (Map.Entry) it.next();
+                    if (!d2.appDataRemovals.containsKey(e.getKey()) && !d2.getSwappableData().containsKey(e.getKey())) {
+                        d2.appDataRemovals.put(e.getKey(), e.getValue());
+                    }
+                }
+            }
+            d2.setLastWriteTime(-1);
+        }
+    }
+
+    /*
+     * SessionWrite - the update of one session: the update string and the values to bind,
+     * taken from the session so that the statement can be run without holding it
+     */
+    static final class SessionWrite {
+        final BackedSession session;
+        final String id;
+        final String appName;
+        String sql;
+        boolean userWriteHit;
+        String userName;
+        boolean maxInactWriteHit;
+        int maxInactive;
+        boolean listenCntHit;
+        short listenerFlag;
+        boolean lastAccessHit;
+        long lastAccess;
+        boolean propHit;
+        byte[] objbuf;
+        // the application data changes written, given back to the session if the batch fails
+        Hashtable appDataChanges;
+        Hashtable appDataRemovals;
+        // guarded by this write
+        boolean done;
+        boolean written;
+        boolean restored;
+
+        SessionWrite(BackedSession session) {
+            this.session = session;
+            this.id = session.getId();
+            this.appName = session.getAppName();
+        }
+    }
+
     private SerializationService getSerializationService() {
         return this.getDatabaseStoreService().getSerializationService();
     }
@@ -36,8 +36,8 @@ import javax.servlet.http.HttpSessionListener;
 
 import com.ibm.websphere.servlet.session.IBMSessionListener;
 import com.ibm.ws.session.http.HttpSessionAttributeObserver;
+import com.ibm.ws.session.store.memory.ConcurrentSessionHashMap;
 import com.ibm.ws.session.store.memory.MemoryStore;
-import com.ibm.ws.session.store.memory.SessionSimpleHashMap;
 import com.ibm.ws.session.utils.IDGeneratorImpl;
 import com.ibm.ws.session.utils.LoggingUtil;
 import com.ibm.ws.util.WSThreadLocal;
@@ -928,7 +928,7 @@ public class SessionContext {
             if (_smc.getEnableOverflow()) {
                 strbuf.append("<b>  overflow size</b> ");
                 strbuf.append(globalScopeComment);
-                strbuf.append(((SessionSimpleHashMap) ms._sessions).getOverflowSize());
+                strbuf.append(((ConcurrentSessionHashMap) ms._sessions).getOverflowSize());
                 strbuf.append("<BR>");
             }
         }
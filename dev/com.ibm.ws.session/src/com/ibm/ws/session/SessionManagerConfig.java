@@ -195,6 +195,11 @@ public class SessionManagerConfig implements Cloneable {
     private boolean useSeparateSessionInvalidatorThreadPool = true; //set default to true so that ScheduledExecutorService is used as thread scheduler
     
     private int connectionRetryCount = 2; // Feature 68570
+
+    // number of time based writes sent to the database in one JDBC batch, 0 writes each session on its own
+    private int timeBasedWriteBatchSize = 0;
+    // number of threads that send the batches of a time based write interval
+    private int timeBasedWriteThreads = 1;
     
     // finished Custom Properties
 
@@ -1017,6 +1022,22 @@ public class SessionManagerConfig implements Cloneable {
     public void setConnectionRetryCount(int i) {
         connectionRetryCount = i;
     }
+
+    public int getTimeBasedWriteBatchSize() {
+        return timeBasedWriteBatchSize;
+    }
+
+    public void setTimeBasedWriteBatchSize(int i) {
+        timeBasedWriteBatchSize = i;
+    }
+
+    public int getTimeBasedWriteThreads() {
+        return timeBasedWriteThreads;
+    }
+
+    public void setTimeBasedWriteThreads(int i) {
+        timeBasedWriteThreads = i;
+    }
     
     public void printSessionManagerConfigForDebug(Logger logger) {
         if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && logger.isLoggable(Level.FINE)) {
@@ -62,6 +62,8 @@ final public class SessionProperties {
         FullyQualifiedPropertiesMap.put("InvalidateOnUnauthorizedSessionRequestException", "invalidateOnUnauthorizedSessionRequestException");
         FullyQualifiedPropertiesMap.put("ExpectedCloneIds", "expectedCloneIds"); //PI18177
         FullyQualifiedPropertiesMap.put("ConnectionRetryCount ","connectionRetryCount"); //Feature 68570
+        FullyQualifiedPropertiesMap.put("TimeBasedWriteBatchSize", "timeBasedWriteBatchSize");
+        FullyQualifiedPropertiesMap.put("TimeBasedWriteThreads", "timeBasedWriteThreads");
     }
 
     private SessionProperties() {}
@@ -578,6 +580,34 @@ final public class SessionProperties {
             }
         } // Feature 68570 End
 
+        final String propTimeBasedWriteBatchSize = "TimeBasedWriteBatchSize";
+        strProp = getStringProperty(propTimeBasedWriteBatchSize, xtpProperties);
+        if (strProp != null) {
+            try {
+                int batchSize = new Integer(strProp).intValue();
+                if (shouldSetAndDoLogging(propTimeBasedWriteBatchSize, false, baseServerLevelConfig, xtpProperties, new Integer(batchSize), null, false)) {
+                    smc.setTimeBasedWriteBatchSize(batchSize);
+                }
+            } catch (NumberFormatException nfe) {
+                LoggingUtil.SESSION_LOGGER_CORE.logp(Level.WARNING, methodClassName, methodName, invalidPropFoundMessage, new Object[] { propTimeBasedWriteBatchSize,
+                                                                                                                                        strProp });
+            }
+        }
+
+        final String propTimeBasedWriteThreads = "TimeBasedWriteThreads";
+        strProp = getStringProperty(propTimeBasedWriteThreads, xtpProperties);
+        if (strProp != null) {
+            try {
+                int writeThreads = new Integer(strProp).intValue();
+                if (shouldSetAndDoLogging(propTimeBasedWriteThreads, false, baseServerLevelConfig, xtpProperties, new Integer(writeThreads), null, false)) {
+                    smc.setTimeBasedWriteThreads(writeThreads);
+                }
+            } catch (NumberFormatException nfe) {
+                LoggingUtil.SESSION_LOGGER_CORE.logp(Level.WARNING, methodClassName, methodName, invalidPropFoundMessage, new Object[] { propTimeBasedWriteThreads,
+                                                                                                                                        strProp });
+            }
+        }
+
     }
 
     /*
@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.ws.session.store.memory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+import com.ibm.ws.session.utils.LoggingUtil;
+import com.ibm.ws.session.utils.SessionHashSet;
+import com.ibm.wsspi.session.IStore;
+
+/**
+ * The session table of the in-memory store. It keeps the HashMap type of
+ * MemoryStore._sessions, but the sessions are held in a ConcurrentHashMap,
+ * so that put, get and remove do not serialize on the table.
+ *
+ * The map holds at most maxCapacity sessions when overflow is disabled, any
+ * further put() of a new key throws a TooManySessionsException. When overflow is
+ * enabled, the map keeps growing and the sessions beyond maxCapacity are reported
+ * as the overflow size.
+ *
+ * The keySet() method returns a snapshot of the keys, which does not fail fast.
+ */
+public class ConcurrentSessionHashMap extends HashMap {
+
+    private static final long serialVersionUID = -4497520932580611386L;
+    private static final String methodClassName = "ConcurrentSessionHashMap";
+
+    private static final int GET = 0;
+    private static final int REMOVE = 1;
+    private static final int KEYSET = 2;
+    private static final int PUT = 3;
+    private static final String methodNames[] = { "get", "remove", "keySet", "put" };
+
+    private final IStore _iStore;
+    private final int maxSize;
+    private final boolean overflowAllowed;
+    private final ConcurrentHashMap<Object, Object> table;
+    private final AtomicInteger currentSize = new AtomicInteger();
+    private String appNameForLogging = "";
+
+    /*
+     * The Constructor
+     */
+    public ConcurrentSessionHashMap(IStore iStore, int maxCapacity, boolean overflow) {
+        super(1);
+        maxSize = maxCapacity;
+        overflowAllowed = overflow;
+        _iStore = iStore;
+        // more segments than the default 16 so request threads rarely meet on a lock
+        table = new ConcurrentHashMap<Object, Object>(maxCapacity + 20, 0.75f, 64);
+        if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_CORE.isLoggable(Level.FINER)) {
+            appNameForLogging = " AppName=" + _iStore.getId();
+            String s = "capacity is: " + maxSize + " overflow is: " + overflowAllowed + appNameForLogging;
+            LoggingUtil.SESSION_LOGGER_CORE.exiting(methodClassName, methodClassName, s);
+        }
+    }
+
+    /*
+     * This method puts an entry into the map. It does follow HashMap semantics by checking for
+     * an existing entry and returning that entry when we replace it. However, the session component
+     * ensures there is not an existing entry prior to calling put, so we don't expect to ever get
+     * a non-null value back.
+     *
+     * @see java.util.Map#put(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public Object put(Object key, Object value) {
+        if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_CORE.isLoggable(Level.FINER)) {
+            StringBuffer sb = new StringBuffer("{").append(key).append("} ").append(appNameForLogging);
+            LoggingUtil.SESSION_LOGGER_CORE.entering(methodClassName, methodNames[PUT], sb.toString());
+        }
+        for (;;) {
+            // First see if replacing an existing entry
+            Object currEntry = table.get(key);
+            if (currEntry != null) {
+                if (table.replace(key, currEntry, value)) {
+                    if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_CORE.isLoggable(Level.FINE)) {
+                        LoggingUtil.SESSION_LOGGER_CORE.exiting(methodClassName, methodNames[PUT], "replacing existing entry");
+                    }
+                    return currEntry;
+                }
+                continue;
+            }
+
+            // Handle new entries, reserve room for the entry first
+            if (!reserve()) {
+                throw new TooManySessionsException(); // no overflow allowed
+            }
+            if (table.putIfAbsent(key, value) == null) {
+                // increment pmi counter
+                if (_iStore.getStoreCallback() != null) {
+                    _iStore.getStoreCallback().sessionLiveCountInc(value);
+                }
+                if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_CORE.isLoggable(Level.FINE)) {
+                    String message = (currentSize.get() > maxSize ? "add new entry to overflow" : "add new entry to Hashmap");
+                    LoggingUtil.SESSION_LOGGER_CORE.exiting(methodClassName, methodNames[PUT], message);
+                }
+                return null;
+            }
+            // another thread added the key, replace its entry instead
+            currentSize.decrementAndGet();
+        }
+    }
+
+    private boolean reserve() {
+        if (overflowAllowed) {
+            currentSize.incrementAndGet();
+            return true;
+        }
+        for (;;) {
+            int size = currentSize.get();
+            if (size >= maxSize) {
+                return false;
+            }
+            if (currentSize.compareAndSet(size, size + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /*
+     * This method returns the entry from the map associated with the given key.
+     *
+     * @see java.util.Map#get(java.lang.Object)
+     */
+    @Override
+    public Object get(Object key) {
+        final boolean isTraceOn = com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled();
+        if (isTraceOn && LoggingUtil.SESSION_LOGGER_CORE.isLoggable(Level.FINER)) {
+            String s = key + appNameForLogging;
+            LoggingUtil.SESSION_LOGGER_CORE.entering(methodClassName, methodNames[GET], s);
+        }
+        Object currEntry = table.get(key);
+        if (isTraceOn && LoggingUtil.SESSION_LOGGER_CORE.isLoggable(Level.FINER)) {
+            String message = (currEntry != null ? "key found in HashMap" : "key not found");
+            LoggingUtil.SESSION_LOGGER_CORE.exiting(methodClassName, methodNames[GET], message);
+        }
+        return currEntry;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_CORE.isLoggable(Level.FINER)) {
+            String s = key + appNameForLogging;
+            LoggingUtil.SESSION_LOGGER_CORE.entering(methodClassName, methodNames[REMOVE], s);
+        }
+        Object removedEntry = table.remove(key);
+        if (removedEntry != null) {
+            currentSize.decrementAndGet();
+        }
+        if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_CORE.isLoggable(Level.FINE)) {
+            String message = (removedEntry != null ? "key removed from HashMap" : "key not found");
+            LoggingUtil.SESSION_LOGGER_CORE.exiting(methodClassName, methodNames[REMOVE], message);
+        }
+        return removedEntry;
+    }
+
+    @Override
+    public void clear() {
+        for (Object key : table.keySet()) {
+            remove(key);
+        }
+    }
+
+    @Override
+    public int size() {
+        return table.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return table.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return table.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void putAll(Map t) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Set entrySet() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Collection values() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Set keySet() {
+        if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_CORE.isLoggable(Level.FINE)) {
+            LoggingUtil.SESSION_LOGGER_CORE.entering(methodClassName, methodNames[KEYSET], appNameForLogging);
+        }
+        // get a non-fail-fast Set
+        Object[] keys = table.keySet().toArray();
+        Set keySet = new SessionHashSet(keys.length == 0 ? null : keys);
+        if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_CORE.isLoggable(Level.FINE)) {
+            LoggingUtil.SESSION_LOGGER_CORE.exiting(methodClassName, methodNames[KEYSET], keySet);
+        }
+        return keySet;
+    }
+
+    public Object accessEntry(Object key) {
+        return get(key);
+    }
+
+    //We want to make sure we don't override a value ... must use putNoReplace
+    public Object insertEntry(Object key, Object value) {
+        throw new UnsupportedOperationException();
+    }
+
+    public int getOverflowSize() {
+        int overflowSize = currentSize.get() - maxSize;
+        return overflowSize > 0 ? overflowSize : 0;
+    }
+}
@@ -61,6 +61,9 @@ public class MemorySession implements ISession {
     protected SessionGCount _gcCount = null;
     protected SessionManagerConfig _smc;
 
+    // the schedule of this session on the invalidation wheel of an in-memory store
+    transient volatile SessionExpiryWheel.Entry expiryEntry;
+
     //The following strings are used for Logging
     private static final String methodClassName = "MemorySession";
     private static final String newValueString = "New Value=";
@@ -436,6 +439,7 @@ public class MemorySession implements ISession {
         } else {
             _maxInactiveInterval = maxInactiveInterval;
         }
+        scheduleInvalidation();
     }
 
     public void setMaxInactiveIntervalForInvalidateAll(int maxInactiveInterval) {
@@ -444,6 +448,16 @@ public class MemorySession implements ISession {
         } else {
             //truly setting it to 0 for InvalidateAll
             _maxInactiveInterval = 0;
+            scheduleInvalidation();
+        }
+    }
+
+    /*
+     * Lets an in-memory store know when this session may time out
+     */
+    private void scheduleInvalidation() {
+        if (_store instanceof MemoryStore) {
+            ((MemoryStore) _store).scheduleInvalidation(this);
         }
     }
 
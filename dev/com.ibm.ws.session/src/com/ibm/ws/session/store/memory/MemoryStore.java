@@ -14,6 +14,7 @@ package com.ibm.ws.session.store.memory;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.logging.Level;
@@ -49,6 +50,7 @@ public class MemoryStore implements IStore {
     protected ITimer _invalidator;
     protected SessionManagerConfig _smc;
     private MemorySession overflowSession;
+    private SessionExpiryWheel _expiryWheel;
     private static final String overflowId = "overflowed-session";
     protected ServletContext _servletContext = null;
     private boolean httpSessListener = false;
@@ -77,6 +79,9 @@ public class MemoryStore implements IStore {
     private static final String methodNames[] = { "createSession", "getSession", "idExists", "runInvalidation", "invalidateAllMemorySessions", "remoteInvalidate",
                                                  "checkSessionStillValid" };
 
+    // the most timed out sessions a full store invalidates to make room for a new one
+    private static final int RECLAIM_BATCH = 16;
+
     
     
     /* Public constructor */
@@ -94,7 +99,8 @@ public class MemoryStore implements IStore {
                 overflowSession.setOverflow(); // sets to true
                 overflowSession.setIsValid(false);
             }
-            _sessions = new SessionSimpleHashMap(this, _initialTableSize, _allowOverflow);
+            _sessions = new ConcurrentSessionHashMap(this, _initialTableSize, _allowOverflow);
+            _expiryWheel = new SessionExpiryWheel(System.currentTimeMillis());
         }
         if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_CORE.isLoggable(Level.FINE)) {
             appNameForLogging = " AppName=" + _storeId;
@@ -128,7 +134,8 @@ public class MemoryStore implements IStore {
                 overflowSession.setOverflow(); // sets to true
                 overflowSession.setIsValid(false);
             }
-            _sessions = new SessionSimpleHashMap(this, _initialTableSize, _allowOverflow);
+            _sessions = new ConcurrentSessionHashMap(this, _initialTableSize, _allowOverflow);
+            _expiryWheel = new SessionExpiryWheel(System.currentTimeMillis());
         }
         if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_CORE.isLoggable(Level.FINE)) {
             appNameForLogging = " AppName=" + _storeId;
@@ -164,6 +171,10 @@ public class MemoryStore implements IStore {
         if (inProcessOfStopping) {
             throwException("SessionContext.createWhenStop");
         }
+        if ((!_smc.getEnableOverflow()) && (_sessions.size() >= _smc.getInMemorySize())) {
+            // make room with the sessions that timed out since the last invalidation run, if any
+            reclaimTimedOutSessions();
+        }
         if ((!_smc.getEnableOverflow()) && (_sessions.size() >= _smc.getInMemorySize())) {
             // if we know we're in an overflow situation, don't bother
             // creating a new session
@@ -196,6 +207,7 @@ public class MemoryStore implements IStore {
             sess.updateLastAccessTime(sess.getCreationTime());
             try {
                 _sessions.put(id, sess);
+                scheduleInvalidation(sess);
             } catch (TooManySessionsException tmse) {
                 // could catch this exception if multiple threads get past the
                 // first overflow check and then attempt to do the sessions.put
@@ -396,6 +408,9 @@ public class MemoryStore implements IStore {
         }
         Object removedEntry = _sessions.remove(id);
         if (removedEntry != null) {
+            if (_expiryWheel != null && removedEntry instanceof MemorySession) {
+                _expiryWheel.cancel((MemorySession) removedEntry);
+            }
             _storeCallback.sessionLiveCountDec(removedEntry);
         }
     }
@@ -416,7 +431,6 @@ public class MemoryStore implements IStore {
          * } else {
          */
         long nowTime = System.currentTimeMillis();
-        Iterator iter = _sessions.keySet().iterator();
         try {
             //setThreadContext threw a NPE because we were trying to get the config from within getModuleMetaData and it was returning null
             //this only happens after the app has been shutdown.  There was a small timing window where this was possible.
@@ -439,62 +453,7 @@ public class MemoryStore implements IStore {
                 }
                 return;
             }
-            while (iter.hasNext()) {
-                String key = (String) iter.next();
-                ISession s = (ISession) _sessions.get(key);
-
-                // sync on the session and check if its active...
-                if (s != null) {
-                    synchronized (s) {
-                        if (s.isValid()) {
-                            if (s.getMaxInactiveInterval() != -1) {
-                                long currentAccessTime = s.getCurrentAccessTime(); // currentAccessTime
-                                                                                   // updated on
-                                                                                   // session
-                                                                                   // access
-                                                                                   // lastAccessedTime
-                                                                                   // updated at
-                                                                                   // releaseSession
-                                long maxinact = 1000 * (long) s.getMaxInactiveInterval();
-                                boolean active = s.getRefCount() > 0;
-                                if (_isApplicationSessionStore) {
-                                    // the RefCount is not correct when dealing with an
-                                    // applicationSessionStore
-                                    s.setRefCount(0);
-                                    active = false;
-                                }
-                                boolean timedOut = (currentAccessTime <= nowTime - maxinact);
-                                /*
-                                 * invalidate if:
-                                 * session has timedOut AND (is not active OR (the Invalidation
-                                 * Multiple has not been set to 0
-                                 * and the session is that many times the invalidation interval)
-                                 * 
-                                 * The default value for the invalidation interval is 3.
-                                 * 
-                                 * PK03711 removed check for active and always invalidated
-                                 * timedout sessions for v6.1 and earlier
-                                 * v7 CTS defect 391577 forced us to put this code back, so we
-                                 * introduced the InvalidateIfActive property
-                                 * In the service stream, the ForceSessionInvalidationMultiple was
-                                 * used, so we are using the same property
-                                 */
-                                if ((timedOut)
-                                    && ((!active) || ((_smc.getForceSessionInvalidationMultiple() != 0) && (currentAccessTime <= nowTime
-                                                                                                                                 - (_smc.getForceSessionInvalidationMultiple() * maxinact))))) {
-
-                                    _storeCallback.sessionInvalidatedByTimeout(s);
-                                    if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_CORE.isLoggable(Level.FINE)) {
-                                        String message = "Going to invalidate session with id=" + s.getId();
-                                        LoggingUtil.SESSION_LOGGER_CORE.logp(Level.FINE, methodClassName, methodNames[RUN_INVALIDATION], message);
-                                    }
-                                    s.invalidate();
-                                }
-                            }
-                        } // isValid
-                    }
-                }
-            } // end "while"
+            invalidateTimedOutSessions(_expiryWheel.due(nowTime, Integer.MAX_VALUE), nowTime);
         } finally {
             // PK99859: Unset the thread context
             unsetThreadContext();
@@ -504,6 +463,112 @@ public class MemoryStore implements IStore {
         }
     }
 
+    /*
+     * Invalidates the sessions that came due on the expiry wheel if they timed out,
+     * and schedules the other ones again for their new time out
+     */
+    private void invalidateTimedOutSessions(List<MemorySession> due, long nowTime) {
+        for (MemorySession s : due) {
+            // skip the sessions that were removed or replaced since they were scheduled
+            if (_sessions.get(s.getId()) == s && !invalidateIfTimedOut(s, nowTime)) {
+                scheduleInvalidation(s);
+            }
+        }
+    }
+
+    /*
+     * Invalidates the session if it has timed out and is not in use.
+     * Returns true if the session was invalidated.
+     */
+    private boolean invalidateIfTimedOut(ISession s, long nowTime) {
+        boolean invalidated = false;
+        synchronized (s) {
+            if (s.isValid()) {
+                if (s.getMaxInactiveInterval() != -1) {
+                    long currentAccessTime = s.getCurrentAccessTime(); // currentAccessTime
+                                                                       // updated on
+                                                                       // session
+                                                                       // access
+                                                                       // lastAccessedTime
+                                                                       // updated at
+                                                                       // releaseSession
+                    long maxinact = 1000 * (long) s.getMaxInactiveInterval();
+                    boolean active = s.getRefCount() > 0;
+                    if (_isApplicationSessionStore) {
+                        // the RefCount is not correct when dealing with an
+                        // applicationSessionStore
+                        s.setRefCount(0);
+                        active = false;
+                    }
+                    boolean timedOut = (currentAccessTime <= nowTime - maxinact);
+                    /*
+                     * invalidate if:
+                     * session has timedOut AND (is not active OR (the Invalidation
+                     * Multiple has not been set to 0
+                     * and the session is that many times the invalidation interval)
+                     * 
+                     * The default value for the invalidation interval is 3.
+                     * 
+                     * PK03711 removed check for active and always invalidated
+                     * timedout sessions for v6.1 and earlier
+                     * v7 CTS defect 391577 forced us to put this code back, so we
+                     * introduced the InvalidateIfActive property
+                     * In the service stream, the ForceSessionInvalidationMultiple was
+                     * used, so we are using the same property
+                     */
+                    if ((timedOut)
+                        && ((!active) || ((_smc.getForceSessionInvalidationMultiple() != 0) && (currentAccessTime <= nowTime
+                                                                                                                     - (_smc.getForceSessionInvalidationMultiple() * maxinact))))) {
+
+                        _storeCallback.sessionInvalidatedByTimeout(s);
+                        if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_CORE.isLoggable(Level.FINE)) {
+                            String message = "Going to invalidate session with id=" + s.getId();
+                            LoggingUtil.SESSION_LOGGER_CORE.logp(Level.FINE, methodClassName, methodNames[RUN_INVALIDATION], message);
+                        }
+                        s.invalidate();
+                        invalidated = true;
+                    }
+                }
+            } // isValid
+        }
+        return invalidated;
+    }
+
+    /*
+     * Invalidates the sessions that timed out since the last invalidation run,
+     * so that a full store without overflow can take a new session. The expiry
+     * wheel returns the sessions in the order they were scheduled to time out,
+     * which is about least recently used first.
+     */
+    private void reclaimTimedOutSessions() {
+        if (_expiryWheel != null) {
+            long nowTime = System.currentTimeMillis();
+            invalidateTimedOutSessions(_expiryWheel.due(nowTime, RECLAIM_BATCH), nowTime);
+        }
+    }
+
+    /*
+     * Schedules the next time out check of an in-memory session, after
+     * its creation or a change of its max inactive interval
+     */
+    void scheduleInvalidation(MemorySession s) {
+        if (_expiryWheel == null) {
+            return;
+        }
+        int maxInactiveInterval = s.getMaxInactiveInterval();
+        if (maxInactiveInterval < 0 || !s.isValid()) {
+            // never times out
+            _expiryWheel.cancel(s);
+            return;
+        }
+        long expiryTime = s.getCurrentAccessTime() + 1000 * (long) maxInactiveInterval;
+        if (expiryTime <= System.currentTimeMillis()) {
+            // timed out while in use, check it again on the next run
+            expiryTime = System.currentTimeMillis() + SessionExpiryWheel.TICK_MILLIS;
+        }
+        _expiryWheel.schedule(s, expiryTime);
+    }
+
     /*
      * @see com.ibm.wsspi.session.IStore#runTimeBasedWrites()
      */
@@ -887,6 +952,9 @@ public class MemoryStore implements IStore {
         }
         removeSession(oldId);
         _sessions.put(newSession.getId(),  newSession);
+        if (newSession instanceof MemorySession) {
+            scheduleInvalidation((MemorySession) newSession);
+        }
         if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && LoggingUtil.SESSION_LOGGER_CORE.isLoggable(Level.FINE)) {
             LoggingUtil.SESSION_LOGGER_CORE.exiting(methodClassName, "updateSessionId", newSession.getId());
         }
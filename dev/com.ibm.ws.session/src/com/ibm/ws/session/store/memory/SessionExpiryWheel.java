@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.ws.session.store.memory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This class is a timer wheel of the in-memory sessions, indexed by the time at which
+ * they may time out. The invalidator only looks at the sessions whose time has come
+ * instead of scanning the whole session table.
+ *
+ * A session is scheduled when it is created and when its max inactive interval changes.
+ * Accessing a session does not move it on the wheel; the store checks a session when it
+ * comes due, and schedules it again for its new time out if it is still in use. So the
+ * wheel may return a session early, and at most one tick after it timed out.
+ *
+ * Schedules are lock free. Sweeps are serialized on the wheel.
+ */
+final class SessionExpiryWheel {
+
+    static final long TICK_MILLIS = 1000;
+    private static final int SLOTS = 1024;
+
+    private final ConcurrentLinkedQueue<Entry>[] slots;
+    private final int mask;
+
+    /*
+     * Entries scheduled for a tick that was already swept, taken by the next sweep
+     */
+    private final ConcurrentLinkedQueue<Entry> late = new ConcurrentLinkedQueue<Entry>();
+
+    /*
+     * All the entries for this tick and the ones before have been returned, or are in late
+     */
+    private volatile long sweptTick;
+
+    @SuppressWarnings("unchecked")
+    SessionExpiryWheel(long now) {
+        slots = new ConcurrentLinkedQueue[SLOTS];
+        for (int i = 0; i < SLOTS; i++) {
+            slots[i] = new ConcurrentLinkedQueue<Entry>();
+        }
+        mask = SLOTS - 1;
+        sweptTick = now / TICK_MILLIS;
+    }
+
+    /*
+     * Schedules the session to be checked once the given time has passed,
+     * replacing its previous schedule.
+     */
+    void schedule(MemorySession session, long expiryTime) {
+        long tick = (expiryTime + TICK_MILLIS - 1) / TICK_MILLIS;
+        Entry entry = new Entry(session, tick);
+        Entry previous = session.expiryEntry;
+        session.expiryEntry = entry;
+        if (previous != null) {
+            previous.cancel();
+        }
+        slots[(int) tick & mask].add(entry);
+        // the sweep moves sweptTick before it reads a slot, so either it sees the entry or we see the tick
+        if (tick <= sweptTick) {
+            late.add(entry);
+        }
+    }
+
+    /*
+     * Removes the session from the wheel
+     */
+    void cancel(MemorySession session) {
+        Entry entry = session.expiryEntry;
+        if (entry != null) {
+            entry.cancel();
+        }
+    }
+
+    /*
+     * Returns the sessions that came due by the given time, in the order of their
+     * ticks. Stops after the tick in which the max number of sessions was reached,
+     * the rest is returned by the next call.
+     */
+    synchronized List<MemorySession> due(long now, int max) {
+        long nowTick = now / TICK_MILLIS;
+        List<MemorySession> due = new ArrayList<MemorySession>();
+        take(late, nowTick, due);
+        long tick = sweptTick;
+        if (nowTick - tick > SLOTS) {
+            // every slot is due, visit each once
+            tick = nowTick - SLOTS;
+            sweptTick = tick;
+        }
+        while (tick < nowTick && due.size() < max) {
+            tick++;
+            sweptTick = tick;
+            take(slots[(int) tick & mask], nowTick, due);
+        }
+        return due;
+    }
+
+    private static void take(ConcurrentLinkedQueue<Entry> queue, long nowTick, List<MemorySession> due) {
+        for (Iterator<Entry> it = queue.iterator(); it.hasNext();) {
+            Entry entry = it.next();
+            if (entry.get()) {
+                // taken or cancelled
+                it.remove();
+            } else if (entry.tick <= nowTick) {
+                it.remove();
+                if (entry.compareAndSet(false, true)) {
+                    MemorySession session = entry.session;
+                    if (session != null && session.expiryEntry == entry) {
+                        due.add(session);
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * A schedule of a session, set once it is taken or cancelled
+     */
+    static final class Entry extends AtomicBoolean {
+
+        private static final long serialVersionUID = 2906343914745611327L;
+
+        volatile MemorySession session;
+        final long tick;
+
+        Entry(MemorySession session, long tick) {
+            this.session = session;
+            this.tick = tick;
+        }
+
+        void cancel() {
+            set(true);
+            session = null;
+        }
+    }
+}
@@ -104,6 +104,18 @@ public final class ExecutorServiceImpl implements WSExecutorService {
         }
     }
 
+    /**
+     * Records the queue wait and service time of tasks when the controller
+     * runs in latency mode, otherwise null.
+     */
+    volatile QueueLatencyMonitor latencyMonitor = null;
+
+    /**
+     * The default mean queue wait, in milliseconds, the controller keeps
+     * under in latency mode.
+     */
+    static final long DEFAULT_QUEUE_WAIT_TARGET = 50;
+
     /**
      * The ThreadFactory used by the executor to create new threads.
      */
@@ -200,9 +212,30 @@ public final class ExecutorServiceImpl implements WSExecutorService {
         threadPoolController.setCoreThreads(coreThreads);
         threadPoolController.setMaxThreads(maxThreads);
 
-        BlockingQueue<Runnable> workQueue = new BoundedBuffer<Runnable>(java.lang.Runnable.class, 1000, 1000);
+        // Size the pool from queue wait latency instead of throughput if configured
+        if ("LATENCY".equalsIgnoreCase(String.valueOf(componentConfig.get("controllerMode")))) {
+            Object queueWaitTarget = componentConfig.get("queueWaitTarget");
+            long queueWaitTargetMillis = queueWaitTarget == null ? DEFAULT_QUEUE_WAIT_TARGET : Long.parseLong(String.valueOf(queueWaitTarget));
+            latencyMonitor = new QueueLatencyMonitor();
+            threadPoolController.setLatencyMode(latencyMonitor, queueWaitTargetMillis);
+        } else {
+            latencyMonitor = null;
+            threadPoolController.setLatencyMode(null, 0);
+        }
 
-        RejectedExecutionHandler rejectedExecutionHandler = new ExpandPolicy(workQueue, this);
+        // Spread work across per thread work piles if configured, otherwise use a single global queue
+        StealPolicy stealPolicy = getStealPolicy(componentConfig.get("stealPolicy"));
+
+        BlockingQueue<Runnable> workQueue;
+        RejectedExecutionHandler rejectedExecutionHandler;
+        if (stealPolicy == StealPolicy.NEVER) {
+            workQueue = new BoundedBuffer<Runnable>(java.lang.Runnable.class, 1000, 1000);
+            rejectedExecutionHandler = new ExpandPolicy(workQueue, this);
+        } else {
+            // unbounded, so work is only rejected once the pool is shut down
+            workQueue = new WorkStealingQueue(stealPolicy);
+            rejectedExecutionHandler = new ThreadPoolExecutor.AbortPolicy();
+        }
 
         threadPool = new ThreadPoolExecutor(coreThreads, maxThreads, keepAliveMillis, TimeUnit.MILLISECONDS, workQueue, threadFactory != null ? threadFactory : new ThreadFactoryImpl(poolName, threadGroupName), rejectedExecutionHandler);
 
@@ -213,6 +246,20 @@ public final class ExecutorServiceImpl implements WSExecutorService {
         }
     }
 
+    /**
+     * Convert the configured steal policy, using NEVER if it is missing or unrecognized.
+     */
+    @Trivial
+    static StealPolicy getStealPolicy(Object value) {
+        if (value != null) {
+            for (StealPolicy stealPolicy : StealPolicy.values()) {
+                if (stealPolicy.name().equalsIgnoreCase(String.valueOf(value)))
+                    return stealPolicy;
+            }
+        }
+        return StealPolicy.NEVER;
+    }
+
     /** {@inheritDoc} */
     @Override
     public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
@@ -224,28 +271,28 @@ public final class ExecutorServiceImpl implements WSExecutorService {
     @Override
     public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
         threadPoolController.resumeIfPaused();
-        return threadPool.invokeAll(interceptorsActive ? wrap(tasks) : tasks);
+        return threadPool.invokeAll(prepare(tasks));
     }
 
     /** {@inheritDoc} */
     @Override
     public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit) throws InterruptedException {
         threadPoolController.resumeIfPaused();
-        return threadPool.invokeAll(interceptorsActive ? wrap(tasks) : tasks, timeout, unit);
+        return threadPool.invokeAll(prepare(tasks), timeout, unit);
     }
 
     /** {@inheritDoc} */
     @Override
     public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
         threadPoolController.resumeIfPaused();
-        return threadPool.invokeAny(interceptorsActive ? wrap(tasks) : tasks);
+        return threadPool.invokeAny(prepare(tasks));
     }
 
     /** {@inheritDoc} */
     @Override
     public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
         threadPoolController.resumeIfPaused();
-        return threadPool.invokeAny(interceptorsActive ? wrap(tasks) : tasks, timeout, unit);
+        return threadPool.invokeAny(prepare(tasks), timeout, unit);
     }
 
     /** {@inheritDoc} */
@@ -276,35 +323,35 @@ public final class ExecutorServiceImpl implements WSExecutorService {
     @Override
     public <T> Future<T> submit(Callable<T> task) {
         threadPoolController.resumeIfPaused();
-        return threadPool.submit(interceptorsActive ? wrap(task) : task);
+        return threadPool.submit(prepare(task));
     }
 
     /** {@inheritDoc} */
     @Override
     public Future<?> submit(Runnable task) {
         threadPoolController.resumeIfPaused();
-        return threadPool.submit(interceptorsActive ? wrap(task) : task);
+        return threadPool.submit(prepare(task));
     }
 
     /** {@inheritDoc} */
     @Override
     public <T> Future<T> submit(Runnable task, T result) {
         threadPoolController.resumeIfPaused();
-        return threadPool.submit(interceptorsActive ? wrap(task) : task, result);
+        return threadPool.submit(prepare(task), result);
     }
 
     /** {@inheritDoc} */
     @Override
     public void execute(Runnable command) {
         threadPoolController.resumeIfPaused();
-        threadPool.execute(interceptorsActive ? wrap(command) : command);
+        threadPool.execute(prepare(command));
     }
 
     /** {@inheritDoc} */
     @Override
     public void executeGlobal(Runnable command) {
         threadPoolController.resumeIfPaused();
-        threadPool.execute(interceptorsActive ? wrap(command) : command);
+        threadPool.execute(prepare(command));
     }
 
     /**
@@ -317,7 +364,8 @@ public final class ExecutorServiceImpl implements WSExecutorService {
      */
     void executeWithoutInterceptors(Runnable proxy) {
         threadPoolController.resumeIfPaused();
-        threadPool.execute(proxy);
+        QueueLatencyMonitor monitor = latencyMonitor;
+        threadPool.execute(monitor == null ? proxy : monitor.track(proxy, proxy));
     }
 
     @Trivial
@@ -434,6 +482,43 @@ public final class ExecutorServiceImpl implements WSExecutorService {
         }
     }
 
+    /**
+     * Apply the interceptors to a task and, in latency mode, record its queue
+     * wait and service time.
+     */
+    @Trivial
+    Runnable prepare(Runnable r) {
+        // a rejected task that is resubmitted has been prepared already
+        if (r instanceof QueueLatencyMonitor.TimedRunnable)
+            return r;
+        Runnable task = interceptorsActive ? wrap(r) : r;
+        QueueLatencyMonitor monitor = latencyMonitor;
+        return monitor == null ? task : monitor.track(task, r);
+    }
+
+    /**
+     * Apply the interceptors to a task and, in latency mode, record its queue
+     * wait and service time.
+     */
+    @Trivial
+    <T> Callable<T> prepare(Callable<T> c) {
+        Callable<T> task = interceptorsActive ? wrap(c) : c;
+        QueueLatencyMonitor monitor = latencyMonitor;
+        return monitor == null ? task : monitor.track(task, c);
+    }
+
+    @Trivial
+    private <T> Collection<? extends Callable<T>> prepare(Collection<? extends Callable<T>> tasks) {
+        if (latencyMonitor == null)
+            return interceptorsActive ? wrap(tasks) : tasks;
+        List<Callable<T>> preparedTasks = new ArrayList<Callable<T>>();
+        Iterator<? extends Callable<T>> i = tasks.iterator();
+        while (i.hasNext()) {
+            preparedTasks.add(prepare(i.next()));
+        }
+        return preparedTasks;
+    }
+
     Runnable wrap(Runnable r) {
         Iterator<ExecutorServiceTaskInterceptor> i = interceptors.iterator();
         while (i.hasNext()) {
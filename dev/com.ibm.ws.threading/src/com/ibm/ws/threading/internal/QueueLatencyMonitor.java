@@ -0,0 +1,313 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.threading.internal;
+
+import java.io.PrintWriter;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ibm.websphere.ras.annotation.Trivial;
+
+/**
+ * Records how long tasks submitted to the default executor wait in the
+ * queue and how long they run, per class of task. The class of a task is the
+ * top level class of the submitted task, so anonymous and inner classes are
+ * attributed to the component that submitted them.
+ * <p>
+ * The {@link ThreadPoolController} samples the monitor once per interval when
+ * it is running in latency mode, and uses the per class service times to
+ * forecast how many threads the current mix of work needs.
+ */
+final class QueueLatencyMonitor {
+
+    /**
+     * The number of task classes tracked separately. Anything beyond this
+     * limit is accumulated in a single shared class.
+     */
+    final static int MAX_TASK_CLASSES = 64;
+
+    /**
+     * The name of the class that holds the tasks beyond {@link #MAX_TASK_CLASSES}.
+     */
+    final static String OTHER_TASK_CLASS = "other";
+
+    /**
+     * Weight of the most recent interval in the smoothed service time of a task class.
+     */
+    final static double SERVICE_TIME_SMOOTHING = 0.3;
+
+    /**
+     * Counters for a single class of task. The atomic counters are updated by
+     * the tasks, the remaining fields by the controller while it samples.
+     */
+    static final class TaskClass {
+        final String name;
+        final AtomicLong submitted = new AtomicLong();
+        final AtomicLong completed = new AtomicLong();
+        final AtomicLong queueWaitNanos = new AtomicLong();
+        final AtomicLong serviceNanos = new AtomicLong();
+
+        long lastSubmitted;
+        long intervalSubmitted;
+        long lastCompleted;
+        long lastQueueWaitNanos;
+        long lastServiceNanos;
+
+        /**
+         * Smoothed service time in nanoseconds, or -1 until a task has completed.
+         */
+        double averageServiceNanos = -1;
+
+        TaskClass(String name) {
+            this.name = name;
+        }
+
+        @Trivial
+        void completed(long queueWait, long service) {
+            queueWaitNanos.addAndGet(queueWait);
+            serviceNanos.addAndGet(service);
+            completed.incrementAndGet();
+        }
+    }
+
+    /**
+     * The data collected over one controller interval.
+     */
+    static final class Sample {
+        /** Tasks that completed in the interval. */
+        long completed;
+
+        /** Tasks that were submitted in the interval. */
+        long submitted;
+
+        /** Mean time the completed tasks waited in the queue, in nanoseconds. */
+        double meanQueueWaitNanos;
+
+        /** Mean time the completed tasks ran, in nanoseconds. */
+        double meanServiceNanos;
+
+        /**
+         * The number of busy threads needed to keep up with the submission
+         * rate of the interval, forecast from the smoothed service time of
+         * each task class.
+         */
+        double demandThreads;
+    }
+
+    /**
+     * The tracked task classes, keyed by name.
+     */
+    private final ConcurrentHashMap<String, TaskClass> taskClasses = new ConcurrentHashMap<String, TaskClass>();
+
+    /**
+     * Mean service time over all task classes, smoothed across intervals.
+     * Used for classes that haven't completed a task yet.
+     */
+    private double averageServiceNanos = -1;
+
+    /**
+     * Wrap a task so that its queue wait and service time are recorded.
+     *
+     * @param task the task to submit, possibly already wrapped by interceptors
+     * @param original the task the caller submitted, which determines the task class
+     */
+    @Trivial
+    Runnable track(Runnable task, Object original) {
+        if (task instanceof TimedRunnable)
+            return task;
+        TaskClass taskClass = getTaskClass(original);
+        taskClass.submitted.incrementAndGet();
+        return new TimedRunnable(task, taskClass);
+    }
+
+    /**
+     * Wrap a task so that its queue wait and service time are recorded.
+     *
+     * @param task the task to submit, possibly already wrapped by interceptors
+     * @param original the task the caller submitted, which determines the task class
+     */
+    @Trivial
+    <T> Callable<T> track(Callable<T> task, Object original) {
+        if (task instanceof TimedCallable)
+            return task;
+        TaskClass taskClass = getTaskClass(original);
+        taskClass.submitted.incrementAndGet();
+        return new TimedCallable<T>(task, taskClass);
+    }
+
+    @Trivial
+    private TaskClass getTaskClass(Object task) {
+        String name = task.getClass().getName();
+        int inner = name.indexOf('$');
+        if (inner > 0)
+            name = name.substring(0, inner);
+
+        TaskClass taskClass = taskClasses.get(name);
+        if (taskClass == null) {
+            if (taskClasses.size() >= MAX_TASK_CLASSES)
+                name = OTHER_TASK_CLASS;
+            taskClass = new TaskClass(name);
+            TaskClass existing = taskClasses.putIfAbsent(name, taskClass);
+            if (existing != null)
+                taskClass = existing;
+        }
+        return taskClass;
+    }
+
+    /**
+     * Collect the data for the interval that ended now. Only the controller
+     * calls this method, while holding its own lock.
+     *
+     * @param intervalMillis the length of the interval
+     */
+    Sample sample(long intervalMillis) {
+        Sample sample = new Sample();
+        double totalQueueWait = 0;
+        double totalService = 0;
+        double intervalSeconds = Math.max(intervalMillis, 1) / 1000.0;
+
+        // Measure first so the per class forecast can fall back on the
+        // overall service time of this interval
+        for (TaskClass taskClass : taskClasses.values()) {
+            long submitted = taskClass.submitted.get();
+            long completed = taskClass.completed.get();
+            long queueWait = taskClass.queueWaitNanos.get();
+            long service = taskClass.serviceNanos.get();
+
+            long deltaCompleted = completed - taskClass.lastCompleted;
+            long deltaService = service - taskClass.lastServiceNanos;
+            taskClass.intervalSubmitted = submitted - taskClass.lastSubmitted;
+            sample.submitted += taskClass.intervalSubmitted;
+            sample.completed += deltaCompleted;
+            totalQueueWait += nonNegative(queueWait - taskClass.lastQueueWaitNanos);
+            totalService += deltaService;
+
+            taskClass.lastSubmitted = submitted;
+            taskClass.lastCompleted = completed;
+            taskClass.lastQueueWaitNanos = queueWait;
+            taskClass.lastServiceNanos = service;
+
+            if (deltaCompleted > 0) {
+                double mean = (double) deltaService / deltaCompleted;
+                taskClass.averageServiceNanos = taskClass.averageServiceNanos < 0 ? mean : smooth(taskClass.averageServiceNanos, mean);
+            }
+        }
+
+        if (sample.completed > 0) {
+            sample.meanQueueWaitNanos = totalQueueWait / sample.completed;
+            sample.meanServiceNanos = totalService / sample.completed;
+            averageServiceNanos = averageServiceNanos < 0 ? sample.meanServiceNanos : smooth(averageServiceNanos, sample.meanServiceNanos);
+        }
+
+        for (TaskClass taskClass : taskClasses.values()) {
+            double serviceNanos = taskClass.averageServiceNanos >= 0 ? taskClass.averageServiceNanos : averageServiceNanos;
+            if (serviceNanos > 0) {
+                double arrivalRate = taskClass.intervalSubmitted / intervalSeconds;
+                sample.demandThreads += arrivalRate * serviceNanos / 1000000000.0;
+            }
+        }
+        return sample;
+    }
+
+    @Trivial
+    private static double nonNegative(long nanos) {
+        // clock adjustments can't make a task wait less than no time at all
+        return Math.max(nanos, 0);
+    }
+
+    @Trivial
+    private static double smooth(double average, double value) {
+        return average + SERVICE_TIME_SMOOTHING * (value - average);
+    }
+
+    /**
+     * @return the smoothed mean service time over all task classes, in nanoseconds,
+     *         or -1 if no task has completed yet
+     */
+    double getAverageServiceNanos() {
+        return averageServiceNanos;
+    }
+
+    void introspect(PrintWriter out, String indent) {
+        out.println(indent + "averageServiceNanos = " + (long) averageServiceNanos);
+        for (TaskClass taskClass : taskClasses.values()) {
+            long completed = taskClass.completed.get();
+            out.println(indent + taskClass.name + ": submitted = " + taskClass.submitted.get()
+                        + " completed = " + completed
+                        + " meanQueueWaitNanos = " + (completed == 0 ? 0 : taskClass.queueWaitNanos.get() / completed)
+                        + " averageServiceNanos = " + (long) taskClass.averageServiceNanos);
+        }
+    }
+
+    /**
+     * A task that records the time it spent queued and running.
+     */
+    static final class TimedRunnable implements Runnable, QueueItem {
+        private final Runnable task;
+        private final TaskClass taskClass;
+        private final long enqueueNanos = System.nanoTime();
+
+        TimedRunnable(Runnable task, TaskClass taskClass) {
+            this.task = task;
+            this.taskClass = taskClass;
+        }
+
+        @Override
+        public boolean isExpedited() {
+            return task instanceof QueueItem && ((QueueItem) task).isExpedited();
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                taskClass.completed(start - enqueueNanos, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+
+    /**
+     * A task that records the time it spent queued and running.
+     */
+    static final class TimedCallable<T> implements Callable<T> {
+        private final Callable<T> task;
+        private final TaskClass taskClass;
+        private final long enqueueNanos = System.nanoTime();
+
+        TimedCallable(Callable<T> task, TaskClass taskClass) {
+            this.task = task;
+            this.taskClass = taskClass;
+        }
+
+        @Override
+        public T call() throws Exception {
+            long start = System.nanoTime();
+            try {
+                return task.call();
+            } finally {
+                taskClass.completed(start - enqueueNanos, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+}
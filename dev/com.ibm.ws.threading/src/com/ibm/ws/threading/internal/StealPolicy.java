@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.threading.internal;
+
+/**
+ * The policy that determines how work is queued for the executor and how
+ * the threads of the executor obtain queued work.
+ */
+public enum StealPolicy {
+
+    /**
+     * Every thread that submits work owns a local work pile. Threads of the
+     * executor take work from the piles of other threads when their own pile
+     * is exhausted.
+     */
+    STRICT,
+
+    /**
+     * Work submitted by threads of the executor goes on the local work pile of
+     * the submitting thread, all other work goes on a global queue. Threads of
+     * the executor take work from the piles of other threads when their own
+     * pile and the global queue are empty.
+     */
+    LOCAL,
+
+    /**
+     * All work goes on a single global queue. No stealing occurs.
+     */
+    NEVER
+}
@@ -92,6 +92,11 @@ import com.ibm.websphere.ras.annotation.Trivial;
  * </li>
  * </ol>
  * 
+ * <p>
+ * The controller can instead run in a latency mode, where the pool is
+ * sized to keep the time tasks wait in the queue under a target. See
+ * {@link #evaluateLatencyInterval} for the details.
+ * 
  * @see {@link http://en.wikipedia.org/wiki/Standard_normal_distribution}
  * @see {@link http://en.wikipedia.org/wiki/Probability_density_function}
  */
@@ -172,6 +177,33 @@ public final class ThreadPoolController {
      */
     final static int MAX_THREADS_TO_BREAK_HANG = 1000;
 
+    /**
+     * In latency mode, the fraction of the pool that the forecast demand
+     * should keep busy. The remaining threads absorb variation within an
+     * interval.
+     */
+    final static double TARGET_UTILIZATION = 0.8;
+
+    /**
+     * In latency mode, a mean queue wait of this many times the target is
+     * treated as a load spike, and the pool is grown straight to the size
+     * the demand forecast calls for instead of one thread at a time.
+     */
+    final static int SPIKE_FACTOR = 4;
+
+    /**
+     * In latency mode, the pool is only shrunk while the mean queue wait is
+     * below the target divided by this value.
+     */
+    final static int SHRINK_WAIT_DIVISOR = 4;
+
+    /**
+     * In latency mode, the minimum relative throughput gain that justifies
+     * adding another thread beyond the forecast when the queue wait stays
+     * high. Below this, the work is limited by something other than threads.
+     */
+    final static double MIN_THROUGHPUT_GAIN = 0.02;
+
     /**
      * Reference to the configured ExecutorService implementation that
      * delegates to the {@link ThreadPoolExecutorImpl} that is controlled
@@ -302,6 +334,28 @@ public final class ThreadPoolController {
      */
     private int hangIntervalCounter = 0;
 
+    /**
+     * The queue wait and service time data for latency mode, or null when
+     * the controller maximizes throughput.
+     */
+    QueueLatencyMonitor latencyMonitor = null;
+
+    /**
+     * The mean queue wait, in nanoseconds, that latency mode tries to stay under.
+     */
+    long queueWaitTargetNanos = 0;
+
+    /**
+     * Counters for the decisions made by the controller.
+     */
+    long growDecisions = 0;
+    long fastGrowDecisions = 0;
+    long shrinkDecisions = 0;
+    long holdDecisions = 0;
+    long saturatedDecisions = 0;
+    long hangDecisions = 0;
+    long resetDecisions = 0;
+
     /**
      * Provides the default core thread size for when the controller is in
      * a deactivated state.
@@ -361,6 +415,7 @@ public final class ThreadPoolController {
         newThreads = Math.max(newThreads, coreThreads);
 
         setPoolSize(newThreads);
+        resetDecisions++;
 
         resetStatistics(true);
     }
@@ -445,6 +500,18 @@ public final class ThreadPoolController {
         this.maxThreads = maxThreads;
     }
 
+    /**
+     * Size the pool from queue wait latency instead of throughput.
+     * 
+     * @param latencyMonitor the monitor that records the tasks submitted to the
+     *            executor, or null to maximize throughput
+     * @param queueWaitTargetMillis the mean queue wait to stay under
+     */
+    synchronized void setLatencyMode(QueueLatencyMonitor latencyMonitor, long queueWaitTargetMillis) {
+        this.latencyMonitor = latencyMonitor;
+        this.queueWaitTargetNanos = Math.max(queueWaitTargetMillis, 1) * 1000000L;
+    }
+
     /**
      * Get the throughput distribution data associated with the specified
      * number of active threads.
@@ -666,10 +733,13 @@ public final class ThreadPoolController {
 
         if (poolAdjustment == 0) {
             lastAction = LastAction.NONE;
+            holdDecisions++;
         } else if (poolAdjustment < 0) {
             lastAction = LastAction.SHRINK;
+            shrinkDecisions++;
         } else {
             lastAction = LastAction.GROW;
+            growDecisions++;
         }
 
         // 08/08/2012: Count intervals without change
@@ -716,6 +786,10 @@ public final class ThreadPoolController {
             return "poolSize <= 0";
         }
 
+        if (latencyMonitor != null) {
+            return evaluateLatencyInterval(poolSize, currentTime, completedWork, deltaTime, throughput, queueEmpty);
+        }
+
         ThroughputDistribution currentStats = getThroughputDistribution(poolSize);
 
         // Reset statistics based on abnormal data points
@@ -724,6 +798,7 @@ public final class ThreadPoolController {
         }
 
         if (resolveHang()) {
+            hangDecisions++;
             return "action take to resolve hang";
         }
 
@@ -771,6 +846,104 @@ public final class ThreadPoolController {
         return "";
     }
 
+    /**
+     * Evaluate the current interval in latency mode.
+     * <p>
+     * The number of threads the workload needs is forecast with Little's law:
+     * the submission rate of each class of task multiplied by the smoothed
+     * service time of that class gives the number of busy threads required to
+     * keep up, and the work already queued adds the threads needed to drain
+     * it within an interval. Because service times are tracked per task class,
+     * the forecast follows changes in the mix of work immediately instead of
+     * waiting for an overall average to catch up.
+     * <p>
+     * While the mean queue wait is over the target the pool grows, by one
+     * thread normally or straight to the forecast on a load spike. Growth
+     * beyond the forecast stops when the last thread added didn't improve
+     * throughput. The pool shrinks towards the forecast once the queue is
+     * empty and the wait is well below the target.
+     */
+    private String evaluateLatencyInterval(int poolSize, long currentTime, long completedWork, long deltaTime, double throughput, boolean queueEmpty) {
+        QueueLatencyMonitor.Sample sample = latencyMonitor.sample(deltaTime);
+
+        if (resolveHang()) {
+            hangDecisions++;
+            lastTimerPop = currentTime;
+            previousCompleted = completedWork;
+            previousThroughput = throughput;
+            return "action take to resolve hang";
+        }
+
+        double serviceNanos = latencyMonitor.getAverageServiceNanos();
+        double backlogThreads = 0;
+        if (serviceNanos > 0) {
+            backlogThreads = threadPool.getQueue().size() * serviceNanos / (deltaTime * 1000000.0);
+        }
+        int forecastSize = (int) Math.ceil((sample.demandThreads + backlogThreads) / TARGET_UTILIZATION);
+
+        int poolAdjustment = getLatencyAdjustment(poolSize, forecastSize, sample.meanQueueWaitNanos, queueEmpty, throughput);
+
+        if (tc.isEventEnabled()) {
+            Tr.event(tc, "Interval data", String.format("%nLatency: meanQueueWaitNanos = %.0f target = %d meanServiceNanos = %.0f"
+                                                        + "%nDemand: submitted = %d completed = %d demandThreads = %.3f backlogThreads = %.3f forecastSize = %d"
+                                                        + "%nThroughput: previous = %.6f current = %.6f lastAction = %s%n%s",
+                                                        Double.valueOf(sample.meanQueueWaitNanos), Long.valueOf(queueWaitTargetNanos),
+                                                        Double.valueOf(sample.meanServiceNanos), Long.valueOf(sample.submitted),
+                                                        Long.valueOf(sample.completed), Double.valueOf(sample.demandThreads),
+                                                        Double.valueOf(backlogThreads), Integer.valueOf(forecastSize),
+                                                        Double.valueOf(previousThroughput), Double.valueOf(throughput), lastAction,
+                                                        poolAdjustment == 0 ? "### No pool adjustment ###" : "--> Resizing to " + (poolSize + poolAdjustment)));
+        }
+
+        adjustPoolSize(poolSize, poolAdjustment);
+
+        lastTimerPop = currentTime;
+        previousCompleted = completedWork;
+        previousThroughput = throughput;
+        return "";
+    }
+
+    /**
+     * Decide how to change the pool size in latency mode.
+     * 
+     * @param poolSize the current pool size
+     * @param forecastSize the pool size the demand forecast calls for
+     * @param meanQueueWaitNanos the mean queue wait of the tasks that started this interval
+     * @param queueEmpty indication of whether or not the thread pool queue is empty
+     * @param throughput the throughput of the current interval
+     * 
+     * @return the pool adjustment size to use
+     */
+    int getLatencyAdjustment(int poolSize, int forecastSize, double meanQueueWaitNanos, boolean queueEmpty, double throughput) {
+        int newPoolSize = poolSize;
+
+        if (meanQueueWaitNanos > queueWaitTargetNanos) {
+            if (meanQueueWaitNanos >= SPIKE_FACTOR * (double) queueWaitTargetNanos && forecastSize > poolSize + 1) {
+                // Converge in one step, but don't more than double the pool on a single forecast
+                newPoolSize = Math.min(forecastSize, 2 * poolSize);
+                fastGrowDecisions++;
+            } else if (poolSize >= forecastSize && lastAction == LastAction.GROW && throughput <= previousThroughput * (1.0 + MIN_THROUGHPUT_GAIN)) {
+                // The last thread didn't help, the tasks are waiting on something other than threads
+                saturatedDecisions++;
+            } else {
+                newPoolSize = poolSize + 1;
+            }
+        } else if (queueEmpty && meanQueueWaitNanos < (double) queueWaitTargetNanos / SHRINK_WAIT_DIVISOR && poolSize > forecastSize) {
+            // Give back half of the surplus each interval
+            newPoolSize = poolSize - Math.max(1, (poolSize - forecastSize) / 2);
+        }
+
+        newPoolSize = Math.min(newPoolSize, maxThreads);
+        newPoolSize = Math.max(newPoolSize, coreThreads);
+        // Never shrink while above the target or grow while under it
+        if (meanQueueWaitNanos > queueWaitTargetNanos) {
+            newPoolSize = Math.max(newPoolSize, poolSize);
+        } else {
+            newPoolSize = Math.min(newPoolSize, poolSize);
+        }
+        return newPoolSize - poolSize;
+    }
+
     /**
      * Utility method used to format interval level statistic trace points.
      */
@@ -889,6 +1062,20 @@ public final class ThreadPoolController {
         out.println(INDENT + "consecutiveNoAdjustment = " + consecutiveNoAdjustment);
         out.println(INDENT + "consecutiveOutlierAfterAdjustment = " + consecutiveOutlierAfterAdjustment);
         out.println(INDENT + "consecutiveQueueEmptyCount = " + consecutiveQueueEmptyCount);
+        out.println(INDENT + "mode = " + (latencyMonitor == null ? "THROUGHPUT" : "LATENCY"));
+        out.println(INDENT + "decisions");
+        out.println(INDENT + INDENT + "grow = " + growDecisions);
+        out.println(INDENT + INDENT + "fastGrow = " + fastGrowDecisions);
+        out.println(INDENT + INDENT + "shrink = " + shrinkDecisions);
+        out.println(INDENT + INDENT + "hold = " + holdDecisions);
+        out.println(INDENT + INDENT + "saturated = " + saturatedDecisions);
+        out.println(INDENT + INDENT + "hang = " + hangDecisions);
+        out.println(INDENT + INDENT + "reset = " + resetDecisions);
+        if (latencyMonitor != null) {
+            out.println(INDENT + "queueWaitTargetNanos = " + queueWaitTargetNanos);
+            out.println(INDENT + "latencyMonitor");
+            latencyMonitor.introspect(out, INDENT + INDENT);
+        }
         out.println(INDENT + "threadPool");
         out.println(INDENT + INDENT + "poolSize = " + threadPool.getPoolSize());
         out.println(INDENT + INDENT + "activeCount = " + threadPool.getActiveCount());
@@ -896,6 +1083,10 @@ public final class ThreadPoolController {
         out.println(INDENT + INDENT + "maxPoolSize = " + threadPool.getMaximumPoolSize());
         out.println(INDENT + INDENT + "largestPoolSize = " + threadPool.getLargestPoolSize());
         out.println(INDENT + INDENT + "completedTaskCount = " + threadPool.getCompletedTaskCount());
+        if (threadPool.getQueue() instanceof WorkStealingQueue) {
+            out.println(INDENT + "workQueue");
+            ((WorkStealingQueue) threadPool.getQueue()).introspect(out, INDENT + INDENT);
+        }
 
     }
 }
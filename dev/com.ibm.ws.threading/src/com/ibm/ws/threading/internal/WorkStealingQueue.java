@@ -0,0 +1,462 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.threading.internal;
+
+import java.io.PrintWriter;
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.ibm.websphere.ras.Tr;
+import com.ibm.websphere.ras.TraceComponent;
+import com.ibm.websphere.ras.annotation.Trivial;
+
+/**
+ * An unbounded work queue for the default executor that spreads work across
+ * a global injection queue and a work pile per thread, so that submitting
+ * and taking work doesn't serialize every thread on a single structure.
+ * <p>
+ * Which work goes where is decided by the {@link StealPolicy}. The threads
+ * of the executor are recognized when they first take work from the queue.
+ * A thread of the executor takes work in this order:
+ * <ol>
+ * <li>expedited work, which always goes on a global queue of its own</li>
+ * <li>its own work pile</li>
+ * <li>the global queue</li>
+ * <li>the work piles of other threads, starting at a random pile</li>
+ * </ol>
+ * Work piles are first in first out for both the owner and the threads
+ * stealing from them, since the tasks of the executor are independent units
+ * of work that nobody joins, and the oldest work should run first.
+ * <p>
+ * Threads that find no work wait on a condition. Submitters only take the
+ * lock that guards the condition when a thread is waiting, so the lock is
+ * never touched while the executor is busy.
+ */
+public class WorkStealingQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+    private static final TraceComponent tc = Tr.register(WorkStealingQueue.class);
+
+    /**
+     * The work pile of a single thread.
+     */
+    static final class WorkPile extends ConcurrentLinkedDeque<Runnable> {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The thread that owns the pile.
+         */
+        final transient Thread owner;
+
+        WorkPile(Thread owner) {
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * Determines which threads own work piles.
+     */
+    private final StealPolicy stealPolicy;
+
+    /**
+     * Work that should run before anything else.
+     */
+    private final ConcurrentLinkedQueue<Runnable> expedited = new ConcurrentLinkedQueue<Runnable>();
+
+    /**
+     * Work submitted by threads without a work pile.
+     */
+    private final ConcurrentLinkedQueue<Runnable> global = new ConcurrentLinkedQueue<Runnable>();
+
+    /**
+     * All of the work piles, which threads without work steal from.
+     */
+    private final CopyOnWriteArrayList<WorkPile> workPiles = new CopyOnWriteArrayList<WorkPile>();
+
+    /**
+     * The work pile of the current thread, if it has one.
+     */
+    private final ThreadLocal<WorkPile> localWorkPile = new ThreadLocal<WorkPile>();
+
+    /**
+     * Guards the wait for work.
+     */
+    private final ReentrantLock idleLock = new ReentrantLock();
+
+    /**
+     * Signalled when work is added while threads are waiting.
+     */
+    private final Condition workAdded = idleLock.newCondition();
+
+    /**
+     * The number of threads waiting for work. Only updated while holding idleLock.
+     */
+    private volatile int idleThreads;
+
+    /**
+     * The number of tasks taken from the work pile of another thread.
+     */
+    private final AtomicLong steals = new AtomicLong();
+
+    /**
+     * @param stealPolicy which threads own work piles, either STRICT or LOCAL
+     */
+    public WorkStealingQueue(StealPolicy stealPolicy) {
+        if (stealPolicy == StealPolicy.NEVER)
+            throw new IllegalArgumentException(stealPolicy.toString());
+        this.stealPolicy = stealPolicy;
+    }
+
+    /**
+     * Returns the work pile of the current thread, creating it if the thread
+     * is allowed one.
+     *
+     * @param taker true if the current thread is taking work, which makes it a thread of the executor
+     */
+    @Trivial
+    private WorkPile getWorkPile(boolean taker) {
+        WorkPile pile = localWorkPile.get();
+        if (pile == null && (taker || stealPolicy == StealPolicy.STRICT)) {
+            pile = new WorkPile(Thread.currentThread());
+            localWorkPile.set(pile);
+            workPiles.add(pile);
+            if (TraceComponent.isAnyTracingEnabled() && tc.isEventEnabled())
+                Tr.event(tc, "added work pile for " + pile.owner.getName() + ", taker=" + taker + ", piles=" + workPiles.size());
+        }
+        return pile;
+    }
+
+    /**
+     * Remove the work pile of the current thread while it is empty, which
+     * happens when a thread of the executor times out waiting for work and
+     * might be about to go away. The pile is created again if the thread
+     * comes back for more work.
+     */
+    @Trivial
+    private void releaseWorkPile(WorkPile pile) {
+        if (pile != null && pile.isEmpty()) {
+            localWorkPile.remove();
+            // only the owner adds to its pile, so it stays empty
+            workPiles.remove(pile);
+        }
+    }
+
+    /**
+     * Take the next task for the current thread without waiting.
+     */
+    @Trivial
+    private Runnable next(WorkPile pile) {
+        Runnable r = expedited.poll();
+        if (r == null && pile != null)
+            r = pile.pollFirst();
+        if (r == null)
+            r = global.poll();
+        if (r == null)
+            r = steal(pile);
+        return r;
+    }
+
+    /**
+     * Take the oldest task from the work pile of another thread.
+     */
+    @Trivial
+    private Runnable steal(WorkPile ownPile) {
+        Object[] piles = workPiles.toArray();
+        int count = piles.length;
+        if (count == 0)
+            return null;
+        int start = ThreadLocalRandom.current().nextInt(count);
+        for (int i = 0; i < count; i++) {
+            WorkPile pile = (WorkPile) piles[(start + i) % count];
+            if (pile != ownPile) {
+                Runnable r = pile.pollFirst();
+                if (r != null) {
+                    steals.incrementAndGet();
+                    return r;
+                }
+                // the pile of a submitter that has ended won't be refilled
+                if (!pile.owner.isAlive() && pile.isEmpty())
+                    workPiles.remove(pile);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Wake up a thread waiting for work, if there is one.
+     */
+    @Trivial
+    private void signalIdleThread() {
+        if (idleThreads > 0) {
+            idleLock.lock();
+            try {
+                workAdded.signal();
+            } finally {
+                idleLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Wait for work to become available.
+     *
+     * @param timed false to wait until work is available
+     * @param nanos how long to wait if timed
+     * @return the next task, or null if none was found in time
+     */
+    @Trivial
+    private Runnable await(boolean timed, long nanos) throws InterruptedException {
+        WorkPile pile = getWorkPile(true);
+        Runnable r = next(pile);
+        if (r != null || (timed && nanos <= 0))
+            return r;
+
+        idleLock.lockInterruptibly();
+        try {
+            idleThreads++;
+            try {
+                // Submitters check idleThreads after adding work, so looking
+                // again after counting ourselves idle can't miss a signal
+                while ((r = next(pile)) == null) {
+                    if (!timed)
+                        workAdded.await();
+                    else if (nanos > 0)
+                        nanos = workAdded.awaitNanos(nanos);
+                    else
+                        break;
+                }
+            } finally {
+                idleThreads--;
+            }
+        } finally {
+            idleLock.unlock();
+        }
+
+        if (r == null)
+            releaseWorkPile(pile);
+        return r;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Trivial
+    public boolean offer(Runnable r) {
+        if (r == null)
+            throw new NullPointerException();
+
+        if (r instanceof QueueItem && ((QueueItem) r).isExpedited()) {
+            expedited.offer(r);
+        } else {
+            WorkPile pile = getWorkPile(false);
+            if (pile == null)
+                global.offer(r);
+            else
+                pile.offerLast(r);
+        }
+
+        signalIdleThread();
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Trivial
+    public boolean offer(Runnable r, long timeout, TimeUnit unit) {
+        return offer(r);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Trivial
+    public void put(Runnable r) {
+        offer(r);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Trivial
+    public Runnable take() throws InterruptedException {
+        return await(false, 0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Trivial
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return await(true, unit.toNanos(timeout));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Trivial
+    public Runnable poll() {
+        return next(localWorkPile.get());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Trivial
+    public Runnable peek() {
+        Runnable r = expedited.peek();
+        if (r == null)
+            r = global.peek();
+        for (Iterator<WorkPile> it = workPiles.iterator(); r == null && it.hasNext();)
+            r = it.next().peekFirst();
+        return r;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Trivial
+    public boolean isEmpty() {
+        if (!expedited.isEmpty() || !global.isEmpty())
+            return false;
+        for (WorkPile pile : workPiles)
+            if (!pile.isEmpty())
+                return false;
+        return true;
+    }
+
+    /**
+     * Counts the queued work. This walks every queue, so it is meant for
+     * monitoring rather than for deciding what to do with each task.
+     */
+    @Override
+    @Trivial
+    public int size() {
+        int size = expedited.size() + global.size();
+        for (WorkPile pile : workPiles)
+            size += pile.size();
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Trivial
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean remove(Object o) {
+        if (expedited.remove(o) || global.remove(o))
+            return true;
+        for (WorkPile pile : workPiles)
+            if (pile.remove(o))
+                return true;
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean contains(Object o) {
+        if (expedited.contains(o) || global.contains(o))
+            return true;
+        for (WorkPile pile : workPiles)
+            if (pile.contains(o))
+                return true;
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int drainTo(Collection<? super Runnable> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int drainTo(Collection<? super Runnable> c, int maxElements) {
+        if (c == this)
+            throw new IllegalArgumentException();
+        int count = drain(expedited, c, maxElements);
+        count += drain(global, c, maxElements - count);
+        for (WorkPile pile : workPiles)
+            count += drain(pile, c, maxElements - count);
+        return count;
+    }
+
+    @Trivial
+    private static int drain(Queue<Runnable> queue, Collection<? super Runnable> c, int maxElements) {
+        int count = 0;
+        Runnable r;
+        while (count < maxElements && (r = queue.poll()) != null) {
+            c.add(r);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the queued work, with expedited
+     * work first. Removing through the iterator removes the task from this queue.
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        List<Runnable> snapshot = new ArrayList<Runnable>(expedited);
+        snapshot.addAll(global);
+        for (WorkPile pile : workPiles)
+            snapshot.addAll(pile);
+
+        final Iterator<Runnable> it = snapshot.iterator();
+        return new Iterator<Runnable>() {
+            private Runnable last;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Runnable next() {
+                return last = it.next();
+            }
+
+            @Override
+            public void remove() {
+                if (last == null)
+                    throw new IllegalStateException();
+                WorkStealingQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    /**
+     * @return the number of tasks taken from the work pile of another thread
+     */
+    @Trivial
+    long getSteals() {
+        return steals.get();
+    }
+
+    void introspect(PrintWriter out, String indent) {
+        out.println(indent + "stealPolicy = " + stealPolicy);
+        out.println(indent + "steals = " + steals.get());
+        out.println(indent + "idleThreads = " + idleThreads);
+        out.println(indent + "expedited = " + expedited.size());
+        out.println(indent + "global = " + global.size());
+        for (WorkPile pile : workPiles)
+            out.println(indent + "workPile " + pile.owner.getName() + " = " + pile.size());
+    }
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.threading.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Callable;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the latency mode of the ThreadPoolController.
+ */
+public class ThreadPoolControllerLatencyTest {
+    private static final long MILLIS = 1000000L;
+
+    private ThreadPoolController tpc;
+
+    @Before
+    public void setUp() {
+        tpc = new ThreadPoolController(new ExecutorServiceImpl());
+        tpc.setCoreThreads(2);
+        tpc.setMaxThreads(100);
+        tpc.setLatencyMode(new QueueLatencyMonitor(), 50);
+    }
+
+    @Test
+    public void testGrowWhenOverTarget() {
+        assertEquals(1, tpc.getLatencyAdjustment(10, 5, 60 * MILLIS, false, 100.0));
+        assertEquals(0, tpc.fastGrowDecisions);
+    }
+
+    @Test
+    public void testFastGrowOnSpike() {
+        // jump to the forecast, but no more than double the pool
+        assertEquals(10, tpc.getLatencyAdjustment(10, 30, 300 * MILLIS, false, 100.0));
+        assertEquals(5, tpc.getLatencyAdjustment(10, 15, 300 * MILLIS, false, 100.0));
+        assertEquals(2, tpc.fastGrowDecisions);
+
+        // never past max threads
+        tpc.setMaxThreads(12);
+        assertEquals(2, tpc.getLatencyAdjustment(10, 30, 300 * MILLIS, false, 100.0));
+    }
+
+    @Test
+    public void testHoldWhenGrowingDoesNotHelp() {
+        tpc.lastAction = ThreadPoolController.LastAction.GROW;
+        tpc.previousThroughput = 100.0;
+        assertEquals(0, tpc.getLatencyAdjustment(10, 8, 60 * MILLIS, false, 101.0));
+        assertEquals(1, tpc.saturatedDecisions);
+
+        // still grow while under the forecast, or if throughput improved
+        assertEquals(1, tpc.getLatencyAdjustment(10, 12, 60 * MILLIS, false, 101.0));
+        assertEquals(1, tpc.getLatencyAdjustment(10, 8, 60 * MILLIS, false, 110.0));
+    }
+
+    @Test
+    public void testShrinkTowardsForecast() {
+        // half of the surplus goes each interval
+        assertEquals(-8, tpc.getLatencyAdjustment(20, 4, 1 * MILLIS, true, 100.0));
+        assertEquals(-1, tpc.getLatencyAdjustment(6, 4, 1 * MILLIS, true, 100.0));
+
+        // never below core threads
+        assertEquals(-2, tpc.getLatencyAdjustment(4, 0, 1 * MILLIS, true, 100.0));
+
+        // not while work is queued or the wait is close to the target
+        assertEquals(0, tpc.getLatencyAdjustment(20, 4, 1 * MILLIS, false, 100.0));
+        assertEquals(0, tpc.getLatencyAdjustment(20, 4, 20 * MILLIS, true, 100.0));
+    }
+
+    @Test
+    public void testMonitorSample() throws Exception {
+        QueueLatencyMonitor monitor = new QueueLatencyMonitor();
+        Runnable sleeper = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                }
+            }
+        };
+        for (int i = 0; i < 5; i++) {
+            monitor.track(sleeper, sleeper).run();
+        }
+        Callable<String> callable = new Callable<String>() {
+            @Override
+            public String call() {
+                return "done";
+            }
+        };
+        assertEquals("done", monitor.track(callable, callable).call());
+        Runnable notRun = monitor.track(sleeper, sleeper);
+        assertSame(notRun, monitor.track(notRun, sleeper));
+
+        QueueLatencyMonitor.Sample sample = monitor.sample(1000);
+        assertEquals(7, sample.submitted);
+        assertEquals(6, sample.completed);
+        assertTrue(sample.meanServiceNanos >= 5 * 20 * MILLIS / 6);
+        // 6 submissions of this class in a second, at about 16ms each
+        assertTrue("demand " + sample.demandThreads, sample.demandThreads >= 0.09);
+
+        // the next interval only counts what happened since
+        notRun.run();
+        sample = monitor.sample(1000);
+        assertEquals(0, sample.submitted);
+        assertEquals(1, sample.completed);
+        assertEquals(0.0, sample.demandThreads, 0.0);
+    }
+}
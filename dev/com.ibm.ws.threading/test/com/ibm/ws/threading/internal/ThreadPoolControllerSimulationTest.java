@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.threading.internal;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Replays a load trace against the default executor once for each
+ * controller mode and reports the queue wait and the pool size each one
+ * produced, so that changes to the controllers can be compared.
+ * <p>
+ * A recorded trace can be supplied with the threadpool.trace system property.
+ * Each line of the file holds the submission time of a task in milliseconds
+ * since the start of the trace and how long the task runs in milliseconds,
+ * separated by a comma. Lines starting with # are ignored. Without a trace
+ * file, a synthetic trace with a steady load and a burst ten times as heavy
+ * in the middle is used.
+ * <p>
+ * Tasks sleep for their service time, so the replay models work that is
+ * blocked on I/O or remote calls, where the pool size matters most.
+ */
+@Ignore
+public class ThreadPoolControllerSimulationTest {
+
+    private static final long MILLIS = 1000000L;
+
+    /**
+     * @return pairs of submission offset and service time, in milliseconds
+     */
+    static long[][] loadTrace() throws IOException {
+        String traceFile = System.getProperty("threadpool.trace");
+        if (traceFile == null) {
+            return syntheticTrace();
+        }
+        List<long[]> trace = new ArrayList<long[]>();
+        BufferedReader reader = new BufferedReader(new FileReader(traceFile));
+        try {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                line = line.trim();
+                if (line.length() == 0 || line.startsWith("#"))
+                    continue;
+                String[] fields = line.split(",");
+                trace.add(new long[] { Long.parseLong(fields[0].trim()), Long.parseLong(fields[1].trim()) });
+            }
+        } finally {
+            reader.close();
+        }
+        return trace.toArray(new long[trace.size()][]);
+    }
+
+    /**
+     * 15 seconds at 200 tasks/second, 5 seconds at 2000 tasks/second, then
+     * 15 seconds at 200 tasks/second again, each task running for 10ms.
+     */
+    static long[][] syntheticTrace() {
+        List<long[]> trace = new ArrayList<long[]>();
+        long offset = 0;
+        for (int[] phase : new int[][] { { 15000, 200 }, { 5000, 2000 }, { 15000, 200 } }) {
+            long end = offset + phase[0];
+            double gap = 1000.0 / phase[1];
+            for (double t = offset; t < end; t += gap) {
+                trace.add(new long[] { (long) t, 10 });
+            }
+            offset = end;
+        }
+        return trace.toArray(new long[trace.size()][]);
+    }
+
+    static String replay(String mode, long[][] trace) throws Exception {
+        Map<String, Object> config = new HashMap<String, Object>();
+        config.put("name", "Simulation " + mode);
+        config.put("coreThreads", 4);
+        config.put("maxThreads", -1);
+        config.put("keepAlive", 60000L);
+        config.put("controllerMode", mode);
+        config.put("queueWaitTarget", 50L);
+
+        final ExecutorServiceImpl executor = new ExecutorServiceImpl();
+        executor.activate(config);
+
+        final long[] queueWaits = new long[trace.length];
+        final CountDownLatch done = new CountDownLatch(trace.length);
+        long poolSizeTotal = 0;
+        int poolSizeSamples = 0;
+        int maxPoolSize = 0;
+        long nextSample = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < trace.length; i++) {
+            final int index = i;
+            final long serviceMillis = trace[i][1];
+            long submitAt = start + trace[i][0] * MILLIS;
+            long now;
+            while ((now = System.nanoTime()) < submitAt) {
+                if (now >= nextSample) {
+                    int poolSize = executor.getPoolSize();
+                    poolSizeTotal += poolSize;
+                    poolSizeSamples++;
+                    maxPoolSize = Math.max(maxPoolSize, poolSize);
+                    nextSample = now + 100 * MILLIS;
+                }
+                long sleep = Math.min(submitAt - now, 5 * MILLIS);
+                TimeUnit.NANOSECONDS.sleep(sleep);
+            }
+
+            final long submitted = System.nanoTime();
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    queueWaits[index] = System.nanoTime() - submitted;
+                    try {
+                        Thread.sleep(serviceMillis);
+                    } catch (InterruptedException e) {
+                    }
+                    done.countDown();
+                }
+            });
+        }
+        done.await(5, TimeUnit.MINUTES);
+
+        StringWriter introspection = new StringWriter();
+        executor.threadPoolController.introspect(new PrintWriter(introspection));
+        executor.deactivate(0);
+
+        Arrays.sort(queueWaits);
+        long total = 0;
+        for (long wait : queueWaits)
+            total += wait;
+
+        return String.format("%-10s tasks = %d meanWait = %.2fms p50 = %.2fms p99 = %.2fms max = %.2fms meanPool = %.1f maxPool = %d%n%s",
+                             mode, Integer.valueOf(trace.length),
+                             Double.valueOf((double) total / trace.length / MILLIS),
+                             Double.valueOf((double) queueWaits[trace.length / 2] / MILLIS),
+                             Double.valueOf((double) queueWaits[(int) (trace.length * 0.99)] / MILLIS),
+                             Double.valueOf((double) queueWaits[trace.length - 1] / MILLIS),
+                             Double.valueOf(poolSizeSamples == 0 ? 0 : (double) poolSizeTotal / poolSizeSamples),
+                             Integer.valueOf(maxPoolSize),
+                             introspection);
+    }
+
+    @Test
+    public void compareControllers() throws Exception {
+        long[][] trace = loadTrace();
+        List<String> results = new ArrayList<String>();
+        for (String mode : new String[] { "THROUGHPUT", "LATENCY" }) {
+            results.add(replay(mode, trace));
+        }
+        for (String result : results) {
+            System.out.println(result);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.threading.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Tests for the work stealing queue of the default executor.
+ */
+public class WorkStealingQueueTest {
+
+    private static class Task implements Runnable, QueueItem {
+        private final boolean expedited;
+
+        Task(boolean expedited) {
+            this.expedited = expedited;
+        }
+
+        @Override
+        public boolean isExpedited() {
+            return expedited;
+        }
+
+        @Override
+        public void run() {}
+    }
+
+    /**
+     * Run a Callable on a thread that isn't the test thread, so that it has its own work pile.
+     */
+    private static <T> T onOtherThread(Callable<T> callable) throws Exception {
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            return other.submit(callable).get(1, TimeUnit.MINUTES);
+        } finally {
+            other.shutdown();
+        }
+    }
+
+    @Test
+    public void testExpeditedFirst() throws Exception {
+        WorkStealingQueue q = new WorkStealingQueue(StealPolicy.LOCAL);
+        Task t1 = new Task(false);
+        Task t2 = new Task(true);
+        Task t3 = new Task(false);
+        assertTrue(q.offer(t1));
+        assertTrue(q.offer(t2));
+        assertTrue(q.offer(t3));
+        assertEquals(3, q.size());
+        assertFalse(q.isEmpty());
+        assertSame(t2, q.peek());
+
+        assertSame(t2, q.poll(0, TimeUnit.SECONDS));
+        assertSame(t1, q.poll(0, TimeUnit.SECONDS));
+        assertSame(t3, q.poll(0, TimeUnit.SECONDS));
+        assertNull(q.poll(0, TimeUnit.SECONDS));
+        assertTrue(q.isEmpty());
+    }
+
+    @Test
+    public void testLocalPileAndSteal() throws Exception {
+        final WorkStealingQueue q = new WorkStealingQueue(StealPolicy.LOCAL);
+        final Task external = new Task(false);
+        final Task local = new Task(false);
+
+        // a submitter that has never taken work uses the global queue
+        onOtherThread(new Callable<Void>() {
+            @Override
+            public Void call() {
+                q.offer(external);
+                return null;
+            }
+        });
+
+        // a thread that takes work is a thread of the executor, and gets a work pile
+        assertSame(external, q.poll(0, TimeUnit.SECONDS));
+        q.offer(local);
+        assertEquals(1, q.size());
+        assertEquals(0, q.getSteals());
+
+        // another thread steals it
+        Runnable stolen = onOtherThread(new Callable<Runnable>() {
+            @Override
+            public Runnable call() throws Exception {
+                return q.poll(0, TimeUnit.SECONDS);
+            }
+        });
+        assertSame(local, stolen);
+        assertEquals(1, q.getSteals());
+    }
+
+    @Test
+    public void testStrictPileForSubmitters() throws Exception {
+        final WorkStealingQueue q = new WorkStealingQueue(StealPolicy.STRICT);
+        Task t = new Task(false);
+
+        // work from a submitter that never takes work is stolen from its pile
+        q.offer(t);
+        Runnable stolen = onOtherThread(new Callable<Runnable>() {
+            @Override
+            public Runnable call() throws Exception {
+                return q.poll(0, TimeUnit.SECONDS);
+            }
+        });
+        assertSame(t, stolen);
+        assertEquals(1, q.getSteals());
+    }
+
+    @Test(timeout = 60000)
+    public void testWaitForWork() throws Exception {
+        final WorkStealingQueue q = new WorkStealingQueue(StealPolicy.LOCAL);
+        final Task t = new Task(false);
+        final CountDownLatch waiting = new CountDownLatch(1);
+
+        ExecutorService taker = Executors.newSingleThreadExecutor();
+        try {
+            Future<Runnable> taken = taker.submit(new Callable<Runnable>() {
+                @Override
+                public Runnable call() throws Exception {
+                    waiting.countDown();
+                    return q.take();
+                }
+            });
+            waiting.await();
+            Thread.sleep(100);
+            q.offer(t);
+            assertSame(t, taken.get(1, TimeUnit.MINUTES));
+        } finally {
+            taker.shutdown();
+        }
+
+        long start = System.nanoTime();
+        assertNull(q.poll(100, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(90));
+    }
+
+    @Test
+    public void testRemoveDrainAndIterate() throws Exception {
+        WorkStealingQueue q = new WorkStealingQueue(StealPolicy.STRICT);
+        Task t1 = new Task(false);
+        Task t2 = new Task(true);
+        Task t3 = new Task(false);
+        q.offer(t1);
+        q.offer(t2);
+        q.offer(t3);
+
+        assertTrue(q.contains(t3));
+        assertTrue(q.remove(t3));
+        assertFalse(q.remove(t3));
+
+        Iterator<Runnable> it = q.iterator();
+        assertSame(t2, it.next());
+        it.remove();
+        assertSame(t1, it.next());
+        assertFalse(it.hasNext());
+        assertEquals(1, q.size());
+
+        q.offer(t2);
+        List<Runnable> drained = new ArrayList<Runnable>();
+        assertEquals(2, q.drainTo(drained));
+        assertSame(t2, drained.get(0));
+        assertSame(t1, drained.get(1));
+        assertTrue(q.isEmpty());
+    }
+
+    @Test(timeout = 60000)
+    public void testExecutor() throws Exception {
+        for (StealPolicy stealPolicy : StealPolicy.values()) {
+            ExecutorServiceImpl executorService = new ExecutorServiceImpl();
+            Map<String, Object> componentConfig = new HashMap<String, Object>();
+            componentConfig.put("name", "testExecutor" + stealPolicy);
+            componentConfig.put("stealPolicy", stealPolicy.toString());
+            componentConfig.put("keepAlive", 60000);
+            componentConfig.put("coreThreads", 4);
+            componentConfig.put("maxThreads", 8);
+            executorService.activate(componentConfig);
+            try {
+                assertEquals(stealPolicy != StealPolicy.NEVER, executorService.getThreadPool().getQueue() instanceof WorkStealingQueue);
+
+                // tasks that submit more tasks, which go on the work piles of the executor threads
+                final ExecutorServiceImpl executor = executorService;
+                final AtomicInteger ran = new AtomicInteger();
+                final CountDownLatch done = new CountDownLatch(1000);
+                for (int i = 0; i < 100; i++) {
+                    executor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            for (int j = 0; j < 9; j++) {
+                                executor.execute(new Runnable() {
+                                    @Override
+                                    public void run() {
+                                        ran.incrementAndGet();
+                                        done.countDown();
+                                    }
+                                });
+                            }
+                            ran.incrementAndGet();
+                            done.countDown();
+                        }
+                    });
+                }
+                assertTrue(done.await(1, TimeUnit.MINUTES));
+                assertEquals(1000, ran.get());
+            } finally {
+                executorService.deactivate(0);
+            }
+        }
+    }
+}
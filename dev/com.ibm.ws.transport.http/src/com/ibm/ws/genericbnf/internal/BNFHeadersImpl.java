@@ -2280,16 +2280,9 @@ public abstract class BNFHeadersImpl implements BNFHeaders, Externalizable {
         WsByteBuffer[] buffers = inBuffers;
         final String name = elem.getKey().getName();
         final String value = elem.asString();
-        LiteralIndexType indexType = LiteralIndexType.NOINDEXING;
-        //For the time being, there will be no indexing on the responses to guarantee
-        //the write context is concurrent to the remote endpoint's read context. Remote
-        //intermediaries could index if they so desire, so setting NoIndexing (as
-        //opposed to NeverIndexing).
-        //TODO: investigate how streams and priority can work together with indexing on
-        //responses.
-        //LiteralIndexType indexType = isPushPromise ? LiteralIndexType.NOINDEXING : LiteralIndexType.INDEX;
 
         if (null != value) {
+            LiteralIndexType indexType = H2Headers.getLiteralIndexType(name);
             buffers = putBytes(H2Headers.encodeHeader(table, name, value, indexType), buffers);
         }
         if (TraceComponent.isAnyTracingEnabled() && tc.isEventEnabled()) {
@@ -10,8 +10,8 @@
  *******************************************************************************/
 package com.ibm.ws.http.channel.h2internal.hpack;
 
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * 2.3.2 - Consists of a list of header fields maintained in
@@ -34,9 +34,22 @@ import java.util.LinkedList;
  */
 public class DynamicTable {
 
-    //private static DynamicTableEntry[] entries;
+    /*
+     * The entries are kept in a circular array, oldest first, so that both
+     * the decoder's lookups by index and evictions are constant time. The
+     * encoder finds entries through two hash indexes that map a name and
+     * value pair, and a name alone, to the insertion number of the newest
+     * entry holding it. The position of an entry in the table follows from
+     * its insertion number and the number of entries added so far.
+     */
 
-    private final LinkedList<H2HeaderField> entries = new LinkedList<H2HeaderField>();
+    private H2HeaderField[] entries = new H2HeaderField[16];
+    private int first = 0; // slot of the oldest entry
+    private int count = 0;
+    private long inserted = 0; // number of entries ever added
+
+    private final Map<H2HeaderField, Long> fieldIndex = new HashMap<H2HeaderField, Long>();
+    private final Map<String, Long> nameIndex = new HashMap<String, Long>();
 
     private int tableAddressSpace = HpackConstants.INITIAL_SETTINGS_HEADER_TABLE_SIZE;
     private int freeAddressSpace = tableAddressSpace;
@@ -59,7 +72,7 @@ public class DynamicTable {
          * is no conflicts.
          */
         if (entrySize <= freeAddressSpace) {
-            this.entries.addFirst(entry);
+            addFirst(entry);
             freeAddressSpace -= entrySize; // update free address space.
         }
 
@@ -82,7 +95,7 @@ public class DynamicTable {
                 while (entrySize > freeAddressSpace) {
                     evictDynamicEntry();
                 }
-                this.entries.addFirst(entry);
+                addFirst(entry);
                 freeAddressSpace -= entrySize; // update free address space.
             }
 
@@ -90,11 +103,40 @@ public class DynamicTable {
 
     }
 
+    private void addFirst(H2HeaderField entry) {
+        if (count == entries.length) {
+            H2HeaderField[] grown = new H2HeaderField[entries.length * 2];
+            for (int i = 0; i < count; i++) {
+                grown[i] = entries[(first + i) % entries.length];
+            }
+            entries = grown;
+            first = 0;
+        }
+        entries[(first + count) % entries.length] = entry;
+        count++;
+
+        Long insertion = Long.valueOf(inserted++);
+        fieldIndex.put(entry, insertion);
+        nameIndex.put(entry.getName(), insertion);
+    }
+
     private void evictDynamicEntry() {
-        // Dequeue last element of the list and update the free
+        // Dequeue the oldest element and update the free
         // address space that it was occupying.
-        freeAddressSpace += entries.getLast().getSize();
-        entries.removeLast();
+        H2HeaderField evicted = entries[first];
+        entries[first] = null;
+        first = (first + 1) % entries.length;
+        count--;
+        freeAddressSpace += evicted.getSize();
+
+        // Only drop the index entries if no newer duplicate replaced them
+        Long insertion = Long.valueOf(inserted - count - 1);
+        if (insertion.equals(fieldIndex.get(evicted))) {
+            fieldIndex.remove(evicted);
+        }
+        if (insertion.equals(nameIndex.get(evicted.getName()))) {
+            nameIndex.remove(evicted.getName());
+        }
     }
 
     public void updateDynamicTableSize(int size) {
@@ -130,43 +172,40 @@ public class DynamicTable {
          * from the requested index, such that s+1 equates to index 0
          * of this dynamic table.
          */
-        try {
-            return entries.get(index);
-        } catch (IndexOutOfBoundsException e) {
+        if (index < 0 || index >= count) {
             return null;
         }
+        return entries[(first + count - 1 - index) % entries.length];
     }
 
-    public H2HeaderField findInList(int name, int value) {
-        H2HeaderField result = null;
-        H2HeaderField current = null;
-        Iterator<H2HeaderField> i = entries.iterator();
-        int indexAddressSpace = StaticTable.STATIC_TABLE.size() + 1;
-        while (i.hasNext()) {
-            current = i.next();
-            if (current.getNameHash() == name) {
-                //Store the first partial match. This is the one that will be
-                //returned unless a complete match is found.
-                if (result == null) {
-                    result = current;
-                    //current index may have changed due to updates in the table
-                    //set new index location.
-                    result.setCurrentIndex(indexAddressSpace);
-                }
-
-                if (current.getValueHash() == value) {
+    /**
+     * @return the position, starting at 0, of the newest entry with this
+     *         name and value, or -1 if there is none
+     */
+    public int findIndex(String name, String value) {
+        return toPosition(fieldIndex.get(new H2HeaderField(name, value)));
+    }
 
-                    return result;
-                }
-            }
-            indexAddressSpace++;
+    /**
+     * @return the position, starting at 0, of the newest entry with this
+     *         name, or -1 if there is none
+     */
+    public int findNameIndex(String name) {
+        return toPosition(nameIndex.get(name));
+    }
 
-        }
-        return result;
+    private int toPosition(Long insertion) {
+        return insertion == null ? -1 : (int) (inserted - 1 - insertion.longValue());
     }
 
     private void clearDynamicTable() {
-        entries.clear();
+        while (count > 0) {
+            entries[first] = null;
+            first = (first + 1) % entries.length;
+            count--;
+        }
+        fieldIndex.clear();
+        nameIndex.clear();
         freeAddressSpace = tableAddressSpace;
     }
 
@@ -176,7 +215,7 @@ public class DynamicTable {
 
     //TODO: consider renaming
     public int amountOfEntries() {
-        return this.entries.size();
+        return this.count;
     }
 
     public int usedAddressSpace() {
@@ -199,12 +238,9 @@ public class DynamicTable {
     public String toString() {
         StringBuilder result = new StringBuilder();
         H2HeaderField current;
-        int i = 0;
-        Iterator<H2HeaderField> it = entries.iterator();
-        while (it.hasNext()) {
-            i++;
-            current = it.next();
-            result.append("[  " + i + "] (s = " + current.getSize() + ") " + current.getName() + ": " + current.getValue() + "\n");
+        for (int i = 0; i < count; i++) {
+            current = get(i);
+            result.append("[  " + (i + 1) + "] (s = " + current.getSize() + ") " + current.getName() + ": " + current.getValue() + "\n");
         }
         result.append("Table size: " + this.usedAddressSpace());
         return result.toString();
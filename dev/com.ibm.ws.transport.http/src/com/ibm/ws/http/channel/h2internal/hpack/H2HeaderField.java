@@ -101,6 +101,11 @@ public class H2HeaderField {
         return false;
     }
 
+    @Override
+    public int hashCode() {
+        return 31 * nameHash + valueHash;
+    }
+
     @Override
     public String toString() {
         return name + ": " + value;
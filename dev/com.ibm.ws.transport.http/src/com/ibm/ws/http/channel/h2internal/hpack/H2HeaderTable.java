@@ -10,8 +10,6 @@
  *******************************************************************************/
 package com.ibm.ws.http.channel.h2internal.hpack;
 
-import java.util.Iterator;
-
 public class H2HeaderTable {
 
     private final DynamicTable dynamicTable;
@@ -35,62 +33,65 @@ public class H2HeaderTable {
         }
     }
 
+    /**
+     * Look up a header for encoding.
+     *
+     * @return a copy of the entry that matches both name and value, otherwise
+     *         a copy of an entry that matches the name, or null if neither is
+     *         in the table. The current index of the copy is its position in
+     *         the combined address space of the static and dynamic tables.
+     */
     public H2HeaderField getHeaderEntry(String name, String value) {
-
-        int hashName = name.hashCode();
-        int hashValue = value.hashCode();
-
-        H2HeaderField staticResult = null;
-        H2HeaderField dynamicResult = null;
-
-        staticResult = findInStaticTable(hashName, hashValue);
-
-        if (staticResult != null) {
-            if (staticResult.getValueHash() == hashValue) {
-                //Fully matches return
-                return staticResult;
+        int index = getIndex(name, value);
+        if (index == 0) {
+            index = getNameIndex(name);
+            if (index == 0) {
+                return null;
             }
+            return new H2HeaderField(name, getHeaderEntry(index).getValue(), index);
         }
+        return new H2HeaderField(name, value, index);
+    }
 
-        dynamicResult = dynamicTable.findInList(hashName, hashValue);
-
-        if (dynamicResult != null) {
-            if (dynamicResult.getValueHash() == hashValue) {
-                return dynamicResult;
+    /**
+     * @return the index of an entry with this name and value, preferring the
+     *         static table, or 0 if neither table holds it
+     */
+    public int getIndex(String name, String value) {
+        int index = StaticTable.getIndex(name, value);
+        if (index == 0) {
+            int dynamicIndex = dynamicTable.findIndex(name, value);
+            if (dynamicIndex >= 0) {
+                index = StaticTable.STATIC_TABLE.size() + 1 + dynamicIndex;
             }
         }
-        //If it get here, there is not a complete match. Return the
-        //result from the static table if it isn't null. Otherwise,
-        //return the result from the dynamic table. If no results
-        //were found in either table, this will return null.
+        return index;
+    }
 
-        return staticResult != null ? staticResult : dynamicResult;
+    /**
+     * @return the index of an entry with this name, preferring the static
+     *         table, or 0 if neither table holds it
+     */
+    public int getNameIndex(String name) {
+        int index = StaticTable.getNameIndex(name);
+        if (index == 0) {
+            int dynamicIndex = dynamicTable.findNameIndex(name);
+            if (dynamicIndex >= 0) {
+                index = StaticTable.STATIC_TABLE.size() + 1 + dynamicIndex;
+            }
+        }
+        return index;
     }
 
     private static H2HeaderField getFromStaticTable(int index) {
         return StaticTable.STATIC_TABLE.get(index - 1);
     }
 
-    private static H2HeaderField findInStaticTable(int name, int value) {
-        Iterator<H2HeaderField> it = StaticTable.STATIC_TABLE.iterator();
-        H2HeaderField result = null;
-        H2HeaderField current = null;
-
-        while (it.hasNext()) {
-            current = it.next();
-            if (current.getNameHash() == name) {
-                //Store the first partial match. This is the one that will be
-                //returned unless a complete match is found.
-                if (result == null) {
-                    result = current;
-                }
-                if (current.getValueHash() == value) {
-                    return current;
-                }
-            }
-        }
-        return result;
-
+    /**
+     * @return the largest number of octets the dynamic table may hold
+     */
+    public int getDynamicTableSize() {
+        return this.dynamicTable.tableAddressSpace();
     }
 
     public void addHeaderEntry(H2HeaderField entry) {
@@ -13,6 +13,7 @@ package com.ibm.ws.http.channel.h2internal.hpack;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.Locale;
 
 import com.ibm.websphere.ras.Tr;
 import com.ibm.websphere.ras.TraceComponent;
@@ -273,6 +274,24 @@ public class H2Headers {
 
     }
 
+    /**
+     * Choose how a header should be represented when it is encoded. Headers
+     * that carry credentials are never indexed, so that intermediaries don't
+     * index them either. No other header is added to the dynamic table:
+     * header blocks are encoded when the response is formatted but written
+     * through the priority write queue, which can reorder frames across
+     * streams, so the peer could see the insertions in a different order.
+     *
+     * @param name the header name
+     * @return the literal representation to use if the header isn't already in the table
+     */
+    public static LiteralIndexType getLiteralIndexType(String name) {
+        if (HpackConstants.NEVER_INDEXED_HEADERS.contains(name.toLowerCase(Locale.ENGLISH))) {
+            return LiteralIndexType.NEVERINDEX;
+        }
+        return LiteralIndexType.NOINDEXING;
+    }
+
     public static byte[] encodeHeader(H2HeaderTable table, String name, String value, LiteralIndexType type) throws CompressionException, IOException {
         return encodeHeader(table, name, value, type, true);
     }
@@ -292,44 +311,37 @@ public class H2Headers {
         ByteArrayOutputStream encodedHeader = new ByteArrayOutputStream();
         //H2 header names must be all lower case to be compliant. Ensure this before encoding
         //or modifying table.
-        String compliantName = name.toLowerCase();
+        String compliantName = name.toLowerCase(Locale.ENGLISH);
 
         //First byte will specify the indexing type and index location, if any, for the header.
 
-        int indexLocation = 0; // default index not in table.
-
-        H2HeaderField indexedHeader = null;
-
         if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
             Tr.debug(tc, "Searching in table for header...");
         }
 
-        //Look in table for all instances of this header name. API returns when it finds one that
-        //matches both header name or value or the last one that matches name. Otherwise, it returns
-        //null.
-        indexedHeader = table.getHeaderEntry(compliantName, value);
-
-        if (indexedHeader != null) { //found indexed header
-            //Location of found indexed header in table
-            indexLocation = indexedHeader.getCurrentIndex();
+        //Look for an entry that matches both the header name and value. The tables are
+        //hash indexed, so this doesn't depend on the number of entries.
+        int indexLocation = table.getIndex(compliantName, value);
 
-            if (indexedHeader.getValueHash() == value.hashCode()) {
-                //If the header name and value both match, then this header is already indexed.
-                //Encode using a reference to the table entry. No changes are to be made to the
-                //dynamic table. With nothing table operations, return at this point.
+        if (indexLocation > 0) {
+            //If the header name and value both match, then this header is already indexed.
+            //Encode using a reference to the table entry. No changes are to be made to the
+            //dynamic table. With nothing table operations, return at this point.
 
-                if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
-                    Tr.debug(tc, "Header name and value found in table at index location: " + indexLocation +
-                                 ". Encoding header as INDEXED.");
-                }
-                if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
-                    Tr.exit(tc, "encodeHeader");
-                }
-                return IntegerRepresentation.encode(indexLocation, ByteFormatType.INDEXED);
+            if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
+                Tr.debug(tc, "Header name and value found in table at index location: " + indexLocation +
+                             ". Encoding header as INDEXED.");
             }
             if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
-                Tr.debug(tc, "Found header name in table at location: " + indexLocation + ".");
+                Tr.exit(tc, "encodeHeader");
             }
+            return IntegerRepresentation.encode(indexLocation, ByteFormatType.INDEXED);
+        }
+
+        //Otherwise reference an entry with the same name, if there is one
+        indexLocation = table.getNameIndex(compliantName);
+        if (indexLocation > 0 && TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
+            Tr.debug(tc, "Found header name in table at location: " + indexLocation + ".");
         }
 
         //Encode first byte
@@ -372,6 +384,10 @@ public class H2Headers {
 
         byte[] fragmentBytes = headerFragment.getBytes(HpackConstants.HPACK_CHAR_SET);
         ByteFormatType encodingType = ByteFormatType.NOHUFFMAN;
+
+        //Huffman coding makes some strings longer, for instance ones that are mostly
+        //upper case or punctuation. Only use it when it is shorter than the literal.
+        huffman = huffman && HuffmanEncoder.getEncodedLength(fragmentBytes) < fragmentBytes.length;
         if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
             Tr.debug(tc, "Encoding using huffman encoding: " + huffman);
         }
@@ -10,6 +10,11 @@
  *******************************************************************************/
 package com.ibm.ws.http.channel.h2internal.hpack;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
 public class HpackConstants {
 
     public static final String HPACK_CHAR_SET = "US-ASCII";
@@ -49,6 +54,13 @@ public class HpackConstants {
      */
     public static int INITIAL_SETTINGS_HEADER_TABLE_SIZE = 4096; //HTTP 2.0 Spec 6.5.2
 
+    /*
+     * Headers that carry credentials. RFC 7541 7.1.3 - these are encoded as
+     * never indexed, so neither this encoder nor an intermediary adds them
+     * to a dynamic table where they could be probed for.
+     */
+    public final static Set<String> NEVER_INDEXED_HEADERS = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList("authorization", "proxy-authorization", "cookie", "set-cookie")));
+
     public enum LiteralIndexType {
         INDEX,
         NOINDEXING,
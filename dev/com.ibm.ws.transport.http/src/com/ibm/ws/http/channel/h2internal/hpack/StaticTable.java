@@ -11,7 +11,9 @@
 package com.ibm.ws.http.channel.h2internal.hpack;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public final class StaticTable {
 
@@ -63,7 +65,7 @@ public final class StaticTable {
                                                                          /* 45 */ new H2HeaderField("link", "", 45),
                                                                          /* 46 */ new H2HeaderField("location", "", 46),
                                                                          /* 47 */ new H2HeaderField("max-forwards", "", 47),
-                                                                         /* 48 */ new H2HeaderField("proxy-authentication", "", 48),
+                                                                         /* 48 */ new H2HeaderField("proxy-authenticate", "", 48),
                                                                          /* 49 */ new H2HeaderField("proxy-authorization", "", 49),
                                                                          /* 50 */ new H2HeaderField("range", "", 50),
                                                                          /* 51 */ new H2HeaderField("referer", "", 51),
@@ -71,11 +73,42 @@ public final class StaticTable {
                                                                          /* 53 */ new H2HeaderField("retry-after", "", 53),
                                                                          /* 54 */ new H2HeaderField("server", "", 54),
                                                                          /* 55 */ new H2HeaderField("set-cookie", "", 55),
-                                                                         /* 56 */ new H2HeaderField("strict-transport-authority", "", 56),
+                                                                         /* 56 */ new H2HeaderField("strict-transport-security", "", 56),
                                                                          /* 57 */ new H2HeaderField("transfer-encoding", "", 57),
                                                                          /* 58 */ new H2HeaderField("user-agent", "", 58),
                                                                          /* 59 */ new H2HeaderField("vary", "", 59),
                                                                          /* 60 */ new H2HeaderField("via", "", 60),
                                                                          /* 61 */ new H2HeaderField("www-authenticate", "", 61));
 
+    /** Index of each name and value pair in the static table */
+    private static final Map<H2HeaderField, Integer> FIELD_INDEX = new HashMap<H2HeaderField, Integer>();
+
+    /** Index of the first entry with each name in the static table */
+    private static final Map<String, Integer> NAME_INDEX = new HashMap<String, Integer>();
+
+    static {
+        for (H2HeaderField field : STATIC_TABLE) {
+            Integer index = Integer.valueOf(field.getCurrentIndex());
+            FIELD_INDEX.put(field, index);
+            if (!NAME_INDEX.containsKey(field.getName())) {
+                NAME_INDEX.put(field.getName(), index);
+            }
+        }
+    }
+
+    /**
+     * @return the index of the entry with this name and value, or 0 if there is none
+     */
+    static int getIndex(String name, String value) {
+        Integer index = FIELD_INDEX.get(new H2HeaderField(name, value));
+        return index == null ? 0 : index.intValue();
+    }
+
+    /**
+     * @return the index of the first entry with this name, or 0 if there is none
+     */
+    static int getNameIndex(String name) {
+        Integer index = NAME_INDEX.get(name);
+        return index == null ? 0 : index.intValue();
+    }
 }
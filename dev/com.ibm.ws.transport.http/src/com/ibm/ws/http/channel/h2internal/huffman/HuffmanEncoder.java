@@ -85,6 +85,18 @@ public class HuffmanEncoder {
                                0x7ffffeb, 0xffffffe, 0x7ffffec, 0x7ffffed, 0x7ffffee, 0x7ffffef, 0x7fffff0, 0x3ffffee
     };
 
+    /**
+     * Returns the number of octets the Huffman encoding of the bytes takes,
+     * without encoding them, so callers can pick the shorter representation.
+     */
+    public static int getEncodedLength(byte[] x1) {
+        long totalNumberOfHuffmanBits = 0;
+        for (int i = 0; i < x1.length; i++) {
+            totalNumberOfHuffmanBits += AtoHbitNumber[x1[i] & 0xFF];
+        }
+        return (int) ((totalNumberOfHuffmanBits + 7) / 8);
+    }
+
     public static byte[] convertAsciiToHuffman(byte[] x1) {
 
         int numberOfBits = 0;
@@ -103,7 +115,7 @@ public class HuffmanEncoder {
 
         // determine the array length of the output huffmanArray
         for (int i = 0; i < asciiLength; i++) {
-            totalNumberOfHuffmanBits = totalNumberOfHuffmanBits + AtoHbitNumber[x1[i]];
+            totalNumberOfHuffmanBits = totalNumberOfHuffmanBits + AtoHbitNumber[x1[i] & 0xFF];
             huffmanArrayLength = totalNumberOfHuffmanBits / 8;
             huffmanExtraBits = 8 - (totalNumberOfHuffmanBits % 8);
             if (huffmanExtraBits != 8) {
@@ -118,8 +130,8 @@ public class HuffmanEncoder {
 
         for (int i = 0; i < asciiLength; i++) {
 
-            numberOfBits = AtoHbitNumber[x1[i]];
-            huffmanValue = AtoHValue[x1[i]];
+            numberOfBits = AtoHbitNumber[x1[i] & 0xFF];
+            huffmanValue = AtoHValue[x1[i] & 0xFF];
 
             // add new value, with the exact number of bits, to the new huffman sequence of bits
             // add them one at a time since we have the issue of running over the byte boundary on every bit
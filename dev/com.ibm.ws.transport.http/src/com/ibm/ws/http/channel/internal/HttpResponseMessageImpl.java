@@ -547,23 +547,16 @@ public class HttpResponseMessageImpl extends HttpBaseMessageImpl implements Http
         WsByteBuffer[] firstLine = new WsByteBuffer[1];
         firstLine[0] = allocateBuffer(getOutgoingBufferSize());
 
-        LiteralIndexType indexType = LiteralIndexType.NOINDEXING;
-        //For the time being, there will be no indexing on the responses to guarantee
-        //the write context is concurrent to the remote endpoint's read context. Remote
-        //intermediaries could index if they so desire, so setting NoIndexing (as
-        //opposed to NeverIndexing).
-        //TODO: investigate how streams and priority can work together with indexing on
-        //responses.
-        //LiteralIndexType indexType = isPushPromise ? LiteralIndexType.NOINDEXING : LiteralIndexType.INDEX;
         //Corresponding dynamic table
-
         H2HeaderTable table = this.getH2HeaderTable();
         //Current encoded pseudo-header
         byte[] encodedHeader = null;
 
         //Encode the Status
         try {
-            encodedHeader = H2Headers.encodeHeader(table, HpackConstants.STATUS, getStatusCodeAsInt() + "", indexType);
+            String status = String.valueOf(getStatusCodeAsInt());
+            LiteralIndexType indexType = H2Headers.getLiteralIndexType(HpackConstants.STATUS);
+            encodedHeader = H2Headers.encodeHeader(table, HpackConstants.STATUS, status, indexType);
             firstLine = putBytes(encodedHeader, firstLine);
 
             // don't flip the last buffer as headers get tacked on the end
@@ -310,19 +310,21 @@ public class HttpOutputStreamImpl extends HttpOutputStreamConnectWeb {
      * write calls until done. This avoids TCP channel doing it in one big block.
      *
      * @param fc
+     * @param position
+     * @param count
      * @throws IOException
      */
     @FFDCIgnore({ IOException.class })
-    private void convertFile(FileChannel fc) throws IOException {
+    private void convertFile(FileChannel fc, long position, long count) throws IOException {
         if (TraceComponent.isAnyTracingEnabled() && tc.isEventEnabled()) {
             Tr.event(tc, "Converting FileChannel to buffers");
         }
         final WsByteBuffer[] body = new WsByteBuffer[1];
         final WsByteBufferPoolManager mgr = HttpDispatcher.getBufferManager();
-        final long max = fc.size();
-        final long blocksize = (1048576L < max) ? 1048576L : max;
-        long offset = 0;
+        final long max = position + count;
+        long offset = position;
         while (offset < max) {
+            final long blocksize = (1048576L < (max - offset)) ? 1048576L : (max - offset);
             ByteBuffer bb = fc.map(MapMode.READ_ONLY, offset, blocksize);
             offset += blocksize;
             WsByteBuffer wsbb = mgr.wrap(bb);
@@ -370,25 +372,44 @@ public class HttpOutputStreamImpl extends HttpOutputStreamConnectWeb {
      * @see com.ibm.ws.http.channel.internal.outbound.HttpOutputStream#writeFile(java.nio.channels.FileChannel)
      */
     @Override
-    @FFDCIgnore({ IOException.class })
     public void writeFile(FileChannel fc) throws IOException {
+        final long position = fc.position();
+        writeFile(fc, position, fc.size() - position);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see com.ibm.wsspi.http.HttpOutputStream#writeFile(java.nio.channels.FileChannel, long, long)
+     */
+    @Override
+    @FFDCIgnore({ IOException.class })
+    public void writeFile(FileChannel fc, long position, long count) throws IOException {
         if (TraceComponent.isAnyTracingEnabled() && tc.isDebugEnabled()) {
-            Tr.debug(tc, "writeFile: " + fc);
+            Tr.debug(tc, "writeFile: " + fc + " position=" + position + " count=" + count);
         }
-        if (cannotWriteFC()) {
+        final long end = position + count;
+        final boolean toEnd = (end >= fc.size());
+        // the limit of a file channel buffer is an int, so a region that ends
+        // before the end of a very large file can't be expressed with one
+        if (cannotWriteFC() || (!toEnd && end > Integer.MAX_VALUE)) {
             // not file channel capable
-            convertFile(fc);
+            convertFile(fc, position, count);
             return;
         }
         // make sure the headers are written separately from the file buffer
         flushHeaders();
+        fc.position(position);
         WsByteBuffer fb = HttpDispatcher.getBufferManager().allocateFileChannelBuffer(fc);
+        if (!toEnd) {
+            fb.limit((int) end);
+        }
         try {
             // TODO should adjust write timeout based on file size. Large files
             // can only be written so fast so a 1Gb file should have larger
             // timeout than a 100K file
             this.isc.sendResponseBody(new WsByteBuffer[] { fb });
-            this.bytesWritten += fc.size();
+            this.bytesWritten += count;
         } catch (MessageSentException mse) {
             FFDCFilter.processException(mse, getClass().getName(),
                                         "writeFile", new Object[] { this, this.isc });
@@ -10,8 +10,10 @@
  *******************************************************************************/
 package com.ibm.wsspi.http;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 
 /**
@@ -74,6 +76,34 @@ public abstract class HttpOutputStream extends OutputStream {
      */
     public abstract void writeFile(FileChannel fc) throws IOException;
 
+    /**
+     * Write a region of a file channel onto the output stream. Implementations
+     * that support it send the region directly from the file channel; this
+     * default implementation copies the region through the stream.
+     * 
+     * @param fc
+     * @param position the file position of the first byte to write
+     * @param count the number of bytes to write
+     * @throws IOException
+     */
+    public void writeFile(FileChannel fc, long position, long count) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(count, 32768L));
+        long offset = position;
+        final long end = position + count;
+        while (offset < end) {
+            buffer.clear();
+            if (end - offset < buffer.capacity()) {
+                buffer.limit((int) (end - offset));
+            }
+            int read = fc.read(buffer, offset);
+            if (read < 0) {
+                throw new EOFException("File ended before " + count + " bytes were written");
+            }
+            write(buffer.array(), 0, read);
+            offset += read;
+        }
+    }
+
     /**
      * Write the current set of response headers. If the headers have already
      * been sent, this is a no-op.
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.http.channel.h2internal.hpack;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import com.ibm.ws.http.channel.h2internal.hpack.HpackConstants.ByteFormatType;
+import com.ibm.ws.http.channel.h2internal.hpack.HpackConstants.LiteralIndexType;
+import com.ibm.ws.http.channel.h2internal.huffman.HuffmanEncoder;
+import com.ibm.wsspi.bytebuffer.WsByteBuffer;
+import com.ibm.wsspi.channelfw.ChannelFrameworkFactory;
+
+/**
+ * Tests the lookups of the HPACK header tables and the representations the
+ * encoder picks for response headers.
+ */
+public class H2HeaderTableTest {
+
+    private static final String[][] RESPONSE = {
+                                                 { ":status", "200" },
+                                                 { "content-type", "application/json; charset=UTF-8" },
+                                                 { "cache-control", "no-cache, no-store, must-revalidate" },
+                                                 { "x-frame-options", "SAMEORIGIN" },
+                                                 { "content-language", "en-US" },
+                                                 { "date", "Sat, 17 Oct 2026 10:15:30 GMT" },
+                                                 { "content-length", "1234" },
+                                                 { "set-cookie", "JSESSIONID=0000abcdefghijklmnop:-1; Path=/; HttpOnly" }
+    };
+
+    private static int staticSize() {
+        return StaticTable.STATIC_TABLE.size();
+    }
+
+    @Test
+    public void testStaticLookups() {
+        H2HeaderTable table = new H2HeaderTable();
+        assertEquals(2, table.getIndex(":method", "GET"));
+        assertEquals(8, table.getIndex(":status", "200"));
+        assertEquals(14, table.getIndex(":status", "500"));
+        assertEquals(0, table.getIndex(":status", "201"));
+        assertEquals(8, table.getNameIndex(":status"));
+        assertEquals(48, table.getNameIndex("proxy-authenticate"));
+        assertEquals(55, table.getNameIndex("set-cookie"));
+        assertEquals(56, table.getNameIndex("strict-transport-security"));
+        assertEquals(0, table.getNameIndex("x-frame-options"));
+
+        H2HeaderField field = table.getHeaderEntry("content-type", "text/html");
+        assertEquals(31, field.getCurrentIndex());
+        assertEquals("content-type", field.getName());
+        assertNull(table.getHeaderEntry("x-frame-options", "DENY"));
+    }
+
+    @Test
+    public void testDynamicLookups() {
+        H2HeaderTable table = new H2HeaderTable();
+        table.addHeaderEntry(new H2HeaderField("x-frame-options", "DENY"));
+        table.addHeaderEntry(new H2HeaderField("x-powered-by", "Servlet/4.0"));
+        table.addHeaderEntry(new H2HeaderField("x-frame-options", "SAMEORIGIN"));
+
+        // the newest entry has the lowest dynamic index
+        assertEquals(staticSize() + 1, table.getIndex("x-frame-options", "SAMEORIGIN"));
+        assertEquals(staticSize() + 2, table.getIndex("x-powered-by", "Servlet/4.0"));
+        assertEquals(staticSize() + 3, table.getIndex("x-frame-options", "DENY"));
+        assertEquals(staticSize() + 1, table.getNameIndex("x-frame-options"));
+        assertEquals("DENY", table.getHeaderEntry(staticSize() + 3).getValue());
+
+        // the static table is preferred over dynamic entries
+        table.addHeaderEntry(new H2HeaderField(":status", "200"));
+        assertEquals(8, table.getIndex(":status", "200"));
+        assertEquals(staticSize() + 4, table.getIndex("x-frame-options", "DENY"));
+    }
+
+    @Test
+    public void testEviction() {
+        // room for two entries of 32 + 1 + 1 bytes each
+        H2HeaderTable table = new H2HeaderTable(68);
+        table.addHeaderEntry(new H2HeaderField("a", "1"));
+        table.addHeaderEntry(new H2HeaderField("b", "2"));
+        table.addHeaderEntry(new H2HeaderField("a", "1"));
+        assertEquals(2, table.getDynamicEntryCount());
+        assertEquals(staticSize() + 1, table.getIndex("a", "1"));
+        assertEquals(staticSize() + 2, table.getIndex("b", "2"));
+
+        // evicting the older copy of a duplicate entry keeps the newer one indexed
+        table.addHeaderEntry(new H2HeaderField("c", "3"));
+        assertEquals(staticSize() + 1, table.getIndex("c", "3"));
+        assertEquals(staticSize() + 2, table.getIndex("a", "1"));
+        assertEquals(0, table.getIndex("b", "2"));
+        assertEquals(0, table.getNameIndex("b"));
+
+        table.updateTableSize(0);
+        assertEquals(0, table.getDynamicEntryCount());
+        assertEquals(0, table.getIndex("a", "1"));
+        assertEquals(0, table.getNameIndex("c"));
+    }
+
+    @Test
+    public void testLiteralIndexType() {
+        assertEquals(LiteralIndexType.NEVERINDEX, H2Headers.getLiteralIndexType("Set-Cookie"));
+        assertEquals(LiteralIndexType.NEVERINDEX, H2Headers.getLiteralIndexType("authorization"));
+        assertEquals(LiteralIndexType.NOINDEXING, H2Headers.getLiteralIndexType("x-frame-options"));
+        assertEquals(LiteralIndexType.NOINDEXING, H2Headers.getLiteralIndexType("content-length"));
+    }
+
+    @Test
+    public void testHuffmanOnlyWhenShorter() throws Exception {
+        H2HeaderTable table = new H2HeaderTable();
+
+        byte[] plain = "text/html".getBytes(HpackConstants.HPACK_CHAR_SET);
+        assertTrue(HuffmanEncoder.getEncodedLength(plain) < plain.length);
+        assertEquals(HuffmanEncoder.convertAsciiToHuffman(plain).length, HuffmanEncoder.getEncodedLength(plain));
+        byte[] encoded = H2Headers.encodeHeader(table, ":authority", "text/html", LiteralIndexType.NOINDEXING);
+        // name from the static table, then the H bit of the value length is set
+        assertEquals(2 + HuffmanEncoder.getEncodedLength(plain), encoded.length);
+        assertTrue((encoded[1] & 0x80) != 0);
+
+        byte[] symbols = "{}<>\\^~".getBytes(HpackConstants.HPACK_CHAR_SET);
+        assertTrue(HuffmanEncoder.getEncodedLength(symbols) > symbols.length);
+        encoded = H2Headers.encodeHeader(table, ":authority", "{}<>\\^~", LiteralIndexType.NOINDEXING);
+        assertEquals(2 + symbols.length, encoded.length);
+        assertEquals(0, encoded[1] & 0x80);
+    }
+
+    /**
+     * The headers are encoded the way a peer that indexes them would, so the
+     * decoder has to keep its dynamic table in step with the encoder.
+     */
+    @Test
+    public void testRoundTrip() throws Exception {
+        H2HeaderTable encoder = new H2HeaderTable();
+        H2HeaderTable decoder = new H2HeaderTable();
+
+        int first = roundTrip(encoder, decoder);
+        int second = roundTrip(encoder, decoder);
+        assertTrue("first " + first + " second " + second, second < first);
+        assertEquals(encoder.getDynamicEntryCount(), decoder.getDynamicEntryCount());
+
+        // credentials are never added to either table
+        assertEquals(0, encoder.getIndex("set-cookie", RESPONSE[RESPONSE.length - 1][1]));
+        assertEquals(0, decoder.getIndex("set-cookie", RESPONSE[RESPONSE.length - 1][1]));
+    }
+
+    private static int roundTrip(H2HeaderTable encoder, H2HeaderTable decoder) throws Exception {
+        ByteArrayOutputStream block = new ByteArrayOutputStream();
+        for (String[] header : RESPONSE) {
+            LiteralIndexType type = H2Headers.getLiteralIndexType(header[0]);
+            if (type == LiteralIndexType.NOINDEXING) {
+                type = LiteralIndexType.INDEX;
+            }
+            block.write(H2Headers.encodeHeader(encoder, header[0], header[1], type));
+        }
+        byte[] bytes = block.toByteArray();
+
+        WsByteBuffer buffer = ChannelFrameworkFactory.getBufferManager().wrap(bytes);
+        for (String[] header : RESPONSE) {
+            H2HeaderField field = H2Headers.decodeHeader(buffer, decoder);
+            assertEquals(header[0], field.getName());
+            assertEquals(header[1], field.getValue());
+        }
+        assertEquals(0, buffer.remaining());
+        return bytes.length;
+    }
+
+    /**
+     * Encodes the same set of response headers many times, as for the
+     * responses on a connection, and prints the size of the header blocks and
+     * the CPU time used for Huffman coding every string, which is what the
+     * encoder did before, and for Huffman coding only the strings that get
+     * shorter.
+     */
+    @Ignore
+    @Test
+    public void compareEncoders() throws Exception {
+        int responses = 100000;
+        for (int pass = 0; pass < 2; pass++) {
+            // the first pass warms up the JIT
+            long[] always = encodeAll(responses, true);
+            long[] shorter = encodeAll(responses, false);
+            if (pass == 1) {
+                print("always huffman", always, responses);
+                print("huffman when shorter", shorter, responses);
+            }
+        }
+    }
+
+    private static void print(String mode, long[] result, int responses) {
+        System.out.println(String.format("%-24s bytes/response = %.1f ns/header = %.1f", mode,
+                                         Double.valueOf((double) result[0] / responses),
+                                         Double.valueOf((double) result[1] / responses / RESPONSE.length)));
+    }
+
+    /**
+     * @return the total size of the header blocks and the elapsed nanoseconds
+     */
+    private static long[] encodeAll(int responses, boolean alwaysHuffman) throws Exception {
+        H2HeaderTable table = new H2HeaderTable();
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < responses; i++) {
+            for (String[] header : RESPONSE) {
+                LiteralIndexType type = H2Headers.getLiteralIndexType(header[0]);
+                if (alwaysHuffman) {
+                    bytes += encodeAlwaysHuffman(table, header[0], header[1], type);
+                } else {
+                    bytes += H2Headers.encodeHeader(table, header[0], header[1], type).length;
+                }
+            }
+        }
+        return new long[] { bytes, System.nanoTime() - start };
+    }
+
+    private static int encodeAlwaysHuffman(H2HeaderTable table, String name, String value, LiteralIndexType type) throws Exception {
+        int index = table.getIndex(name, value);
+        if (index > 0) {
+            return IntegerRepresentation.encode(index, ByteFormatType.INDEXED).length;
+        }
+        index = table.getNameIndex(name);
+        int length = IntegerRepresentation.encode(index, type).length;
+        if (index == 0) {
+            length += huffmanLength(name);
+        }
+        return length + huffmanLength(value);
+    }
+
+    private static int huffmanLength(String fragment) throws Exception {
+        byte[] huffman = HuffmanEncoder.convertAsciiToHuffman(fragment.getBytes(HpackConstants.HPACK_CHAR_SET));
+        return IntegerRepresentation.encode(huffman.length, ByteFormatType.HUFFMAN).length + huffman.length;
+    }
+}
@@ -38,7 +38,7 @@ public class PlatformHelper implements IPlatformHelper {
     	return true;
     }
 	public boolean isTransferToOS() {
-		// TODO Auto-generated method stub
-		return false;
+		// the TCP channel writes file channel buffers with FileChannel.transferTo
+		return true;
 	}
 }
@@ -46,6 +46,7 @@ import com.ibm.ws.webcontainer.osgi.interceptor.RegisterRequestInterceptor;
 import com.ibm.ws.webcontainer.osgi.interceptor.RequestInterceptor;
 import com.ibm.ws.webcontainer.osgi.servlet.EntryServletWrapper;
 import com.ibm.ws.webcontainer.servlet.FileServletWrapper;
+import com.ibm.ws.webcontainer.servlet.StaticResourceCache;
 import com.ibm.ws.webcontainer.servlet.ZipFileServletWrapper;
 import com.ibm.ws.webcontainer.util.DocumentRootUtils;
 import com.ibm.ws.webcontainer.util.EntryResource;
@@ -153,6 +154,7 @@ private ICollaboratorHelper collabHelper;
 	private IWebAppNameSpaceCollaborator webAppNameSpaceCollab;
 	private IWebAppSecurityCollaborator secCollab;
         private boolean exposeWebInfOnDispatch;  //PK36447
+	private StaticResourceCache staticResourceCache;
     
 	/**
 	 * 
@@ -255,6 +257,11 @@ private ICollaboratorHelper collabHelper;
 		optimizeFileServingSize=getFileServingIntegerAttribute("com.ibm.ws.webcontainer.optimizefileservingsize",optimizeFileServingSizeGlobal);
 //		mappedByteBufferSize=getFileServingIntegerAttribute("mappedByteBufferSize",mappedByteBufferSizeGlobal);
 		// end pq70834
+
+		if (WCCustomProperties.STATIC_RESOURCE_CACHE_SIZE > 0) {
+			staticResourceCache = new StaticResourceCache(_webapp.getModuleContainer(), WCCustomProperties.STATIC_RESOURCE_CACHE_SIZE,
+			                                              WCCustomProperties.STATIC_RESOURCE_CACHE_MAX_ENTRY_SIZE);
+		}
 	}
 
 	private int getFileServingIntegerAttribute (String attributeKey, int defaultValue){
@@ -1572,10 +1579,18 @@ private ICollaboratorHelper collabHelper;
 		return optimizeFileServingSize;
 	}
 
+	/**
+	 * @return the cache of static resources for this web module, or null if it is disabled
+	 */
+	public StaticResourceCache getStaticResourceCache() {
+		return staticResourceCache;
+	}
+
 
 	public void destroy() {
-		// TODO Auto-generated method stub
-		
+		if (staticResourceCache != null) {
+			staticResourceCache.destroy();
+		}
 	}
 
 
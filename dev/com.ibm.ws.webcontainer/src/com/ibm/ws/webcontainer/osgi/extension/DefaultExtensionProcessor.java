@@ -75,7 +75,7 @@ public class DefaultExtensionProcessor extends com.ibm.ws.webcontainer.extension
                                                                                     Entry entry)
   {
     // TODO Auto-generated method stub
-    return new EntryServletWrapper(_webapp, processor, entry);
+    return new EntryServletWrapper(_webapp, processor, entry, true);
   }
 
 }
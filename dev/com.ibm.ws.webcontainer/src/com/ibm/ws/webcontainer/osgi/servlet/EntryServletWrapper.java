@@ -27,11 +27,21 @@ public class EntryServletWrapper extends FileServletWrapper {
 
     private Entry entry;
     private long fileSize = -1; // PM92967
+    private final boolean moduleEntry;
     
     public EntryServletWrapper(IServletContext parent, DefaultExtensionProcessor parentProcessor, Entry entry)
+    {
+        this(parent, parentProcessor, entry, false);
+    }
+
+    /**
+     * @param moduleEntry true if the entry is in the web module container
+     */
+    public EntryServletWrapper(IServletContext parent, DefaultExtensionProcessor parentProcessor, Entry entry, boolean moduleEntry)
     {
         super(parent, parentProcessor);
         this.entry = entry;
+        this.moduleEntry = moduleEntry;
     }
     
     public String getServletName()
@@ -56,6 +66,12 @@ public class EntryServletWrapper extends FileServletWrapper {
         return null;
     }
     
+    protected String getCacheKey() {
+        // entries from extended document roots aren't watched by the
+        // notifier of the module, so only module entries are cached
+        return moduleEntry ? entry.getPath() : null;
+    }
+
     protected long getLastModified() {
         return entry.getLastModified();
     }
@@ -10,7 +10,9 @@
  *******************************************************************************/
 package com.ibm.ws.webcontainer.servlet;
 
+import java.io.EOFException;
 import java.io.FileInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -39,6 +41,7 @@ import com.ibm.websphere.servlet.error.ServletErrorReport;
 import com.ibm.websphere.servlet.event.ServletErrorEvent;
 import com.ibm.websphere.servlet.event.ServletEvent;
 import com.ibm.websphere.servlet.filter.ChainedResponse;
+import com.ibm.ws.ffdc.annotation.FFDCIgnore;
 import com.ibm.ws.kernel.security.thread.ThreadIdentityManager;
 import com.ibm.ws.webcontainer.extension.DefaultExtensionProcessor;
 import com.ibm.ws.webcontainer.srt.SRTOutputStream;
@@ -684,14 +687,22 @@ public abstract class FileServletWrapper implements IServletWrapper, IServletWra
                 nServicing++;
             }
             boolean isInclude = dispatchContext.isInclude();
+            // first and last byte of a requested range, -1 writes the whole file
+            long[] range = new long[] { -1, -1 };
+            StaticResourceCache.CachedResource cached = null;
             if (!isInclude) {
-                writeResponseBody = setResponseHeaders(request, response);
+                cached = getCachedResource(request);
+                writeResponseBody = setResponseHeaders(request, response, range, cached);
             }
             if (writeResponseBody) {
 
                 // begin pq65763
                 // <!-- move response writing into separate method -->
-                writeResponseToClient(request, response, wasreq);
+                if (cached != null) {
+                    writeCachedResponse(request, response, cached, range);
+                } else {
+                    writeResponseToClient(request, response, wasreq, range);
+                }
                 // end pq65763
             }
 
@@ -762,7 +773,39 @@ public abstract class FileServletWrapper implements IServletWrapper, IServletWra
   
   protected abstract long getFileSize(boolean update); // PM92967
 
-    private boolean setResponseHeaders(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+    /**
+     * The key of the resource in the static resource cache of the web module.
+     * Wrappers that return null are never cached.
+     */
+    protected String getCacheKey() {
+        return null;
+    }
+
+    private StaticResourceCache.CachedResource getCachedResource(HttpServletRequest req) {
+        StaticResourceCache cache = parentProcessor.getStaticResourceCache();
+        if (cache == null || isZip) {
+            return null;
+        }
+        String method = req.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return null;
+        }
+        String key = getCacheKey();
+        if (key == null) {
+            return null;
+        }
+        try {
+            return cache.get(key, this, context.getMimeType(req.getRequestURI()));
+        } catch (IOException ioe) {
+            // serve it from the file, which reports the problem
+            if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && logger.isLoggable(Level.FINE)) {
+                logger.logp(Level.FINE, CLASS_NAME, "getCachedResource", "unable to cache " + key, ioe);
+            }
+            return null;
+        }
+    }
+
+    private boolean setResponseHeaders(HttpServletRequest req, HttpServletResponse resp, long[] range, StaticResourceCache.CachedResource cached) throws IOException {
     if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && logger.isLoggable(Level.FINE)) {
         logger.entering(CLASS_NAME, "setResponseHeaders");
     }
@@ -824,6 +867,22 @@ public abstract class FileServletWrapper implements IServletWrapper, IServletWra
     // set the last modified date
     resp.setDateHeader("last-modified", FileModified);
 
+    if (cached != null) {
+        String ifNoneMatch = req.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            if (cached.matchesETag(ifNoneMatch)) {
+                resp.setHeader("ETag", cached.getETag(ifNoneMatch.indexOf("-gzip\"") != -1));
+                resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && logger.isLoggable(Level.FINE)) {
+                    logger.exiting(CLASS_NAME, "setResponseHeaders", "entity tag matched");
+                }
+                return false;
+            }
+            // If-None-Match takes precedence over If-Modified-Since
+            ModifiedSince = -1;
+        }
+    }
+
     // PK65384 check to ensure ModifiedSince is not -1 before comparing.
     long systemTime  =  System.currentTimeMillis();
     if (ModifiedSince != -1){
@@ -864,14 +923,211 @@ public abstract class FileServletWrapper implements IServletWrapper, IServletWra
           }
       }
     }
+
+    if (!WCCustomProperties.DISABLE_STATIC_FILE_RANGE_REQUESTS && !setRangeHeaders(req, resp, FileModified, range, cached)) {
+        if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && logger.isLoggable(Level.FINE)) {
+            logger.exiting(CLASS_NAME, "setResponseHeaders", "range not satisfiable");
+        }
+        return false;
+    }
     if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && logger.isLoggable(Level.FINE)) {
         logger.exiting(CLASS_NAME, "setResponseHeaders");
     }
     return true;
   }
 
+    /**
+     * Handle a single byte range request (RFC 7233). Requests for multiple
+     * ranges and malformed Range headers are ignored and get the whole file.
+     * Ranges are not offered once the response writer is in use, since the
+     * file is then transcoded and the byte offsets no longer apply.
+     *
+     * @param range set to the first and last byte to write for a partial response
+     * @return false if the range can't be satisfied and an error was sent
+     */
+    private boolean setRangeHeaders(HttpServletRequest req, HttpServletResponse resp, long fileModified, long[] range,
+                                    StaticResourceCache.CachedResource cached) throws IOException {
+        long fileSize = this.getFileSize(false);
+        ServletResponse wasres = ServletUtil.unwrapResponse(resp);
+        if (fileSize < 0 || ((wasres instanceof IExtendedResponse) && ((IExtendedResponse) wasres).isOutputWritten())
+            || ((wasres instanceof SRTServletResponse) && ((SRTServletResponse) wasres).writerObtained())) {
+            return true;
+        }
+        resp.setHeader("Accept-Ranges", "bytes");
+
+        String rangeHeader = req.getHeader("Range");
+        if (rangeHeader == null || !"GET".equals(req.getMethod())) {
+            return true;
+        }
+        // If-Range holds the last modified date or the entity tag of the version
+        // the client has part of. Only send the range if it is still current.
+        String ifRangeHeader = req.getHeader("If-Range");
+        if (ifRangeHeader != null && ifRangeHeader.trim().startsWith("\"")) {
+            if (cached == null || !ifRangeHeader.trim().equals(cached.getETag(false))) {
+                return true;
+            }
+        } else if (ifRangeHeader != null) {
+            long ifRange = -1;
+            try {
+                ifRange = req.getDateHeader("If-Range");
+            } catch (IllegalArgumentException iae) {
+                ifRange = -1;
+            }
+            if (ifRange == -1 || ifRange / 1000 != fileModified / 1000) {
+                return true;
+            }
+        }
+
+        long[] requested = parseRange(rangeHeader, fileSize);
+        if (requested == null) {
+            return true;
+        }
+        if (requested.length == 0) {
+            if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && logger.isLoggable(Level.FINE)) {
+                logger.logp(Level.FINE, CLASS_NAME, "setRangeHeaders", "range not satisfiable: " + rangeHeader + ", fileSize->" + fileSize);
+            }
+            resp.setHeader("Content-Range", "bytes */" + fileSize);
+            resp.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return false;
+        }
+
+        range[0] = requested[0];
+        range[1] = requested[1];
+        long length = range[1] - range[0] + 1;
+        if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && logger.isLoggable(Level.FINE)) {
+            logger.logp(Level.FINE, CLASS_NAME, "setRangeHeaders", "sending bytes " + range[0] + "-" + range[1] + " of " + fileSize);
+        }
+        resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        resp.setHeader("Content-Range", "bytes " + range[0] + "-" + range[1] + "/" + fileSize);
+        if (length <= Integer.MAX_VALUE) {
+            resp.setContentLength((int) length);
+        }
+        return true;
+    }
+
+    /**
+     * Parse a Range header holding a single byte range.
+     *
+     * @return the first and last byte of the range, an empty array if the range
+     *         can't be satisfied, or null if the header should be ignored
+     */
+    static long[] parseRange(String rangeHeader, long fileSize) {
+        String value = rangeHeader.trim();
+        if (!value.regionMatches(true, 0, "bytes=", 0, 6)) {
+            return null;
+        }
+        value = value.substring(6).trim();
+        int dash = value.indexOf('-');
+        if (dash == -1 || value.indexOf(',') != -1) {
+            return null;
+        }
+        long first;
+        long last;
+        try {
+            String firstStr = value.substring(0, dash).trim();
+            String lastStr = value.substring(dash + 1).trim();
+            if (firstStr.length() == 0) {
+                // suffix range, the final bytes of the file
+                if (lastStr.length() == 0) {
+                    return null;
+                }
+                long suffix = Long.parseLong(lastStr);
+                if (suffix <= 0) {
+                    return suffix == 0 ? new long[0] : null;
+                }
+                first = Math.max(0, fileSize - suffix);
+                last = fileSize - 1;
+            } else {
+                first = Long.parseLong(firstStr);
+                if (first < 0) {
+                    return null;
+                }
+                if (lastStr.length() == 0) {
+                    // open ended range, to the end of the file
+                    last = fileSize - 1;
+                } else {
+                    last = Long.parseLong(lastStr);
+                    if (last < first) {
+                        return null;
+                    }
+                }
+                if (last >= fileSize) {
+                    last = fileSize - 1;
+                }
+            }
+        } catch (NumberFormatException nfe) {
+            return null;
+        }
+        if (first >= fileSize) {
+            return new long[0];
+        }
+        return new long[] { first, last };
+    }
+
     protected void writeResponseToClient(HttpServletRequest request, HttpServletResponse resp, IExtendedRequest wasreq) throws ServletException,
             IOException {
+        writeResponseToClient(request, resp, wasreq, new long[] { -1, -1 });
+    }
+
+    /**
+     * Write a resource from the static resource cache to the client, gzip
+     * encoded if the client accepts it and the whole resource is sent.
+     */
+    @FFDCIgnore(IOException.class)
+    private void writeCachedResponse(HttpServletRequest request, HttpServletResponse resp, StaticResourceCache.CachedResource cached, long[] range)
+                    throws IOException {
+        byte[] body = cached.getBytes();
+        int offset = 0;
+        int length = body.length;
+        ServletOutputStream os;
+        try {
+            os = resp.getOutputStream();
+        } catch (IllegalStateException isEx) {
+            if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && logger.isLoggable(Level.FINE)) {
+                logger.logp(Level.FINE, CLASS_NAME, "writeCachedResponse", "going to try to use the response writer");
+            }
+            resp.setHeader("ETag", cached.getETag(false));
+            writeByBytes(resp, null, range);
+            return;
+        }
+
+        boolean gzip = false;
+        if (range[0] != -1) {
+            offset = (int) range[0];
+            length = (int) (range[1] - range[0] + 1);
+        } else if (cached.getGzipBytes() != null) {
+            resp.addHeader("Vary", "Accept-Encoding");
+            ServletResponse wasres = ServletUtil.unwrapResponse(resp);
+            if (StaticResourceCache.acceptsGzip(request.getHeader("Accept-Encoding")) && !resp.containsHeader("Content-Encoding")
+                && (!(wasres instanceof IExtendedResponse) || !((IExtendedResponse) wasres).isOutputWritten())) {
+                gzip = true;
+                body = cached.getGzipBytes();
+                length = body.length;
+                resp.setHeader("Content-Encoding", "gzip");
+                resp.setContentLength(length);
+            }
+        }
+        resp.setHeader("ETag", cached.getETag(gzip));
+        if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && logger.isLoggable(Level.FINE)) {
+            logger.logp(Level.FINE, CLASS_NAME, "writeCachedResponse", "offset->" + offset + ", length->" + length + ", gzip->" + gzip);
+        }
+        try {
+            os.write(body, offset, length);
+        } catch (IOException ioexp) {
+            // usually the client closed the connection, which is rethrown
+            // without an FFDC as on the writeByBytes path
+            if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && logger.isLoggable(Level.FINE)) {
+                logger.logp(Level.FINE, CLASS_NAME, "writeCachedResponse", "write failed: " + ioexp);
+            }
+            throw ioexp;
+        }
+    }
+
+    /**
+     * Write the file, or the range of it set by setResponseHeaders, to the client.
+     */
+    protected void writeResponseToClient(HttpServletRequest request, HttpServletResponse resp, IExtendedRequest wasreq, long[] range) throws ServletException,
+            IOException {
     // LIBERTY InputStream in = null;
     boolean isWritten = false;
     boolean rethrowIOException = false;
@@ -887,6 +1143,12 @@ public abstract class FileServletWrapper implements IServletWrapper, IServletWra
         int bufferSize = wsos.getBufferSize();
         int totalWritten = ((WSServletOutputStream) os).getTotal();
         long fileSize = this.getFileSize(false); // PM92967, change from getContentLength to getFileSize
+        long position = 0;
+        long count = fileSize;
+        if (range[0] != -1) {
+            position = range[0];
+            count = range[1] - range[0] + 1;
+        }
 
         RandomAccessFile raf = null;
         FileChannel channel = null;
@@ -903,11 +1165,12 @@ public abstract class FileServletWrapper implements IServletWrapper, IServletWra
           // if (reqState==null||!reqState.isInvokedFilters()||){
                     if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && logger.isLoggable(Level.FINE)) {
                         logger.logp(Level.FINE, CLASS_NAME, "writeResponseToClient", "totalWritten->" + totalWritten + " bufferSize->" + bufferSize
-                                + ", actual file size->" + fileSize + ", isTransferToOS->" + platformHelper.isTransferToOS());
+                                + ", actual file size->" + fileSize + ", position->" + position + ", count->" + count
+                                + ", isTransferToOS->" + platformHelper.isTransferToOS());
           }
                     if (totalWritten == 0 // don't write out if somebody (a
                             // filter?) has written stuff
-                            && (bufferSize < fileSize) // don't write out if the
+                            && (bufferSize < count) // don't write out if the
                             // file size is less than
                             // the buffer size. They
                             // could technically
@@ -916,17 +1179,19 @@ public abstract class FileServletWrapper implements IServletWrapper, IServletWra
                             // the case.
                             && bufferSize == SRTServletResponse.DEFAULT_BUFFER_SIZE
                             && optimizeFileServingSize != -1
-              && (fileSize >= optimizeFileServingSize)
+              && (count >= optimizeFileServingSize)
               && platformHelper.isTransferToOS()
-                            && request.getProtocol().equalsIgnoreCase("http")) {
+                            && !request.isSecure()) { // SSL needs the data in buffers to encrypt it
 
             WebAppDispatcherContext dispatchCtx = (WebAppDispatcherContext) wasreq.getWebAppDispatcherContext();
                         if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && logger.isLoggable(Level.FINE)) {
                             logger.logp(Level.FINE, CLASS_NAME, "writeResponseToClient", "isInclude->" + dispatchCtx.isInclude() + " isForward->"
                                     + dispatchCtx.isForward());
             }
-                        if (!dispatchCtx.isInclude() && getRandomAccessFile() != null) {
+                        if (!dispatchCtx.isInclude()) {
               raf = getRandomAccessFile();
+            }
+                        if (raf != null) {
               channel = raf.getChannel();
 
                             if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && logger.isLoggable(Level.FINE)) { // 306998.15
@@ -934,7 +1199,7 @@ public abstract class FileServletWrapper implements IServletWrapper, IServletWra
               }
               isWritten = true;
               // LIBERTY WI #3179 BEGIN
-              ((SRTOutputStream) os).write(channel);
+              ((SRTOutputStream) os).write(channel, position, count);
               // WsByteBuffer[] wsBufArray = new WsByteBuffer[1];
               //
               // //fcw.setBufferSize(maxBufferSize);
@@ -958,7 +1223,7 @@ public abstract class FileServletWrapper implements IServletWrapper, IServletWra
             if (!isWritten) {
         isWritten = true;
         rethrowIOException = true;
-        writeByBytes(resp, os);
+        writeByBytes(resp, os, range);
       }
 
       // END ZHJ
@@ -968,7 +1233,7 @@ public abstract class FileServletWrapper implements IServletWrapper, IServletWra
                     logger.logp(Level.FINE, CLASS_NAME, "writeResponseToClient", "going to try to use the response writer");
                 }
         isWritten = true;
-        writeByBytes(resp, null);
+        writeByBytes(resp, null, range);
             } else {
             	//this should not happen since I believe the IllegalStateException can only be thrown before isWritten is set
             	com.ibm.wsspi.webcontainer.util.FFDCWrapper.processException(isEx,
@@ -984,13 +1249,16 @@ public abstract class FileServletWrapper implements IServletWrapper, IServletWra
     }
   }
 
-    private void writeByBytes(HttpServletResponse resp, ServletOutputStream os) throws IOException {
+    private void writeByBytes(HttpServletResponse resp, ServletOutputStream os, long[] range) throws IOException {
         if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && logger.isLoggable(Level.FINE)) {
-      logger.logp(Level.FINE, CLASS_NAME, "writeByBytes", "resp->" + resp + " os->" + os);
+      logger.logp(Level.FINE, CLASS_NAME, "writeByBytes", "resp->" + resp + " os->" + os + " range->" + range[0] + "-" + range[1]);
     }
     InputStream in = null;
         try {
       in = getInputStream();
+            if (range[0] != -1) {
+                in = new RangeInputStream(in, range[0], range[1] - range[0] + 1);
+            }
             if (os != null) {
         int bufferSize = parentProcessor.getDefaultBufferSize();
                 if (in instanceof FileInputStream) { // PK90207
@@ -1172,4 +1440,63 @@ public abstract class FileServletWrapper implements IServletWrapper, IServletWra
       return false;
   }
 
+
+    /**
+     * Reads the bytes of a range of the wrapped stream, used to send a partial
+     * response when the file can't be sent from a file channel (zip entries,
+     * SSL connections and small files).
+     */
+    private static class RangeInputStream extends FilterInputStream {
+        private long remaining;
+
+        RangeInputStream(InputStream in, long position, long count) throws IOException {
+            super(in);
+            while (position > 0) {
+                long skipped = in.skip(position);
+                if (skipped <= 0) {
+                    // some streams only skip what is buffered, fall back to reading
+                    if (in.read() == -1) {
+                        throw new EOFException();
+                    }
+                    skipped = 1;
+                }
+                position -= skipped;
+            }
+            this.remaining = count;
+        }
+
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b != -1) {
+                remaining--;
+            }
+            return b;
+        }
+
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = in.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(Math.min(n, remaining));
+            if (skipped > 0) {
+                remaining -= skipped;
+            }
+            return skipped;
+        }
+
+        public int available() throws IOException {
+            return (int) Math.min(in.available(), remaining);
+        }
+    }
 }
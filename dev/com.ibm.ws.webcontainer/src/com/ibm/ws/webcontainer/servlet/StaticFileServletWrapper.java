@@ -22,7 +22,6 @@ import com.ibm.wsspi.webcontainer.servlet.IServletContext;
 
 public class StaticFileServletWrapper extends FileServletWrapper {
     private File file;
-    RandomAccessFile raf = null;
     private long fileSize = -1; // PM92967
     
     public StaticFileServletWrapper(IServletContext parent, DefaultExtensionProcessor parentProcessor, File file)
@@ -46,10 +45,14 @@ public class StaticFileServletWrapper extends FileServletWrapper {
     }
     
     protected RandomAccessFile getRandomAccessFile() throws IOException {
-    	raf= new RandomAccessFile(file,"rw");
-    	return raf;
+    	// opened read only, the caller closes it once the file has been written
+    	return new RandomAccessFile(file,"r");
     }
     
+    protected String getCacheKey() {
+        return "file:" + file.getAbsolutePath();
+    }
+
     protected long getLastModified() {
         return file.lastModified();
     }
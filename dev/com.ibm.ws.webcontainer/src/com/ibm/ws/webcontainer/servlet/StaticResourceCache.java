@@ -0,0 +1,432 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.webcontainer.servlet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+import com.ibm.wsspi.adaptable.module.Container;
+import com.ibm.wsspi.adaptable.module.DefaultNotification;
+import com.ibm.wsspi.adaptable.module.Notifier;
+import com.ibm.wsspi.adaptable.module.Notifier.Notification;
+import com.ibm.wsspi.adaptable.module.Notifier.NotificationListener;
+import com.ibm.wsspi.adaptable.module.UnableToAdaptException;
+import com.ibm.wsspi.webcontainer.logging.LoggerFactory;
+
+/**
+ * In memory cache of the static resources served by the file serving
+ * wrappers of one web module.
+ * <p>
+ * Each entry holds the bytes of the resource, a strong entity tag and, for
+ * compressible content types, a gzip encoded copy, so repeated requests are
+ * answered without touching the disk or compressing again. The cache is
+ * bounded by the total number of bytes held (both variants count) and evicts
+ * resources with the clock algorithm: a hit only sets a flag on the entry,
+ * and the eviction sweep removes entries that weren't hit since it last
+ * passed them, so concurrent requests never contend on a shared lock.
+ * <p>
+ * Entries are dropped when the artifact notifier of the module container
+ * reports a change to their path, and are also checked against the last
+ * modified time and size of the resource on every hit, which covers files
+ * served from extended document roots the notifier doesn't watch.
+ */
+public class StaticResourceCache implements NotificationListener {
+
+    protected static final Logger logger = LoggerFactory.getInstance().getLogger("com.ibm.ws.webcontainer.servlet");
+    private static final String CLASS_NAME = "com.ibm.ws.webcontainer.servlet.StaticResourceCache";
+
+    /** Keep the gzip variant only if it saves at least 1/8th of the size */
+    private static final int MIN_GZIP_SAVING_SHIFT = 3;
+
+    /** The largest byte array a resource is read into, larger files are never cached */
+    static final long MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * An immutable cached copy of a static resource.
+     */
+    public static final class CachedResource {
+        private final byte[] bytes;
+        private final byte[] gzipBytes;
+        private final long lastModified;
+        private final String etag;
+        private final String gzipETag;
+
+        CachedResource(byte[] bytes, byte[] gzipBytes, long lastModified) {
+            this.bytes = bytes;
+            this.gzipBytes = gzipBytes;
+            this.lastModified = lastModified;
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length);
+            String tag = Long.toHexString(lastModified) + '-' + Integer.toHexString(bytes.length) + '-' + Long.toHexString(crc.getValue());
+            this.etag = '"' + tag + '"';
+            this.gzipETag = '"' + tag + "-gzip\"";
+        }
+
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return the gzip encoded bytes, or null if the resource isn't worth compressing
+         */
+        public byte[] getGzipBytes() {
+            return gzipBytes;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * @return the entity tag of the identity or the gzip encoded representation
+         */
+        public String getETag(boolean gzip) {
+            return gzip ? gzipETag : etag;
+        }
+
+        /**
+         * @return true if an If-None-Match or If-Range header value matches
+         *         either representation of this resource
+         */
+        public boolean matchesETag(String header) {
+            if (header == null) {
+                return false;
+            }
+            for (String tag : header.split(",")) {
+                tag = tag.trim();
+                if (tag.equals("*")) {
+                    return true;
+                }
+                if (tag.startsWith("W/")) {
+                    // weak comparison is fine for If-None-Match
+                    tag = tag.substring(2);
+                }
+                if (tag.equals(etag) || tag.equals(gzipETag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int getCachedSize() {
+            return bytes.length + (gzipBytes == null ? 0 : gzipBytes.length);
+        }
+    }
+
+    /**
+     * A cached resource with the reference flag of the clock algorithm.
+     */
+    private static final class Entry {
+        final CachedResource resource;
+        volatile boolean referenced = false;
+
+        Entry(CachedResource resource) {
+            this.resource = resource;
+        }
+    }
+
+    private final long maxSize;
+    private final long maxEntrySize;
+    private final Notifier notifier;
+    private final AtomicLong currentSize = new AtomicLong();
+
+    private final ConcurrentHashMap<String, Entry> cache = new ConcurrentHashMap<String, Entry>(64);
+
+    /** Position of the eviction sweep, guarded by evictionLock */
+    private Iterator<Map.Entry<String, Entry>> clockHand = null;
+    private final Object evictionLock = new Object();
+
+    /**
+     * @param moduleContainer the container of the web module, may be null
+     * @param maxSize the number of bytes the cache may hold
+     * @param maxEntrySize the largest resource that is cached
+     */
+    public StaticResourceCache(Container moduleContainer, long maxSize, long maxEntrySize) {
+        this.maxSize = maxSize;
+        this.maxEntrySize = Math.min(Math.min(maxEntrySize, maxSize), MAX_ARRAY_SIZE);
+        Notifier moduleNotifier = null;
+        if (moduleContainer != null) {
+            try {
+                moduleNotifier = moduleContainer.adapt(Notifier.class);
+                if (moduleNotifier != null && !moduleNotifier.registerForNotifications(new DefaultNotification(moduleContainer, "/"), this)) {
+                    moduleNotifier = null;
+                }
+            } catch (UnableToAdaptException e) {
+                moduleNotifier = null;
+            } catch (IllegalArgumentException e) {
+                moduleNotifier = null;
+            }
+        }
+        this.notifier = moduleNotifier;
+        if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && logger.isLoggable(Level.FINE)) {
+            logger.logp(Level.FINE, CLASS_NAME, "<init>", "maxSize->" + maxSize + ", maxEntrySize->" + this.maxEntrySize
+                                                          + ", notifier->" + this.notifier);
+        }
+    }
+
+    /**
+     * Return the cached copy of the resource served by the wrapper, reading
+     * it into the cache if it is missing or has changed.
+     *
+     * @param key the path of the resource in the module
+     * @param wrapper the wrapper serving the resource
+     * @param mimeType the content type of the resource, used to decide if it is compressed
+     * @return the cached resource, or null if it can't be cached
+     */
+    CachedResource get(String key, FileServletWrapper wrapper, String mimeType) throws IOException {
+        long lastModified = wrapper.getLastModified();
+        long size = wrapper.getFileSize(true);
+        Entry entry = cache.get(key);
+        if (entry != null) {
+            if (entry.resource.lastModified == lastModified && entry.resource.bytes.length == size) {
+                entry.referenced = true;
+                return entry.resource;
+            }
+            removeEntry(key, entry);
+        }
+        // maxEntrySize is at most MAX_ARRAY_SIZE, so the size fits in an int below
+        if (size < 0 || size > maxEntrySize || (lastModified == 0 && !wrapper.isAvailable())) {
+            return null;
+        }
+
+        CachedResource resource = load(wrapper, (int) size, lastModified, mimeType);
+        if (resource == null) {
+            return null;
+        }
+        put(key, resource);
+        if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && logger.isLoggable(Level.FINE)) {
+            logger.logp(Level.FINE, CLASS_NAME, "get", "cached " + key + ", size->" + size + ", gzip->"
+                                                       + (resource.gzipBytes == null ? -1 : resource.gzipBytes.length));
+        }
+        return resource;
+    }
+
+    /**
+     * Add a resource, evicting others if the cache is then over its size.
+     */
+    void put(String key, CachedResource resource) {
+        Entry old = cache.put(key, new Entry(resource));
+        if (old != null) {
+            currentSize.addAndGet(-old.resource.getCachedSize());
+        }
+        if (currentSize.addAndGet(resource.getCachedSize()) > maxSize) {
+            evict(key);
+        }
+    }
+
+    /**
+     * @return the cached resource for the key, or null if it isn't cached
+     */
+    CachedResource getCached(String key) {
+        Entry entry = cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        entry.referenced = true;
+        return entry.resource;
+    }
+
+    long getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    long getCurrentSize() {
+        return currentSize.get();
+    }
+
+    /**
+     * Sweep the clock hand over the entries until the cache fits again. An
+     * entry that was hit since the last pass gets a second chance, any other
+     * entry is removed. Two full passes are enough to free every entry.
+     *
+     * @param added the key just added, which is kept
+     */
+    private void evict(String added) {
+        synchronized (evictionLock) {
+            int budget = 2 * cache.size() + 2;
+            while (currentSize.get() > maxSize && budget-- > 0) {
+                if (clockHand == null || !clockHand.hasNext()) {
+                    clockHand = cache.entrySet().iterator();
+                    if (!clockHand.hasNext()) {
+                        break;
+                    }
+                }
+                Map.Entry<String, Entry> candidate = clockHand.next();
+                Entry entry = candidate.getValue();
+                if (candidate.getKey().equals(added)) {
+                    continue;
+                }
+                if (entry.referenced) {
+                    entry.referenced = false;
+                } else {
+                    removeEntry(candidate.getKey(), entry);
+                }
+            }
+        }
+    }
+
+    private void removeEntry(String key, Entry entry) {
+        if (cache.remove(key, entry)) {
+            currentSize.addAndGet(-entry.resource.getCachedSize());
+        }
+    }
+
+    private CachedResource load(FileServletWrapper wrapper, int size, long lastModified, String mimeType) throws IOException {
+        byte[] bytes = new byte[size];
+        InputStream in = wrapper.getInputStream();
+        try {
+            int read = 0;
+            while (read < size) {
+                int n = in.read(bytes, read, size - read);
+                if (n == -1) {
+                    // changed while it was read, serve it uncached this time
+                    return null;
+                }
+                read += n;
+            }
+            if (in.read() != -1) {
+                return null;
+            }
+        } finally {
+            in.close();
+        }
+
+        byte[] gzipBytes = null;
+        if (isCompressible(mimeType) && size > 0) {
+            ByteArrayOutputStream bytesOut = new ByteArrayOutputStream(size / 2 + 32);
+            GZIPOutputStream gzipOut = new GZIPOutputStream(bytesOut);
+            gzipOut.write(bytes);
+            gzipOut.close();
+            if (bytesOut.size() < size - (size >> MIN_GZIP_SAVING_SHIFT)) {
+                gzipBytes = bytesOut.toByteArray();
+            }
+        }
+        return new CachedResource(bytes, gzipBytes, lastModified);
+    }
+
+    /**
+     * Text based content compresses well, images, archives and media are
+     * already compressed.
+     */
+    static boolean isCompressible(String mimeType) {
+        if (mimeType == null) {
+            return false;
+        }
+        String type = mimeType.toLowerCase();
+        return type.startsWith("text/")
+               || type.endsWith("javascript")
+               || type.endsWith("json")
+               || type.endsWith("xml")
+               || type.equals("image/svg+xml")
+               || type.equals("image/x-icon")
+               || type.equals("application/x-font-ttf")
+               || type.equals("font/ttf");
+    }
+
+    /**
+     * @return true if the Accept-Encoding header accepts gzip
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String name = coding;
+            String q = null;
+            int semi = coding.indexOf(';');
+            if (semi != -1) {
+                name = coding.substring(0, semi);
+                q = coding.substring(semi + 1).trim();
+            }
+            name = name.trim();
+            if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip") || name.equals("*")) {
+                if (q != null && q.startsWith("q=")) {
+                    try {
+                        return Float.parseFloat(q.substring(2)) > 0;
+                    } catch (NumberFormatException nfe) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drop the resource at the path, and everything beneath it if it's a directory.
+     */
+    public void remove(String path) {
+        Entry old = cache.remove(path);
+        if (old != null) {
+            // a cached file, nothing can be cached beneath it
+            currentSize.addAndGet(-old.resource.getCachedSize());
+            return;
+        }
+        String dir = path.endsWith("/") ? path : path + '/';
+        for (Map.Entry<String, Entry> entry : cache.entrySet()) {
+            if (entry.getKey().startsWith(dir)) {
+                removeEntry(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    public void clear() {
+        for (Map.Entry<String, Entry> entry : cache.entrySet()) {
+            removeEntry(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Stop listening for changes to the module and drop the cached resources.
+     */
+    public void destroy() {
+        if (notifier != null) {
+            notifier.removeListener(this);
+        }
+        clear();
+    }
+
+    @Override
+    public void notifyEntryChange(Notification added, Notification removed, Notification modified) {
+        invalidate(added.getPaths());
+        invalidate(removed.getPaths());
+        invalidate(modified.getPaths());
+    }
+
+    private void invalidate(Collection<String> paths) {
+        for (String path : paths) {
+            if (com.ibm.ejs.ras.TraceComponent.isAnyTracingEnabled() && logger.isLoggable(Level.FINE)) {
+                logger.logp(Level.FINE, CLASS_NAME, "invalidate", "path->" + path);
+            }
+            if (path.equals("/")) {
+                clear();
+                return;
+            }
+            remove(path);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StaticResourceCache[entries=" + cache.size() + " size=" + currentSize.get() + " maxSize=" + maxSize + ']';
+    }
+}
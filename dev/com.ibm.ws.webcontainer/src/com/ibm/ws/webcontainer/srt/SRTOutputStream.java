@@ -156,8 +156,24 @@ public class SRTOutputStream extends javax.servlet.ServletOutputStream implement
   // LIBERTY WI #3179 BEGIN
   public void write(FileChannel fileChannel) throws java.io.IOException
   {
+    if (_observer != null)
+      _observer.alertFirstWrite();
     ((HttpOutputStream) _conn).writeFile(fileChannel);
   }
+
+  /**
+   * Write a region of the file channel, using the file channel directly if
+   * the connection allows it.
+   * @param fileChannel
+   * @param position the file position of the first byte to write
+   * @param count the number of bytes to write
+   */
+  public void write(FileChannel fileChannel, long position, long count) throws java.io.IOException
+  {
+    if (_observer != null)
+      _observer.alertFirstWrite();
+    ((HttpOutputStream) _conn).writeFile(fileChannel, position, count);
+  }
   // LIBERTY WI #3179 END
 
 }
@@ -1620,6 +1620,11 @@ public abstract class WebApp extends BaseContainer implements ServletContext, IS
         if (globalPatternsCount > 1) {
             logger.logp(Level.SEVERE, CLASS_NAME, "initializeStaticFileHandler", "error.adding.servlet.mapping.file.handler", "/*");
         }
+
+        // only the patterns of the processor are used when the mappings go to the proxy
+        if (proxyReqProcessor != null && fileExtensionProcessor instanceof DefaultExtensionProcessor) {
+            ((DefaultExtensionProcessor) fileExtensionProcessor).destroy();
+        }
     }
 
     private void initializeInvokerProcessor() {
@@ -3924,8 +3929,14 @@ public abstract class WebApp extends BaseContainer implements ServletContext, IS
 
                     if (p instanceof IServletWrapper)
                         ((IServletWrapper) p).destroy();
+                    else if (p instanceof DefaultExtensionProcessor)
+                        ((DefaultExtensionProcessor) p).destroy(); // releases the static resource cache
                 }
 
+                // the processor behind the SimpleFileServlet that dynacache wraps is not a target
+                if (defaultExtProc != null)
+                    defaultExtProc.destroy();
+
                 super.destroy();
 
                 if (filterManager != null && filterManager.areFiltersDefined())
@@ -304,6 +304,11 @@ public class WCCustomProperties {
     //start 17.0.0.4
     public static boolean USE_ORIGINAL_QS_IN_FORWARD_IF_NULL; //PI81569
 
+    public static boolean DISABLE_STATIC_FILE_RANGE_REQUESTS;
+
+    public static long STATIC_RESOURCE_CACHE_SIZE;
+    public static long STATIC_RESOURCE_CACHE_MAX_ENTRY_SIZE;
+
     static {
         setCustomPropertyVariables(); //initilizes all the variables
     }
@@ -393,6 +398,9 @@ public class WCCustomProperties {
         WCCustomProperties.FullyQualifiedPropertiesMap.put("usemaxrequestsizeformultipart", "com.ibm.ws.webcontainer.usemaxrequestsizeformultipart"); //PI75528
         WCCustomProperties.FullyQualifiedPropertiesMap.put("enablemultireadofpostdata", "com.ibm.ws.webcontainer.enablemultireadofpostdata");
         WCCustomProperties.FullyQualifiedPropertiesMap.put("useoriginalqsinforwardifnull", "com.ibm.ws.webcontainer.useoriginalqsinforwardifnull"); //PI81569
+        WCCustomProperties.FullyQualifiedPropertiesMap.put("disablestaticfilerangerequests", "com.ibm.ws.webcontainer.disablestaticfilerangerequests");
+        WCCustomProperties.FullyQualifiedPropertiesMap.put("staticresourcecachesize", "com.ibm.ws.webcontainer.staticresourcecachesize");
+        WCCustomProperties.FullyQualifiedPropertiesMap.put("staticresourcecachemaxentrysize", "com.ibm.ws.webcontainer.staticresourcecachemaxentrysize");
     }
 
     //some properties require "com.ibm.ws.webcontainer." on the front
@@ -770,6 +778,12 @@ public class WCCustomProperties {
         //Start 17.0.0.4
         USE_ORIGINAL_QS_IN_FORWARD_IF_NULL = Boolean.valueOf(WebContainer.getWebContainerProperties().getProperty("com.ibm.ws.webcontainer.useoriginalqsinforwardifnull")).booleanValue(); //PI81569
 
+        DISABLE_STATIC_FILE_RANGE_REQUESTS = Boolean.valueOf(WebContainer.getWebContainerProperties().getProperty("com.ibm.ws.webcontainer.disablestaticfilerangerequests")).booleanValue();
+
+        // bytes of static content cached per web module, 0 disables the cache
+        STATIC_RESOURCE_CACHE_SIZE = Long.valueOf(customProps.getProperty("com.ibm.ws.webcontainer.staticresourcecachesize", "0")).longValue();
+        STATIC_RESOURCE_CACHE_MAX_ENTRY_SIZE = Long.valueOf(customProps.getProperty("com.ibm.ws.webcontainer.staticresourcecachemaxentrysize", "1048576")).longValue();
+
     }
 
 }
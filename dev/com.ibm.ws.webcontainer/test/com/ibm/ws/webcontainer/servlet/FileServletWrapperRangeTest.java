@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.webcontainer.servlet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class FileServletWrapperRangeTest {
+
+    private static final long SIZE = 1000;
+
+    @Test
+    public void testClosedRange() {
+        assertArrayEquals(new long[] { 0, 499 }, FileServletWrapper.parseRange("bytes=0-499", SIZE));
+        assertArrayEquals(new long[] { 500, 999 }, FileServletWrapper.parseRange(" BYTES=500 - 999 ", SIZE));
+        assertArrayEquals(new long[] { 10, 10 }, FileServletWrapper.parseRange("bytes=10-10", SIZE));
+        // the last byte is limited to the end of the file
+        assertArrayEquals(new long[] { 900, 999 }, FileServletWrapper.parseRange("bytes=900-5000", SIZE));
+    }
+
+    @Test
+    public void testOpenEndedRange() {
+        assertArrayEquals(new long[] { 100, 999 }, FileServletWrapper.parseRange("bytes=100-", SIZE));
+        assertArrayEquals(new long[] { 999, 999 }, FileServletWrapper.parseRange("bytes=999-", SIZE));
+        assertArrayEquals(new long[] { 0, 999 }, FileServletWrapper.parseRange("bytes=0-", SIZE));
+    }
+
+    @Test
+    public void testSuffixRange() {
+        assertArrayEquals(new long[] { 900, 999 }, FileServletWrapper.parseRange("bytes=-100", SIZE));
+        assertArrayEquals(new long[] { 999, 999 }, FileServletWrapper.parseRange("bytes=-1", SIZE));
+        // a suffix longer than the file is the whole file
+        assertArrayEquals(new long[] { 0, 999 }, FileServletWrapper.parseRange("bytes=-5000", SIZE));
+    }
+
+    @Test
+    public void testMultipleRangesIgnored() {
+        assertNull(FileServletWrapper.parseRange("bytes=0-99,200-299", SIZE));
+        assertNull(FileServletWrapper.parseRange("bytes=0-99, -100", SIZE));
+    }
+
+    @Test
+    public void testUnsatisfiableRange() {
+        assertEquals(0, FileServletWrapper.parseRange("bytes=1000-", SIZE).length);
+        assertEquals(0, FileServletWrapper.parseRange("bytes=1000-1999", SIZE).length);
+        assertEquals(0, FileServletWrapper.parseRange("bytes=-0", SIZE).length);
+        assertEquals(0, FileServletWrapper.parseRange("bytes=0-", 0).length);
+    }
+
+    @Test
+    public void testMalformedRangeIgnored() {
+        assertNull(FileServletWrapper.parseRange("items=0-99", SIZE));
+        assertNull(FileServletWrapper.parseRange("bytes=100", SIZE));
+        assertNull(FileServletWrapper.parseRange("bytes=-", SIZE));
+        assertNull(FileServletWrapper.parseRange("bytes=500-100", SIZE));
+        assertNull(FileServletWrapper.parseRange("bytes=a-b", SIZE));
+        assertNull(FileServletWrapper.parseRange("bytes=--5", SIZE));
+    }
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package com.ibm.ws.webcontainer.servlet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class StaticResourceCacheTest {
+
+    @Test
+    public void testAcceptsGzip() {
+        assertTrue(StaticResourceCache.acceptsGzip("gzip, deflate, br"));
+        assertTrue(StaticResourceCache.acceptsGzip("deflate;q=0.5, GZIP;q=0.8"));
+        assertTrue(StaticResourceCache.acceptsGzip("*"));
+        assertFalse(StaticResourceCache.acceptsGzip(null));
+        assertFalse(StaticResourceCache.acceptsGzip("identity"));
+        assertFalse(StaticResourceCache.acceptsGzip("gzip;q=0"));
+        assertFalse(StaticResourceCache.acceptsGzip("gzip;q=x"));
+    }
+
+    @Test
+    public void testIsCompressible() {
+        assertTrue(StaticResourceCache.isCompressible("text/html"));
+        assertTrue(StaticResourceCache.isCompressible("application/javascript"));
+        assertTrue(StaticResourceCache.isCompressible("application/json"));
+        assertTrue(StaticResourceCache.isCompressible("image/svg+xml"));
+        assertFalse(StaticResourceCache.isCompressible("image/png"));
+        assertFalse(StaticResourceCache.isCompressible("application/zip"));
+        assertFalse(StaticResourceCache.isCompressible(null));
+    }
+
+    @Test
+    public void testETags() {
+        StaticResourceCache.CachedResource resource = new StaticResourceCache.CachedResource("body".getBytes(), null, 1000L);
+        String etag = resource.getETag(false);
+        String gzipETag = resource.getETag(true);
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+        assertFalse(etag.equals(gzipETag));
+        assertTrue(resource.matchesETag(etag));
+        assertTrue(resource.matchesETag("\"other\", " + gzipETag));
+        assertTrue(resource.matchesETag("W/" + etag));
+        assertTrue(resource.matchesETag("*"));
+        assertFalse(resource.matchesETag("\"other\""));
+        assertFalse(resource.matchesETag(null));
+
+        // a change to the content changes the tag
+        StaticResourceCache.CachedResource changed = new StaticResourceCache.CachedResource("bodz".getBytes(), null, 1000L);
+        assertFalse(changed.matchesETag(etag));
+        assertEquals(4, changed.getCachedSize());
+    }
+
+    @Test
+    public void testEvictionKeepsReferencedEntries() {
+        StaticResourceCache cache = new StaticResourceCache(null, 30, 30);
+        cache.put("/a", resource(10));
+        cache.put("/b", resource(10));
+        cache.put("/c", resource(10));
+        assertEquals(30, cache.getCurrentSize());
+
+        // /a and /c were hit since they were added, /b wasn't
+        assertNotNull(cache.getCached("/a"));
+        assertNotNull(cache.getCached("/c"));
+        cache.put("/d", resource(10));
+        assertEquals(30, cache.getCurrentSize());
+        assertNull(cache.getCached("/b"));
+        assertNotNull(cache.getCached("/a"));
+        assertNotNull(cache.getCached("/c"));
+        assertNotNull(cache.getCached("/d"));
+    }
+
+    @Test
+    public void testEvictionOfReferencedEntries() {
+        StaticResourceCache cache = new StaticResourceCache(null, 20, 20);
+        cache.put("/a", resource(10));
+        cache.put("/b", resource(10));
+        cache.getCached("/a");
+        cache.getCached("/b");
+        // every entry was hit, the sweep still frees enough space
+        cache.put("/c", resource(20));
+        assertEquals(20, cache.getCurrentSize());
+        assertNotNull(cache.getCached("/c"));
+    }
+
+    @Test
+    public void testReplaceAndRemove() {
+        StaticResourceCache cache = new StaticResourceCache(null, 100, 100);
+        cache.put("/dir/a", resource(10));
+        cache.put("/dir/sub/b", resource(10));
+        cache.put("/dirx", resource(10));
+        cache.put("/dir/a", resource(5));
+        assertEquals(25, cache.getCurrentSize());
+
+        cache.remove("/dir/a");
+        assertNull(cache.getCached("/dir/a"));
+        assertEquals(20, cache.getCurrentSize());
+
+        // a directory drops everything beneath it, but not its siblings
+        cache.put("/dir/a", resource(10));
+        cache.remove("/dir");
+        assertNull(cache.getCached("/dir/a"));
+        assertNull(cache.getCached("/dir/sub/b"));
+        assertNotNull(cache.getCached("/dirx"));
+        assertEquals(10, cache.getCurrentSize());
+
+        cache.clear();
+        assertNull(cache.getCached("/dirx"));
+        assertEquals(0, cache.getCurrentSize());
+    }
+
+    @Test
+    public void testMaxEntrySizeFitsInArray() {
+        assertEquals(100, new StaticResourceCache(null, 1000, 100).getMaxEntrySize());
+        assertEquals(1000, new StaticResourceCache(null, 1000, 5000).getMaxEntrySize());
+        // a file over 2 GB can't be read into a byte array, so it is never cached
+        assertEquals(StaticResourceCache.MAX_ARRAY_SIZE, new StaticResourceCache(null, 8L << 30, 4L << 30).getMaxEntrySize());
+    }
+
+    private static StaticResourceCache.CachedResource resource(int size) {
+        return new StaticResourceCache.CachedResource(new byte[size], null, 1000L);
+    }
+}